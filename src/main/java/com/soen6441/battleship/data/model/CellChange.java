@@ -0,0 +1,159 @@
+package com.soen6441.battleship.data.model;
+
+import com.soen6441.battleship.enums.CellState;
+
+import java.util.Arrays;
+
+/**
+ * A batch of cell updates made to a {@link Grid} by a single operation, e.g. a hit that sinks a ship
+ * changes every cell of that ship at once.
+ * <p>
+ * A snapshot change carries every cell of the grid and is sent to new subscribers and whenever
+ * the grid is replaced as a whole, so consumers can reset their state before applying it.
+ */
+public class CellChange {
+    /**
+     * Width and height of the grid the changes belong to.
+     */
+    private final int width;
+    private final int height;
+
+    /**
+     * True if the change describes every cell of the grid.
+     */
+    private final boolean isSnapshot;
+
+    private final int[] xs;
+    private final int[] ys;
+    private final CellState[] states;
+
+    /**
+     * Builder for collecting the cells changed by an operation.
+     */
+    public static class Builder {
+        private final int width;
+        private final int height;
+        private boolean isSnapshot = false;
+        private int size = 0;
+        private int[] xs;
+        private int[] ys;
+        private CellState[] states;
+
+        public Builder(int gridSize) {
+            this(gridSize, gridSize, 4);
+        }
+
+        public Builder(int width, int height, int expectedSize) {
+            this.width = width;
+            this.height = height;
+            int capacity = Math.max(1, expectedSize);
+            this.xs = new int[capacity];
+            this.ys = new int[capacity];
+            this.states = new CellState[capacity];
+        }
+
+        public Builder setSnapshot(boolean isSnapshot) {
+            this.isSnapshot = isSnapshot;
+            return this;
+        }
+
+        public Builder add(int x, int y, CellState state) {
+            if (size == xs.length) {
+                int capacity = size * 2;
+                xs = Arrays.copyOf(xs, capacity);
+                ys = Arrays.copyOf(ys, capacity);
+                states = Arrays.copyOf(states, capacity);
+            }
+
+            xs[size] = x;
+            ys[size] = y;
+            states[size] = state;
+            size++;
+            return this;
+        }
+
+        public boolean isEmpty() {
+            return size == 0;
+        }
+
+        public CellChange build() {
+            return new CellChange(this);
+        }
+    }
+
+    private CellChange(Builder builder) {
+        this.width = builder.width;
+        this.height = builder.height;
+        this.isSnapshot = builder.isSnapshot;
+        this.xs = Arrays.copyOf(builder.xs, builder.size);
+        this.ys = Arrays.copyOf(builder.ys, builder.size);
+        this.states = Arrays.copyOf(builder.states, builder.size);
+    }
+
+    /**
+     * Build a snapshot change containing every cell of the grid.
+     *
+     * @param grid Grid to take the snapshot of.
+     * @return Snapshot of the grid.
+     */
+    public static CellChange snapshotOf(Grid grid) {
+        int width = grid.getWidth();
+        int height = grid.getHeight();
+        Builder builder = new Builder(width, height, width * height).setSnapshot(true);
+
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                builder.add(x, y, grid.getCellState(x, y));
+            }
+        }
+
+        return builder.build();
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public boolean isSnapshot() {
+        return isSnapshot;
+    }
+
+    /**
+     * @return Number of changed cells.
+     */
+    public int size() {
+        return xs.length;
+    }
+
+    public int getX(int index) {
+        return xs[index];
+    }
+
+    public int getY(int index) {
+        return ys[index];
+    }
+
+    public CellState getState(int index) {
+        return states[index];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder stringBuilder = new StringBuilder("CellChange{")
+                .append("isSnapshot=").append(isSnapshot)
+                .append(", cells=[");
+
+        for (int i = 0; i < xs.length; i++) {
+            if (i > 0) {
+                stringBuilder.append(", ");
+            }
+            stringBuilder.append('(').append(xs[i]).append(", ").append(ys[i]).append(")=").append(states[i]);
+        }
+
+        return stringBuilder.append("]}").toString();
+    }
+}
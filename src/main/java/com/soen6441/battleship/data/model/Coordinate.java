@@ -1,12 +1,45 @@
 package com.soen6441.battleship.data.model;
 
 import java.io.Serializable;
-import java.util.Objects;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Represents a single point on an xy plane (Grid in our case).
+ * <p>
+ * Coordinates are immutable, so game logic should use {@link Coordinate#of(int, int, int, int)} or
+ * {@link Coordinate#ofIndex(int, int, int)}, which hand out shared instances instead of allocating
+ * a new one on every call. Every grid size gets a flyweight table holding exactly its cells, so the
+ * cache grows with the grids played rather than with the largest coordinate asked for.
+ * {@link Coordinate#of(int, int)} shares the table of a {@link Coordinate#SHARED_SIZE} square grid.
  */
 public class Coordinate implements Serializable {
+    /**
+     * Size of the square grid whose cells {@link Coordinate#of(int, int)} hands out shared.
+     */
+    private static final int SHARED_SIZE = 32;
+
+    /**
+     * Grids with more cells than this get no flyweight table.
+     */
+    private static final int MAX_CACHED_CELLS = 1 << 16;
+
+    /**
+     * Number of grid sizes which get a flyweight table, later sizes get none.
+     */
+    private static final int MAX_CACHED_GRIDS = 16;
+
+    /**
+     * Flyweight tables by grid size, keyed by {@link Coordinate#gridKey(int, int)}.
+     */
+    private static final Map<Long, GridCache> gridCaches = new ConcurrentHashMap<>();
+
+    /**
+     * Table of the grid size looked up last, so that a game asking for the cells of its grid does
+     * not look the table up in the map every time.
+     */
+    private static volatile GridCache lastGridCache = getGridCache(SHARED_SIZE, SHARED_SIZE);
+
     /**
      * X coordinate.
      */
@@ -17,6 +50,11 @@ public class Coordinate implements Serializable {
      */
     private final int y;
 
+    /**
+     * Precomputed hash code.
+     */
+    private final int hash;
+
     /**
      * Note: No error checking is done, this is just a data class.
      *
@@ -26,6 +64,102 @@ public class Coordinate implements Serializable {
     public Coordinate(int x, int y) {
         this.x = x;
         this.y = y;
+        this.hash = 31 * (31 + x) + y;
+    }
+
+    /**
+     * Get a shared coordinate instance. Coordinates outside of a {@link Coordinate#SHARED_SIZE}
+     * square grid (or negative) are not cached, and a new instance is returned.
+     *
+     * @param x coordinate
+     * @param y coordinate
+     * @return Coordinate with given x and y.
+     */
+    public static Coordinate of(int x, int y) {
+        return of(x, y, SHARED_SIZE, SHARED_SIZE);
+    }
+
+    /**
+     * Get the shared instance of a cell of a grid. Coordinates off the grid, and the cells of grids
+     * which get no flyweight table, are not cached, and a new instance is returned.
+     *
+     * @param x      coordinate
+     * @param y      coordinate
+     * @param width  number of columns of the grid.
+     * @param height number of rows of the grid.
+     * @return Coordinate with given x and y.
+     */
+    public static Coordinate of(int x, int y, int width, int height) {
+        if (x < 0 || y < 0 || x >= width || y >= height) {
+            return new Coordinate(x, y);
+        }
+
+        GridCache gridCache = getGridCache(width, height);
+        return gridCache == null ? new Coordinate(x, y) : gridCache.cells[y * width + x];
+    }
+
+    /**
+     * Get the coordinate of a cell from its index on a grid. See {@link Grid#cellIndex(int, int)}.
+     *
+     * @param cellIndex index of the cell, {@code y * width + x}.
+     * @param width     width of the grid, i.e. its size if the grid is square.
+     * @return Coordinate of the cell.
+     */
+    public static Coordinate ofIndex(int cellIndex, int width) {
+        return of(cellIndex % width, cellIndex / width);
+    }
+
+    /**
+     * Get the shared instance of a cell of a grid from its index. See {@link Grid#cellIndex(int, int)}.
+     *
+     * @param cellIndex index of the cell, {@code y * width + x}.
+     * @param width     number of columns of the grid.
+     * @param height    number of rows of the grid.
+     * @return Coordinate of the cell.
+     */
+    public static Coordinate ofIndex(int cellIndex, int width, int height) {
+        return of(cellIndex % width, cellIndex / width, width, height);
+    }
+
+    /**
+     * @return flyweight table of a grid size, created on first use, or null if the grid gets none.
+     */
+    private static GridCache getGridCache(int width, int height) {
+        GridCache gridCache = lastGridCache;
+
+        if (gridCache != null && gridCache.width == width && gridCache.height == height) {
+            return gridCache;
+        }
+
+        if ((long) width * height > MAX_CACHED_CELLS) {
+            return null;
+        }
+
+        long key = gridKey(width, height);
+        gridCache = gridCaches.get(key);
+
+        if (gridCache == null) {
+            if (gridCaches.size() >= MAX_CACHED_GRIDS) {
+                return null;
+            }
+
+            gridCache = gridCaches.computeIfAbsent(key, k -> new GridCache(width, height));
+        }
+
+        lastGridCache = gridCache;
+        return gridCache;
+    }
+
+    private static long gridKey(int width, int height) {
+        return ((long) width << 32) | (height & 0xFFFFFFFFL);
+    }
+
+    /**
+     * @param width width of the grid, i.e. its size if the grid is square.
+     * @return index of this coordinate on a grid of the given width, {@code y * width + x}.
+     */
+    public int toIndex(int width) {
+        return y * width + x;
     }
 
     public int getX() {
@@ -57,8 +191,33 @@ public class Coordinate implements Serializable {
         return x == that.x &&
                 y == that.y;
     }
+
+    /**
+     * @return Same value as {@code Objects.hash(x, y)}, computed once.
+     */
     @Override
     public int hashCode() {
-        return Objects.hash(x, y);
+        return hash;
+    }
+
+    /**
+     * Coordinates of every cell of a grid, indexed by {@code y * width + x}.
+     */
+    private static class GridCache {
+        private final int width;
+        private final int height;
+        private final Coordinate[] cells;
+
+        private GridCache(int width, int height) {
+            this.width = width;
+            this.height = height;
+            this.cells = new Coordinate[width * height];
+
+            for (int y = 0; y < height; y++) {
+                for (int x = 0; x < width; x++) {
+                    cells[y * width + x] = new Coordinate(x, y);
+                }
+            }
+        }
     }
 }
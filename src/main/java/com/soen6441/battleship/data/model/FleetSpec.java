@@ -0,0 +1,119 @@
+package com.soen6441.battleship.data.model;
+
+import java.util.Arrays;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Lengths of the ships of a fleet. Ships are kept longest first, so two specs with the same ships
+ * are equal whatever the order they were given in.
+ */
+public class FleetSpec {
+    /**
+     * Standard fleet of 5 ships of lengths 5 down to 1.
+     */
+    public static final FleetSpec STANDARD = of(5, 4, 3, 2, 1);
+
+    private final int[] shipLengths;
+
+    private FleetSpec(int[] shipLengths) {
+        this.shipLengths = shipLengths;
+    }
+
+    /**
+     * @param shipLengths lengths of the ships, in any order.
+     * @return spec of the fleet.
+     */
+    public static FleetSpec of(int... shipLengths) {
+        checkArgument(shipLengths.length > 0, "A fleet must have at least one ship");
+
+        int[] lengths = shipLengths.clone();
+        Arrays.sort(lengths);
+        checkArgument(lengths[0] > 0, "Ship length must be positive");
+
+        for (int i = 0; i < lengths.length / 2; i++) {
+            int length = lengths[i];
+            lengths[i] = lengths[lengths.length - 1 - i];
+            lengths[lengths.length - 1 - i] = length;
+        }
+
+        return new FleetSpec(lengths);
+    }
+
+    /**
+     * @return lengths of the ships, longest first.
+     */
+    public int[] getShipLengths() {
+        return shipLengths.clone();
+    }
+
+    public int getShipCount() {
+        return shipLengths.length;
+    }
+
+    public int getMaxShipLength() {
+        return shipLengths[0];
+    }
+
+    /**
+     * @return number of ships of every length, indexed by length up to {@link FleetSpec#getMaxShipLength()}.
+     */
+    public int[] getShipCounts() {
+        int[] shipCounts = new int[getMaxShipLength() + 1];
+
+        for (int length : shipLengths) {
+            shipCounts[length]++;
+        }
+
+        return shipCounts;
+    }
+
+    /**
+     * @return number of cells covered by the whole fleet.
+     */
+    public int getCellCount() {
+        int cellCount = 0;
+
+        for (int length : shipLengths) {
+            cellCount += length;
+        }
+
+        return cellCount;
+    }
+
+    /**
+     * Cheap check that the fleet may fit on a grid, ships not touching each other. Every ship of
+     * length {@code n}, together with the cells right of and below it, covers a rectangle of
+     * {@code 2 x (n + 1)} cells of the grid grown by one row and one column, and these rectangles
+     * never overlap. A fleet which passes the check may still not fit.
+     *
+     * @param width  number of columns of the grid.
+     * @param height number of rows of the grid.
+     * @return false if the fleet can not fit on the grid.
+     */
+    public boolean mayFitOn(int width, int height) {
+        if (getMaxShipLength() > Math.max(width, height)) {
+            return false;
+        }
+
+        long coveredCells = 2L * (getCellCount() + getShipCount());
+        return coveredCells <= (long) (width + 1) * (height + 1);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        return Arrays.equals(shipLengths, ((FleetSpec) o).shipLengths);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(shipLengths);
+    }
+
+    @Override
+    public String toString() {
+        return "FleetSpec" + Arrays.toString(shipLengths);
+    }
+}
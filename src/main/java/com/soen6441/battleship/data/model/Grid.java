@@ -1,31 +1,81 @@
 package com.soen6441.battleship.data.model;
 
-import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.google.firebase.database.Exclude;
 import com.soen6441.battleship.enums.CellState;
+import com.soen6441.battleship.utils.BitboardUtils;
 
 import java.io.Serializable;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 import java.util.logging.Logger;
 
 /**
  * Represents the grid as a plane of xy-coordinates.
  * The origin (x=0, y=0) is kept at top left.
- * Bottom right coordinates are (x=gridSize-1, y=gridSize-1).
+ * Bottom right coordinates are (x=width-1, y=height-1).
+ * <p>
+ * Internally the grid is stored as a set of bitboards, one per {@link CellState},
+ * where bit {@code y * width + x} is set if the cell is in that state. Exactly one
+ * bitboard has the bit set for every cell. Ships are stored in a compact byte array
+ * of ship ids (0 means no ship) which index into a small ship table.
+ * <p>
+ * Besides xy-coordinates, cells can be addressed by their index {@link Grid#cellIndex(int, int)}
+ * which avoids creating {@link Coordinate} objects in hot loops.
  */
 public class Grid implements Serializable {
     private static final Logger logger = Logger.getLogger(Grid.class.getName());
+
+    /**
+     * All possible cell states, cached to avoid copying {@link CellState#values()}.
+     */
+    private static final CellState[] STATES = CellState.values();
+
+    /**
+     * Number of possible cell states, i.e. number of bitboards.
+     */
+    private static final int STATE_COUNT = STATES.length;
+
+    /**
+     * Maximum number of distinct ships that can be linked to the grid.
+     */
+    private static final int MAX_SHIPS = 255;
+
     /**
-     * Size of the grid.
-     * For example if gridSize=8, the plane will be 8x8.
+     * Number of columns of the grid.
      */
-    private int gridSize;
+    private int width;
 
     /**
-     * 2-D array of all the individual cells inside the grid.
+     * Number of rows of the grid.
      */
-    public List<List<CellInfo>> coordinatesList;
+    private int height;
+
+    /**
+     * Number of 64 bit words in each bitboard.
+     */
+    private int wordCount;
+
+    /**
+     * One bitboard per {@link CellState}, indexed by {@link CellState#ordinal()}.
+     */
+    private long[][] stateBoards;
+
+    /**
+     * Ship id of every cell. 0 means there is no ship on the cell,
+     * otherwise the ship is stored at {@code shipTable[id - 1]}.
+     */
+    private byte[] shipIds;
+
+    /**
+     * All the ships linked to cells of this grid.
+     */
+    private List<Ship> shipTable;
+
+    /**
+     * Incremented whenever the state of any cell changes, so that data derived from the
+     * grid can tell when it is stale.
+     */
+    private transient int modificationCount;
 
     public Grid() {
     }
@@ -34,30 +84,75 @@ public class Grid implements Serializable {
      * @param gridSize size of the grid. Should be greater than 0.
      */
     public Grid(int gridSize) {
-        this.coordinatesList = new ArrayList<>(gridSize);
-        this.gridSize = gridSize;
-        for (int i = 0; i < gridSize; i++) {
-            List<CellInfo> subList = new ArrayList<>(gridSize);
+        this(gridSize, gridSize);
+    }
 
-            for (int j = 0; j < gridSize; j++) {
-                subList.add(j, new CellInfo(CellState.EMPTY, null));
+    /**
+     * @param width  number of columns. Should be greater than 0.
+     * @param height number of rows. Should be greater than 0.
+     */
+    public Grid(int width, int height) {
+        init(width, height);
+    }
 
-            }
+    /**
+     * Allocates empty bitboards for a grid of the given size and marks every cell as
+     * {@link CellState#EMPTY}.
+     *
+     * @param width  number of columns.
+     * @param height number of rows.
+     */
+    private void init(int width, int height) {
+        int cellCount = width * height;
+
+        this.width = width;
+        this.height = height;
+        this.wordCount = (cellCount + 63) >>> 6;
+        this.stateBoards = new long[STATE_COUNT][wordCount];
+        this.shipIds = new byte[cellCount];
+        this.shipTable = new ArrayList<>();
+        this.modificationCount++;
 
-            coordinatesList.add(i, subList);
+        long[] emptyBoard = stateBoards[CellState.EMPTY.ordinal()];
+        for (int i = 0; i < cellCount; i++) {
+            emptyBoard[i >>> 6] |= 1L << i;
         }
     }
 
     /**
-     * @return the size of grid.
+     * @return the size of a square grid.
+     * @throws IllegalStateException if the grid is not square, use {@link Grid#getWidth()} and
+     *                               {@link Grid#getHeight()} instead.
      */
+    @Exclude
     public int getGridSize() {
-        return gridSize;
+        if (width != height) {
+            throw new IllegalStateException("Grid of " + width + "x" + height + " is not square");
+        }
+        return width;
+    }
+
+    @Exclude
+    public int getWidth() {
+        return width;
+    }
+
+    @Exclude
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * @return number of cells of the grid, {@code width * height}.
+     */
+    @Exclude
+    public int getCellCount() {
+        return width * height;
     }
 
     /**
      * Get {@link CellState} of a particular x y coordinate.
-     * Can throw {@link ArrayIndexOutOfBoundsException} if any of the coordinate
+     * Can throw {@link IndexOutOfBoundsException} if any of the coordinate
      * is out of bounds. So make sure to pass correct coordinate.
      *
      * @param x x-coordinate
@@ -65,7 +160,54 @@ public class Grid implements Serializable {
      * @return {@link CellState} of cell at xy.
      */
     public CellState getCellState(int x, int y) {
-        return coordinatesList.get(y).get(x).getState();
+        return stateAt(indexOf(x, y));
+    }
+
+    /**
+     * Get {@link CellState} of a cell by its index.
+     *
+     * @param cellIndex index of the cell, see {@link Grid#cellIndex(int, int)}.
+     * @return {@link CellState} of the cell.
+     */
+    public CellState getCellState(int cellIndex) {
+        return stateAt(checkIndex(cellIndex));
+    }
+
+    private CellState stateAt(int index) {
+        int word = index >>> 6;
+        long bit = 1L << index;
+
+        for (int state = 0; state < STATE_COUNT; state++) {
+            if ((stateBoards[state][word] & bit) != 0) {
+                return STATES[state];
+            }
+        }
+
+        return CellState.EMPTY;
+    }
+
+    /**
+     * Check if the cell at a particular x y coordinate is in the given state.
+     *
+     * @param x     x-coordinate
+     * @param y     y-coordinate
+     * @param state state to test for.
+     * @return true if the cell is in the given state.
+     */
+    public boolean hasState(int x, int y, CellState state) {
+        return hasState(indexOf(x, y), state);
+    }
+
+    /**
+     * Check if a cell is in the given state.
+     *
+     * @param cellIndex index of the cell, see {@link Grid#cellIndex(int, int)}.
+     * @param state     state to test for.
+     * @return true if the cell is in the given state.
+     */
+    public boolean hasState(int cellIndex, CellState state) {
+        int index = checkIndex(cellIndex);
+        return (stateBoards[state.ordinal()][index >>> 6] & (1L << index)) != 0;
     }
 
     /**
@@ -76,7 +218,63 @@ public class Grid implements Serializable {
      * @param state new state of the cell.
      */
     public void updateCellStatus(int x, int y, CellState state) {
-        coordinatesList.get(y).get(x).setState(state);
+        updateCellStatus(indexOf(x, y), state);
+    }
+
+    /**
+     * Update the {@link CellState} of a cell by its index.
+     *
+     * @param cellIndex index of the cell, see {@link Grid#cellIndex(int, int)}.
+     * @param state     new state of the cell.
+     */
+    public void updateCellStatus(int cellIndex, CellState state) {
+        int index = checkIndex(cellIndex);
+        int word = index >>> 6;
+        long bit = 1L << index;
+
+        for (int i = 0; i < STATE_COUNT; i++) {
+            stateBoards[i][word] &= ~bit;
+        }
+
+        stateBoards[state.ordinal()][word] |= bit;
+        modificationCount++;
+    }
+
+    /**
+     * Update the {@link CellState} of every cell inside a rectangle. Every row of the
+     * rectangle is updated a word at a time.
+     *
+     * @param state  new state of the cells.
+     * @param startX left most x-coordinate (inclusive)
+     * @param startY top most y-coordinate (inclusive)
+     * @param endX   right most x-coordinate (inclusive)
+     * @param endY   bottom most y-coordinate (inclusive)
+     */
+    public void fillRect(CellState state, int startX, int startY, int endX, int endY) {
+        indexOf(startX, startY);
+        indexOf(endX, endY);
+
+        for (int y = startY; y <= endY; y++) {
+            int from = y * width + startX;
+            int to = y * width + endX;
+
+            for (int word = from >>> 6; word <= to >>> 6; word++) {
+                long mask = -1L;
+                if (word == from >>> 6) {
+                    mask &= -1L << from;
+                }
+                if (word == to >>> 6) {
+                    mask &= -1L >>> (63 - (to & 63));
+                }
+
+                for (int i = 0; i < STATE_COUNT; i++) {
+                    stateBoards[i][word] &= ~mask;
+                }
+                stateBoards[state.ordinal()][word] |= mask;
+            }
+        }
+
+        modificationCount++;
     }
 
     /**
@@ -87,16 +285,51 @@ public class Grid implements Serializable {
      * @param ship to be placed on the cell.
      */
     public void setShipOnCell(int x, int y, Ship ship) {
-        coordinatesList.get(y).get(x).setShip(ship);
+        shipIds[indexOf(x, y)] = (byte) shipIdOf(ship);
     }
 
     /**
+     * @param x x-coordinate
+     * @param y y-coordinate
+     * @return {@link Ship} linked to the cell, null if there is no ship.
+     */
+    public Ship getShipOnCell(int x, int y) {
+        return getShipOnCell(indexOf(x, y));
+    }
+
+    /**
+     * @param cellIndex index of the cell, see {@link Grid#cellIndex(int, int)}.
+     * @return {@link Ship} linked to the cell, null if there is no ship.
+     */
+    public Ship getShipOnCell(int cellIndex) {
+        int id = shipIds[checkIndex(cellIndex)] & 0xFF;
+        return id == 0 ? null : shipTable.get(id - 1);
+    }
+
+    /**
+     * Index of a cell, {@code y * width + x}. The same index is used for the bits of
+     * the bitboards returned by {@link Grid#getStateBoard(CellState)}.
+     *
+     * @param x x-coordinate
+     * @param y y-coordinate
+     * @return index of the cell.
+     * @throws IndexOutOfBoundsException if the coordinates are not on the grid.
+     */
+    public int cellIndex(int x, int y) {
+        return indexOf(x, y);
+    }
+
+    /**
+     * Returns a snapshot of the cell. Changing the returned {@link CellInfo}
+     * does not change the grid, use {@link Grid#updateCellStatus(int, int, CellState)}
+     * and {@link Grid#setShipOnCell(int, int, Ship)} instead.
+     *
      * @param x x-coordinate
      * @param y y-coordinate
      * @return {@link CellInfo} at particular x y coordinate.
      */
     public CellInfo getCellInfo(int x, int y) {
-        return coordinatesList.get(y).get(x);
+        return new CellInfo(getCellState(x, y), getShipOnCell(x, y));
     }
 
     /**
@@ -104,14 +337,198 @@ public class Grid implements Serializable {
      * @return {@link CellInfo} at particular x y coordinate.
      */
     public CellInfo getCellInfo(Coordinate coordinate) {
-        return coordinatesList.get(coordinate.getY()).get(coordinate.getX());
+        return getCellInfo(coordinate.getX(), coordinate.getY());
+    }
+
+    /**
+     * Direct access to the bitboard of a particular state. Bit {@code y * width + x}
+     * is set if the cell at xy is in the given state.
+     * The returned array is owned by the grid and must not be modified.
+     *
+     * @param state state to get the bitboard of.
+     * @return bitboard of the state.
+     */
+    public long[] getStateBoard(CellState state) {
+        return stateBoards[state.ordinal()];
+    }
+
+    /**
+     * @return number of cell state changes made on the grid.
+     */
+    @Exclude
+    public int getModificationCount() {
+        return modificationCount;
+    }
+
+    /**
+     * @param state state to count.
+     * @return number of cells which are in the given state.
+     */
+    public int countCells(CellState state) {
+        long[] board = stateBoards[state.ordinal()];
+        int count = 0;
+
+        for (long word : board) {
+            count += Long.bitCount(word);
+        }
+
+        return count;
+    }
+
+    /**
+     * Check if any cell inside a rectangle is in the given state. The rectangle is
+     * clipped to the grid, so coordinates are allowed to lie outside of it.
+     * Every row of the rectangle is tested a word at a time.
+     *
+     * @param state  state to look for.
+     * @param startX left most x-coordinate (inclusive)
+     * @param startY top most y-coordinate (inclusive)
+     * @param endX   right most x-coordinate (inclusive)
+     * @param endY   bottom most y-coordinate (inclusive)
+     * @return true if at least one cell inside the rectangle is in the given state.
+     */
+    public boolean anyInRect(CellState state, int startX, int startY, int endX, int endY) {
+        startX = Math.max(startX, 0);
+        startY = Math.max(startY, 0);
+        endX = Math.min(endX, width - 1);
+        endY = Math.min(endY, height - 1);
+
+        if (startX > endX || startY > endY) {
+            return false;
+        }
+
+        long[] board = stateBoards[state.ordinal()];
+
+        for (int y = startY; y <= endY; y++) {
+            int rowStart = y * width;
+            if (BitboardUtils.anyInRange(board, rowStart + startX, rowStart + endX)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Nested list view of all the cells, used by Firebase to serialise the grid.
+     * The list is built on every call, so avoid it in game logic.
+     *
+     * @return rows of {@link CellInfo}, indexed by y and then x.
+     */
+    public List<List<CellInfo>> getCoordinatesList() {
+        List<List<CellInfo>> coordinatesList = new ArrayList<>(height);
+
+        for (int y = 0; y < height; y++) {
+            List<CellInfo> row = new ArrayList<>(width);
+
+            for (int x = 0; x < width; x++) {
+                row.add(getCellInfo(x, y));
+            }
+
+            coordinatesList.add(row);
+        }
+
+        return coordinatesList;
+    }
+
+    /**
+     * Rebuilds the grid from a nested list of cells, used by Firebase to deserialise
+     * the grid. Ships which are equal in position and length are linked as the same ship.
+     *
+     * @param coordinatesList rows of {@link CellInfo}, indexed by y and then x.
+     */
+    public void setCoordinatesList(List<List<CellInfo>> coordinatesList) {
+        init(coordinatesList.isEmpty() ? 0 : coordinatesList.get(0).size(), coordinatesList.size());
+
+        for (int y = 0; y < height; y++) {
+            List<CellInfo> row = coordinatesList.get(y);
+
+            for (int x = 0; x < width; x++) {
+                CellInfo cellInfo = row.get(x);
+
+                if (cellInfo == null) {
+                    continue;
+                }
+
+                if (cellInfo.getState() != null) {
+                    updateCellStatus(x, y, cellInfo.getState());
+                }
+
+                Ship ship = cellInfo.getShip();
+                if (ship != null) {
+                    for (Ship linkedShip : shipTable) {
+                        if (isSameShip(linkedShip, ship)) {
+                            ship = linkedShip;
+                            break;
+                        }
+                    }
+                    setShipOnCell(x, y, ship);
+                }
+            }
+        }
+    }
+
+    /**
+     * @param ship ship to look up.
+     * @return id of the ship inside the ship table, the ship is added if it is not present.
+     */
+    private int shipIdOf(Ship ship) {
+        if (ship == null) {
+            return 0;
+        }
+
+        for (int i = 0; i < shipTable.size(); i++) {
+            if (shipTable.get(i) == ship) {
+                return i + 1;
+            }
+        }
+
+        if (shipTable.size() == MAX_SHIPS) {
+            throw new IllegalStateException("Grid cannot hold more than " + MAX_SHIPS + " ships");
+        }
+
+        shipTable.add(ship);
+        return shipTable.size();
+    }
+
+    private static boolean isSameShip(Ship first, Ship second) {
+        return first.getStartX() == second.getStartX()
+                && first.getStartY() == second.getStartY()
+                && first.getEndX() == second.getEndX()
+                && first.getEndY() == second.getEndY()
+                && first.getLength() == second.getLength();
+    }
+
+    /**
+     * @param x x-coordinate
+     * @param y y-coordinate
+     * @return index of the cell inside the bitboards.
+     * @throws IndexOutOfBoundsException if the coordinates are not on the grid.
+     */
+    private int indexOf(int x, int y) {
+        if (x < 0 || y < 0 || x >= width || y >= height) {
+            throw new IndexOutOfBoundsException("Cell (" + x + ", " + y + ") is outside of the grid");
+        }
+        return y * width + x;
+    }
+
+    /**
+     * @param cellIndex index of a cell.
+     * @return the same index.
+     * @throws IndexOutOfBoundsException if the index is not on the grid.
+     */
+    private int checkIndex(int cellIndex) {
+        if (cellIndex < 0 || cellIndex >= shipIds.length) {
+            throw new IndexOutOfBoundsException("Cell " + cellIndex + " is outside of the grid");
+        }
+        return cellIndex;
     }
 
     @Override
     public String toString() {
         return "Grid{" +
-                "gridSize=" + gridSize +
-                ", coordinates=" + Arrays.toString(new String[]{"test"}) +
+                "width=" + width +
+                ", height=" + height +
                 '}';
     }
 }
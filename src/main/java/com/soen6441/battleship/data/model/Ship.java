@@ -156,6 +156,13 @@ public class Ship implements Serializable {
         this.hits = hits;
     }
 
+    /**
+     * @return Number of hits the ship can still take before it sinks.
+     */
+    public int getRemainingHits() {
+        return this.length - this.hits;
+    }
+
     /**
      * @return boolean if the ship has been destroyed or not.
      */
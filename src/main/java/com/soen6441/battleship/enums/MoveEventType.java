@@ -0,0 +1,15 @@
+package com.soen6441.battleship.enums;
+
+/**
+ * The enum Move event type is the kind of change recorded in a move journal.
+ */
+public enum MoveEventType {
+    /**
+     * A ship is placed on a grid.
+     */
+    SHIP_PLACEMENT,
+    /**
+     * A cell of a grid is hit.
+     */
+    HIT,
+}
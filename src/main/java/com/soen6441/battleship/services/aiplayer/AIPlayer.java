@@ -3,14 +3,11 @@ package com.soen6441.battleship.services.aiplayer;
 import com.soen6441.battleship.data.interfaces.HitCallback;
 import com.soen6441.battleship.data.model.Coordinate;
 import com.soen6441.battleship.data.model.GamePlayer;
-import com.soen6441.battleship.enums.CellState;
+import com.soen6441.battleship.data.model.Grid;
 import com.soen6441.battleship.enums.Direction;
 import com.soen6441.battleship.enums.HitResult;
-import com.soen6441.battleship.services.gameconfig.GameConfig;
 import com.soen6441.battleship.services.gamegrid.GameGrid;
-import io.reactivex.Observable;
 
-import java.util.Random;
 import java.util.logging.Logger;
 
 /**
@@ -18,14 +15,8 @@ import java.util.logging.Logger;
  * A very naive AI, that hits a coordinate on random.
  * If a hit is found it tries to hit the nearby coordinates.
  */
-public class AIPlayer extends GamePlayer implements IAIPlayer {
+public class AIPlayer extends BaseAIPlayer {
     private static final Logger logger = Logger.getLogger(AIPlayer.class.getName());
-    /**
-     * Manual player of the game.
-     * AIPlayer hits the {@link com.soen6441.battleship.services.gamegrid.GameGrid} of this player.
-     */
-    private final GamePlayer player;
-
     /**
      * Coordinates of the previous attempted hit.
      */
@@ -33,9 +24,13 @@ public class AIPlayer extends GamePlayer implements IAIPlayer {
 
     private boolean wasPreviousHitSuccessful = false;
 
-    private final HitCallback hitCallback;
+    /**
+     * Number of random cells tried before looking for a cell not shot at one by one.
+     */
+    private static final int RANDOM_ATTEMPTS = 32;
 
-    private final int gridSize = GameConfig.getsInstance().getGridSize();
+    private final int width;
+    private final int height;
 
     /**
      * Instantiates a new Game player.
@@ -44,36 +39,22 @@ public class AIPlayer extends GamePlayer implements IAIPlayer {
      * @param gameGrid the game grid
      */
     public AIPlayer(String name, GameGrid gameGrid, GamePlayer otherPlayer, HitCallback hitCallback) {
-        super(name, gameGrid);
-        this.player = otherPlayer;
-        this.hitCallback = hitCallback;
-    }
-
-    @Override
-    public void setIsMyTurn(Observable<Boolean> isMyTurn) {
-        super.setIsMyTurn(isMyTurn);
-
-        this.isMyTurn.subscribe(turn -> {
-            if (turn) {
-                logger.info(() -> "AI has been give the turn!");
-                takeHit();
-            }
-        });
+        super(name, gameGrid, otherPlayer, hitCallback);
+        this.width = otherPlayer.getGameGrid().getGrid().getWidth();
+        this.height = otherPlayer.getGameGrid().getGrid().getHeight();
     }
 
     /**
-     * Take a hit on manual player's {@link com.soen6441.battleship.services.gamegrid.GameGrid} board.
+     * Pick a random cell, or a neighbour of the previous cell if it was a hit.
+     *
+     * @return coordinates of the cell to hit.
      */
     @Override
-    public void takeHit() {
-        if (player.getGameGrid().areAllShipsDestroyed()) {
-            return;
-        }
-
+    public Coordinate decideHit() {
         // This loop continues until AI has found a coordinate to hit
         // or all ships of player are destroyed.
         // This loop is broken manually.
-        logger.info("Thinking....");
+        logger.fine("Thinking....");
         boolean shouldBreak = false;
 
         Coordinate cordsToHit = null;
@@ -85,26 +66,24 @@ public class AIPlayer extends GamePlayer implements IAIPlayer {
             while (true) {
                 switch (previousAttemptedDirection) {
                     case UP:
-                        cordsToHit = new Coordinate(previousCoordinates.getX(), previousCoordinates.getY() - 1);
+                        cordsToHit = Coordinate.of(previousCoordinates.getX(), previousCoordinates.getY() - 1, width, height);
                         break;
                     case DOWN:
-                        cordsToHit = new Coordinate(previousCoordinates.getX(), previousCoordinates.getY() + 1);
+                        cordsToHit = Coordinate.of(previousCoordinates.getX(), previousCoordinates.getY() + 1, width, height);
                         break;
                     case LEFT:
-                        cordsToHit = new Coordinate(previousCoordinates.getX() - 1, previousCoordinates.getY());
+                        cordsToHit = Coordinate.of(previousCoordinates.getX() - 1, previousCoordinates.getY(), width, height);
                         break;
                     case RIGHT:
-                        cordsToHit = new Coordinate(previousCoordinates.getX() + 1, previousCoordinates.getY());
+                        cordsToHit = Coordinate.of(previousCoordinates.getX() + 1, previousCoordinates.getY(), width, height);
                         break;
                 }
 
-                if (cordsToHit.getX() < gridSize
+                if (cordsToHit.getX() < width
                         && cordsToHit.getX() >= 0
-                        && cordsToHit.getY() < gridSize
+                        && cordsToHit.getY() < height
                         && cordsToHit.getY() >= 0
-                        && player.getGameGrid().getGrid().getCellState(cordsToHit.getX(), cordsToHit.getY()) != CellState.EMPTY_HIT
-                        && player.getGameGrid().getGrid().getCellState(cordsToHit.getX(), cordsToHit.getY()) != CellState.SHIP_WITH_HIT
-                        && player.getGameGrid().getGrid().getCellState(cordsToHit.getX(), cordsToHit.getY()) != CellState.DESTROYED_SHIP
+                        && !isShotAt(player.getGameGrid().getGrid().getCellState(cordsToHit.getX(), cordsToHit.getY()))
                 ) {
                     break;
                 } else {
@@ -120,7 +99,7 @@ public class AIPlayer extends GamePlayer implements IAIPlayer {
         try {
             previousCoordinates = cordsToHit;
             HitResult hitResult = player.getGameGrid().peekHit(cordsToHit);
-            logger.info("AI is attempting hit on x: " + cordsToHit.getX() + " y: " + cordsToHit.getY());
+            logger.fine("AI is attempting hit on x: " + cordsToHit.getX() + " y: " + cordsToHit.getY());
 
             switch (hitResult) {
                 case HIT: {
@@ -133,11 +112,11 @@ public class AIPlayer extends GamePlayer implements IAIPlayer {
                     break;
                 }
             }
-
-            this.hitCallback.onHit(cordsToHit);
         } catch (Exception e) {
             e.printStackTrace();
         }
+
+        return cordsToHit;
     }
 
     /**
@@ -145,8 +124,23 @@ public class AIPlayer extends GamePlayer implements IAIPlayer {
      *
      * @return random coordinates to hit.
      */
+    /**
+     * Pick a random cell that has not been shot at, so the shots of a salvo never repeat a cell.
+     * If no such cell is found after a few tries, the first one after a random cell is taken.
+     */
     private Coordinate getRandomHitCords() {
-        Random random = new Random();
-        return new Coordinate(random.nextInt(gridSize), random.nextInt(gridSize));
+        Grid grid = player.getGameGrid().getGrid();
+        int cellCount = grid.getCellCount();
+        int cell = randomSource.nextInt(cellCount);
+
+        for (int attempt = 0; attempt < RANDOM_ATTEMPTS && isShotAt(grid.getCellState(cell)); attempt++) {
+            cell = randomSource.nextInt(cellCount);
+        }
+
+        for (int i = 0; i < cellCount && isShotAt(grid.getCellState(cell)); i++) {
+            cell = (cell + 1) % cellCount;
+        }
+
+        return Coordinate.ofIndex(cell, width, height);
     }
 }
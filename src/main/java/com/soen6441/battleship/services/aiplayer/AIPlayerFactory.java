@@ -0,0 +1,21 @@
+package com.soen6441.battleship.services.aiplayer;
+
+import com.soen6441.battleship.data.interfaces.HitCallback;
+import com.soen6441.battleship.data.model.GamePlayer;
+import com.soen6441.battleship.services.gamegrid.GameGrid;
+
+/**
+ * Creates an AI player for a game. Constructors of the AI players can be used as factories,
+ * e.g. {@code ProbabilityAIPlayer::new}. See {@link AIPlayerRegistry} for the registered players.
+ */
+@FunctionalInterface
+public interface AIPlayerFactory {
+    /**
+     * @param name        name of the AI player.
+     * @param gameGrid    grid of the AI player.
+     * @param opponent    player whose grid the AI player hits.
+     * @param hitCallback called with the cell to hit when the AI takes its turn.
+     * @return the AI player.
+     */
+    BaseAIPlayer create(String name, GameGrid gameGrid, GamePlayer opponent, HitCallback hitCallback);
+}
@@ -0,0 +1,79 @@
+package com.soen6441.battleship.services.aiplayer;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Named {@link AIPlayerFactory}s of the AI players that can be picked for a game or entered into a
+ * tournament.
+ * Singleton class.
+ */
+public class AIPlayerRegistry {
+    public static final String RANDOM = "random";
+    public static final String PROBABILITY = "probability";
+    public static final String MONTE_CARLO = "monte-carlo";
+
+    /**
+     * Name of the AI player used when none has been chosen.
+     */
+    public static final String DEFAULT_PLAYER = PROBABILITY;
+
+    private static AIPlayerRegistry sInstance;
+
+    private final Map<String, AIPlayerFactory> factories = new LinkedHashMap<>();
+
+    /**
+     * @return registry containing the built in AI players.
+     */
+    public static synchronized AIPlayerRegistry getInstance() {
+        if (sInstance == null) {
+            sInstance = new AIPlayerRegistry();
+            sInstance.register(RANDOM, AIPlayer::new);
+            sInstance.register(PROBABILITY, ProbabilityAIPlayer::new);
+            sInstance.register(MONTE_CARLO, (name, gameGrid, opponent, hitCallback) ->
+                    new MonteCarloAIPlayer(name, gameGrid, opponent, hitCallback, MonteCarloAIPlayer.DEFAULT_SAMPLE_BUDGET, 1));
+        }
+        return sInstance;
+    }
+
+    /**
+     * Create an empty registry, e.g. to run a tournament between a selection of players.
+     */
+    public AIPlayerRegistry() {
+    }
+
+    /**
+     * Register a factory, replacing any factory registered under the same name.
+     *
+     * @param name    name of the AI player.
+     * @param factory factory of the AI player.
+     * @return this registry.
+     */
+    public synchronized AIPlayerRegistry register(String name, AIPlayerFactory factory) {
+        factories.put(checkNotNull(name), checkNotNull(factory));
+        return this;
+    }
+
+    /**
+     * @param name name of the AI player.
+     * @return factory registered under the name.
+     * @throws IllegalArgumentException if no factory is registered under the name.
+     */
+    public synchronized AIPlayerFactory get(String name) {
+        AIPlayerFactory factory = factories.get(name);
+        checkArgument(factory != null, "No AI player registered as %s", name);
+        return factory;
+    }
+
+    /**
+     * @return names of the registered AI players, in registration order.
+     */
+    public synchronized List<String> getNames() {
+        return new ArrayList<>(factories.keySet());
+    }
+}
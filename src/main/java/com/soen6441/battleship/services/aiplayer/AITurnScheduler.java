@@ -0,0 +1,31 @@
+package com.soen6441.battleship.services.aiplayer;
+
+import com.soen6441.battleship.utils.ExecutorUtils;
+import io.reactivex.Scheduler;
+import io.reactivex.schedulers.Schedulers;
+
+/**
+ * Scheduler on which AI players take their turns.
+ * <p>
+ * Turns are emitted by whichever thread made the previous move, often the JavaFX thread. Taking the
+ * turn on a thread of its own keeps the computation off that thread and stops the AI's hit from
+ * calling back into the game controller while it is still notifying the turn change.
+ * <p>
+ * The turns of the AI players of concurrent games run side by side, on one thread per processor.
+ * Turns waiting for a thread are queued, never run by the thread emitting them. The turns of a
+ * single AI player still run one at a time, in order, as {@code observeOn} delivers them.
+ */
+public class AITurnScheduler {
+    private static final Scheduler scheduler = Schedulers.from(
+            ExecutorUtils.newIdleStoppingThreadPool("ai-turn", Runtime.getRuntime().availableProcessors()));
+
+    private AITurnScheduler() {
+    }
+
+    /**
+     * @return scheduler running AI turns on the AI threads.
+     */
+    public static Scheduler getScheduler() {
+        return scheduler;
+    }
+}
@@ -0,0 +1,115 @@
+package com.soen6441.battleship.services.aiplayer;
+
+import com.soen6441.battleship.data.interfaces.HitCallback;
+import com.soen6441.battleship.data.model.FleetSpec;
+import com.soen6441.battleship.data.model.GamePlayer;
+import com.soen6441.battleship.enums.CellState;
+import com.soen6441.battleship.services.gameconfig.GameConfig;
+import com.soen6441.battleship.services.gamegrid.GameGrid;
+import com.soen6441.battleship.services.randomsource.RandomSource;
+import io.reactivex.Observable;
+
+import java.util.logging.Logger;
+
+/**
+ * Player that takes turns automatically. Turns are taken on the {@link AITurnScheduler} and the
+ * cell picked by {@link IAIPlayer#decideHit()} is passed to the hit callback.
+ */
+public abstract class BaseAIPlayer extends GamePlayer implements IAIPlayer {
+    private static final Logger logger = Logger.getLogger(BaseAIPlayer.class.getName());
+
+    /**
+     * Manual player of the game.
+     * AIPlayer hits the {@link com.soen6441.battleship.services.gamegrid.GameGrid} of this player.
+     */
+    protected final GamePlayer player;
+
+    protected final HitCallback hitCallback;
+
+    /**
+     * Source of every random choice of the player.
+     */
+    protected RandomSource randomSource = new RandomSource();
+
+    /**
+     * Ships the opponent's fleet started with, known to both players.
+     */
+    protected FleetSpec fleetSpec = GameConfig.getsInstance().getFleetSpec();
+
+    /**
+     * Instantiates a new AI player.
+     *
+     * @param name        the name
+     * @param gameGrid    the game grid
+     * @param otherPlayer player whose grid is hit
+     * @param hitCallback called with the cell to hit when the AI takes its turn
+     */
+    protected BaseAIPlayer(String name, GameGrid gameGrid, GamePlayer otherPlayer, HitCallback hitCallback) {
+        super(name, gameGrid);
+        this.player = otherPlayer;
+        this.hitCallback = hitCallback;
+    }
+
+    /**
+     * A cell has been shot at if it was hit, or if it is a shot of a salvo not resolved yet.
+     *
+     * @param cellState state of a cell of the opponent's grid.
+     * @return true if the cell must not be shot at again.
+     */
+    protected static boolean isShotAt(CellState cellState) {
+        return cellState == CellState.EMPTY_HIT
+                || cellState == CellState.SHIP_WITH_HIT
+                || cellState == CellState.DESTROYED_SHIP
+                || cellState == CellState.TO_BE_PLACED;
+    }
+
+    /**
+     * Use the given source for every random choice of the player, e.g. to reproduce a game.
+     *
+     * @param randomSource source of random numbers, not shared with any other component.
+     */
+    public void setRandomSource(RandomSource randomSource) {
+        this.randomSource = randomSource;
+    }
+
+    /**
+     * Tell the player which ships the opponent's fleet started with, e.g. for a game not configured
+     * through {@link GameConfig}.
+     *
+     * @param fleetSpec ships of the opponent's fleet.
+     */
+    public void setFleetSpec(FleetSpec fleetSpec) {
+        this.fleetSpec = fleetSpec;
+    }
+
+    /**
+     * Release the resources of the player, e.g. its threads, once its game is over. Does nothing
+     * unless overridden.
+     */
+    public void close() {
+    }
+
+    @Override
+    public void setIsMyTurn(Observable<Boolean> isMyTurn) {
+        super.setIsMyTurn(isMyTurn);
+
+        this.isMyTurn.observeOn(AITurnScheduler.getScheduler()).subscribe(turn -> {
+            if (turn) {
+                logger.info(() -> "AI has been give the turn!");
+                takeHit();
+            }
+        });
+    }
+
+    /**
+     * Take a hit on manual player's {@link com.soen6441.battleship.services.gamegrid.GameGrid} board.
+     */
+    @Override
+    public void takeHit() {
+        if (player.getGameGrid().areAllShipsDestroyed()) {
+            return;
+        }
+
+        this.hitCallback.onHit(decideHit());
+    }
+}
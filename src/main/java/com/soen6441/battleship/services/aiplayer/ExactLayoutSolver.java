@@ -0,0 +1,578 @@
+package com.soen6441.battleship.services.aiplayer;
+
+import com.soen6441.battleship.data.model.Grid;
+import com.soen6441.battleship.enums.CellState;
+import com.soen6441.battleship.services.placementtable.PlacementTable;
+import com.soen6441.battleship.utils.BitboardUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Counts every fleet layout consistent with what is known about an opponent's {@link Grid} and
+ * how many of them have a ship on each cell, which gives the exact probability of every cell.
+ * <p>
+ * Layouts follow the same rules as {@link LayoutSampler}: no ship lies on a missed cell, no two
+ * ships touch (including diagonally), no ship touches a destroyed ship and every hit cell that is
+ * not part of a destroyed ship is covered.
+ * <p>
+ * Ships are placed one after the other by backtracking over bitboards. Because ships can not
+ * touch, the cells a ship and its surroundings block are all the next ships need to know about the
+ * ships placed before them, so the number of ways to complete a layout is memoised by the ship
+ * being placed and the blocked cells. A second pass walks the memoised states forwards to count
+ * the layouts through every placement.
+ * <p>
+ * The number of layouts grows quickly with the number of open cells, so the solver is meant for
+ * endgames. {@link ExactLayoutSolver#estimateSearchSpace(Grid, int[])} gives a cheap upper bound
+ * to decide whether to use it, and a time budget stops a solve that takes too long.
+ */
+public class ExactLayoutSolver {
+    /**
+     * Search space below which solving exactly is usually faster than a turn.
+     */
+    public static final long DEFAULT_SEARCH_SPACE_THRESHOLD = 100_000L;
+
+    /**
+     * Number of nodes explored between two checks of the deadline.
+     */
+    private static final int DEADLINE_CHECK_INTERVAL = 1024;
+
+    private final int width;
+    private final int height;
+    private final int cellCount;
+    private final int wordCount;
+
+    /**
+     * Cells no ship can lie on: missed cells and cells touching a destroyed ship.
+     */
+    private final long[] baseBlockedCells;
+
+    /**
+     * Hit cells which are not part of a destroyed ship.
+     */
+    private final long[] openHitCells;
+
+    /**
+     * Cells which have been shot at, or are about to be, and can not be targeted again.
+     */
+    private final long[] shotCells;
+
+    private int[] shipLengths = new int[0];
+
+    /**
+     * Cells of every placement of every ship, indexed by ship and then placement * word count.
+     */
+    private long[][] placementCells = new long[0][];
+
+    /**
+     * Cells of every placement and their surroundings, laid out as {@link ExactLayoutSolver#placementCells}.
+     */
+    private long[][] placementHalos = new long[0][];
+
+    /**
+     * Number of ways to place the remaining ships, indexed by the ship being placed and then by
+     * the blocked cells.
+     */
+    private final List<Map<State, Long>> completionCounts = new ArrayList<>();
+
+    /**
+     * Number of layouts with a ship on every cell.
+     */
+    private final long[] cellLayoutCounts;
+
+    private long layoutCount;
+    private boolean isComplete;
+
+    private long deadline;
+    private boolean isTimeLimited;
+    private boolean isAborted;
+
+    private long nodesExplored;
+    private double nodesPerSecond;
+
+    /**
+     * @param gridSize size of a square grid.
+     */
+    public ExactLayoutSolver(int gridSize) {
+        this(gridSize, gridSize);
+    }
+
+    /**
+     * @param width  number of columns of the grid.
+     * @param height number of rows of the grid.
+     */
+    public ExactLayoutSolver(int width, int height) {
+        checkArgument(width > 0 && height > 0, "Grid dimensions must be positive");
+
+        this.width = width;
+        this.height = height;
+        this.cellCount = width * height;
+        this.wordCount = (cellCount + 63) >>> 6;
+        this.baseBlockedCells = new long[wordCount];
+        this.openHitCells = new long[wordCount];
+        this.shotCells = new long[wordCount];
+        this.cellLayoutCounts = new long[cellCount];
+    }
+
+    /**
+     * Upper bound of the number of layouts, i.e. the product of the number of windows of every
+     * ship's length without a blocked cell. Takes time linear in the number of cells, so it can be
+     * used every turn to decide whether solving is worth it.
+     *
+     * @param grid        opponent's grid.
+     * @param shipLengths lengths of the ships still afloat.
+     * @return the bound, or {@link Long#MAX_VALUE} if it does not fit in a long.
+     */
+    public long estimateSearchSpace(Grid grid, int[] shipLengths) {
+        checkArgument(grid.getWidth() == width && grid.getHeight() == height, "Grid dimensions do not match solver");
+
+        loadKnowledge(grid);
+
+        // Number of free runs of every length, across rows and down columns.
+        int maxRun = Math.max(width, height);
+        long[] runCounts = new long[maxRun + 1];
+        for (int y = 0; y < height; y++) {
+            int run = 0;
+            for (int x = 0; x < width; x++) {
+                run = isBlocked(y * width + x) ? countRun(runCounts, run) : run + 1;
+            }
+            countRun(runCounts, run);
+        }
+        for (int x = 0; x < width; x++) {
+            int run = 0;
+            for (int y = 0; y < height; y++) {
+                run = isBlocked(y * width + x) ? countRun(runCounts, run) : run + 1;
+            }
+            countRun(runCounts, run);
+        }
+
+        long searchSpace = 1;
+        for (int length : shipLengths) {
+            long windowCount = 0;
+            for (int run = length; run <= maxRun; run++) {
+                windowCount += runCounts[run] * (run - length + 1);
+            }
+
+            // Ships of length 1 fit the same cell in both directions.
+            if (length == 1) {
+                windowCount /= 2;
+            }
+
+            if (windowCount == 0) {
+                return 0;
+            }
+            if (searchSpace > Long.MAX_VALUE / windowCount) {
+                return Long.MAX_VALUE;
+            }
+            searchSpace *= windowCount;
+        }
+
+        return searchSpace;
+    }
+
+    private boolean isBlocked(int cell) {
+        return (baseBlockedCells[cell >>> 6] & (1L << cell)) != 0;
+    }
+
+    private int countRun(long[] runCounts, int run) {
+        runCounts[run]++;
+        return 0;
+    }
+
+    /**
+     * Count the layouts of the given ships on the grid. The results replace those of the previous call.
+     *
+     * @param grid            opponent's grid.
+     * @param shipLengths     lengths of the ships still afloat.
+     * @param timeBudgetNanos time allowed for solving in nanoseconds, or 0 for no limit.
+     * @return true if every layout was counted within the time budget.
+     */
+    public boolean solve(Grid grid, int[] shipLengths, long timeBudgetNanos) {
+        checkArgument(grid.getWidth() == width && grid.getHeight() == height, "Grid dimensions do not match solver");
+        checkArgument(timeBudgetNanos >= 0, "Time budget can not be negative");
+
+        long startTime = System.nanoTime();
+
+        this.isTimeLimited = timeBudgetNanos > 0;
+        this.deadline = startTime + timeBudgetNanos;
+        this.isAborted = false;
+        this.nodesExplored = 0;
+
+        loadKnowledge(grid);
+        generatePlacements(shipLengths);
+
+        completionCounts.clear();
+        for (int ship = 0; ship <= this.shipLengths.length; ship++) {
+            completionCounts.add(new HashMap<>());
+        }
+
+        Arrays.fill(cellLayoutCounts, 0);
+        layoutCount = 0;
+        isComplete = false;
+
+        try {
+            if (!BitboardUtils.anyIntersect(openHitCells, baseBlockedCells)) {
+                long[] blockedCells = baseBlockedCells.clone();
+                layoutCount = countCompletions(0, blockedCells);
+
+                if (!isAborted) {
+                    countCellLayouts(blockedCells);
+                }
+            }
+
+            isComplete = !isAborted;
+        } catch (ArithmeticException e) {
+            // Too many layouts to count in a long.
+            isComplete = false;
+        }
+
+        if (!isComplete) {
+            layoutCount = 0;
+            Arrays.fill(cellLayoutCounts, 0);
+        }
+
+        completionCounts.clear();
+
+        long elapsedNanos = Math.max(1, System.nanoTime() - startTime);
+        nodesPerSecond = nodesExplored * 1e9 / elapsedNanos;
+
+        return isComplete;
+    }
+
+    /**
+     * @return true if the last solve counted every layout.
+     */
+    public boolean isComplete() {
+        return isComplete;
+    }
+
+    /**
+     * @return number of consistent layouts found by the last solve.
+     */
+    public long getLayoutCount() {
+        return layoutCount;
+    }
+
+    /**
+     * @param cellIndex index of the cell, see {@link Grid#cellIndex(int, int)}.
+     * @return number of consistent layouts with a ship on the cell.
+     */
+    public long getLayoutCount(int cellIndex) {
+        return cellLayoutCounts[cellIndex];
+    }
+
+    /**
+     * @param cellIndex index of the cell, see {@link Grid#cellIndex(int, int)}.
+     * @return probability of a ship on the cell, or 0 if no layout was found.
+     */
+    public double getProbability(int cellIndex) {
+        return layoutCount == 0 ? 0 : (double) cellLayoutCounts[cellIndex] / layoutCount;
+    }
+
+    /**
+     * @return index of the cell not shot at yet with the highest probability, or -1 if no layout
+     * was found.
+     */
+    public int getBestCell() {
+        int bestCell = -1;
+        long bestCount = 0;
+
+        for (int cell = 0; cell < cellCount; cell++) {
+            if (cellLayoutCounts[cell] > bestCount && (shotCells[cell >>> 6] & (1L << cell)) == 0) {
+                bestCount = cellLayoutCounts[cell];
+                bestCell = cell;
+            }
+        }
+
+        return bestCell;
+    }
+
+    /**
+     * @return number of search nodes explored by the last solve.
+     */
+    public long getNodesExplored() {
+        return nodesExplored;
+    }
+
+    /**
+     * @return search nodes explored per second by the last solve.
+     */
+    public double getNodesPerSecond() {
+        return nodesPerSecond;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * @return number of ways to place ships {@code ship} onwards, given the blocked cells.
+     */
+    private long countCompletions(int ship, long[] blockedCells) {
+        nodesExplored++;
+        if (isTimeLimited && nodesExplored % DEADLINE_CHECK_INTERVAL == 0 && System.nanoTime() - deadline >= 0) {
+            isAborted = true;
+        }
+        if (isAborted) {
+            return 0;
+        }
+
+        if (ship == shipLengths.length) {
+            // Only reached without ships to place.
+            return BitboardUtils.isSubset(openHitCells, blockedCells) ? 1 : 0;
+        }
+
+        State state = new State(blockedCells);
+        Long cachedCount = completionCounts.get(ship).get(state);
+        if (cachedCount != null) {
+            return cachedCount;
+        }
+
+        long count = 0;
+        long[] cells = placementCells[ship];
+        long[] halos = placementHalos[ship];
+
+        boolean isLastShip = ship == shipLengths.length - 1;
+
+        for (int offset = 0; offset < cells.length; offset += wordCount) {
+            if (BitboardUtils.anyIntersect(cells, offset, blockedCells, wordCount)) {
+                continue;
+            }
+
+            if (isLastShip) {
+                // Count the leaves directly instead of visiting them.
+                nodesExplored++;
+                if (coversOpenHits(blockedCells, halos, offset)) {
+                    count++;
+                }
+                continue;
+            }
+
+            long[] childBlockedCells = union(blockedCells, halos, offset);
+            count = Math.addExact(count, countCompletions(ship + 1, childBlockedCells));
+        }
+
+        if (!isAborted) {
+            completionCounts.get(ship).put(state, count);
+        }
+
+        return count;
+    }
+
+    /**
+     * Walk the memoised states from the first ship onwards, counting the layouts reaching every
+     * state, and add the layouts through every placement to the cells it covers.
+     */
+    private void countCellLayouts(long[] initialBlockedCells) {
+        Map<State, Long> reachingCounts = new HashMap<>();
+        reachingCounts.put(new State(initialBlockedCells), 1L);
+
+        for (int ship = 0; ship < shipLengths.length; ship++) {
+            Map<State, Long> nextReachingCounts = new HashMap<>();
+            long[] cells = placementCells[ship];
+            long[] halos = placementHalos[ship];
+            boolean isLastShip = ship == shipLengths.length - 1;
+
+            for (Map.Entry<State, Long> entry : reachingCounts.entrySet()) {
+                long[] blockedCells = entry.getKey().blockedCells;
+                long reachingCount = entry.getValue();
+
+                for (int offset = 0; offset < cells.length; offset += wordCount) {
+                    if (BitboardUtils.anyIntersect(cells, offset, blockedCells, wordCount)) {
+                        continue;
+                    }
+
+                    long[] childBlockedCells = null;
+                    long completions;
+                    if (isLastShip) {
+                        completions = coversOpenHits(blockedCells, halos, offset) ? 1 : 0;
+                    } else {
+                        childBlockedCells = union(blockedCells, halos, offset);
+                        completions = getCompletionCount(ship + 1, childBlockedCells);
+                    }
+
+                    if (completions == 0) {
+                        continue;
+                    }
+
+                    long layouts = Math.multiplyExact(reachingCount, completions);
+                    for (int word = 0; word < wordCount; word++) {
+                        long bits = cells[offset + word];
+
+                        while (bits != 0) {
+                            int cell = (word << 6) + Long.numberOfTrailingZeros(bits);
+                            cellLayoutCounts[cell] = Math.addExact(cellLayoutCounts[cell], layouts);
+                            bits &= bits - 1;
+                        }
+                    }
+
+                    if (!isLastShip) {
+                        nextReachingCounts.merge(new State(childBlockedCells), reachingCount, Math::addExact);
+                    }
+                }
+            }
+
+            reachingCounts = nextReachingCounts;
+        }
+    }
+
+    private long getCompletionCount(int ship, long[] blockedCells) {
+        Long count = completionCounts.get(ship).get(new State(blockedCells));
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * @return true if every open hit is covered once the placement at the offset is added.
+     */
+    private boolean coversOpenHits(long[] blockedCells, long[] halos, int offset) {
+        for (int word = 0; word < wordCount; word++) {
+            if ((openHitCells[word] & ~(blockedCells[word] | halos[offset + word])) != 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private long[] union(long[] blockedCells, long[] halos, int offset) {
+        long[] result = new long[wordCount];
+        for (int word = 0; word < wordCount; word++) {
+            result[word] = blockedCells[word] | halos[offset + word];
+        }
+        return result;
+    }
+
+    private void loadKnowledge(Grid grid) {
+        long[] missed = grid.getStateBoard(CellState.EMPTY_HIT);
+        long[] hit = grid.getStateBoard(CellState.SHIP_WITH_HIT);
+        long[] destroyed = grid.getStateBoard(CellState.DESTROYED_SHIP);
+        long[] pending = grid.getStateBoard(CellState.TO_BE_PLACED);
+
+        for (int word = 0; word < wordCount; word++) {
+            baseBlockedCells[word] = missed[word];
+            openHitCells[word] = hit[word];
+            shotCells[word] = missed[word] | hit[word] | destroyed[word] | pending[word];
+        }
+
+        PlacementTable cellTable = PlacementTable.forShip(width, height, 1);
+
+        for (int word = 0; word < wordCount; word++) {
+            long bits = destroyed[word];
+
+            while (bits != 0) {
+                cellTable.addHalo((word << 6) + Long.numberOfTrailingZeros(bits), baseBlockedCells);
+                bits &= bits - 1;
+            }
+        }
+    }
+
+    /**
+     * List the placements of every ship which avoid the blocked cells and do not touch a hit cell
+     * they do not cover. Longer ships are placed first as they have fewer positions.
+     */
+    private void generatePlacements(int[] shipLengths) {
+        this.shipLengths = shipLengths.clone();
+        Arrays.sort(this.shipLengths);
+        for (int i = 0, j = this.shipLengths.length - 1; i < j; i++, j--) {
+            int length = this.shipLengths[i];
+            this.shipLengths[i] = this.shipLengths[j];
+            this.shipLengths[j] = length;
+        }
+
+        int shipCount = this.shipLengths.length;
+        placementCells = new long[shipCount][];
+        placementHalos = new long[shipCount][];
+
+        for (int ship = 0; ship < shipCount; ship++) {
+            int length = this.shipLengths[ship];
+            if (ship > 0 && length == this.shipLengths[ship - 1]) {
+                placementCells[ship] = placementCells[ship - 1];
+                placementHalos[ship] = placementHalos[ship - 1];
+                continue;
+            }
+
+            // The table only keeps the words around every placement, the search needs whole grids.
+            PlacementTable table = PlacementTable.forShip(width, height, length);
+            long[] cells = new long[wordCount];
+            long[] halos = new long[wordCount];
+            long[] shipCells = new long[table.getPlacementCount() * wordCount];
+            long[] shipHalos = new long[table.getPlacementCount() * wordCount];
+            int placementCount = 0;
+
+            for (int placement = 0; placement < table.getPlacementCount(); placement++) {
+                if (!table.fits(placement, baseBlockedCells)) {
+                    continue;
+                }
+
+                Arrays.fill(cells, 0);
+                Arrays.fill(halos, 0);
+                table.addCells(placement, cells);
+                table.addHalo(placement, halos);
+
+                if (touchesUncoveredHit(cells, halos, 0)) {
+                    continue;
+                }
+
+                System.arraycopy(cells, 0, shipCells, placementCount * wordCount, wordCount);
+                System.arraycopy(halos, 0, shipHalos, placementCount * wordCount, wordCount);
+                placementCount++;
+            }
+
+            placementCells[ship] = Arrays.copyOf(shipCells, placementCount * wordCount);
+            placementHalos[ship] = Arrays.copyOf(shipHalos, placementCount * wordCount);
+        }
+    }
+
+    /**
+     * A ship touching a hit cell it does not cover can not be part of a layout, since the ship
+     * covering that cell would touch it.
+     */
+    private boolean touchesUncoveredHit(long[] cells, long[] halos, int offset) {
+        for (int word = 0; word < wordCount; word++) {
+            if ((openHitCells[word] & halos[offset + word] & ~cells[offset + word]) != 0) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Blocked cells after placing some of the ships, used as a memoisation key.
+     */
+    private static final class State {
+        private final long[] blockedCells;
+        private final int hash;
+
+        private State(long[] blockedCells) {
+            this.blockedCells = blockedCells;
+            this.hash = Arrays.hashCode(blockedCells);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof State)) {
+                return false;
+            }
+            State state = (State) o;
+            return hash == state.hash && Arrays.equals(blockedCells, state.blockedCells);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -1,5 +1,14 @@
 package com.soen6441.battleship.services.aiplayer;
 
+import com.soen6441.battleship.data.model.Coordinate;
+
 public interface IAIPlayer {
+    /**
+     * Decide which cell to hit next, without hitting it.
+     *
+     * @return coordinates of the cell to hit.
+     */
+    Coordinate decideHit();
+
     void takeHit();
 }
@@ -0,0 +1,22 @@
+package com.soen6441.battleship.services.aiplayer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AI player which keeps refining its move until a deadline and then commits to the best move
+ * found so far, so that a turn never takes much longer than the deadline.
+ */
+public interface IAnytimeAIPlayer extends IAIPlayer {
+    /**
+     * Set how long a turn may take. A deadline of 0 removes the limit.
+     *
+     * @param deadline time allowed for a turn.
+     * @param unit     unit of the deadline.
+     */
+    void setTurnDeadline(long deadline, TimeUnit unit);
+
+    /**
+     * @return number of refinement iterations done during the last turn.
+     */
+    int getLastIterationCount();
+}
@@ -0,0 +1,19 @@
+package com.soen6441.battleship.services.aiplayer;
+
+import com.soen6441.battleship.data.model.Coordinate;
+
+import java.util.List;
+
+/**
+ * AI player which can pick all the shots of a salvo at once, for salvos whose shots are only
+ * resolved once the salvo is complete.
+ */
+public interface ISalvoAIPlayer extends IAIPlayer {
+    /**
+     * Decide which cells to hit in the next salvo, without hitting them.
+     *
+     * @param shotCount number of shots of the salvo.
+     * @return distinct coordinates of the cells to hit, at most {@code shotCount} of them.
+     */
+    List<Coordinate> decideSalvo(int shotCount);
+}
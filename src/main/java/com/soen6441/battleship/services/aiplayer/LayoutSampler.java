@@ -0,0 +1,626 @@
+package com.soen6441.battleship.services.aiplayer;
+
+import com.soen6441.battleship.data.model.Grid;
+import com.soen6441.battleship.enums.CellState;
+import com.soen6441.battleship.services.placementtable.PlacementTable;
+import com.soen6441.battleship.services.randomsource.RandomSource;
+import com.soen6441.battleship.utils.ExecutorUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Estimates how likely every cell of an opponent's {@link Grid} is to hold a ship by drawing random
+ * fleet layouts consistent with what is known about the grid and counting how often each cell is
+ * occupied.
+ * <p>
+ * A layout is consistent if no ship lies on a missed cell, no two ships touch (including
+ * diagonally), no ship touches a destroyed ship and every hit cell that is not part of a destroyed
+ * ship is covered. Hit cells are covered first: a ship is placed across the first uncovered hit,
+ * picked at random among every placement that fits. The remaining ships are then placed at random
+ * positions. Layouts that cannot be completed are rejected.
+ * <p>
+ * Layouts are drawn by {@code threadCount} workers, each with its own {@link RandomSource} and
+ * bitboards, so drawing a layout does not allocate. Sampling this way is not exactly uniform over
+ * all consistent layouts, but is close enough to rank cells.
+ * <p>
+ * Sampling can be bounded by a number of layouts, a time budget, or both. Workers check the clock
+ * every {@link LayoutSampler#DEADLINE_CHECK_INTERVAL} layouts, so a run overshoots its deadline by
+ * at most the time taken to draw that many layouts.
+ */
+public class LayoutSampler {
+    /**
+     * Number of random positions tried for a ship before the layout is rejected.
+     */
+    private static final int PLACEMENT_ATTEMPTS = 64;
+
+    /**
+     * Number of layouts drawn between two checks of the deadline.
+     */
+    private static final int DEADLINE_CHECK_INTERVAL = 32;
+
+    private final int width;
+    private final int height;
+    private final int cellCount;
+    private final int wordCount;
+
+    private final Worker[] workers;
+
+    /**
+     * Executor running the workers, only created if there is more than one worker.
+     */
+    private ExecutorService executor;
+
+    private boolean isShutdown = false;
+
+    /**
+     * Cells no ship can lie on: missed cells and cells touching a destroyed ship.
+     */
+    private final long[] baseBlockedCells;
+
+    /**
+     * Hit cells which are not part of a destroyed ship.
+     */
+    private final long[] openHitCells;
+
+    /**
+     * Cells which have been shot at, or are about to be in a salvo, and can not be targeted again.
+     */
+    private final long[] shotCells;
+
+    private int[] shipLengths = new int[0];
+
+    /**
+     * Placements of every ship, in the order of {@link LayoutSampler#shipLengths}.
+     */
+    private PlacementTable[] shipTables = new PlacementTable[0];
+
+    /**
+     * {@link System#nanoTime()} at which the current run must stop, if {@link LayoutSampler#isTimeLimited}.
+     */
+    private long deadline;
+    private boolean isTimeLimited;
+
+    /**
+     * Number of layouts containing a ship on every cell, summed over the workers.
+     */
+    private final int[] occupancy;
+
+    /**
+     * Number of accepted layouts to keep from every run, see {@link LayoutSampler#setLayoutsToKeep(int)}.
+     */
+    private int layoutsToKeep = 0;
+
+    private int drawnSamples;
+    private int acceptedSamples;
+    private double samplesPerSecond;
+
+    public LayoutSampler(int gridSize, int threadCount) {
+        this(gridSize, threadCount, new RandomSource());
+    }
+
+    public LayoutSampler(int gridSize, int threadCount, long seed) {
+        this(gridSize, threadCount, new RandomSource(seed));
+    }
+
+    /**
+     * @param gridSize     size of a square grid.
+     * @param threadCount  number of threads drawing layouts.
+     * @param randomSource source the random streams of the workers are split from.
+     */
+    public LayoutSampler(int gridSize, int threadCount, RandomSource randomSource) {
+        this(gridSize, gridSize, threadCount, randomSource);
+    }
+
+    /**
+     * @param width        number of columns of the grid.
+     * @param height       number of rows of the grid.
+     * @param threadCount  number of threads drawing layouts.
+     * @param randomSource source the random streams of the workers are split from.
+     */
+    public LayoutSampler(int width, int height, int threadCount, RandomSource randomSource) {
+        checkArgument(width > 0 && height > 0, "Grid dimensions must be positive");
+        checkArgument(threadCount > 0, "Thread count must be positive");
+
+        this.width = width;
+        this.height = height;
+        this.cellCount = width * height;
+        this.wordCount = (cellCount + 63) >>> 6;
+        this.baseBlockedCells = new long[wordCount];
+        this.openHitCells = new long[wordCount];
+        this.shotCells = new long[wordCount];
+        this.occupancy = new int[cellCount];
+
+        this.workers = new Worker[threadCount];
+        for (int i = 0; i < threadCount; i++) {
+            this.workers[i] = new Worker();
+        }
+
+        setRandomSource(randomSource);
+    }
+
+    /**
+     * Give every worker a new random stream split from the source. With a given source and sample
+     * budget, the results do not depend on how the threads are scheduled.
+     *
+     * @param randomSource source the random streams of the workers are split from.
+     */
+    public void setRandomSource(RandomSource randomSource) {
+        for (Worker worker : workers) {
+            worker.random = randomSource.split();
+        }
+    }
+
+    /**
+     * Draw {@code sampleBudget} layouts of the given ships on the grid. The results replace those of
+     * the previous call.
+     *
+     * @param grid         opponent's grid.
+     * @param shipLengths  lengths of the ships still afloat.
+     * @param sampleBudget number of layouts to draw, including rejected ones.
+     */
+    public void sample(Grid grid, int[] shipLengths, int sampleBudget) {
+        sample(grid, shipLengths, sampleBudget, 0);
+    }
+
+    /**
+     * Draw layouts of the given ships on the grid until either {@code sampleBudget} layouts have
+     * been drawn or the time budget has run out. The results replace those of the previous call.
+     *
+     * @param grid            opponent's grid.
+     * @param shipLengths     lengths of the ships still afloat.
+     * @param sampleBudget    maximum number of layouts to draw, including rejected ones.
+     * @param timeBudgetNanos time allowed for drawing layouts in nanoseconds, or 0 for no limit.
+     */
+    public void sample(Grid grid, int[] shipLengths, int sampleBudget, long timeBudgetNanos) {
+        checkArgument(grid.getWidth() == width && grid.getHeight() == height, "Grid dimensions do not match sampler");
+        checkArgument(sampleBudget >= 0, "Sample budget can not be negative");
+        checkArgument(timeBudgetNanos >= 0, "Time budget can not be negative");
+
+        long startTime = System.nanoTime();
+
+        loadKnowledge(grid);
+        this.shipLengths = shipLengths.clone();
+        this.shipTables = PlacementTable.forFleet(width, height, this.shipLengths);
+        this.isTimeLimited = timeBudgetNanos > 0;
+        this.deadline = startTime + timeBudgetNanos;
+
+        int keepShare = (layoutsToKeep + workers.length - 1) / workers.length;
+        for (Worker worker : workers) {
+            worker.keepQuota = keepShare;
+        }
+
+        int share = sampleBudget / workers.length;
+        int remainder = sampleBudget % workers.length;
+        for (int i = 0; i < workers.length; i++) {
+            workers[i].budget = share + (i < remainder ? 1 : 0);
+        }
+
+        runWorkers();
+
+        long elapsedNanos = Math.max(1, System.nanoTime() - startTime);
+
+        Arrays.fill(occupancy, 0);
+        drawnSamples = 0;
+        acceptedSamples = 0;
+
+        for (Worker worker : workers) {
+            for (int cell = 0; cell < cellCount; cell++) {
+                occupancy[cell] += worker.counts[cell];
+            }
+            drawnSamples += worker.drawn;
+            acceptedSamples += worker.accepted;
+        }
+
+        samplesPerSecond = drawnSamples * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * @param cellIndex index of the cell, see {@link Grid#cellIndex(int, int)}.
+     * @return number of accepted layouts of the last run with a ship on the cell.
+     */
+    public int getOccupancy(int cellIndex) {
+        return occupancy[cellIndex];
+    }
+
+    /**
+     * @return index of the cell not shot at yet that was occupied most often in the last run, or
+     * -1 if no layout was accepted.
+     */
+    public int getBestCell() {
+        int bestCell = -1;
+        int bestOccupancy = 0;
+
+        for (int cell = 0; cell < cellCount; cell++) {
+            if (occupancy[cell] > bestOccupancy && (shotCells[cell >>> 6] & (1L << cell)) == 0) {
+                bestOccupancy = occupancy[cell];
+                bestCell = cell;
+            }
+        }
+
+        return bestCell;
+    }
+
+    /**
+     * @return number of layouts drawn in the last run, i.e. the number of iterations done within
+     * the budget.
+     */
+    public int getDrawnSamples() {
+        return drawnSamples;
+    }
+
+    /**
+     * @return number of consistent layouts found in the last run.
+     */
+    public int getAcceptedSamples() {
+        return acceptedSamples;
+    }
+
+    /**
+     * @return layouts drawn per second in the last run.
+     */
+    public double getSamplesPerSecond() {
+        return samplesPerSecond;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Keep the first accepted layouts of every run, so that callers can evaluate sets of cells
+     * against whole layouts rather than against the occupancy of every cell on its own.
+     *
+     * @param layoutsToKeep number of layouts to keep, spread evenly over the workers.
+     */
+    public void setLayoutsToKeep(int layoutsToKeep) {
+        checkArgument(layoutsToKeep >= 0, "Number of layouts to keep can not be negative");
+        this.layoutsToKeep = layoutsToKeep;
+    }
+
+    /**
+     * @return number of accepted layouts kept from every run.
+     */
+    public int getLayoutsToKeep() {
+        return layoutsToKeep;
+    }
+
+    /**
+     * @return number of layouts kept from the last run.
+     */
+    public int getKeptLayoutCount() {
+        int keptLayoutCount = 0;
+        for (Worker worker : workers) {
+            keptLayoutCount += worker.keptCount;
+        }
+        return keptLayoutCount;
+    }
+
+    /**
+     * @param layout index of a kept layout.
+     * @param ship   index of the ship, in the order of the ship lengths of the last run.
+     * @return index of the placement of the ship in the layout, see {@link LayoutSampler#getShipTable(int)}.
+     */
+    public int getKeptPlacement(int layout, int ship) {
+        for (Worker worker : workers) {
+            if (layout < worker.keptCount) {
+                return worker.keptPlacements[layout * shipLengths.length + ship];
+            }
+            layout -= worker.keptCount;
+        }
+
+        throw new IndexOutOfBoundsException("No kept layout " + layout);
+    }
+
+    /**
+     * @param ship index of the ship, in the order of the ship lengths of the last run.
+     * @return placements of the ship.
+     */
+    public PlacementTable getShipTable(int ship) {
+        return shipTables[ship];
+    }
+
+    /**
+     * @param cellIndex index of the cell, see {@link Grid#cellIndex(int, int)}.
+     * @return true if the cell has been shot at in the grid of the last run.
+     */
+    public boolean isShot(int cellIndex) {
+        return (shotCells[cellIndex >>> 6] & (1L << cellIndex)) != 0;
+    }
+
+    public int getThreadCount() {
+        return workers.length;
+    }
+
+    /**
+     * Stop the worker threads. The sampler draws its layouts on the calling thread afterwards.
+     */
+    public synchronized void shutdown() {
+        isShutdown = true;
+
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    private void loadKnowledge(Grid grid) {
+        long[] missed = grid.getStateBoard(CellState.EMPTY_HIT);
+        long[] hit = grid.getStateBoard(CellState.SHIP_WITH_HIT);
+        long[] destroyed = grid.getStateBoard(CellState.DESTROYED_SHIP);
+        long[] pending = grid.getStateBoard(CellState.TO_BE_PLACED);
+
+        Arrays.fill(baseBlockedCells, 0);
+
+        for (int word = 0; word < wordCount; word++) {
+            baseBlockedCells[word] = missed[word];
+            openHitCells[word] = hit[word];
+            shotCells[word] = missed[word] | hit[word] | destroyed[word] | pending[word];
+        }
+
+        PlacementTable cellTable = PlacementTable.forShip(width, height, 1);
+
+        for (int word = 0; word < wordCount; word++) {
+            long bits = destroyed[word];
+
+            while (bits != 0) {
+                cellTable.addHalo((word << 6) + Long.numberOfTrailingZeros(bits), baseBlockedCells);
+                bits &= bits - 1;
+            }
+        }
+    }
+
+    /**
+     * @return futures of the workers submitted to the executor, or null if they must run on the
+     * calling thread.
+     */
+    private synchronized List<Future<Void>> submitWorkers() {
+        if (workers.length == 1 || isShutdown) {
+            return null;
+        }
+
+        if (executor == null) {
+            executor = ExecutorUtils.newIdleStoppingThreadPool("layout-sampler", workers.length);
+        }
+
+        List<Future<Void>> futures = new ArrayList<>(workers.length);
+        for (Worker worker : workers) {
+            futures.add(executor.submit(worker));
+        }
+
+        return futures;
+    }
+
+    private void runWorkers() {
+        List<Future<Void>> futures = submitWorkers();
+
+        if (futures == null) {
+            for (Worker worker : workers) {
+                worker.call();
+            }
+            return;
+        }
+
+        try {
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while sampling layouts", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Layout sampling failed", e.getCause());
+        }
+    }
+
+    /**
+     * Draws layouts on a single thread. All state needed to draw a layout is allocated once and
+     * grown only if the number of ships increases.
+     */
+    private class Worker implements Callable<Void> {
+        private RandomSource random;
+
+        private final long[] blockedCells = new long[wordCount];
+        private final long[] uncoveredHitCells = new long[wordCount];
+        private final long[] occupiedCells = new long[wordCount];
+        private final int[] counts = new int[cellCount];
+
+        private boolean[] placed = new boolean[0];
+        private int[] order = new int[0];
+
+        /**
+         * Placement of every ship in the layout being drawn.
+         */
+        private int[] shipPlacements = new int[0];
+
+        /**
+         * Placements of the kept layouts, {@link LayoutSampler#shipLengths} entries per layout.
+         */
+        private int[] keptPlacements = new int[0];
+        private int keepQuota;
+        private int keptCount;
+
+        /**
+         * Placements covering the hit cell being resolved, encoded by {@link Worker#encode}.
+         */
+        private int[] candidates = new int[0];
+
+        private int budget;
+        private int drawn;
+        private int accepted;
+
+        @Override
+        public Void call() {
+            int shipCount = shipLengths.length;
+            if (placed.length < shipCount) {
+                placed = new boolean[shipCount];
+                order = new int[shipCount];
+                shipPlacements = new int[shipCount];
+            }
+            if (keptPlacements.length < keepQuota * shipCount) {
+                keptPlacements = new int[keepQuota * shipCount];
+            }
+            keptCount = 0;
+
+            int maxCandidates = 0;
+            for (int length : shipLengths) {
+                maxCandidates += 2 * length;
+            }
+            if (candidates.length < maxCandidates) {
+                candidates = new int[maxCandidates];
+            }
+
+            Arrays.fill(counts, 0);
+            drawn = 0;
+            accepted = 0;
+
+            while (drawn < budget) {
+                if (isTimeLimited && drawn % DEADLINE_CHECK_INTERVAL == 0 && System.nanoTime() - deadline >= 0) {
+                    break;
+                }
+
+                drawn++;
+                if (drawLayout()) {
+                    accepted++;
+                    countOccupiedCells();
+
+                    if (keptCount < keepQuota) {
+                        System.arraycopy(shipPlacements, 0, keptPlacements, keptCount * shipCount, shipCount);
+                        keptCount++;
+                    }
+                }
+            }
+
+            return null;
+        }
+
+        private boolean drawLayout() {
+            int shipCount = shipLengths.length;
+
+            System.arraycopy(baseBlockedCells, 0, blockedCells, 0, wordCount);
+            System.arraycopy(openHitCells, 0, uncoveredHitCells, 0, wordCount);
+            Arrays.fill(occupiedCells, 0);
+            Arrays.fill(placed, 0, shipCount, false);
+
+            // Cover every hit cell with a ship placed across it.
+            for (int word = 0; word < wordCount; word++) {
+                while (uncoveredHitCells[word] != 0) {
+                    int cell = (word << 6) + Long.numberOfTrailingZeros(uncoveredHitCells[word]);
+                    if (!placeAcross(cell)) {
+                        return false;
+                    }
+                }
+            }
+
+            // Place the other ships anywhere they fit, in random order.
+            int remaining = 0;
+            for (int ship = 0; ship < shipCount; ship++) {
+                if (!placed[ship]) {
+                    order[remaining++] = ship;
+                }
+            }
+
+            for (int i = remaining - 1; i >= 0; i--) {
+                int j = random.nextInt(i + 1);
+                int ship = order[j];
+                order[j] = order[i];
+
+                if (!placeAnywhere(ship)) {
+                    return false;
+                }
+                placed[ship] = true;
+            }
+
+            return true;
+        }
+
+        private boolean placeAcross(int cell) {
+            int candidateCount = 0;
+
+            for (int ship = 0; ship < shipLengths.length; ship++) {
+                if (placed[ship]) {
+                    continue;
+                }
+
+                PlacementTable table = shipTables[ship];
+                for (int placement : table.getPlacementsCovering(cell)) {
+                    if (table.fits(placement, blockedCells)) {
+                        candidates[candidateCount++] = encode(ship, placement);
+                    }
+                }
+            }
+
+            if (candidateCount == 0) {
+                return false;
+            }
+
+            int candidate = candidates[random.nextInt(candidateCount)];
+            int ship = candidate / (2 * cellCount);
+
+            place(ship, candidate % (2 * cellCount));
+            placed[ship] = true;
+            return true;
+        }
+
+        private boolean placeAnywhere(int ship) {
+            PlacementTable table = shipTables[ship];
+            int placementCount = table.getPlacementCount();
+
+            if (placementCount == 0) {
+                return false;
+            }
+
+            for (int attempt = 0; attempt < PLACEMENT_ATTEMPTS; attempt++) {
+                int placement = random.nextInt(placementCount);
+
+                if (table.fits(placement, blockedCells)) {
+                    place(ship, placement);
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        private void place(int ship, int placement) {
+            PlacementTable table = shipTables[ship];
+            shipPlacements[ship] = placement;
+
+            long[] cells = table.getCells();
+            int offset = table.getOffset(placement);
+            int firstWord = table.getFirstWord(placement);
+
+            for (int word = 0; word < table.getWordSpan(placement); word++) {
+                occupiedCells[firstWord + word] |= cells[offset + word];
+                uncoveredHitCells[firstWord + word] &= ~cells[offset + word];
+            }
+
+            table.addHalo(placement, blockedCells);
+        }
+
+        private void countOccupiedCells() {
+            for (int word = 0; word < wordCount; word++) {
+                long bits = occupiedCells[word];
+
+                while (bits != 0) {
+                    counts[(word << 6) + Long.numberOfTrailingZeros(bits)]++;
+                    bits &= bits - 1;
+                }
+            }
+        }
+
+        private int encode(int ship, int placement) {
+            return ship * 2 * cellCount + placement;
+        }
+    }
+}
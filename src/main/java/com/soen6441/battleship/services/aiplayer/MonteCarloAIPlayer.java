@@ -0,0 +1,241 @@
+package com.soen6441.battleship.services.aiplayer;
+
+import com.soen6441.battleship.data.interfaces.HitCallback;
+import com.soen6441.battleship.data.model.Coordinate;
+import com.soen6441.battleship.data.model.FleetSpec;
+import com.soen6441.battleship.data.model.GamePlayer;
+import com.soen6441.battleship.data.model.Grid;
+import com.soen6441.battleship.data.model.Ship;
+import com.soen6441.battleship.services.gamegrid.GameGrid;
+import com.soen6441.battleship.services.randomsource.RandomSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * AI player which hits the cell most likely to hold a ship, estimated by sampling random fleet
+ * layouts consistent with the hits and misses so far, see {@link LayoutSampler}.
+ * <p>
+ * Unlike {@link ProbabilityAIPlayer}, which counts the placements of every ship on its own, the
+ * sampled layouts respect the constraints between ships, such as ships not touching each other.
+ * The strength of the player grows with the sample budget.
+ * <p>
+ * If a turn deadline is set, layouts are drawn until the deadline instead of up to the sample
+ * budget, and the best cell found by then is hit. Each drawn layout counts as one iteration.
+ * The density of {@link ProbabilityDensityEngine} is used whenever no consistent layout was
+ * found in time.
+ * <p>
+ * Salvos whose shots are resolved together are planned by a {@link SalvoPlanner} over the same
+ * sampler, so that the shots of a salvo do not all pile onto the same likely ship.
+ */
+public class MonteCarloAIPlayer extends BaseAIPlayer implements IAnytimeAIPlayer, ISalvoAIPlayer {
+    private static final Logger logger = Logger.getLogger(MonteCarloAIPlayer.class.getName());
+
+    /**
+     * Number of layouts drawn every turn by default.
+     */
+    public static final int DEFAULT_SAMPLE_BUDGET = 5000;
+
+    private final int sampleBudget;
+
+    /**
+     * Time allowed for a turn in nanoseconds, 0 if turns are bounded by the sample budget only.
+     */
+    private long turnDeadlineNanos = 0;
+
+    private final LayoutSampler layoutSampler;
+
+    private final SalvoPlanner salvoPlanner;
+
+    /**
+     * Used when no consistent layout was found within the sample budget.
+     */
+    private ProbabilityDensityEngine densityEngine;
+
+    public MonteCarloAIPlayer(String name, GameGrid gameGrid, GamePlayer otherPlayer, HitCallback hitCallback) {
+        this(name, gameGrid, otherPlayer, hitCallback, DEFAULT_SAMPLE_BUDGET, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param sampleBudget number of layouts drawn every turn.
+     * @param threadCount  number of threads drawing layouts.
+     */
+    public MonteCarloAIPlayer(String name, GameGrid gameGrid, GamePlayer otherPlayer, HitCallback hitCallback,
+                              int sampleBudget, int threadCount) {
+        super(name, gameGrid, otherPlayer, hitCallback);
+        this.sampleBudget = sampleBudget;
+
+        Grid otherGrid = otherPlayer.getGameGrid().getGrid();
+        this.layoutSampler = new LayoutSampler(otherGrid.getWidth(), otherGrid.getHeight(), threadCount, randomSource.split());
+        this.salvoPlanner = new SalvoPlanner(layoutSampler, SalvoPlanner.DEFAULT_LAYOUT_COUNT);
+        this.densityEngine = new ProbabilityDensityEngine(otherGrid.getWidth(), otherGrid.getHeight(), fleetSpec.getMaxShipLength());
+    }
+
+    @Override
+    public Coordinate decideHit() {
+        logger.fine("Thinking....");
+
+        return getHittableCoordinate();
+    }
+
+    /**
+     * Plan the salvo with the {@link SalvoPlanner}. If the planner finds fewer cells worth shooting
+     * than there are shots, the remaining shots go to the first cells not yet shot at.
+     */
+    @Override
+    public List<Coordinate> decideSalvo(int shotCount) {
+        logger.fine("Planning salvo....");
+
+        Grid playerGrid = this.player.getGameGrid().getGrid();
+        int width = playerGrid.getWidth();
+        int height = playerGrid.getHeight();
+        int[] salvo = salvoPlanner.plan(playerGrid, getRemainingShipLengths(), shotCount, sampleBudget);
+
+        logger.fine(() -> String.format("Planned %d shots in %.1f ms.",
+                salvo.length, salvoPlanner.getLastPlanNanos() / 1e6));
+
+        boolean[] isPicked = new boolean[playerGrid.getCellCount()];
+        List<Coordinate> coordinates = new ArrayList<>(shotCount);
+
+        for (int cell : salvo) {
+            isPicked[cell] = true;
+            coordinates.add(Coordinate.ofIndex(cell, width, height));
+        }
+
+        for (int cell = 0; cell < playerGrid.getCellCount() && coordinates.size() < shotCount; cell++) {
+            if (!isPicked[cell] && !layoutSampler.isShot(cell)) {
+                coordinates.add(Coordinate.ofIndex(cell, width, height));
+            }
+        }
+
+        return coordinates;
+    }
+
+    /**
+     * @return time taken to plan the last salvo, in nanoseconds.
+     */
+    public long getLastSalvoPlanNanos() {
+        return salvoPlanner.getLastPlanNanos();
+    }
+
+    /**
+     * Stop the threads of the sampler.
+     */
+    @Override
+    public void close() {
+        layoutSampler.shutdown();
+    }
+
+    /**
+     * Layouts are drawn from streams split from the source.
+     */
+    @Override
+    public void setRandomSource(RandomSource randomSource) {
+        super.setRandomSource(randomSource);
+        layoutSampler.setRandomSource(randomSource.split());
+    }
+
+    /**
+     * The fallback density engine is rebuilt for the lengths of the new fleet.
+     */
+    @Override
+    public void setFleetSpec(FleetSpec fleetSpec) {
+        super.setFleetSpec(fleetSpec);
+        this.densityEngine = new ProbabilityDensityEngine(layoutSampler.getWidth(), layoutSampler.getHeight(),
+                fleetSpec.getMaxShipLength());
+    }
+
+    /**
+     * Once set, turns draw as many layouts as fit within the deadline, regardless of the sample budget.
+     */
+    @Override
+    public void setTurnDeadline(long deadline, TimeUnit unit) {
+        this.turnDeadlineNanos = unit.toNanos(deadline);
+    }
+
+    /**
+     * @return number of layouts drawn during the last turn.
+     */
+    @Override
+    public int getLastIterationCount() {
+        return layoutSampler.getDrawnSamples();
+    }
+
+    /**
+     * @return layouts drawn per second during the last turn.
+     */
+    public double getSamplesPerSecond() {
+        return layoutSampler.getSamplesPerSecond();
+    }
+
+    /**
+     * Sample layouts of the ships still afloat and pick the cell occupied most often.
+     *
+     * @return coordinates of the cell to hit.
+     */
+    private Coordinate getHittableCoordinate() {
+        Grid playerGrid = this.player.getGameGrid().getGrid();
+        int width = playerGrid.getWidth();
+        int height = playerGrid.getHeight();
+        int[] shipLengths = getRemainingShipLengths();
+
+        if (turnDeadlineNanos > 0) {
+            layoutSampler.sample(playerGrid, shipLengths, Integer.MAX_VALUE, turnDeadlineNanos);
+        } else {
+            layoutSampler.sample(playerGrid, shipLengths, sampleBudget);
+        }
+
+        logger.fine(() -> String.format("Sampled %d layouts, %d consistent, %.0f layouts/s.",
+                layoutSampler.getDrawnSamples(), layoutSampler.getAcceptedSamples(), layoutSampler.getSamplesPerSecond()));
+
+        int bestCell = layoutSampler.getBestCell();
+
+        if (bestCell < 0) {
+            int[] shipCounts = new int[fleetSpec.getMaxShipLength() + 1];
+            for (int length : shipLengths) {
+                if (length < shipCounts.length) {
+                    shipCounts[length]++;
+                }
+            }
+
+            densityEngine.setShipCounts(shipCounts);
+            densityEngine.sync(playerGrid);
+            bestCell = densityEngine.getBestCell();
+        }
+
+        if (bestCell >= 0) {
+            return Coordinate.ofIndex(bestCell, width, height);
+        }
+
+        for (int cell = 0; cell < playerGrid.getCellCount(); cell++) {
+            if (!isShotAt(playerGrid.getCellState(cell))) {
+                return Coordinate.ofIndex(cell, width, height);
+            }
+        }
+
+        return Coordinate.of(0, 0);
+    }
+
+    private int[] getRemainingShipLengths() {
+        List<Ship> ships = this.player.getGameGrid().getShips();
+        int remaining = 0;
+
+        for (Ship ship : ships) {
+            if (!ship.isSunk()) {
+                remaining++;
+            }
+        }
+
+        int[] shipLengths = new int[remaining];
+        int i = 0;
+        for (Ship ship : ships) {
+            if (!ship.isSunk()) {
+                shipLengths[i++] = ship.getLength();
+            }
+        }
+
+        return shipLengths;
+    }
+}
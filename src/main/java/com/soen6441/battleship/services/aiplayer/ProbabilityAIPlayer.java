@@ -2,44 +2,85 @@ package com.soen6441.battleship.services.aiplayer;
 
 import com.soen6441.battleship.data.interfaces.HitCallback;
 import com.soen6441.battleship.data.model.Coordinate;
+import com.soen6441.battleship.data.model.FleetSpec;
 import com.soen6441.battleship.data.model.GamePlayer;
 import com.soen6441.battleship.data.model.Grid;
 import com.soen6441.battleship.data.model.Ship;
 import com.soen6441.battleship.enums.CellState;
-import com.soen6441.battleship.enums.Direction;
-import com.soen6441.battleship.enums.HitResult;
-import com.soen6441.battleship.exceptions.CoordinatesOutOfBoundsException;
-import com.soen6441.battleship.services.gameconfig.GameConfig;
 import com.soen6441.battleship.services.gamegrid.GameGrid;
-import io.reactivex.Observable;
 
-import java.util.HashSet;
-import java.util.Random;
-import java.util.Set;
-import java.util.Stack;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
-public class ProbabilityAIPlayer extends GamePlayer implements IAIPlayer {
+/**
+ * AI player which hits the cell with the highest probability density, and the neighbours of hits
+ * of ships still afloat once it has found one, see {@link ProbabilityDensityEngine} and
+ * {@link TargetFrontier}.
+ * <p>
+ * Once the number of possible fleet layouts is small enough, every layout is counted by an
+ * {@link ExactLayoutSolver} and the cell with the highest exact probability is hit instead. The
+ * turn deadline bounds the time spent solving; the heuristics are used if it runs out.
+ */
+public class ProbabilityAIPlayer extends BaseAIPlayer implements IAnytimeAIPlayer {
     private static final Logger logger = Logger.getLogger(ProbabilityAIPlayer.class.getName());
+
+    /**
+     * Time a turn may spend solving exactly unless another deadline is set.
+     */
+    public static final long DEFAULT_TURN_DEADLINE_MILLIS = 500;
+
+    /**
+     * Offsets of the top, right, bottom and left neighbours of a cell.
+     */
+    private static final int[][] DIRECTIONS = {{0, -1}, {1, 0}, {0, 1}, {-1, 0}};
+
     /**
-     * Manual player of the game.
-     * AIPlayer hits the {@link com.soen6441.battleship.services.gamegrid.GameGrid} of this player.
+     * Probability density of ships on the manual player's grid, updated incrementally after every shot.
      */
-    private final GamePlayer player;
+    private ProbabilityDensityEngine densityEngine;
 
-    private boolean isInTargetMode = false;
+    /**
+     * Number of ships of every length still afloat, indexed by ship length.
+     */
+    private int[] remainingShipCounts;
 
-    private final HitCallback hitCallback;
+    /**
+     * Unshot cells next to hits of ships still afloat, best first.
+     */
+    private final TargetFrontier targetFrontier;
 
-    private final int cellDistributions[][];
+    /**
+     * Cells known to be hits of ships still afloat, as of the last sync of the target frontier.
+     */
+    private final long[] knownShipWithHitCells;
 
-    private final Set<Integer> destroyedShips = new HashSet<>();
+    /**
+     * Grid the target frontier was last synced with, and its modification count at that time.
+     */
+    private Grid frontierGrid;
+    private int frontierModificationCount;
 
-    private final Stack<Coordinate> coordinatesToHit = new Stack<>();
+    private final ExactLayoutSolver exactLayoutSolver;
 
-    private Coordinate previousHitCoordinate;
+    /**
+     * The exact solver is used once its search space estimate is at most this.
+     */
+    private long exactSearchSpaceThreshold = ExactLayoutSolver.DEFAULT_SEARCH_SPACE_THRESHOLD;
 
-    private final int gridSize = GameConfig.getsInstance().getGridSize();
+    /**
+     * Time allowed for a turn in nanoseconds, 0 if turns are not time limited.
+     */
+    private long turnDeadlineNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_TURN_DEADLINE_MILLIS);
+
+    /**
+     * Number of nodes explored by the exact solver during the last turn.
+     */
+    private long lastNodeCount = 0;
+
+    private final int width;
+    private final int height;
 
     /**
      * Instantiates a new Game player.
@@ -48,339 +89,331 @@ public class ProbabilityAIPlayer extends GamePlayer implements IAIPlayer {
      * @param gameGrid the game grid
      */
     public ProbabilityAIPlayer(String name, GameGrid gameGrid, GamePlayer otherPlayer, HitCallback hitCallback) {
-        super(name, gameGrid);
-        this.player = otherPlayer;
-        this.hitCallback = hitCallback;
-        int gridSize = GameConfig.getsInstance().getGridSize();
-        this.cellDistributions = new int[gridSize][gridSize];
+        super(name, gameGrid, otherPlayer, hitCallback);
+        Grid otherGrid = otherPlayer.getGameGrid().getGrid();
+        this.width = otherGrid.getWidth();
+        this.height = otherGrid.getHeight();
+        this.targetFrontier = new TargetFrontier(otherGrid.getCellCount());
+        this.knownShipWithHitCells = new long[(otherGrid.getCellCount() + 63) >>> 6];
+        this.exactLayoutSolver = new ExactLayoutSolver(width, height);
+        createDensityEngine();
     }
 
+    /**
+     * The density engine is rebuilt for the lengths of the new fleet.
+     */
     @Override
-    public void setIsMyTurn(Observable<Boolean> isMyTurn) {
-        super.setIsMyTurn(isMyTurn);
+    public void setFleetSpec(FleetSpec fleetSpec) {
+        super.setFleetSpec(fleetSpec);
+        createDensityEngine();
+    }
 
-        this.isMyTurn.subscribe(turn -> {
-            if (turn) {
-                logger.info(() -> "AI has been give the turn!");
-                takeHit();
-            }
-        });
+    private void createDensityEngine() {
+        this.densityEngine = new ProbabilityDensityEngine(width, height, fleetSpec.getMaxShipLength());
+        this.remainingShipCounts = new int[fleetSpec.getMaxShipLength() + 1];
     }
 
     /**
-     * Take a hit on manual player's {@link com.soen6441.battleship.services.gamegrid.GameGrid} board.
+     * Once set, the exact solver gives up when the deadline is reached, and the heuristics are used.
      */
     @Override
-    public void takeHit() {
-        if (player.getGameGrid().areAllShipsDestroyed()) {
-            return;
-        }
-
-        for (Ship ship : this.player.getGameGrid().getShips()) {
-            if (ship.isSunk()) {
-                this.destroyedShips.add(ship.getLength());
-            }
-        }
-
-        // This loop continues until AI has found a coordinate to hit
-        // or all ships of player are destroyed.
-        // This loop is broken manually.
-        logger.info("Thinking....");
-
-        if (coordinatesToHit.empty()) {
-            this.isInTargetMode = false;
-        }
-
-        if (isInTargetMode) {
-            Coordinate cordsToHit = coordinatesToHit.pop();
-
-            try {
-                HitResult hitResult = this.player.getGameGrid().peekHit(cordsToHit);
-
-                if (hitResult == HitResult.HIT) {
-                    updateStackWithCoordinates(cordsToHit);
-                }
-
-                this.hitCallback.onHit(cordsToHit);
-            } catch (Exception e) {
-                e.printStackTrace();
-            }
-        } else {
-            calculateDistributions();
-            Coordinate cordsToHit = getHittableCoordinate();
-
-            try {
-                HitResult hitResult = this.player.getGameGrid().peekHit(cordsToHit);
-
-                if (hitResult == HitResult.HIT) {
-                    previousHitCoordinate = cordsToHit;
-                    this.isInTargetMode = true;
-                    updateStackWithCoordinates(cordsToHit);
-                } else {
-                    this.isInTargetMode = false;
-                }
-            } catch (Exception e) {
-                e.printStackTrace();
-            }
+    public void setTurnDeadline(long deadline, TimeUnit unit) {
+        this.turnDeadlineNanos = unit.toNanos(deadline);
+    }
 
-            this.hitCallback.onHit(cordsToHit);
-        }
+    /**
+     * @return number of nodes explored by the exact solver during the last turn, 0 if it was not used.
+     */
+    @Override
+    public int getLastIterationCount() {
+        return (int) Math.min(lastNodeCount, Integer.MAX_VALUE);
     }
 
     /**
-     * On successful hit the near cells to find the ship.
-     * @param coordinate
+     * @param threshold the exact solver is used once the number of layouts is estimated to be at
+     *                  most this, use 0 to never solve exactly.
      */
+    public void setExactSearchSpaceThreshold(long threshold) {
+        this.exactSearchSpaceThreshold = threshold;
+    }
 
-    private void updateStackWithCoordinates(Coordinate coordinate) {
+    /**
+     * @return search nodes explored per second by the last exact solve.
+     */
+    public double getExactSolverNodesPerSecond() {
+        return exactLayoutSolver.getNodesPerSecond();
+    }
 
-        // Top
-        Coordinate topCoordinates = new Coordinate(coordinate.getX(), coordinate.getY() - 1);
-        if (canHit(topCoordinates) && !isSurroundedByDestroyedShip(topCoordinates)) {
-            this.coordinatesToHit.add(new Coordinate(coordinate.getX(), coordinate.getY() - 1));
-        }
+    /**
+     * Pick the cell with the highest exact probability if the layouts could be counted in time,
+     * otherwise the best cell of the target frontier if there is one left to try, or else the cell
+     * with the highest probability density.
+     *
+     * @return coordinates of the cell to hit.
+     */
+    @Override
+    public Coordinate decideHit() {
+        logger.fine("Thinking....");
 
-        // Right
-        Coordinate rightCoordinates = new Coordinate(coordinate.getX() + 1, coordinate.getY());
-        if (canHit(rightCoordinates) && !isSurroundedByDestroyedShip(rightCoordinates)) {
-            this.coordinatesToHit.add(new Coordinate(coordinate.getX() + 1, coordinate.getY()));
-        }
+        Grid playerGrid = this.player.getGameGrid().getGrid();
+        calculateDistributions();
+        syncTargetFrontier(playerGrid);
 
-        // Bottom
-        Coordinate bottomCoordinates = new Coordinate(coordinate.getX(), coordinate.getY() + 1);
-        if (canHit(bottomCoordinates) && !isSurroundedByDestroyedShip(bottomCoordinates)) {
-            this.coordinatesToHit.add(new Coordinate(coordinate.getX(), coordinate.getY() + 1));
+        int exactBestCell = solveExactly(playerGrid);
+        if (exactBestCell >= 0) {
+            return Coordinate.ofIndex(exactBestCell, width, height);
         }
 
-        // Left
-        Coordinate leftCoordinates = new Coordinate(coordinate.getX() - 1, coordinate.getY());
-        if (canHit(leftCoordinates) && !isSurroundedByDestroyedShip(leftCoordinates)) {
-            this.coordinatesToHit.add(new Coordinate(coordinate.getX() - 1, coordinate.getY()));
+        if (!targetFrontier.isEmpty()) {
+            return Coordinate.ofIndex(targetFrontier.poll(), width, height);
         }
 
-
+        return getHittableCoordinate();
     }
 
     /**
-     * During a gameplay, check if hitting a valid cell.
-     * @param coordinate - coordinates of the cell.
+     * Count the layouts of the ships still afloat if the search space is below the threshold.
+     *
+     * @return the cell with the highest exact probability, or -1 if the solver was not used or
+     * did not finish in time.
      */
+    private int solveExactly(Grid grid) {
+        lastNodeCount = 0;
 
-    private boolean canHit(Coordinate coordinate) {
-        int gridSize = GameConfig.getsInstance().getGridSize();
-
-        if (this.coordinatesToHit.contains(coordinate)) {
-            return false;
+        if (exactSearchSpaceThreshold == 0) {
+            return -1;
         }
 
-        if (coordinate.getX() < 0
-                || coordinate.getY() < 0
-                || coordinate.getX() >= gridSize
-                || coordinate.getY() >= gridSize) {
-            return false;
+        int[] shipLengths = getRemainingShipLengths();
+        long searchSpace = exactLayoutSolver.estimateSearchSpace(grid, shipLengths);
+        if (searchSpace == 0 || searchSpace > exactSearchSpaceThreshold) {
+            return -1;
         }
 
-        CellState cellState = this.player.getGameGrid().getGrid().getCellInfo(coordinate).getState();
+        boolean isSolved = exactLayoutSolver.solve(grid, shipLengths, turnDeadlineNanos);
+        lastNodeCount = exactLayoutSolver.getNodesExplored();
 
-        if (cellState == CellState.EMPTY_HIT
-                || cellState == CellState.SHIP_WITH_HIT
-                || cellState == CellState.DESTROYED_SHIP) {
-            return false;
-        }
+        logger.fine(() -> String.format("Exact solve of %d layouts %s, %d nodes, %.0f nodes/s.",
+                exactLayoutSolver.getLayoutCount(), isSolved ? "finished" : "timed out",
+                exactLayoutSolver.getNodesExplored(), exactLayoutSolver.getNodesPerSecond()));
 
-        return true;
+        return isSolved ? exactLayoutSolver.getBestCell() : -1;
     }
 
     /**
-     * @return random coordinates to hit.
+     * @return lengths of the ships still afloat, as counted for the density.
      */
-    private Coordinate getRandomHitCords() {
-        Random random = new Random();
-        return new Coordinate(random.nextInt(gridSize), random.nextInt(gridSize));
+    private int[] getRemainingShipLengths() {
+        int remaining = 0;
+        for (int shipLength = 1; shipLength < this.remainingShipCounts.length; shipLength++) {
+            remaining += this.remainingShipCounts[shipLength];
+        }
+
+        int[] shipLengths = new int[remaining];
+        int i = 0;
+        for (int shipLength = this.remainingShipCounts.length - 1; shipLength >= 1; shipLength--) {
+            for (int count = 0; count < this.remainingShipCounts[shipLength]; count++) {
+                shipLengths[i++] = shipLength;
+            }
+        }
+
+        return shipLengths;
     }
 
     /**
-     * The method the calculate the most probable location of a ship based on superposition of all possible locations of an enemy ship.
+     * Bring the target frontier up to date with the grid. The neighbours of cells hit since the
+     * last sync are added, cells that can no longer hold an unsunk ship are removed and every cell
+     * is re-prioritised with the current density.
+     * <p>
+     * The frontier is rebuilt from all the hits on the grid the first time, on a new grid (e.g. a
+     * loaded game) or if a hit has been reverted.
+     *
+     * @param grid opponent's grid.
      */
+    private void syncTargetFrontier(Grid grid) {
+        if (grid == frontierGrid && grid.getModificationCount() == frontierModificationCount) {
+            return;
+        }
 
-    private void calculateDistributions() {
-        resetDistributions();
+        long[] shipWithHitCells = grid.getStateBoard(CellState.SHIP_WITH_HIT);
+        long[] destroyedCells = grid.getStateBoard(CellState.DESTROYED_SHIP);
 
-        GameGrid playerGameGrid = this.player.getGameGrid();
+        if (grid != frontierGrid || wasAnyHitReverted(shipWithHitCells, destroyedCells)) {
+            targetFrontier.clear();
+            Arrays.fill(knownShipWithHitCells, 0L);
+        }
 
-        for (int shipLegth = 5; shipLegth > 0; shipLegth--) {
-            if (!this.destroyedShips.contains(shipLegth)) {
-                for (int y = 0; y < this.cellDistributions.length; y++) {
-                    for (int x = 0; x <= this.cellDistributions.length - shipLegth; x++) {
+        for (int word = 0; word < knownShipWithHitCells.length; word++) {
+            long newHitCells = shipWithHitCells[word] & ~knownShipWithHitCells[word];
+            knownShipWithHitCells[word] = shipWithHitCells[word];
 
-                        // If there is a destroyed ship in surroundings the distribution is zero.
+            while (newHitCells != 0) {
+                offerNeighbours(grid, (word << 6) + Long.numberOfTrailingZeros(newHitCells));
+                newHitCells &= newHitCells - 1;
+            }
+        }
 
-                        int horizontalWindow;
+        targetFrontier.removeIf(cell -> !isTargetCandidate(grid, cell));
+        targetFrontier.rekeyAll(cell -> targetPriority(grid, cell));
 
-                        for (horizontalWindow = x; horizontalWindow < x + shipLegth; horizontalWindow++) {
-                            Coordinate coordinate = new Coordinate(horizontalWindow, y);
+        frontierGrid = grid;
+        frontierModificationCount = grid.getModificationCount();
+    }
 
-                            if (isSurroundedByDestroyedShip(coordinate)) {
-                                this.cellDistributions[horizontalWindow][y] = 0;
-                            } else {
-                                CellState cellState = playerGameGrid.getGrid().getCellInfo(coordinate).getState();
+    /**
+     * A hit is reverted if it is neither a hit nor part of a destroyed ship anymore.
+     */
+    private boolean wasAnyHitReverted(long[] shipWithHitCells, long[] destroyedCells) {
+        for (int word = 0; word < knownShipWithHitCells.length; word++) {
+            if ((knownShipWithHitCells[word] & ~(shipWithHitCells[word] | destroyedCells[word])) != 0) {
+                return true;
+            }
+        }
 
-                                if (cellState == CellState.EMPTY_HIT
-                                        || cellState == CellState.SHIP_WITH_HIT
-                                        || cellState == CellState.DESTROYED_SHIP) {
-                                    break;
-                                }
+        return false;
+    }
 
-                                this.cellDistributions[horizontalWindow][y]++;
-                            }
-                        }
+    private void offerNeighbours(Grid grid, int cell) {
+        int x = cell % width;
+        int y = cell / width;
 
-                        if (horizontalWindow != (x + shipLegth)) {
-                            for (int i = horizontalWindow - 1; i >= x; i--) {
-                                this.cellDistributions[i][y]--;
-                            }
-                        }
+        for (int[] direction : DIRECTIONS) {
+            int neighbourX = x + direction[0];
+            int neighbourY = y + direction[1];
 
-                        int verticalWindow;
+            if (isValidCell(neighbourX, neighbourY)) {
+                int neighbour = grid.cellIndex(neighbourX, neighbourY);
+                if (isTargetCandidate(grid, neighbour)) {
+                    targetFrontier.offer(neighbour, targetPriority(grid, neighbour));
+                }
+            }
+        }
+    }
 
-                        for (verticalWindow = x; verticalWindow < x + shipLegth; verticalWindow++) {
-                            Coordinate coordinate = new Coordinate(y, verticalWindow);
+    /**
+     * A cell is worth trying in target mode if it has not been shot at, is next to a hit of a ship
+     * that is still afloat and does not touch a destroyed ship.
+     */
+    private boolean isTargetCandidate(Grid grid, int cell) {
+        CellState cellState = grid.getCellState(cell);
 
-                            if (isSurroundedByDestroyedShip(coordinate)) {
-                                this.cellDistributions[y][verticalWindow] = 0;
-                            } else {
-                                CellState cellState = playerGameGrid.getGrid().getCellInfo(coordinate).getState();
+        if (isShotAt(cellState)) {
+            return false;
+        }
 
-                                if (cellState == CellState.EMPTY_HIT
-                                        || cellState == CellState.SHIP_WITH_HIT
-                                        || cellState == CellState.DESTROYED_SHIP) {
-                                    break;
-                                }
+        return longestHitRun(grid, cell) > 0
+                && !isSurroundedByDestroyedShip(cell % width, cell / width);
+    }
 
-                                this.cellDistributions[y][verticalWindow]++;
-                            }
-                        }
+    /**
+     * Cells extending the longest line of hits come first, then the cells with the highest density.
+     */
+    private long targetPriority(Grid grid, int cell) {
+        return ((long) longestHitRun(grid, cell) << 32) | densityEngine.getDensity(cell);
+    }
 
-                        if (verticalWindow != (x + shipLegth)) {
-                            for (int i = verticalWindow - 1; i >= x; i--) {
-                                this.cellDistributions[y][i]--;
-                            }
-                        }
-                    }
-                }
+    /**
+     * @return length of the longest line of hits starting next to the cell, in any direction.
+     */
+    private int longestHitRun(Grid grid, int cell) {
+        int x = cell % width;
+        int y = cell / width;
+        int longestRun = 0;
+
+        for (int[] direction : DIRECTIONS) {
+            int run = 0;
+            int runX = x + direction[0];
+            int runY = y + direction[1];
+
+            while (run < fleetSpec.getMaxShipLength()
+                    && isValidCell(runX, runY)
+                    && grid.hasState(runX, runY, CellState.SHIP_WITH_HIT)) {
+                run++;
+                runX += direction[0];
+                runY += direction[1];
             }
+
+            longestRun = Math.max(longestRun, run);
         }
 
-        printDistributions();
+        return longestRun;
     }
 
     /**
-     * Reset distributions created based on past data.
+     * The method the calculate the most probable location of a ship based on superposition of all possible locations of an enemy ship.
+     * Only the placements overlapping cells hit since the last turn are recalculated, see {@link ProbabilityDensityEngine}.
      */
 
-    private void resetDistributions() {
-        for (int i = 0; i < this.cellDistributions.length; i++) {
-            for (int j = 0; j < this.cellDistributions.length; j++) {
-                this.cellDistributions[i][j] = 0;
+    private void calculateDistributions() {
+        int[] fleetShipCounts = fleetSpec.getShipCounts();
+        System.arraycopy(fleetShipCounts, 0, this.remainingShipCounts, 0, fleetShipCounts.length);
+
+        for (Ship ship : this.player.getGameGrid().getShips()) {
+            int shipLength = ship.getLength();
+
+            if (ship.isSunk() && shipLength < this.remainingShipCounts.length && this.remainingShipCounts[shipLength] > 0) {
+                this.remainingShipCounts[shipLength]--;
             }
         }
+
+        this.densityEngine.setShipCounts(this.remainingShipCounts);
+        this.densityEngine.sync(this.player.getGameGrid().getGrid());
+
+        printDistributions();
     }
 
     private void printDistributions() {
+        if (!logger.isLoggable(Level.FINE)) {
+            return;
+        }
+
         StringBuilder stringBuffer = new StringBuilder();
-        for (int i = 0; i < this.cellDistributions.length; i++) {
-            for (int j = 0; j < this.cellDistributions.length; j++) {
-                stringBuffer.append(this.cellDistributions[j][i] + "  ");
+        for (int i = 0; i < height; i++) {
+            for (int j = 0; j < width; j++) {
+                stringBuffer.append(this.densityEngine.getDensity(j, i)).append("  ");
             }
             stringBuffer.append("\n");
         }
-        logger.info(stringBuffer.toString());
+        logger.fine(stringBuffer.toString());
     }
 
     /**
      * Get the cell coordinate with the best possible probability of ship.
+     * If no ship can fit anywhere, the first cell which has not been shot at is returned.
      * @return - coordinates of the cell.
      */
     private Coordinate getHittableCoordinate() {
-        int largestValue = 0;
-        Coordinate coordinate = new Coordinate(0, 0);
-
-        for (int i = 0; i < this.cellDistributions.length; i++) {
-            for (int j = 0; j < this.cellDistributions.length; j++) {
-                int probabilityValue = this.cellDistributions[j][i];
+        Grid playerGrid = this.player.getGameGrid().getGrid();
+        int bestCell = this.densityEngine.getBestCell();
 
-                CellState cellState = this.player.getGameGrid().getGrid().getCellState(j, i);
+        if (bestCell >= 0) {
+            return Coordinate.ofIndex(bestCell, width, height);
+        }
 
-                if (probabilityValue > largestValue
-                        && (cellState != CellState.EMPTY_HIT && cellState != CellState.SHIP_WITH_HIT && cellState != CellState.DESTROYED_SHIP)) {
-                    largestValue = probabilityValue;
-                    coordinate = new Coordinate(j, i);
-                }
+        for (int cell = 0; cell < playerGrid.getCellCount(); cell++) {
+            if (!isShotAt(playerGrid.getCellState(cell))) {
+                return Coordinate.ofIndex(cell, width, height);
             }
-            System.out.println();
         }
 
-        return coordinate;
+        return Coordinate.of(0, 0);
     }
 
     /**
      * Check if a cell is a neighbour of a destroyed ship.
-     * @param coordinate - get cell coordinates.
-     *
+     * The row above, the row below and the cells to the left and right are tested
+     * against the destroyed ship bitboard.
+     * @param x - x coordinate
+     * @param y - y coordinate
      */
 
-    private boolean isSurroundedByDestroyedShip(Coordinate coordinate) {
+    private boolean isSurroundedByDestroyedShip(int x, int y) {
         Grid grid = player.getGameGrid().getGrid();
 
-        if (isValidCell(coordinate.getX(), coordinate.getY() - 1)) {
-            if (grid.getCellState(coordinate.getX(), coordinate.getY() - 1) == CellState.DESTROYED_SHIP) {
-                return true;
-            }
-        }
-
-        if (isValidCell(coordinate.getX(), coordinate.getY() + 1)) {
-            if (grid.getCellState(coordinate.getX(), coordinate.getY() + 1) == CellState.DESTROYED_SHIP) {
-                return true;
-            }
-        }
-
-        if (isValidCell(coordinate.getX() - 1, coordinate.getY())) {
-            if (grid.getCellState(coordinate.getX() - 1, coordinate.getY()) == CellState.DESTROYED_SHIP) {
-                return true;
-            }
-        }
-
-        if (isValidCell(coordinate.getX() + 1, coordinate.getY())) {
-            if (grid.getCellState(coordinate.getX() + 1, coordinate.getY()) == CellState.DESTROYED_SHIP) {
-                return true;
-            }
-        }
-
-        if (isValidCell(coordinate.getX() - 1, coordinate.getY() - 1)) {
-            if (grid.getCellState(coordinate.getX() - 1, coordinate.getY() - 1) == CellState.DESTROYED_SHIP) {
-                return true;
-            }
-        }
-
-        if (isValidCell(coordinate.getX() + 1, coordinate.getY() - 1)) {
-            if (grid.getCellState(coordinate.getX() + 1, coordinate.getY() - 1) == CellState.DESTROYED_SHIP) {
-                return true;
-            }
-        }
-
-        if (isValidCell(coordinate.getX() - 1, coordinate.getY() + 1)) {
-            if (grid.getCellState(coordinate.getX() - 1, coordinate.getY() + 1) == CellState.DESTROYED_SHIP) {
-                return true;
-            }
-        }
-
-        if (isValidCell(coordinate.getX() + 1, coordinate.getY() + 1)) {
-            if (grid.getCellState(coordinate.getX() + 1, coordinate.getY() + 1) == CellState.DESTROYED_SHIP) {
-                return true;
-            }
-        }
-
-        return false;
+        return grid.anyInRect(CellState.DESTROYED_SHIP, x - 1, y - 1, x + 1, y - 1)
+                || grid.anyInRect(CellState.DESTROYED_SHIP, x - 1, y + 1, x + 1, y + 1)
+                || grid.anyInRect(CellState.DESTROYED_SHIP, x - 1, y, x - 1, y)
+                || grid.anyInRect(CellState.DESTROYED_SHIP, x + 1, y, x + 1, y);
     }
 
 
@@ -391,8 +424,8 @@ public class ProbabilityAIPlayer extends GamePlayer implements IAIPlayer {
      */
     private boolean isValidCell(int x, int y) {
         return x >= 0
-                && x < gridSize
+                && x < width
                 && y >= 0
-                && y < gridSize;
+                && y < height;
     }
 }
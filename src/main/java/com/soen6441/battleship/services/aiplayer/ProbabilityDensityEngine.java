@@ -0,0 +1,556 @@
+package com.soen6441.battleship.services.aiplayer;
+
+import com.soen6441.battleship.data.model.Grid;
+import com.soen6441.battleship.enums.CellState;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Keeps the probability density of ship positions on an opponent's {@link Grid} up to date.
+ * <p>
+ * The density of a cell is the number of ways a remaining ship can lie across it, i.e. for
+ * every ship length, the number of horizontal and vertical placement windows covering the cell
+ * in which no cell is blocked, multiplied by the number of ships of that length still afloat.
+ * A cell is blocked if it has been shot at, including the shots of a salvo not resolved yet
+ * ({@link CellState#TO_BE_PLACED}), or if it touches a destroyed ship.
+ * <p>
+ * Every window keeps a count of the blocked cells inside it. When a cell becomes blocked only the
+ * windows overlapping it are updated, so the cost of a shot depends on the ship lengths and not
+ * on the size of the grid. Changes are picked up by diffing the grid bitboards in
+ * {@link ProbabilityDensityEngine#sync(Grid)}; if a cell is ever un-blocked the density is rebuilt.
+ * <p>
+ * Full rebuilds (first sync, a new grid, or an un-blocked cell) of grids at least
+ * {@link ProbabilityDensityEngine#DEFAULT_PARALLEL_GRID_SIZE} cells wide are split into bands of
+ * rows which are computed on a {@link ForkJoinPool}.
+ */
+public class ProbabilityDensityEngine {
+    /**
+     * Grids of this width and above are rebuilt in parallel by default.
+     */
+    public static final int DEFAULT_PARALLEL_GRID_SIZE = 32;
+
+    /**
+     * Bands of rows are not split further below this number of rows.
+     */
+    private static final int MIN_BAND_ROWS = 8;
+
+    private final int width;
+    private final int height;
+    private final int cellCount;
+    private final int maxShipLength;
+
+    /**
+     * Number of ships still afloat, indexed by ship length.
+     */
+    private final int[] shipCounts;
+
+    /**
+     * Number of blocked cells in every horizontal window, indexed by ship length and then the
+     * index of the left most cell of the window.
+     */
+    private final short[][] horizontalBlockedCounts;
+
+    /**
+     * Number of blocked cells in every vertical window, indexed by ship length and then the
+     * index of the top most cell of the window.
+     */
+    private final short[][] verticalBlockedCounts;
+
+    /**
+     * Number of windows without blocked cells covering every cell, indexed by ship length and
+     * then cell index.
+     */
+    private final int[][] coverCounts;
+
+    /**
+     * Density of every cell, indexed by cell index.
+     */
+    private final int[] density;
+
+    private final long[] blockedCells;
+    private final long[] knownShotCells;
+    private final long[] knownDestroyedCells;
+
+    /**
+     * Grid the engine was last synced with, and its modification count at that time.
+     */
+    private Grid syncedGrid;
+    private int syncedModificationCount;
+
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+
+    /**
+     * Rebuilds run in parallel if the grid is at least this wide.
+     */
+    private int parallelGridSize = DEFAULT_PARALLEL_GRID_SIZE;
+
+    /**
+     * @param gridSize      size of the square grid the density is calculated for.
+     * @param maxShipLength length of the longest ship.
+     */
+    public ProbabilityDensityEngine(int gridSize, int maxShipLength) {
+        this(gridSize, gridSize, maxShipLength);
+    }
+
+    /**
+     * @param width         number of columns of the grid the density is calculated for.
+     * @param height        number of rows of the grid the density is calculated for.
+     * @param maxShipLength length of the longest ship.
+     */
+    public ProbabilityDensityEngine(int width, int height, int maxShipLength) {
+        this.width = width;
+        this.height = height;
+        this.cellCount = width * height;
+        this.maxShipLength = maxShipLength;
+        this.shipCounts = new int[maxShipLength + 1];
+        this.horizontalBlockedCounts = new short[maxShipLength + 1][cellCount];
+        this.verticalBlockedCounts = new short[maxShipLength + 1][cellCount];
+        this.coverCounts = new int[maxShipLength + 1][cellCount];
+        this.density = new int[cellCount];
+
+        int wordCount = (cellCount + 63) >>> 6;
+        this.blockedCells = new long[wordCount];
+        this.knownShotCells = new long[wordCount];
+        this.knownDestroyedCells = new long[wordCount];
+
+        Arrays.fill(shipCounts, 1);
+        shipCounts[0] = 0;
+        rebuild();
+    }
+
+    /**
+     * Configure parallel rebuilds.
+     *
+     * @param pool             pool to run the rebuild on.
+     * @param parallelGridSize rebuilds run in parallel if the grid is at least this wide,
+     *                         use {@link Integer#MAX_VALUE} to always run sequentially.
+     */
+    public void setParallelism(ForkJoinPool pool, int parallelGridSize) {
+        this.pool = pool;
+        this.parallelGridSize = parallelGridSize;
+    }
+
+    /**
+     * Set the number of ships of every length that are still afloat.
+     * The density is only recalculated if the counts have changed.
+     *
+     * @param countsByLength number of ships, indexed by ship length.
+     */
+    public void setShipCounts(int[] countsByLength) {
+        boolean hasChanged = false;
+
+        for (int length = 1; length <= maxShipLength; length++) {
+            int count = length < countsByLength.length ? countsByLength[length] : 0;
+
+            if (shipCounts[length] != count) {
+                shipCounts[length] = count;
+                hasChanged = true;
+            }
+        }
+
+        if (hasChanged) {
+            recalculateDensity();
+        }
+    }
+
+    /**
+     * Bring the density up to date with the cells that have been hit on the grid since the last sync.
+     *
+     * @param grid opponent's grid.
+     */
+    public void sync(Grid grid) {
+        if (grid.getWidth() != width || grid.getHeight() != height) {
+            throw new IllegalArgumentException("Grid of size " + grid.getWidth() + "x" + grid.getHeight()
+                    + " cannot be synced with density engine of size " + width + "x" + height);
+        }
+
+        if (grid == syncedGrid && grid.getModificationCount() == syncedModificationCount) {
+            return;
+        }
+
+        long[] emptyHitCells = grid.getStateBoard(CellState.EMPTY_HIT);
+        long[] shipWithHitCells = grid.getStateBoard(CellState.SHIP_WITH_HIT);
+        long[] destroyedCells = grid.getStateBoard(CellState.DESTROYED_SHIP);
+        long[] pendingCells = grid.getStateBoard(CellState.TO_BE_PLACED);
+
+        if (grid != syncedGrid || wasAnyCellReverted(emptyHitCells, shipWithHitCells, destroyedCells, pendingCells)) {
+            rebuildFrom(emptyHitCells, shipWithHitCells, destroyedCells, pendingCells);
+            syncedGrid = grid;
+            syncedModificationCount = grid.getModificationCount();
+            return;
+        }
+
+        for (int word = 0; word < knownShotCells.length; word++) {
+            long shotCells = emptyHitCells[word] | shipWithHitCells[word] | destroyedCells[word] | pendingCells[word];
+            long newShotCells = shotCells & ~knownShotCells[word];
+            long newDestroyedCells = destroyedCells[word] & ~knownDestroyedCells[word];
+
+            knownShotCells[word] = shotCells;
+            knownDestroyedCells[word] = destroyedCells[word];
+
+            while (newShotCells != 0) {
+                block((word << 6) + Long.numberOfTrailingZeros(newShotCells));
+                newShotCells &= newShotCells - 1;
+            }
+
+            while (newDestroyedCells != 0) {
+                blockSurroundings((word << 6) + Long.numberOfTrailingZeros(newDestroyedCells));
+                newDestroyedCells &= newDestroyedCells - 1;
+            }
+        }
+
+        syncedGrid = grid;
+        syncedModificationCount = grid.getModificationCount();
+    }
+
+    /**
+     * @param cellIndex index of the cell, see {@link Grid#cellIndex(int, int)}.
+     * @return density of the cell.
+     */
+    public int getDensity(int cellIndex) {
+        return density[cellIndex];
+    }
+
+    /**
+     * @param x x-coordinate
+     * @param y y-coordinate
+     * @return density of the cell.
+     */
+    public int getDensity(int x, int y) {
+        return density[y * width + x];
+    }
+
+    /**
+     * @param cellIndex index of the cell, see {@link Grid#cellIndex(int, int)}.
+     * @return true if the cell has been hit or touches a destroyed ship.
+     */
+    public boolean isBlocked(int cellIndex) {
+        return (blockedCells[cellIndex >>> 6] & (1L << cellIndex)) != 0;
+    }
+
+    /**
+     * Get the cell with the highest density. Ties are broken by taking the first cell
+     * row by row, starting from the top left.
+     *
+     * @return index of the cell, -1 if no ship can lie on any cell.
+     */
+    public int getBestCell() {
+        int bestCell = -1;
+        int bestDensity = 0;
+
+        for (int cell = 0; cell < cellCount; cell++) {
+            if (density[cell] > bestDensity) {
+                bestDensity = density[cell];
+                bestCell = cell;
+            }
+        }
+
+        return bestCell;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Recalculate every window from the shot and destroyed cells of a grid.
+     */
+    private void rebuildFrom(long[] emptyHitCells, long[] shipWithHitCells, long[] destroyedCells, long[] pendingCells) {
+        Arrays.fill(blockedCells, 0);
+
+        for (int word = 0; word < knownShotCells.length; word++) {
+            knownShotCells[word] = emptyHitCells[word] | shipWithHitCells[word] | destroyedCells[word] | pendingCells[word];
+            knownDestroyedCells[word] = destroyedCells[word];
+            blockedCells[word] |= knownShotCells[word];
+
+            long bits = destroyedCells[word];
+            while (bits != 0) {
+                int cell = (word << 6) + Long.numberOfTrailingZeros(bits);
+                int x = cell % width;
+                int y = cell / width;
+
+                for (int ny = Math.max(y - 1, 0); ny <= Math.min(y + 1, height - 1); ny++) {
+                    for (int nx = Math.max(x - 1, 0); nx <= Math.min(x + 1, width - 1); nx++) {
+                        int neighbour = ny * width + nx;
+                        blockedCells[neighbour >>> 6] |= 1L << neighbour;
+                    }
+                }
+
+                bits &= bits - 1;
+            }
+        }
+
+        rebuild();
+    }
+
+    /**
+     * Recalculate the blocked count of every window and the cover counts of every cell from
+     * {@link ProbabilityDensityEngine#blockedCells}.
+     */
+    private void rebuild() {
+        if (width >= parallelGridSize && height > MIN_BAND_ROWS) {
+            List<BandOverflow> overflows = pool.invoke(new RowBandTask(0, height));
+
+            // Windows crossing into the next band were counted separately, add them now
+            // that every band is done.
+            for (BandOverflow overflow : overflows) {
+                overflow.addTo(coverCounts);
+            }
+        } else {
+            new RowBandTask(0, height).computeBand().addTo(coverCounts);
+        }
+
+        recalculateDensity();
+    }
+
+    private void recalculateDensity() {
+        Arrays.fill(density, 0);
+
+        for (int length = 1; length <= maxShipLength; length++) {
+            int count = shipCounts[length];
+
+            if (count == 0) {
+                continue;
+            }
+
+            int[] cover = coverCounts[length];
+            for (int cell = 0; cell < cellCount; cell++) {
+                density[cell] += count * cover[cell];
+            }
+        }
+    }
+
+    private boolean wasAnyCellReverted(long[] emptyHitCells, long[] shipWithHitCells, long[] destroyedCells,
+                                       long[] pendingCells) {
+        for (int word = 0; word < knownShotCells.length; word++) {
+            long shotCells = emptyHitCells[word] | shipWithHitCells[word] | destroyedCells[word] | pendingCells[word];
+
+            if ((knownShotCells[word] & ~shotCells) != 0 || (knownDestroyedCells[word] & ~destroyedCells[word]) != 0) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Block the cells around a destroyed ship cell.
+     */
+    private void blockSurroundings(int cell) {
+        int x = cell % width;
+        int y = cell / width;
+
+        for (int ny = Math.max(y - 1, 0); ny <= Math.min(y + 1, height - 1); ny++) {
+            for (int nx = Math.max(x - 1, 0); nx <= Math.min(x + 1, width - 1); nx++) {
+                block(ny * width + nx);
+            }
+        }
+    }
+
+    /**
+     * Mark a cell as blocked, and remove every window which just got its first blocked cell.
+     */
+    private void block(int cell) {
+        long bit = 1L << cell;
+
+        if ((blockedCells[cell >>> 6] & bit) != 0) {
+            return;
+        }
+
+        blockedCells[cell >>> 6] |= bit;
+
+        int x = cell % width;
+        int y = cell / width;
+
+        for (int length = 1; length <= maxShipLength; length++) {
+            short[] horizontalBlocked = horizontalBlockedCounts[length];
+            for (int startX = Math.max(0, x - length + 1); startX <= Math.min(x, width - length); startX++) {
+                int start = y * width + startX;
+                if (horizontalBlocked[start]++ == 0) {
+                    removeWindow(length, start, 1);
+                }
+            }
+
+            short[] verticalBlocked = verticalBlockedCounts[length];
+            for (int startY = Math.max(0, y - length + 1); startY <= Math.min(y, height - length); startY++) {
+                int start = startY * width + x;
+                if (verticalBlocked[start]++ == 0) {
+                    removeWindow(length, start, width);
+                }
+            }
+        }
+    }
+
+    private void removeWindow(int length, int start, int step) {
+        int[] cover = coverCounts[length];
+        int count = shipCounts[length];
+
+        for (int i = 0, cell = start; i < length; i++, cell += step) {
+            cover[cell]--;
+            density[cell] -= count;
+        }
+    }
+
+    /**
+     * Cover counts of vertical windows which start inside a band of rows but end below it.
+     */
+    private final class BandOverflow {
+        /**
+         * First row below the band.
+         */
+        private final int firstRow;
+
+        /**
+         * Cover counts indexed by ship length and then {@code (y - firstRow) * width + x}.
+         */
+        private final int[][] coverCounts;
+
+        private BandOverflow(int firstRow) {
+            this.firstRow = firstRow;
+            this.coverCounts = new int[maxShipLength + 1][];
+
+            for (int length = 1; length <= maxShipLength; length++) {
+                int rows = Math.max(0, Math.min(length - 1, height - firstRow));
+                this.coverCounts[length] = new int[rows * width];
+            }
+        }
+
+        private void addTo(int[][] cover) {
+            int offset = firstRow * width;
+
+            for (int length = 1; length <= maxShipLength; length++) {
+                int[] overflowCover = coverCounts[length];
+                int[] lengthCover = cover[length];
+
+                for (int i = 0; i < overflowCover.length; i++) {
+                    lengthCover[offset + i] += overflowCover[i];
+                }
+            }
+        }
+    }
+
+    /**
+     * Calculates the windows starting in a band of rows. Only the cover counts of cells inside the
+     * band are written directly, so bands can run in parallel.
+     */
+    private final class RowBandTask extends RecursiveTask<List<BandOverflow>> {
+        private final int fromRow;
+        private final int toRow;
+
+        private RowBandTask(int fromRow, int toRow) {
+            this.fromRow = fromRow;
+            this.toRow = toRow;
+        }
+
+        @Override
+        protected List<BandOverflow> compute() {
+            if (toRow - fromRow <= MIN_BAND_ROWS * 2) {
+                List<BandOverflow> overflows = new ArrayList<>();
+                overflows.add(computeBand());
+                return overflows;
+            }
+
+            int middleRow = (fromRow + toRow) >>> 1;
+            RowBandTask lower = new RowBandTask(middleRow, toRow);
+            lower.fork();
+
+            List<BandOverflow> overflows = new RowBandTask(fromRow, middleRow).compute();
+            overflows.addAll(lower.join());
+            return overflows;
+        }
+
+        private BandOverflow computeBand() {
+            BandOverflow overflow = new BandOverflow(toRow);
+            int[] columnBlockedCounts = new int[width];
+
+            for (int length = 1; length <= maxShipLength; length++) {
+                int[] cover = coverCounts[length];
+                Arrays.fill(cover, fromRow * width, toRow * width, 0);
+
+                if (length > width && length > height) {
+                    continue;
+                }
+
+                short[] horizontalBlocked = horizontalBlockedCounts[length];
+                short[] verticalBlocked = verticalBlockedCounts[length];
+                int[] overflowCover = overflow.coverCounts[length];
+
+                // Horizontal windows, sliding along every row of the band.
+                for (int y = fromRow; y < toRow; y++) {
+                    int rowStart = y * width;
+                    int blocked = 0;
+
+                    for (int x = 0; x < width; x++) {
+                        if (isBlocked(rowStart + x)) {
+                            blocked++;
+                        }
+                        if (x >= length && isBlocked(rowStart + x - length)) {
+                            blocked--;
+                        }
+                        if (x < length - 1) {
+                            continue;
+                        }
+
+                        int start = rowStart + x - length + 1;
+                        horizontalBlocked[start] = (short) blocked;
+
+                        if (blocked == 0) {
+                            for (int cell = start; cell <= rowStart + x; cell++) {
+                                cover[cell]++;
+                            }
+                        }
+                    }
+                }
+
+                // Vertical windows starting in the band, sliding down every column.
+                int lastStartRow = Math.min(toRow, height - length + 1);
+                Arrays.fill(columnBlockedCounts, 0);
+
+                for (int y = fromRow; y < fromRow + length - 1 && y < height; y++) {
+                    for (int x = 0; x < width; x++) {
+                        if (isBlocked(y * width + x)) {
+                            columnBlockedCounts[x]++;
+                        }
+                    }
+                }
+
+                for (int startY = fromRow; startY < lastStartRow; startY++) {
+                    int endY = startY + length - 1;
+
+                    for (int x = 0; x < width; x++) {
+                        if (isBlocked(endY * width + x)) {
+                            columnBlockedCounts[x]++;
+                        }
+
+                        int start = startY * width + x;
+                        verticalBlocked[start] = (short) columnBlockedCounts[x];
+
+                        if (columnBlockedCounts[x] == 0) {
+                            for (int y = startY; y <= endY; y++) {
+                                if (y < toRow) {
+                                    cover[y * width + x]++;
+                                } else {
+                                    overflowCover[(y - toRow) * width + x]++;
+                                }
+                            }
+                        }
+
+                        if (isBlocked(start)) {
+                            columnBlockedCounts[x]--;
+                        }
+                    }
+                }
+            }
+
+            return overflow;
+        }
+    }
+}
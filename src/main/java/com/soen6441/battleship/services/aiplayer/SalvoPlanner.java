@@ -0,0 +1,141 @@
+package com.soen6441.battleship.services.aiplayer;
+
+import com.soen6441.battleship.data.model.Grid;
+import com.soen6441.battleship.services.placementtable.PlacementTable;
+
+import java.util.Arrays;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Picks all the shots of a salvo together, for games in which the shots of a salvo are only
+ * resolved once the salvo is complete.
+ * <p>
+ * Shots picked one at a time all go to the cells with the highest occupancy, which are often
+ * cells of the same likely ship, so several shots only confirm what one shot would have shown.
+ * The planner instead scores a salvo against layouts drawn by a {@link LayoutSampler}: in every
+ * layout the first shot on a ship is worth 1 and every further shot on the same ship half the
+ * previous one. Shots are picked greedily by the gain in expected score, which spreads a salvo
+ * over the ships that are likely to be hit and still concentrates it on a ship once little else
+ * is left.
+ * <p>
+ * Picking a shot costs one pass over the cells of every ship of every kept layout, so a salvo of
+ * {@code k} shots costs {@code O(k * layouts * ships * length)} on top of the sampling.
+ */
+public class SalvoPlanner {
+    /**
+     * Number of layouts a salvo is scored against by default.
+     */
+    public static final int DEFAULT_LAYOUT_COUNT = 2000;
+
+    private final LayoutSampler layoutSampler;
+    private final int layoutCount;
+
+    private long lastPlanNanos;
+
+    /**
+     * @param layoutSampler sampler drawing the layouts, told how many layouts to keep while planning.
+     * @param layoutCount   number of layouts a salvo is scored against.
+     */
+    public SalvoPlanner(LayoutSampler layoutSampler, int layoutCount) {
+        checkArgument(layoutCount > 0, "Layout count must be positive");
+
+        this.layoutSampler = layoutSampler;
+        this.layoutCount = layoutCount;
+    }
+
+    /**
+     * Plan a salvo. The whole {@code sampleBudget} of layouts is drawn, so that the occupancy of
+     * the sampler stays comparable between turns, and the salvo is scored against the first
+     * {@code layoutCount} accepted ones. The number of layouts the sampler keeps is restored
+     * afterwards.
+     *
+     * @param grid         opponent's grid.
+     * @param shipLengths  lengths of the ships still afloat.
+     * @param shotCount    number of shots of the salvo.
+     * @param sampleBudget maximum number of layouts to draw, including rejected ones.
+     * @return indices of the cells to shoot, best first. Fewer than {@code shotCount} cells are
+     * returned if no layout was accepted or there are not enough cells left worth shooting.
+     */
+    public int[] plan(Grid grid, int[] shipLengths, int shotCount, int sampleBudget) {
+        checkArgument(shotCount >= 0, "Shot count can not be negative");
+
+        long startTime = System.nanoTime();
+
+        int previousLayoutsToKeep = layoutSampler.getLayoutsToKeep();
+        layoutSampler.setLayoutsToKeep(layoutCount);
+        try {
+            layoutSampler.sample(grid, shipLengths, sampleBudget);
+        } finally {
+            layoutSampler.setLayoutsToKeep(previousLayoutsToKeep);
+        }
+
+        int cellCount = grid.getCellCount();
+        int shipCount = shipLengths.length;
+        int keptLayoutCount = layoutSampler.getKeptLayoutCount();
+
+        // Value of the next shot on every ship of every layout.
+        double[] shipValues = new double[keptLayoutCount * shipCount];
+        Arrays.fill(shipValues, 1);
+
+        boolean[] isPicked = new boolean[cellCount];
+        double[] gains = new double[cellCount];
+        int[] salvo = new int[shotCount];
+        int pickedCount = 0;
+
+        while (pickedCount < shotCount) {
+            Arrays.fill(gains, 0);
+
+            for (int layout = 0; layout < keptLayoutCount; layout++) {
+                for (int ship = 0; ship < shipCount; ship++) {
+                    PlacementTable table = layoutSampler.getShipTable(ship);
+                    int placement = layoutSampler.getKeptPlacement(layout, ship);
+                    double value = shipValues[layout * shipCount + ship];
+                    int step = table.isVertical(placement) ? table.getWidth() : 1;
+                    int cell = table.getStart(placement);
+
+                    for (int i = 0; i < table.getShipLength(); i++, cell += step) {
+                        gains[cell] += value;
+                    }
+                }
+            }
+
+            int bestCell = -1;
+            for (int cell = 0; cell < cellCount; cell++) {
+                if (gains[cell] > 0 && !isPicked[cell] && !layoutSampler.isShot(cell)
+                        && (bestCell < 0 || gains[cell] > gains[bestCell])) {
+                    bestCell = cell;
+                }
+            }
+
+            if (bestCell < 0) {
+                break;
+            }
+
+            isPicked[bestCell] = true;
+            salvo[pickedCount++] = bestCell;
+
+            for (int layout = 0; layout < keptLayoutCount; layout++) {
+                for (int ship = 0; ship < shipCount; ship++) {
+                    PlacementTable table = layoutSampler.getShipTable(ship);
+                    int placement = layoutSampler.getKeptPlacement(layout, ship);
+
+                    if (table.covers(placement, bestCell)) {
+                        shipValues[layout * shipCount + ship] /= 2;
+                        break;
+                    }
+                }
+            }
+        }
+
+        lastPlanNanos = System.nanoTime() - startTime;
+        return Arrays.copyOf(salvo, pickedCount);
+    }
+
+    /**
+     * @return time taken by the last plan, sampling included, in nanoseconds.
+     */
+    public long getLastPlanNanos() {
+        return lastPlanNanos;
+    }
+}
@@ -0,0 +1,213 @@
+package com.soen6441.battleship.services.aiplayer;
+
+import java.util.function.IntPredicate;
+import java.util.function.IntToLongFunction;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Cells to try next in target mode, ordered by a priority key, e.g. the probability density of
+ * the cell.
+ * <p>
+ * A binary max-heap of cell indices. The heap position of every cell is kept in an array indexed
+ * by cell, so membership tests are O(1) and adding, removing or re-prioritising a cell is
+ * O(log n). Ties are broken in favour of the lower cell index.
+ */
+public class TargetFrontier {
+    private final int[] heap;
+    private final long[] keys;
+
+    /**
+     * Position of every cell in the heap, or -1 if the cell is not in the frontier.
+     */
+    private final int[] heapIndex;
+
+    private int size = 0;
+
+    /**
+     * @param cellCount number of cells of the grid.
+     */
+    public TargetFrontier(int cellCount) {
+        this.heap = new int[cellCount];
+        this.keys = new long[cellCount];
+        this.heapIndex = new int[cellCount];
+        clear();
+    }
+
+    public boolean contains(int cell) {
+        return heapIndex[cell] >= 0;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Add a cell, or change its key if it already is in the frontier.
+     *
+     * @param cell index of the cell.
+     * @param key  priority of the cell, higher first.
+     */
+    public void offer(int cell, long key) {
+        if (contains(cell)) {
+            long oldKey = keys[cell];
+            keys[cell] = key;
+            if (key > oldKey) {
+                siftUp(heapIndex[cell]);
+            } else {
+                siftDown(heapIndex[cell]);
+            }
+            return;
+        }
+
+        keys[cell] = key;
+        heap[size] = cell;
+        heapIndex[cell] = size;
+        siftUp(size++);
+    }
+
+    /**
+     * @param cell index of the cell to remove, ignored if it is not in the frontier.
+     */
+    public void remove(int cell) {
+        int index = heapIndex[cell];
+        if (index < 0) {
+            return;
+        }
+
+        heapIndex[cell] = -1;
+        size--;
+
+        if (index == size) {
+            return;
+        }
+
+        int last = heap[size];
+        heap[index] = last;
+        heapIndex[last] = index;
+        siftDown(index);
+        siftUp(heapIndex[last]);
+    }
+
+    /**
+     * @return cell with the highest key, or -1 if the frontier is empty.
+     */
+    public int peek() {
+        return size == 0 ? -1 : heap[0];
+    }
+
+    /**
+     * Remove the cell with the highest key.
+     *
+     * @return the removed cell, or -1 if the frontier is empty.
+     */
+    public int poll() {
+        int cell = peek();
+        if (cell >= 0) {
+            remove(cell);
+        }
+        return cell;
+    }
+
+    /**
+     * @param cell index of a cell in the frontier.
+     * @return key of the cell.
+     */
+    public long getKey(int cell) {
+        checkArgument(contains(cell), "Cell %s is not in the frontier", cell);
+        return keys[cell];
+    }
+
+    /**
+     * Recompute the key of every cell and restore the heap order in O(n).
+     *
+     * @param keyFunction key of a cell.
+     */
+    public void rekeyAll(IntToLongFunction keyFunction) {
+        for (int i = 0; i < size; i++) {
+            keys[heap[i]] = keyFunction.applyAsLong(heap[i]);
+        }
+
+        for (int i = size / 2 - 1; i >= 0; i--) {
+            siftDown(i);
+        }
+    }
+
+    /**
+     * Remove every cell matching a predicate, in O(n).
+     *
+     * @param filter returns true for the cells to remove.
+     */
+    public void removeIf(IntPredicate filter) {
+        int kept = 0;
+
+        for (int i = 0; i < size; i++) {
+            int cell = heap[i];
+            if (filter.test(cell)) {
+                heapIndex[cell] = -1;
+            } else {
+                move(cell, kept++);
+            }
+        }
+
+        size = kept;
+        for (int i = size / 2 - 1; i >= 0; i--) {
+            siftDown(i);
+        }
+    }
+
+    public void clear() {
+        for (int i = 0; i < heapIndex.length; i++) {
+            heapIndex[i] = -1;
+        }
+        size = 0;
+    }
+
+    private void siftUp(int index) {
+        int cell = heap[index];
+
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!isBefore(cell, heap[parent])) {
+                break;
+            }
+            move(heap[parent], index);
+            index = parent;
+        }
+
+        move(cell, index);
+    }
+
+    private void siftDown(int index) {
+        int cell = heap[index];
+        int half = size >>> 1;
+
+        while (index < half) {
+            int child = 2 * index + 1;
+            int right = child + 1;
+            if (right < size && isBefore(heap[right], heap[child])) {
+                child = right;
+            }
+            if (!isBefore(heap[child], cell)) {
+                break;
+            }
+            move(heap[child], index);
+            index = child;
+        }
+
+        move(cell, index);
+    }
+
+    private void move(int cell, int index) {
+        heap[index] = cell;
+        heapIndex[cell] = index;
+    }
+
+    private boolean isBefore(int cell, int other) {
+        return keys[cell] > keys[other] || (keys[cell] == keys[other] && cell < other);
+    }
+}
@@ -0,0 +1,75 @@
+package com.soen6441.battleship.services.boardgenerator;
+
+import com.soen6441.battleship.data.model.Ship;
+import com.soen6441.battleship.services.gamegrid.IGameGrid;
+import com.soen6441.battleship.services.placementtable.PlacementTable;
+
+/**
+ * Positions of the ships of a fleet on a grid, as indices into the {@link PlacementTable} of every
+ * ship. A layout holds no {@link Ship}s, so it never changes and can be built on one thread and
+ * placed on a grid on another; fresh ships are built every time it is placed.
+ */
+public class FleetLayout {
+    private final int width;
+    private final int height;
+    private final int[] shipLengths;
+    private final int[] placements;
+
+    /**
+     * @param width       number of columns of the grid.
+     * @param height      number of rows of the grid.
+     * @param shipLengths lengths of the ships.
+     * @param placements  placement of every ship in the {@link PlacementTable} of its length.
+     */
+    FleetLayout(int width, int height, int[] shipLengths, int[] placements) {
+        this.width = width;
+        this.height = height;
+        this.shipLengths = shipLengths.clone();
+        this.placements = placements.clone();
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public int getShipCount() {
+        return shipLengths.length;
+    }
+
+    public int getShipLength(int ship) {
+        return shipLengths[ship];
+    }
+
+    /**
+     * @param ship index of the ship.
+     * @return index of the placement of the ship in the {@link PlacementTable} of its length.
+     */
+    public int getPlacement(int ship) {
+        return placements[ship];
+    }
+
+    /**
+     * Place the ships of the layout on a grid.
+     *
+     * @param gameGrid grid of the dimensions of the layout, with no ship touching the layout.
+     * @throws IllegalStateException if a ship can not be placed.
+     */
+    public void placeOn(IGameGrid gameGrid) {
+        for (int ship = 0; ship < shipLengths.length; ship++) {
+            Ship shipToPlace = PlacementTable.forShip(width, height, shipLengths[ship])
+                    .toShipBuilder(placements[ship])
+                    .setName("Ship:" + shipLengths[ship])
+                    .build();
+
+            try {
+                gameGrid.placeShip(shipToPlace);
+            } catch (Exception e) {
+                throw new IllegalStateException("Could not place ship " + shipToPlace, e);
+            }
+        }
+    }
+}
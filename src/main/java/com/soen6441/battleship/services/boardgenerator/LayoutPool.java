@@ -0,0 +1,217 @@
+package com.soen6441.battleship.services.boardgenerator;
+
+import com.soen6441.battleship.data.model.FleetSpec;
+import com.soen6441.battleship.services.randomsource.RandomSource;
+import com.soen6441.battleship.utils.ExecutorUtils;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Pool of ready made random {@link FleetLayout}s, so that setting up a game does not wait for its
+ * ships to be placed.
+ * <p>
+ * The pool holds up to {@code capacity} layouts for every grid and fleet it has been asked for.
+ * Whenever a layout is taken, the layouts of that grid and fleet are topped up by a single
+ * background thread. If the pool runs dry the layout is generated on the calling thread instead,
+ * so taking a layout never blocks on the refill thread.
+ * <p>
+ * Layouts are drawn from the {@link RandomSource} of the pool, not from the source of the game
+ * taking them, so games which must be reproducible from a seed should place their ships with their
+ * own {@link RandomShipPlacer}.
+ */
+public class LayoutPool {
+    private static final Logger logger = Logger.getLogger(LayoutPool.class.getName());
+
+    /**
+     * Number of layouts kept ready for every grid and fleet by default.
+     */
+    public static final int DEFAULT_CAPACITY = 16;
+
+    private static LayoutPool sInstance;
+
+    private final int capacity;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Single thread refilling the pool, which is the only user of {@link LayoutPool#refillPlacer}.
+     */
+    private final ExecutorService refillExecutor =
+            Executors.newSingleThreadExecutor(ExecutorUtils.daemonThreadFactory("layout-pool"));
+
+    private final RandomShipPlacer refillPlacer;
+
+    /**
+     * Placer used by callers when the pool is empty, guarded by its own lock.
+     */
+    private final RandomShipPlacer fallbackPlacer;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+
+    /**
+     * @return the shared pool, with the default capacity and a randomly seeded source.
+     */
+    public static synchronized LayoutPool getInstance() {
+        if (sInstance == null) {
+            sInstance = new LayoutPool(DEFAULT_CAPACITY, new RandomSource());
+        }
+
+        return sInstance;
+    }
+
+    /**
+     * @param capacity     number of layouts kept ready for every grid and fleet.
+     * @param randomSource source of the layouts.
+     */
+    public LayoutPool(int capacity, RandomSource randomSource) {
+        checkArgument(capacity > 0, "Capacity must be positive");
+
+        this.capacity = capacity;
+        this.refillPlacer = new RandomShipPlacer(randomSource.split());
+        this.fallbackPlacer = new RandomShipPlacer(randomSource.split());
+    }
+
+    /**
+     * Take a layout out of the pool, generating it on the calling thread if the pool is empty, and
+     * top the pool up in the background.
+     *
+     * @param width     number of columns of the grid.
+     * @param height    number of rows of the grid.
+     * @param fleetSpec ships of the fleet.
+     * @return a layout no other caller receives.
+     * @throws IllegalStateException if the fleet does not fit on the grid.
+     */
+    public FleetLayout take(int width, int height, FleetSpec fleetSpec) {
+        Entry entry = getEntry(width, height, fleetSpec);
+        FleetLayout layout = entry.layouts.poll();
+
+        if (layout != null) {
+            hitCount.incrementAndGet();
+        } else {
+            missCount.incrementAndGet();
+
+            synchronized (fallbackPlacer) {
+                layout = fallbackPlacer.generateLayout(width, height, fleetSpec);
+            }
+        }
+
+        scheduleRefill(entry);
+        return layout;
+    }
+
+    /**
+     * Start filling the pool for a grid and fleet, e.g. while the game is being configured.
+     *
+     * @param width     number of columns of the grid.
+     * @param height    number of rows of the grid.
+     * @param fleetSpec ships of the fleet.
+     */
+    public void prefill(int width, int height, FleetSpec fleetSpec) {
+        scheduleRefill(getEntry(width, height, fleetSpec));
+    }
+
+    /**
+     * @param width     number of columns of the grid.
+     * @param height    number of rows of the grid.
+     * @param fleetSpec ships of the fleet.
+     * @return number of layouts ready for the grid and fleet.
+     */
+    public int getAvailableCount(int width, int height, FleetSpec fleetSpec) {
+        Entry entry = entries.get(getKey(width, height, fleetSpec));
+        return entry == null ? 0 : entry.layouts.size();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return number of layouts taken from the pool.
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * @return number of layouts generated on the calling thread because the pool was empty.
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * Stop the refill thread. Layouts can still be taken, but are generated on the calling thread
+     * once the pool is empty.
+     */
+    public void shutdown() {
+        refillExecutor.shutdownNow();
+    }
+
+    private Entry getEntry(int width, int height, FleetSpec fleetSpec) {
+        return entries.computeIfAbsent(getKey(width, height, fleetSpec),
+                key -> new Entry(width, height, fleetSpec, capacity));
+    }
+
+    private static String getKey(int width, int height, FleetSpec fleetSpec) {
+        return width + "x" + height + ":" + fleetSpec;
+    }
+
+    private void scheduleRefill(Entry entry) {
+        if (refillExecutor.isShutdown() || entry.layouts.remainingCapacity() == 0
+                || !entry.isRefilling.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            refillExecutor.execute(() -> refill(entry));
+        } catch (RejectedExecutionException e) {
+            entry.isRefilling.set(false);
+        }
+    }
+
+    private void refill(Entry entry) {
+        try {
+            while (entry.layouts.remainingCapacity() > 0 && !Thread.currentThread().isInterrupted()) {
+                entry.layouts.offer(refillPlacer.generateLayout(entry.width, entry.height, entry.fleetSpec));
+            }
+        } catch (IllegalStateException e) {
+            logger.warning(() -> "Could not generate layout: " + e.getMessage());
+            return;
+        } finally {
+            entry.isRefilling.set(false);
+        }
+
+        // A layout may have been taken after the loop ended but before the flag was cleared.
+        scheduleRefill(entry);
+    }
+
+    /**
+     * Layouts of one grid and fleet.
+     */
+    private static class Entry {
+        private final int width;
+        private final int height;
+        private final FleetSpec fleetSpec;
+        private final BlockingQueue<FleetLayout> layouts;
+        private final AtomicBoolean isRefilling = new AtomicBoolean();
+
+        private Entry(int width, int height, FleetSpec fleetSpec, int capacity) {
+            this.width = width;
+            this.height = height;
+            this.fleetSpec = fleetSpec;
+            this.layouts = new ArrayBlockingQueue<>(capacity);
+        }
+    }
+}
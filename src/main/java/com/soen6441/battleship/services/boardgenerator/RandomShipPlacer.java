@@ -1,66 +1,282 @@
 package com.soen6441.battleship.services.boardgenerator;
 
-import com.soen6441.battleship.data.model.Ship;
-import com.soen6441.battleship.enums.ShipDirection;
-import com.soen6441.battleship.services.gameconfig.GameConfig;
+import com.soen6441.battleship.data.model.FleetSpec;
+import com.soen6441.battleship.data.model.Grid;
+import com.soen6441.battleship.enums.CellState;
 import com.soen6441.battleship.services.gamegrid.IGameGrid;
+import com.soen6441.battleship.services.placementtable.PlacementTable;
+import com.soen6441.battleship.services.randomsource.RandomSource;
 
-import java.util.Random;
 import java.util.logging.Logger;
 
 /**
  * Provides utility to place random ships on a {@link IGameGrid}.
+ * <p>
+ * A layout is first drawn by rejection: every ship gets a placement picked uniformly from the
+ * {@link PlacementTable} of its length, and the whole layout is drawn again as soon as a ship
+ * overlaps or touches a ship placed before it. Every legal layout is then equally likely. Crowded
+ * fleets may reject almost every layout, so after {@link RandomShipPlacer#REJECTION_ROUNDS} rounds
+ * the placer falls back to a randomised backtracking search over the placements which fit. The
+ * search is not exactly uniform. A search stuck on a bad early choice rarely recovers, so every
+ * attempt tries {@link RandomShipPlacer#ATTEMPT_BUDGET_PER_SHIP} placements per ship before the
+ * search starts over in a new random order, and the search gives up once
+ * {@link RandomShipPlacer#SEARCH_BUDGET} placements were tried in all. Fleets which can not fit,
+ * see {@link FleetSpec#mayFitOn(int, int)}, or for which no layout was found are reported.
+ * <p>
+ * Layouts are built on bitboards and only the final layout is placed on the grid, so no exception
+ * is thrown or caught while searching.
  */
 public class RandomShipPlacer {
     private static final Logger logger = Logger.getLogger(RandomShipPlacer.class.getName());
-    private static final int gridSize = GameConfig.getsInstance().getGridSize();
 
     /**
-     * Places randomly 5 ships of different lengths on a {@link IGameGrid}.
-     * The placement of ships in completed random. Java's {@link Random}
-     * class is used to select random coordinates.
+     * Number of layouts drawn uniformly before falling back to the backtracking search.
+     */
+    private static final int REJECTION_ROUNDS = 4096;
+
+    /**
+     * Number of placements the backtracking search tries in all before giving up on a fleet.
+     * Crowded fleets which do not fit can otherwise take longer than a game to be ruled out.
+     */
+    private static final int SEARCH_BUDGET = 1 << 19;
+
+    /**
+     * Number of placements an attempt of the backtracking search tries per ship, before the search
+     * starts over in a new random order.
+     */
+    private static final int ATTEMPT_BUDGET_PER_SHIP = 64;
+
+    private final RandomSource randomSource;
+
+    private long generatedLayoutCount = 0;
+    private long searchedLayoutCount = 0;
+    private long generationNanos = 0;
+    private int searchBudgetLeft;
+
+    /**
+     * Create a placer with a randomly seeded {@link RandomSource}.
+     */
+    public RandomShipPlacer() {
+        this(new RandomSource());
+    }
+
+    /**
+     * @param randomSource source of the random coordinates, e.g. seeded to reproduce a game.
+     */
+    public RandomShipPlacer(RandomSource randomSource) {
+        this.randomSource = randomSource;
+    }
+
+    /**
+     * Places randomly the ships of the {@link FleetSpec#STANDARD} fleet on a {@link IGameGrid}.
      *
      * @param gameGrid on top of which random ships need to be placed.
+     * @see RandomShipPlacer#placeRandomShips(IGameGrid, FleetSpec)
      */
     public void placeRandomShips(IGameGrid gameGrid) {
-        int shipLength = 5;
+        placeRandomShips(gameGrid, FleetSpec.STANDARD);
+    }
+
+    /**
+     * Places randomly a fleet of ships on a {@link IGameGrid}, so that no ship overlaps or touches
+     * another ship, including the ships already on the grid. The {@link RandomSource} of the
+     * placer is used to pick the layout.
+     *
+     * @param gameGrid  on top of which random ships need to be placed.
+     * @param fleetSpec ships to place.
+     * @throws IllegalStateException if the fleet does not fit on the grid.
+     */
+    public void placeRandomShips(IGameGrid gameGrid, FleetSpec fleetSpec) {
+        long startTime = System.nanoTime();
+
+        Grid grid = gameGrid.getGrid();
+        generateLayout(grid.getWidth(), grid.getHeight(), fleetSpec, getBlockedCells(grid)).placeOn(gameGrid);
+
+        generationNanos += System.nanoTime() - startTime;
+
+        logger.fine(() -> String.format("Total ships added %d.", gameGrid.getShips().size()));
+
+        logger.fine(() -> "Enemy ship placement successfully!");
+    }
+
+    /**
+     * Generate a random layout of a fleet on an empty grid, without placing it, e.g. to place it
+     * later on another thread.
+     *
+     * @param width     number of columns of the grid.
+     * @param height    number of rows of the grid.
+     * @param fleetSpec ships of the fleet.
+     * @return the layout.
+     * @throws IllegalStateException if the fleet does not fit on the grid.
+     */
+    public FleetLayout generateLayout(int width, int height, FleetSpec fleetSpec) {
+        long startTime = System.nanoTime();
+
+        FleetLayout layout = generateLayout(width, height, fleetSpec, new long[(width * height + 63) >>> 6]);
+
+        generationNanos += System.nanoTime() - startTime;
+        return layout;
+    }
+
+    /**
+     * @return number of layouts generated by this placer.
+     */
+    public long getGeneratedLayoutCount() {
+        return generatedLayoutCount;
+    }
+
+    /**
+     * @return number of layouts which were found by the backtracking search rather than drawn
+     * uniformly.
+     */
+    public long getSearchedLayoutCount() {
+        return searchedLayoutCount;
+    }
+
+    /**
+     * @return layouts generated per second, over all layouts generated by this placer.
+     */
+    public double getLayoutsPerSecond() {
+        return generationNanos == 0 ? 0 : generatedLayoutCount * 1e9 / generationNanos;
+    }
+
+    private FleetLayout generateLayout(int width, int height, FleetSpec fleetSpec, long[] baseBlockedCells) {
+        // Longest ships first, so that most rejected layouts are rejected early.
+        int[] lengths = fleetSpec.getShipLengths();
+        PlacementTable[] tables = PlacementTable.forFleet(width, height, lengths);
+        int[] placements = new int[lengths.length];
 
-        Random random = new Random();
+        if (!fleetSpec.mayFitOn(width, height)) {
+            throw new IllegalStateException(fleetSpec + " does not fit on a " + width + "x" + height + " grid");
+        }
 
-        while (shipLength > 0) {
-            int startXCord = random.nextInt(gridSize);
-            int startYCord = random.nextInt(gridSize);
-            boolean isVertical = random.nextBoolean();
-            ShipDirection shipDirection = isVertical ? ShipDirection.VERTICAL : ShipDirection.HORIZONTAL;
+        if (!drawLayout(tables, baseBlockedCells, placements)) {
+            if (!searchLayout(tables, baseBlockedCells, placements)) {
+                throw new IllegalStateException("No room found for " + fleetSpec + " on a " + width + "x" + height + " grid");
+            }
 
-            int endXCord = startXCord;
-            int endYCord = startYCord;
+            searchedLayoutCount++;
+        }
 
-            if (shipDirection == ShipDirection.VERTICAL) {
-                endYCord += shipLength - 1;
-            } else {
-                endXCord += shipLength - 1;
+        generatedLayoutCount++;
+        return new FleetLayout(width, height, lengths, placements);
+    }
+
+    /**
+     * Draw layouts with every ship placed uniformly at random until one is legal.
+     *
+     * @return true if a legal layout was drawn within {@link RandomShipPlacer#REJECTION_ROUNDS}
+     * rounds, its placements being stored in {@code placements}.
+     */
+    private boolean drawLayout(PlacementTable[] tables, long[] baseBlockedCells, int[] placements) {
+        for (PlacementTable table : tables) {
+            if (table.getPlacementCount() == 0) {
+                return false;
             }
+        }
+
+        long[] blockedCells = new long[baseBlockedCells.length];
+
+        for (int round = 0; round < REJECTION_ROUNDS; round++) {
+            System.arraycopy(baseBlockedCells, 0, blockedCells, 0, blockedCells.length);
+            int ship = 0;
+
+            while (ship < tables.length) {
+                int placement = randomSource.nextInt(tables[ship].getPlacementCount());
+
+                if (!tables[ship].fits(placement, blockedCells)) {
+                    break;
+                }
 
-            Ship ship = new Ship.Builder()
-                    .setName("Ship:" + shipLength)
-                    .setStartCoordinates(startXCord, startYCord)
-                    .setEndCoordinates(endXCord, endYCord)
-                    .setLength(shipLength)
-                    .setDirection(shipDirection)
-                    .build();
-
-            try {
-                gameGrid.placeShip(ship);
-                shipLength--;
-                logger.info(String.format("Ship added of length %d.", shipLength));
-            } catch (Exception e) {
-                logger.warning(() -> "Wrong coordinates. Trying again");
+                tables[ship].addHalo(placement, blockedCells);
+                placements[ship++] = placement;
             }
+
+            if (ship == tables.length) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Search the placements which fit depth first, trying them in random order at every ship.
+     *
+     * @return true if a legal layout was found within {@link RandomShipPlacer#SEARCH_BUDGET}
+     * tried placements, its placements being stored in {@code placements}.
+     */
+    private boolean searchLayout(PlacementTable[] tables, long[] baseBlockedCells, int[] placements) {
+        long[][] blockedCells = new long[tables.length + 1][];
+        blockedCells[0] = baseBlockedCells;
+        for (int ship = 1; ship <= tables.length; ship++) {
+            blockedCells[ship] = new long[baseBlockedCells.length];
         }
 
-        logger.info(String.format("Total ships added %d.", gameGrid.getShips().size()));
+        int attemptBudget = ATTEMPT_BUDGET_PER_SHIP * tables.length;
+
+        for (int spentBudget = 0; spentBudget < SEARCH_BUDGET; spentBudget += attemptBudget) {
+            searchBudgetLeft = Math.min(attemptBudget, SEARCH_BUDGET - spentBudget);
+
+            if (searchLayout(tables, blockedCells, placements, 0)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private boolean searchLayout(PlacementTable[] tables, long[][] blockedCells, int[] placements, int ship) {
+        if (ship == tables.length) {
+            return true;
+        }
+
+        PlacementTable table = tables[ship];
+        int[] candidates = new int[table.getPlacementCount()];
+        int candidateCount = 0;
+
+        for (int placement = 0; placement < table.getPlacementCount(); placement++) {
+            if (table.fits(placement, blockedCells[ship])) {
+                candidates[candidateCount++] = placement;
+            }
+        }
+
+        while (candidateCount > 0 && searchBudgetLeft-- > 0) {
+            int pick = randomSource.nextInt(candidateCount);
+            int placement = candidates[pick];
+            candidates[pick] = candidates[--candidateCount];
+
+            System.arraycopy(blockedCells[ship], 0, blockedCells[ship + 1], 0, blockedCells[ship].length);
+            table.addHalo(placement, blockedCells[ship + 1]);
+            placements[ship] = placement;
+
+            if (searchLayout(tables, blockedCells, placements, ship + 1)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * @return bitboard of the cells of the ships already on the grid and the cells touching them.
+     */
+    private long[] getBlockedCells(Grid grid) {
+        long[] shipCells = grid.getStateBoard(CellState.SHIP);
+        long[] blockedCells = new long[shipCells.length];
+
+        PlacementTable cellTable = PlacementTable.forShip(grid.getWidth(), grid.getHeight(), 1);
+
+        for (int word = 0; word < shipCells.length; word++) {
+            long bits = shipCells[word];
+
+            while (bits != 0) {
+                int cell = (word << 6) + Long.numberOfTrailingZeros(bits);
+                cellTable.addHalo(cell, blockedCells);
+                bits &= bits - 1;
+            }
+        }
 
-        logger.info(() -> "Enemy ship placement successfully!");
+        return blockedCells;
     }
 }
@@ -1,5 +1,10 @@
 package com.soen6441.battleship.services.gameconfig;
 
+import com.soen6441.battleship.data.model.FleetSpec;
+import com.soen6441.battleship.services.aiplayer.AIPlayerRegistry;
+import com.soen6441.battleship.services.boardgenerator.RandomShipPlacer;
+import com.soen6441.battleship.services.randomsource.RandomSource;
+
 /**
  * Class type GameConfig configures the properties based on user selection.
  */
@@ -8,12 +13,38 @@ public class GameConfig {
     private static GameConfig sInstance;
     private String playerName = "Player";
     private boolean isSalvaVariation = false;
-    private int gridSize = 10;
+    private int gridWidth = 10;
+    private int gridHeight = 10;
+    private FleetSpec fleetSpec = FleetSpec.STANDARD;
     private boolean isNetworkPlay = false;
     private String roomName = "default";
     private boolean isServer;
+    private String aiPlayerName = AIPlayerRegistry.DEFAULT_PLAYER;
+    private Long seed = null;
+
+    /**
+     * Create a configuration with the default settings, e.g. for a game session of its own. The
+     * user interface shares the one returned by {@link GameConfig#getsInstance()}.
+     */
+    public GameConfig() {
+    }
 
-    private GameConfig() {
+    /**
+     * @return a configuration with the same settings, which can be changed without affecting this one.
+     */
+    public GameConfig copy() {
+        GameConfig gameConfig = new GameConfig();
+        gameConfig.playerName = playerName;
+        gameConfig.isSalvaVariation = isSalvaVariation;
+        gameConfig.gridWidth = gridWidth;
+        gameConfig.gridHeight = gridHeight;
+        gameConfig.fleetSpec = fleetSpec;
+        gameConfig.isNetworkPlay = isNetworkPlay;
+        gameConfig.roomName = roomName;
+        gameConfig.isServer = isServer;
+        gameConfig.aiPlayerName = aiPlayerName;
+        gameConfig.seed = seed;
+        return gameConfig;
     }
 
     /**
@@ -43,12 +74,65 @@ public class GameConfig {
         isSalvaVariation = salvaVariation;
     }
 
+    /**
+     * @return size of a square grid, which is what the user interface draws. Same as
+     * {@link GameConfig#getGridWidth()}.
+     */
     public int getGridSize() {
-        return gridSize;
+        return gridWidth;
     }
 
+    /**
+     * Use a square grid.
+     *
+     * @param gridSize number of rows and columns.
+     */
     public void setGridSize(int gridSize) {
-        this.gridSize = gridSize;
+        setGridDimensions(gridSize, gridSize);
+    }
+
+    public int getGridWidth() {
+        return gridWidth;
+    }
+
+    public int getGridHeight() {
+        return gridHeight;
+    }
+
+    /**
+     * Use a grid which need not be square. Only the game engine supports such grids, the user
+     * interface draws square grids of {@link GameConfig#getGridSize()} cells.
+     *
+     * @param gridWidth  number of columns.
+     * @param gridHeight number of rows.
+     */
+    public void setGridDimensions(int gridWidth, int gridHeight) {
+        this.gridWidth = gridWidth;
+        this.gridHeight = gridHeight;
+    }
+
+    /**
+     * @return ships each player places, {@link FleetSpec#STANDARD} by default.
+     */
+    public FleetSpec getFleetSpec() {
+        return fleetSpec;
+    }
+
+    /**
+     * Use a fleet once a layout of it was found on the grid, so that a fleet which does not fit is
+     * rejected here rather than when a game starts. Set the grid dimensions first.
+     *
+     * @param fleetSpec ships each player places.
+     * @throws IllegalArgumentException if no layout of the fleet was found on the grid.
+     */
+    public void setFleetSpec(FleetSpec fleetSpec) {
+        try {
+            new RandomShipPlacer(createRandomSource()).generateLayout(gridWidth, gridHeight, fleetSpec);
+        } catch (IllegalStateException e) {
+            throw new IllegalArgumentException(fleetSpec + " does not fit on a " + gridWidth + "x" + gridHeight + " grid", e);
+        }
+
+        this.fleetSpec = fleetSpec;
     }
 
     public boolean isNetworkPlay() {
@@ -67,6 +151,36 @@ public class GameConfig {
         this.roomName = roomName;
     }
 
+    /**
+     * @return name of the AI player to play against, see {@link AIPlayerRegistry}.
+     */
+    public String getAiPlayerName() {
+        return aiPlayerName;
+    }
+
+    public void setAiPlayerName(String aiPlayerName) {
+        this.aiPlayerName = aiPlayerName;
+    }
+
+    /**
+     * @return seed of the random choices made while setting up and playing a game, or null for a
+     * random seed.
+     */
+    public Long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(Long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * @return source of random numbers seeded with {@link GameConfig#getSeed()}.
+     */
+    public RandomSource createRandomSource() {
+        return seed == null ? new RandomSource() : new RandomSource(seed);
+    }
+
     public boolean isServer() {
         return isServer;
     }
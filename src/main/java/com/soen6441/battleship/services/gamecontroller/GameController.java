@@ -6,7 +6,9 @@ import com.soen6441.battleship.data.model.GameOverInfo;
 import com.soen6441.battleship.data.model.GameControllerInfo;
 import com.soen6441.battleship.enums.HitResult;
 import com.soen6441.battleship.exceptions.CoordinatesOutOfBoundsException;
-import com.soen6441.battleship.services.aiplayer.ProbabilityAIPlayer;
+import com.soen6441.battleship.services.aiplayer.AIPlayerRegistry;
+import com.soen6441.battleship.services.aiplayer.BaseAIPlayer;
+import com.soen6441.battleship.services.boardgenerator.LayoutPool;
 import com.soen6441.battleship.services.boardgenerator.RandomShipPlacer;
 import com.soen6441.battleship.services.gameconfig.GameConfig;
 import com.soen6441.battleship.services.gamecontroller.gamestrategy.ITurnStrategy;
@@ -14,18 +16,25 @@ import com.soen6441.battleship.services.gamecontroller.gamestrategy.SalvaTurnStr
 import com.soen6441.battleship.services.gamecontroller.gamestrategy.SimpleTurnStrategy;
 import com.soen6441.battleship.services.gamegrid.GameGrid;
 import com.soen6441.battleship.services.gameloader.GameLoader;
+import com.soen6441.battleship.services.movejournal.MoveJournal;
+import com.soen6441.battleship.services.randomsource.RandomSource;
 import com.soen6441.battleship.services.scorecalculator.ScoreCalculator;
+import com.soen6441.battleship.utils.ExecutorUtils;
 import com.soen6441.battleship.utils.TimerUtil;
 import io.reactivex.Observable;
 import io.reactivex.subjects.BehaviorSubject;
 
 import java.util.Date;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 import java.util.logging.Logger;
 
 
 /**
  * <p>GameController is the entity which drives the game.
- * Singleton class.
+ * The user interface plays the game of {@link GameController#getInstance()}; games hosted side by
+ * side each have their own controller and {@link GameConfig}, see
+ * {@link com.soen6441.battleship.services.gamesession.GameSessionManager}.
  *
  * <p>Major controls include:
  * <ul>
@@ -52,7 +61,7 @@ public class GameController implements IGameController {
      */
     private BehaviorSubject<String> turnChangeBehaviourSubject = BehaviorSubject.create();
 
-    private boolean isGameOver = false;
+    private volatile boolean isGameOver = false;
     /**
      * Observer object to track game status
      */
@@ -67,7 +76,32 @@ public class GameController implements IGameController {
 
     private ITurnStrategy turnStrategy;
 
-    private GameConfig gameConfig = GameConfig.getsInstance();
+    private final GameConfig gameConfig;
+
+    /**
+     * Source of every random choice of the game, seeded from {@link GameConfig#getSeed()}.
+     */
+    private final RandomSource randomSource;
+
+    /**
+     * Applies the hits decided by the AI, in order. The AI decides its hit on the AI turn thread
+     * and hands it over as a command, so the AI is never running while the hit it caused is
+     * applied.
+     */
+    private final Executor commandExecutor;
+
+    /**
+     * True if {@link GameController#commandExecutor} was created by this controller, and so must
+     * be shut down with it.
+     */
+    private final boolean ownsCommandExecutor;
+
+    private boolean isClosed = false;
+
+    /**
+     * Journal the ship placements and hits of the game are recorded in, null if not recorded.
+     */
+    private MoveJournal moveJournal;
 
     /**
      * Generates(if null) and returns GameController instance.
@@ -85,24 +119,60 @@ public class GameController implements IGameController {
     }
 
     /**
-     * Constructor method to the class
+     * Controller of the game configured through {@link GameConfig#getsInstance()}.
      */
     private GameController() {
+        this(GameConfig.getsInstance());
+    }
+
+    /**
+     * Create the controller of a game of its own, with the hits of the AI applied on a thread of
+     * the game.
+     *
+     * @param gameConfig configuration of the game, not shared with any other game.
+     */
+    public GameController(GameConfig gameConfig) {
+        this(gameConfig, ExecutorUtils.newIdleStoppingThreadPool("game-command", 1), true);
+    }
+
+    /**
+     * Create the controller of a game of its own, e.g. one of many games hosted by a server.
+     *
+     * @param gameConfig      configuration of the game, not shared with any other game.
+     * @param commandExecutor executor applying the hits of the AI, e.g. the mailbox of the
+     *                        session hosting the game. It must run commands one at a time.
+     */
+    public GameController(GameConfig gameConfig, Executor commandExecutor) {
+        this(gameConfig, commandExecutor, false);
+    }
+
+    private GameController(GameConfig gameConfig, Executor commandExecutor, boolean ownsCommandExecutor) {
+        this.gameConfig = gameConfig;
+        this.commandExecutor = commandExecutor;
+        this.ownsCommandExecutor = ownsCommandExecutor;
+        this.randomSource = gameConfig.createRandomSource();
+
         currentPlayerName = "player";
         turnChangeBehaviourSubject.onNext(currentPlayerName);
 
-        int gridSize = GameConfig.getsInstance().getGridSize();
+        int gridWidth = gameConfig.getGridWidth();
+        int gridHeight = gameConfig.getGridHeight();
 
-        player = new GamePlayer("Player", new GameGrid(gridSize));
-        enemy = new ProbabilityAIPlayer("AI", new GameGrid(gridSize), player, coordinate ->
-                this.hit(coordinate.getX(), coordinate.getY()));
+        player = new GamePlayer("Player", new GameGrid(gridWidth, gridHeight));
+        enemy = createAIPlayer(new GameGrid(gridWidth, gridHeight));
 
         player.setIsMyTurn(playerTurnBehaviourSubject);
         enemy.setIsMyTurn(enemyTurnBehaviourSubject);
 
-        // Place random ships on board
-        RandomShipPlacer randomShipPlacer = new RandomShipPlacer();
-        randomShipPlacer.placeRandomShips(enemy.getGameGrid());
+        // Place random ships on board, from the layout pool unless the game must be reproducible.
+        if (gameConfig.getSeed() == null) {
+            LayoutPool.getInstance()
+                    .take(gridWidth, gridHeight, gameConfig.getFleetSpec())
+                    .placeOn(enemy.getGameGrid());
+        } else {
+            RandomShipPlacer randomShipPlacer = new RandomShipPlacer(randomSource.split());
+            randomShipPlacer.placeRandomShips(enemy.getGameGrid(), gameConfig.getFleetSpec());
+        }
     }
 
     /**
@@ -115,8 +185,10 @@ public class GameController implements IGameController {
         gameTimer.start();
 
         if (this.turnStrategy == null) {
+            recordShipPlacements();
+
             if (gameConfig.isSalvaVariation()) {
-                this.turnStrategy = new SalvaTurnStrategy(this.player, this.enemy);
+                this.turnStrategy = new SalvaTurnStrategy(this.player, this.enemy, gameConfig.getFleetSpec());
             } else {
                 this.turnStrategy = new SimpleTurnStrategy();
             }
@@ -141,13 +213,16 @@ public class GameController implements IGameController {
      * Interface method : {@link com.soen6441.battleship.services.gamecontroller.IGameController}
      * <p>Calls {@link GameController#handleIsGameOver()} to check if a player has won.
      *
+     * <p>Hits of the manual player and of the AI are made from different threads, so only one
+     * hit is handled at a time.
+     *
      * @param x - x coordinate to hit on grid
      * @param y - y coordinate to hit on grid
      */
     @Override
-    public void hit(int x, int y) {
+    public synchronized void hit(int x, int y) {
         // Return if game is over
-        if (isGameOver) {
+        if (isGameOver || isClosed) {
             return;
         }
 
@@ -164,7 +239,12 @@ public class GameController implements IGameController {
 
             GamePlayer playerToHit = currentPlayerName.equals("player") ? enemy : player;
 
-            HitResult result = this.turnStrategy.hit(playerToHit, new Coordinate(x, y));
+            HitResult result = this.turnStrategy.hit(playerToHit,
+                    Coordinate.of(x, y, gameConfig.getGridWidth(), gameConfig.getGridHeight()));
+
+            if (moveJournal != null) {
+                moveJournal.recordHit(playerToHit == player ? "player" : "enemy", x, y);
+            }
 
             GamePlayer playerToSwitchTurnTo = this.turnStrategy.getNextTurn(player, enemy, result);
 
@@ -186,6 +266,41 @@ public class GameController implements IGameController {
         }
     }
 
+    /**
+     * Record the ships of both players once they are all placed, when the game starts.
+     */
+    private void recordShipPlacements() {
+        if (moveJournal == null) {
+            return;
+        }
+
+        player.getGameGrid().getShips().forEach(ship -> moveJournal.recordShipPlacement("player", ship));
+        enemy.getGameGrid().getShips().forEach(ship -> moveJournal.recordShipPlacement("enemy", ship));
+    }
+
+    /**
+     * Create the AI player chosen in {@link GameConfig#getAiPlayerName()}.
+     *
+     * @param gameGrid - grid of the AI player
+     * @return the AI player
+     */
+    private GamePlayer createAIPlayer(GameGrid gameGrid) {
+        BaseAIPlayer aiPlayer = AIPlayerRegistry.getInstance().get(gameConfig.getAiPlayerName())
+                .create("AI", gameGrid, this.player, this::sendAIHit);
+        aiPlayer.setRandomSource(randomSource.split());
+        aiPlayer.setFleetSpec(gameConfig.getFleetSpec());
+        return aiPlayer;
+    }
+
+    /**
+     * Queue a hit decided by the AI on the command thread.
+     *
+     * @param coordinate - coordinates to hit on the player's grid
+     */
+    private void sendAIHit(Coordinate coordinate) {
+        commandExecutor.execute(() -> hit(coordinate.getX(), coordinate.getY()));
+    }
+
     /**
      * Declares a winner by checking if all ships of either side are destroyed.
      */
@@ -202,16 +317,35 @@ public class GameController implements IGameController {
         // Timers is stopped because we don't need it anymore as game
         // is over.
         if (isGameOver) {
-            if (turnTimer.isRunning()) {
-                turnTimer.stop();
-            }
+            stopTimers();
+        }
+    }
 
-            if (gameTimer.isRunning()) {
-                gameTimer.stop();
-            }
+    private void stopTimers() {
+        if (turnTimer.isRunning()) {
+            turnTimer.stop();
+        }
+
+        if (gameTimer.isRunning()) {
+            gameTimer.stop();
         }
     }
 
+    /**
+     * End the game with the player giving up, so the enemy wins.
+     */
+    public synchronized void forfeit() {
+        if (isGameOver || isClosed) {
+            return;
+        }
+
+        logger.info(() -> "Player has forfeited the game.");
+
+        isGameOver = true;
+        stopTimers();
+        isGameOverBehaviourSubject.onNext(new GameOverInfo(true, false));
+    }
+
     private void notifyTurns() {
         turnTimer.reset();
         turnTimer.start();
@@ -278,10 +412,10 @@ public class GameController implements IGameController {
         GameControllerInfo offlineGameInfo = new GameControllerInfo();
         offlineGameInfo.setPlayerGrid(player.getGameGrid().getGrid());
         offlineGameInfo.setEnemyGrid(enemy.getGameGrid().getGrid());
-        offlineGameInfo.setGridSize(GameConfig.getsInstance().getGridSize());
+        offlineGameInfo.setGridSize(gameConfig.getGridSize());
         offlineGameInfo.setStoreDate(new Date().getTime());
         offlineGameInfo.setCurrentTurn(this.currentPlayerName);
-        offlineGameInfo.setSalva(GameConfig.getsInstance().isSalvaVariation());
+        offlineGameInfo.setSalva(gameConfig.isSalvaVariation());
         offlineGameInfo.setPlayerTurns(player.getTurnTimes());
         offlineGameInfo.setPlayerShips(player.getGameGrid().getShips());
         offlineGameInfo.setEnemyShips(enemy.getGameGrid().getShips());
@@ -303,7 +437,7 @@ public class GameController implements IGameController {
             offlineGameInfo.setPlayerSalvaTurns(((SalvaTurnStrategy) turnStrategy).getPlayerTurns());
         }
         GameLoader gameLoader = new GameLoader();
-        gameLoader.saveGame(GameConfig.getsInstance().getPlayerName(), offlineGameInfo);
+        gameLoader.saveGame(gameConfig.getPlayerName(), offlineGameInfo);
     }
 
     /**
@@ -312,7 +446,7 @@ public class GameController implements IGameController {
     @Override
     public void loadOfflineGame() {
         GameLoader gameLoader = new GameLoader();
-        GameControllerInfo offlineGameInfo = gameLoader.readSavedGame(GameConfig.getsInstance().getPlayerName());
+        GameControllerInfo offlineGameInfo = gameLoader.readSavedGame(gameConfig.getPlayerName());
 
         GameGrid playerGameGrid = new GameGrid(offlineGameInfo.getPlayerGrid());
         playerGameGrid.setShips(offlineGameInfo.getPlayerShips());
@@ -322,18 +456,18 @@ public class GameController implements IGameController {
         GameGrid enemyGameGrid = new GameGrid(offlineGameInfo.getEnemyGrid());
         enemyGameGrid.setShips(offlineGameInfo.getEnemyShips());
 
-        this.enemy = new ProbabilityAIPlayer("AI", enemyGameGrid, this.player, coordinate ->
-                this.hit(coordinate.getX(), coordinate.getY()));
+        closeAIPlayer();
+        this.enemy = createAIPlayer(enemyGameGrid);
 
         this.currentPlayerName = offlineGameInfo.getCurrentTurn();
 
         this.player.setIsMyTurn(playerTurnBehaviourSubject);
         this.enemy.setIsMyTurn(enemyTurnBehaviourSubject);
 
-        GameConfig.getsInstance().setSalvaVariation(offlineGameInfo.isSalva());
+        gameConfig.setSalvaVariation(offlineGameInfo.isSalva());
 
-        if (GameConfig.getsInstance().isSalvaVariation()) {
-            turnStrategy = new SalvaTurnStrategy(this.player, this.enemy);
+        if (gameConfig.isSalvaVariation()) {
+            turnStrategy = new SalvaTurnStrategy(this.player, this.enemy, gameConfig.getFleetSpec());
             logger.info("Offline Salva Turns --> " + offlineGameInfo.getPlayerSalvaTurns());
             logger.info("Offline Salva Coordinates --> " + offlineGameInfo.getPlayerSalvaCoordinates());
             ((SalvaTurnStrategy) turnStrategy).setPlayerTurns(offlineGameInfo.getPlayerSalvaTurns());
@@ -354,4 +488,54 @@ public class GameController implements IGameController {
     public boolean isGameComplete() {
         return this.isGameOver;
     }
+
+    /**
+     * Stop the timers of the game, and its command thread if the controller created it, and close
+     * its AI player and journal. Hits are ignored afterwards.
+     */
+    public synchronized void close() {
+        if (isClosed) {
+            return;
+        }
+
+        isClosed = true;
+        turnTimer.cancel();
+        gameTimer.cancel();
+
+        if (ownsCommandExecutor) {
+            ((ExecutorService) commandExecutor).shutdownNow();
+        }
+
+        closeAIPlayer();
+
+        if (moveJournal != null) {
+            moveJournal.close();
+        }
+    }
+
+    private void closeAIPlayer() {
+        if (enemy instanceof BaseAIPlayer) {
+            ((BaseAIPlayer) enemy).close();
+        }
+    }
+
+    /**
+     * Record the ship placements and hits of the game in a journal, from the start of the game.
+     *
+     * @param moveJournal journal of the game.
+     */
+    public void setMoveJournal(MoveJournal moveJournal) {
+        this.moveJournal = moveJournal;
+    }
+
+    public MoveJournal getMoveJournal() {
+        return moveJournal;
+    }
+
+    /**
+     * @return true once {@link GameController#close()} has been called.
+     */
+    public synchronized boolean isClosed() {
+        return isClosed;
+    }
 }
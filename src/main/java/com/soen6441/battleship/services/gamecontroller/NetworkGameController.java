@@ -4,9 +4,8 @@ import com.google.firebase.database.*;
 import com.soen6441.battleship.data.model.*;
 import com.soen6441.battleship.enums.CellState;
 import com.soen6441.battleship.enums.HitResult;
-import com.soen6441.battleship.enums.ShipDirection;
 import com.soen6441.battleship.exceptions.CoordinatesOutOfBoundsException;
-import com.soen6441.battleship.services.aiplayer.ProbabilityAIPlayer;
+import com.soen6441.battleship.services.aiplayer.AIPlayerRegistry;
 import com.soen6441.battleship.services.boardgenerator.RandomShipPlacer;
 import com.soen6441.battleship.services.gameconfig.GameConfig;
 import com.soen6441.battleship.services.gamecontroller.gamestrategy.ITurnStrategy;
@@ -61,7 +60,7 @@ public class NetworkGameController implements IGameController {
 
     private GameConfig gameConfig = GameConfig.getsInstance();
 
-    private int salvaTurns = 5;
+    private int salvaTurns = GameConfig.getsInstance().getFleetSpec().getShipCount();
     private List<Coordinate> salvaCoordinates = new ArrayList<>();
 
     /**
@@ -83,10 +82,11 @@ public class NetworkGameController implements IGameController {
         currentPlayerName = "player";
         turnChangeBehaviourSubject.onNext(currentPlayerName);
 
-        int gridSize = GameConfig.getsInstance().getGridSize();
+        int gridWidth = GameConfig.getsInstance().getGridWidth();
+        int gridHeight = GameConfig.getsInstance().getGridHeight();
 
-        player = new GamePlayer("Player", new GameGrid(gridSize));
-        enemy = new GamePlayer("Enemy", new GameGrid(gridSize));
+        player = new GamePlayer("Player", new GameGrid(gridWidth, gridHeight));
+        enemy = new GamePlayer("Enemy", new GameGrid(gridWidth, gridHeight));
 
         player.setIsMyTurn(playerTurnBehaviourSubject);
         enemy.setIsMyTurn(enemyTurnBehaviourSubject);
@@ -125,26 +125,7 @@ public class NetworkGameController implements IGameController {
                                 player.getGameGrid().updateGrid(grid);
 
                                 if (GameConfig.getsInstance().isSalvaVariation()) {
-                                    salvaTurns = 5;
-                                    for (Ship ship : player.getGameGrid().getShips()) {
-                                        if (ship.getDirection() == ShipDirection.VERTICAL) {
-                                            for (int y = ship.getStartY(); y <= ship.getEndY(); y++) {
-                                                if (player.getGameGrid().getGrid().getCellState(
-                                                        ship.getStartX(), y) == CellState.DESTROYED_SHIP) {
-                                                    salvaTurns--;
-                                                    break;
-                                                }
-                                            }
-                                        } else {
-                                            for (int x = ship.getStartX(); x <= ship.getEndX(); x++) {
-                                                if (player.getGameGrid().getGrid().getCellState(
-                                                        x, ship.getStartY()) == CellState.DESTROYED_SHIP) {
-                                                    salvaTurns--;
-                                                    break;
-                                                }
-                                            }
-                                        }
-                                    }
+                                    salvaTurns = getRemainingShips(player);
                                 }
                             }
                         } catch (Exception e) {
@@ -313,26 +294,29 @@ public class NetworkGameController implements IGameController {
             }
 
             if (GameConfig.getsInstance().isSalvaVariation()) {
+                Coordinate coordinate = Coordinate.of(x, y, gameConfig.getGridWidth(), gameConfig.getGridHeight());
                 salvaTurns--;
-                salvaCoordinates.add(new Coordinate(x, y));
-                HitResult result = turnStrategy.hit(enemy, new Coordinate(x, y));
-                enemy.getGameGrid().getGrid().updateCellStatus(x, y, CellState.TO_BE_PLACED);
+                salvaCoordinates.add(coordinate);
 
-                if (salvaTurns == 0) {
-                    for (Coordinate coordinate : salvaCoordinates) {
-                        enemy.getGameGrid().hit(coordinate.getX(), coordinate.getY());
-                    }
+                // Mark the shot as pending, unless the cell was hit by an earlier salvo.
+                if (enemy.getGameGrid().peekHit(coordinate) != HitResult.ALREADY_HIT) {
+                    enemy.getGameGrid().updateCellState(coordinate, CellState.TO_BE_PLACED);
+                }
 
+                // The salvo is applied and sent to the enemy once all its shots are chosen.
+                if (salvaTurns == 0) {
+                    enemy.getGameGrid().hitAll(salvaCoordinates);
                     salvaCoordinates.clear();
+                    updatePlayerAndEnemyGrid();
 
                     FirebaseDatabase.getInstance().getReference("games")
                             .child(room)
                             .child("playerTurn")
                             .setValueAsync(GameConfig.getsInstance().getFBEnemyName());
-                }
 
-                updatePlayerAndEnemyGrid();
-                handleIsGameOver();
+                    // Ships only sink once the salvo is applied, so the game can only end here.
+                    handleIsGameOver();
+                }
 
                 turnChangeBehaviourSubject.onNext(this.currentPlayerName);
             } else {
@@ -477,9 +461,10 @@ public class NetworkGameController implements IGameController {
         offlineGameInfo.setUnSunkPlayerShips(player.getGameGrid().getUnSunkShips());
         offlineGameInfo.setUnSunkEnemyShips(enemy.getGameGrid().getUnSunkShips());
 
-        if (turnStrategy instanceof SalvaTurnStrategy) {
-            offlineGameInfo.setPlayerSalvaCoordinates(((SalvaTurnStrategy) turnStrategy).getPlayerCoordinateHits());
-            offlineGameInfo.setPlayerSalvaTurns(((SalvaTurnStrategy) turnStrategy).getPlayerTurns());
+        // The salvo being picked is kept by this controller, not by the turn strategy.
+        if (GameConfig.getsInstance().isSalvaVariation()) {
+            offlineGameInfo.setPlayerSalvaCoordinates(new ArrayList<>(salvaCoordinates));
+            offlineGameInfo.setPlayerSalvaTurns(salvaTurns);
         }
         GameLoader gameLoader = new GameLoader();
         gameLoader.saveGame(GameConfig.getsInstance().getPlayerName(), offlineGameInfo);
@@ -502,8 +487,8 @@ public class NetworkGameController implements IGameController {
         GameGrid enemyGameGrid = new GameGrid(offlineGameInfo.getEnemyGrid());
         enemyGameGrid.setShips(offlineGameInfo.getEnemyShips());
 
-        this.enemy = new ProbabilityAIPlayer("AI", enemyGameGrid, this.player, coordinate ->
-                this.hit(coordinate.getX(), coordinate.getY()));
+        this.enemy = AIPlayerRegistry.getInstance().get(GameConfig.getsInstance().getAiPlayerName())
+                .create("AI", enemyGameGrid, this.player, coordinate -> this.hit(coordinate.getX(), coordinate.getY()));
 
         this.currentPlayerName = offlineGameInfo.getCurrentTurn();
 
@@ -516,8 +501,11 @@ public class NetworkGameController implements IGameController {
             turnStrategy = new SalvaTurnStrategy(this.player, this.enemy);
             logger.info("Offline Salva Turns --> " + offlineGameInfo.getPlayerSalvaTurns());
             logger.info("Offline Salva Coordinates --> " + offlineGameInfo.getPlayerSalvaCoordinates());
-            ((SalvaTurnStrategy) turnStrategy).setPlayerTurns(offlineGameInfo.getPlayerSalvaTurns());
-            ((SalvaTurnStrategy) turnStrategy).setPlayerCoordinateHits(offlineGameInfo.getPlayerSalvaCoordinates());
+            salvaTurns = offlineGameInfo.getPlayerSalvaTurns();
+            salvaCoordinates.clear();
+            if (offlineGameInfo.getPlayerSalvaCoordinates() != null) {
+                salvaCoordinates.addAll(offlineGameInfo.getPlayerSalvaCoordinates());
+            }
         } else {
             turnStrategy = new SimpleTurnStrategy();
         }
@@ -561,26 +549,6 @@ public class NetworkGameController implements IGameController {
      * @return number of remaining ships.
      */
     private int getRemainingShips(GamePlayer gamePlayer) {
-        int shipsRemaining = 5;
-        for (Ship ship : gamePlayer.getGameGrid().getShips()) {
-            if (ship.getDirection() == ShipDirection.VERTICAL) {
-                for (int y = ship.getStartY(); y <= ship.getEndY(); y++) {
-                    if (gamePlayer.getGameGrid().getGrid().getCellState(
-                            ship.getStartX(), y) == CellState.DESTROYED_SHIP) {
-                        shipsRemaining--;
-                        break;
-                    }
-                }
-            } else {
-                for (int x = ship.getStartX(); x <= ship.getEndX(); x++) {
-                    if (gamePlayer.getGameGrid().getGrid().getCellState(
-                            x, ship.getStartY()) == CellState.DESTROYED_SHIP) {
-                        shipsRemaining--;
-                        break;
-                    }
-                }
-            }
-        }
-        return shipsRemaining;
+        return GameConfig.getsInstance().getFleetSpec().getShipCount() - gamePlayer.getGameGrid().getSunkShips();
     }
 }
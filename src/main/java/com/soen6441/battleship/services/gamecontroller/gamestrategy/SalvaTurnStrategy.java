@@ -1,10 +1,12 @@
 package com.soen6441.battleship.services.gamecontroller.gamestrategy;
 
 import com.soen6441.battleship.data.model.Coordinate;
+import com.soen6441.battleship.data.model.FleetSpec;
 import com.soen6441.battleship.data.model.GamePlayer;
 import com.soen6441.battleship.enums.CellState;
 import com.soen6441.battleship.enums.HitResult;
 import com.soen6441.battleship.exceptions.CoordinatesOutOfBoundsException;
+import com.soen6441.battleship.services.gameconfig.GameConfig;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -19,14 +21,34 @@ public class SalvaTurnStrategy implements ITurnStrategy {
     private GamePlayer player;
     private GamePlayer enemy;
     private GamePlayer currentPlayer;
-    private int playerTurns = 5;
-    private int enemyTurns = 5;
+    private int playerTurns;
+    private int enemyTurns;
     private List<Coordinate> playerCoordinateHits = new ArrayList<>();
 
     public SalvaTurnStrategy(GamePlayer player, GamePlayer enemy) {
+        this(player, enemy, GameConfig.getsInstance().getFleetSpec());
+    }
+
+    /**
+     * @param player    the player.
+     * @param enemy     the enemy.
+     * @param fleetSpec fleet of the game, used for players whose ships are not placed yet.
+     */
+    public SalvaTurnStrategy(GamePlayer player, GamePlayer enemy, FleetSpec fleetSpec) {
         this.player = player;
         this.enemy = enemy;
         currentPlayer = player;
+        playerTurns = getInitialTurns(player, fleetSpec);
+        enemyTurns = getInitialTurns(enemy, fleetSpec);
+    }
+
+    /**
+     * A player starts with one shot per ship of its fleet, taken from its grid if the ships are
+     * already placed and from the configured fleet otherwise.
+     */
+    private static int getInitialTurns(GamePlayer gamePlayer, FleetSpec fleetSpec) {
+        int shipCount = gamePlayer == null ? 0 : gamePlayer.getGameGrid().getUnSunkShips();
+        return shipCount > 0 ? shipCount : fleetSpec.getShipCount();
     }
 
 
@@ -53,7 +75,7 @@ public class SalvaTurnStrategy implements ITurnStrategy {
             }
         }
 
-        logger.info(playerTurns + "<-------- Player Turns");
+        logger.fine(() -> playerTurns + "<-------- Player Turns");
 
         if (playerTurns == 0) {
             this.currentPlayer = enemy;
@@ -89,11 +111,9 @@ public class SalvaTurnStrategy implements ITurnStrategy {
                 playerToHit.getGameGrid().updateCellState(coordinate, CellState.TO_BE_PLACED);
             }
 
-            // Last turn for player
+            // Last turn for player, the whole salvo is applied at once
             if (playerTurns == 1) {
-                for (Coordinate prevCoordinates : this.playerCoordinateHits) {
-                    playerToHit.getGameGrid().hit(prevCoordinates.getX(), prevCoordinates.getY());
-                }
+                playerToHit.getGameGrid().hitAll(this.playerCoordinateHits);
                 this.playerCoordinateHits.clear();
             }
 
@@ -61,12 +61,12 @@ public class SimpleTurnStrategy implements ITurnStrategy {
      * Method to switch turns between players.
      */
     private void switchCurrentPlayer() {
-        logger.info(() -> " " + (currentPlayer == player));
+        logger.fine(() -> " " + (currentPlayer == player));
         if (currentPlayer == player) {
-            logger.info(() -> "Switching turn to enemy.");
+            logger.fine(() -> "Switching turn to enemy.");
             currentPlayer = enemy;
         } else {
-            logger.info(() -> "Switching turn to player.");
+            logger.fine(() -> "Switching turn to player.");
             currentPlayer = player;
         }
     }
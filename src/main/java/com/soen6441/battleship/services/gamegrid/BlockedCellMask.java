@@ -0,0 +1,103 @@
+package com.soen6441.battleship.services.gamegrid;
+
+import com.soen6441.battleship.data.model.Grid;
+import com.soen6441.battleship.data.model.Ship;
+import com.soen6441.battleship.enums.CellState;
+import com.soen6441.battleship.utils.BitboardUtils;
+
+import java.io.Serializable;
+
+/**
+ * Bitboard of the cells of a {@link Grid} on which no new ship can be placed, i.e. every
+ * {@link CellState#SHIP} cell and the cells surrounding it.
+ * <p>
+ * The mask is extended a ship at a time as ships are placed through {@link GameGrid}. If the
+ * grid is changed in any other way (or replaced) the mask is rebuilt on next use.
+ */
+class BlockedCellMask implements Serializable {
+    /**
+     * Grid the mask was built from.
+     */
+    private Grid grid;
+
+    /**
+     * {@link Grid#getModificationCount()} at the time the mask was last brought up to date.
+     */
+    private int modificationCount;
+
+    private long[] blockedCells;
+
+    /**
+     * Check if any cell of a rectangle is blocked. The rectangle must lie on the grid.
+     *
+     * @param grid   grid the rectangle belongs to.
+     * @param startX left most x-coordinate (inclusive)
+     * @param startY top most y-coordinate (inclusive)
+     * @param endX   right most x-coordinate (inclusive)
+     * @param endY   bottom most y-coordinate (inclusive)
+     * @return true if at least one cell of the rectangle is blocked.
+     */
+    boolean isBlocked(Grid grid, int startX, int startY, int endX, int endY) {
+        syncWith(grid);
+
+        int width = grid.getWidth();
+
+        for (int y = startY; y <= endY; y++) {
+            int rowStart = y * width;
+            if (BitboardUtils.anyInRange(blockedCells, rowStart + startX, rowStart + endX)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Block the cells of a ship that has just been placed on the grid, along with its surroundings.
+     * Must only be called right after the ship was checked with {@link BlockedCellMask#isBlocked}.
+     *
+     * @param grid grid the ship was placed on.
+     * @param ship ship that was placed.
+     */
+    void addShip(Grid grid, Ship ship) {
+        blockSurroundings(grid.getWidth(), grid.getHeight(), ship.getStartX(), ship.getStartY(), ship.getEndX(), ship.getEndY());
+        this.modificationCount = grid.getModificationCount();
+    }
+
+    private void syncWith(Grid grid) {
+        if (this.grid == grid && this.modificationCount == grid.getModificationCount()) {
+            return;
+        }
+
+        int width = grid.getWidth();
+        long[] shipCells = grid.getStateBoard(CellState.SHIP);
+
+        this.grid = grid;
+        this.modificationCount = grid.getModificationCount();
+        this.blockedCells = new long[shipCells.length];
+
+        for (int word = 0; word < shipCells.length; word++) {
+            long bits = shipCells[word];
+
+            while (bits != 0) {
+                int index = (word << 6) + Long.numberOfTrailingZeros(bits);
+                int x = index % width;
+                int y = index / width;
+                blockSurroundings(width, grid.getHeight(), x, y, x, y);
+                bits &= bits - 1;
+            }
+        }
+    }
+
+    private void blockSurroundings(int width, int height, int startX, int startY, int endX, int endY) {
+        startX = Math.max(startX - 1, 0);
+        startY = Math.max(startY - 1, 0);
+        endX = Math.min(endX + 1, width - 1);
+        endY = Math.min(endY + 1, height - 1);
+
+        for (int y = startY; y <= endY; y++) {
+            int rowStart = y * width;
+            BitboardUtils.setRange(blockedCells, rowStart + startX, rowStart + endX);
+        }
+    }
+}
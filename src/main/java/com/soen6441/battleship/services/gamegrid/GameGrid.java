@@ -1,5 +1,6 @@
 package com.soen6441.battleship.services.gamegrid;
 
+import com.soen6441.battleship.data.model.CellChange;
 import com.soen6441.battleship.data.model.Coordinate;
 import com.soen6441.battleship.data.model.Grid;
 import com.soen6441.battleship.data.model.Ship;
@@ -9,14 +10,15 @@ import com.soen6441.battleship.enums.ShipDirection;
 import com.soen6441.battleship.exceptions.CoordinatesOutOfBoundsException;
 import com.soen6441.battleship.exceptions.DirectionCoordinatesMismatchException;
 import com.soen6441.battleship.exceptions.InvalidShipPlacementException;
-import com.soen6441.battleship.services.gameconfig.GameConfig;
 import com.soen6441.battleship.utils.GridUtils;
 import io.reactivex.Observable;
 import io.reactivex.subjects.BehaviorSubject;
+import io.reactivex.subjects.PublishSubject;
 
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import static com.google.common.base.Preconditions.checkNotNull;
@@ -29,6 +31,7 @@ import static com.google.common.base.Preconditions.checkNotNull;
  * <li>Hit the ship on a particular coordinate: {@link GameGrid#hit(int, int)}</li>
  * <li>Get the list of all ships on grid: {@link GameGrid#getShips()}</li>
  * <li>Get the grid as an observable, which is triggered whenever an update on grid is made: {@link GameGrid#getGridAsObservable()}</li>
+ * <li>Get only the cells changed by each update: {@link GameGrid#getCellChangesAsObservable()}</li>
  * <li>Place a ship on the grid: {@link GameGrid#placeShip(Ship)}</li>
  * <li>Check if every ship on grid is destroyed: {@link GameGrid#areAllShipsDestroyed()}</li>
  * </ul>
@@ -46,16 +49,44 @@ public class GameGrid implements IGameGrid, Serializable {
      */
     private List<Ship> ships = new ArrayList<>();
 
+    /**
+     * Number of ships in {@link GameGrid#ships} that have been sunk. Maintained by
+     * {@link GameGrid#hit(int, int)} so that fleet status checks don't walk the ship list.
+     */
+    private int sunkShipCount = 0;
+
+    /**
+     * Cells on which no new ship can be placed.
+     */
+    private final BlockedCellMask blockedCellMask = new BlockedCellMask();
+
     private final BehaviorSubject<Grid> gridBehaviorSubject = BehaviorSubject.create();
 
+    private final PublishSubject<CellChange> cellChangeSubject = PublishSubject.create();
+
+    /**
+     * Held while publishing cell changes and while a new subscriber takes its snapshot and
+     * subscribes, so that no change falls between the two.
+     */
+    private final Object cellChangeLock = new Object();
+
     /**
      * Constructor to create a new grid
      * @param gridSize - size of grid
      */
     public GameGrid(int gridSize) {
-        this.grid = new Grid(gridSize);
+        this(gridSize, gridSize);
+    }
+
+    /**
+     * Constructor to create a new grid which need not be square.
+     * @param width - number of columns
+     * @param height - number of rows
+     */
+    public GameGrid(int width, int height) {
+        this.grid = new Grid(width, height);
         gridBehaviorSubject.onNext(this.grid);
-        logger.info(() -> String.format("Grid created successfully: %s", grid));
+        logger.fine(() -> String.format("Grid created successfully: %s", grid));
     }
 
     /**
@@ -87,6 +118,7 @@ public class GameGrid implements IGameGrid, Serializable {
 
     public void setShips(List<Ship> ships) {
         this.ships = ships;
+        recountSunkShips();
     }
 
     /**
@@ -104,42 +136,104 @@ public class GameGrid implements IGameGrid, Serializable {
             throw new CoordinatesOutOfBoundsException();
         }
 
-        CellState state = grid.getCellState(x, y);
+        return hit(grid.cellIndex(x, y));
+    }
 
-        HitResult result;
+    /**
+     * Try to hit a particular cell on the grid, with the provided cell index.
+     *
+     * @param cellIndex index of the cell, see {@link Grid#cellIndex(int, int)}.
+     * @return HitResult of the attempted hit.
+     * @throws CoordinatesOutOfBoundsException if the index is out of grid bounds.
+     */
+    @Override
+    public HitResult hit(int cellIndex) throws CoordinatesOutOfBoundsException {
+        // Check if the index is correct
+        if (!isValidCell(cellIndex)) {
+            throw new CoordinatesOutOfBoundsException();
+        }
+
+        CellChange.Builder changes = createChangeBuilder(1);
+        HitResult result = applyHit(cellIndex, changes);
+
+        publishChanges(changes);
+        gridBehaviorSubject.onNext(this.grid);
+        return result;
+    }
+
+    /**
+     * Hit several cells at once, e.g. all the shots of a salvo. No cell is hit if any coordinate
+     * is off the grid. Observers are notified once, after all the hits.
+     *
+     * @param coordinates coordinates to hit, in order.
+     * @return HitResult of each hit, in the order of the coordinates.
+     * @throws CoordinatesOutOfBoundsException if any coordinate is out of grid bounds.
+     */
+    @Override
+    public List<HitResult> hitAll(List<Coordinate> coordinates) throws CoordinatesOutOfBoundsException {
+        for (Coordinate coordinate : coordinates) {
+            if (!isValidCell(coordinate.getX(), coordinate.getY())) {
+                throw new CoordinatesOutOfBoundsException();
+            }
+        }
+
+        List<HitResult> results = new ArrayList<>(coordinates.size());
+        CellChange.Builder changes = createChangeBuilder(coordinates.size());
+
+        for (Coordinate coordinate : coordinates) {
+            results.add(applyHit(grid.cellIndex(coordinate.getX(), coordinate.getY()), changes));
+        }
+
+        if (!coordinates.isEmpty()) {
+            publishChanges(changes);
+            gridBehaviorSubject.onNext(this.grid);
+        }
+
+        return results;
+    }
+
+    /**
+     * Hit a cell on the grid without notifying the observers.
+     *
+     * @param cellIndex index of the cell, must be on the grid.
+     * @param changes   builder the changed cells are added to, null if nobody observes them.
+     * @return HitResult of the hit.
+     */
+    private HitResult applyHit(int cellIndex, CellChange.Builder changes) {
+        int x = cellIndex % grid.getWidth();
+        int y = cellIndex / grid.getWidth();
+        CellState state = grid.getCellState(cellIndex);
 
         // If cell has already been hit!
         if (state == CellState.EMPTY_HIT || state == CellState.SHIP_WITH_HIT || state == CellState.DESTROYED_SHIP) {
-            result = HitResult.ALREADY_HIT;
+            return HitResult.ALREADY_HIT;
         } else if (state == CellState.SHIP
-                || (state == CellState.TO_BE_PLACED && grid.getCellInfo(x, y).getShip() != null)) {  // If there is no hit, but there is ship.
+                || (state == CellState.TO_BE_PLACED && grid.getShipOnCell(cellIndex) != null)) {  // If there is no hit, but there is ship.
 
-            grid.updateCellStatus(x, y, CellState.SHIP_WITH_HIT);
+            grid.updateCellStatus(cellIndex, CellState.SHIP_WITH_HIT);
 
-            Ship shipToHit = grid.getCellInfo(x, y).getShip();
+            Ship shipToHit = grid.getShipOnCell(cellIndex);
             shipToHit.setHits(shipToHit.getHits() + 1);
 
             if (shipToHit.isSunk()) {
-
-                if (shipToHit.getDirection() == ShipDirection.HORIZONTAL) {
-                    for (int shipX = shipToHit.getStartX(); shipX <= shipToHit.getEndX(); shipX++) {
-                        grid.updateCellStatus(shipX, shipToHit.getStartY(), CellState.DESTROYED_SHIP);
-                    }
-                } else {
-                    for (int shipY = shipToHit.getStartY(); shipY <= shipToHit.getEndY(); shipY++) {
-                        grid.updateCellStatus(shipToHit.getStartX(), shipY, CellState.DESTROYED_SHIP);
-                    }
-                }
+                sunkShipCount++;
+                grid.fillRect(CellState.DESTROYED_SHIP,
+                        shipToHit.getStartX(), shipToHit.getStartY(), shipToHit.getEndX(), shipToHit.getEndY());
+                addShipCells(changes, shipToHit, CellState.DESTROYED_SHIP);
+            } else if (changes != null) {
+                changes.add(x, y, CellState.SHIP_WITH_HIT);
             }
 
-            result = HitResult.HIT;
+            return HitResult.HIT;
         } else {  // If the cell is empty i.e. not ship or hit on it.
-            grid.updateCellStatus(x, y, CellState.EMPTY_HIT);
-            result = HitResult.MISS;
-        }
+            grid.updateCellStatus(cellIndex, CellState.EMPTY_HIT);
 
-        gridBehaviorSubject.onNext(this.grid);
-        return result;
+            if (changes != null) {
+                changes.add(x, y, CellState.EMPTY_HIT);
+            }
+
+            return HitResult.MISS;
+        }
     }
 
     /**
@@ -153,11 +247,28 @@ public class GameGrid implements IGameGrid, Serializable {
     @Override
     public HitResult peekHit(Coordinate coordinate) throws CoordinatesOutOfBoundsException {
         // Check if the coordinates are correct
-        if (!isValidCell(coordinate.getX(), coordinate.getX())) {
+        if (!isValidCell(coordinate.getX(), coordinate.getY())) {
+            throw new CoordinatesOutOfBoundsException();
+        }
+
+        return peekHit(grid.cellIndex(coordinate.getX(), coordinate.getY()));
+    }
+
+    /**
+     * Peek to check a cell state, with the provided cell index.
+     *
+     * @param cellIndex index of the cell, see {@link Grid#cellIndex(int, int)}.
+     * @return HitResult the hit would have.
+     * @throws CoordinatesOutOfBoundsException if the index is out of grid bounds.
+     */
+    @Override
+    public HitResult peekHit(int cellIndex) throws CoordinatesOutOfBoundsException {
+        // Check if the index is correct
+        if (!isValidCell(cellIndex)) {
             throw new CoordinatesOutOfBoundsException();
         }
 
-        CellState state = grid.getCellState(coordinate.getX(), coordinate.getY());
+        CellState state = grid.getCellState(cellIndex);
 
         HitResult result;
 
@@ -170,7 +281,6 @@ public class GameGrid implements IGameGrid, Serializable {
             result = HitResult.MISS;
         }
 
-        gridBehaviorSubject.onNext(this.grid);
         return result;
     }
 
@@ -179,6 +289,23 @@ public class GameGrid implements IGameGrid, Serializable {
         return gridBehaviorSubject;
     }
 
+    /**
+     * Every subscriber first receives a snapshot of the current grid, followed by the cells changed
+     * by each later update. Changes published while the snapshot is taken are delivered after it,
+     * so a change may be delivered twice but is never lost.
+     *
+     * @return Observable of cell changes made on the grid.
+     */
+    @Override
+    public Observable<CellChange> getCellChangesAsObservable() {
+        return Observable.create(emitter -> {
+            synchronized (cellChangeLock) {
+                emitter.onNext(CellChange.snapshotOf(grid));
+                emitter.setDisposable(cellChangeSubject.subscribe(emitter::onNext, emitter::onError, emitter::onComplete));
+            }
+        });
+    }
+
     /**
      * Places a ship on the board with the provided Ship object.
      *
@@ -192,25 +319,23 @@ public class GameGrid implements IGameGrid, Serializable {
     @Override
     public void placeShip(Ship ship) throws Exception {
         checkNotNull(ship);
-        logger.info(String.format("Placing ship on grid: %s", ship));
+        logger.fine(() -> String.format("Placing ship on grid: %s", ship));
 
         // Check if direction of ship matches the coordinates
-        if ((ship.getDirection() == ShipDirection.HORIZONTAL && ship.getStartY() != ship.getEndY())
-                || (ship.getDirection() == ShipDirection.VERTICAL && ship.getStartX() != ship.getEndX())) {
+        if (!isDirectionValid(ship)) {
             throw new DirectionCoordinatesMismatchException();
         }
 
         // Check if all coordinates passed lie on plane.
-        if (ship.getStartX() < 0
-                || ship.getStartY() < 0
-                || ship.getEndX() >= grid.getGridSize()
-                || ship.getEndY() >= grid.getGridSize()) {
+        if (!isOnGrid(ship)) {
             logger.severe("Ship Coordinates are out of bounds!");
             throw new CoordinatesOutOfBoundsException();
         }
 
         // Check if there are no other ships surrounding the placement of current ship
-        checkPointValidityForShip(ship);
+        if (isBlocked(ship)) {
+            throw new InvalidShipPlacementException();
+        }
 
         // Add to ship list
         ships.add(ship);
@@ -227,48 +352,32 @@ public class GameGrid implements IGameGrid, Serializable {
             }
         }
 
+        blockedCellMask.addShip(grid, ship);
+
+        publishShipCells(ship, CellState.SHIP);
         gridBehaviorSubject.onNext(this.grid);
 
-        logger.info(String.format("Successfully placed ship on grid %s", ship));
+        logger.fine(() -> String.format("Successfully placed ship on grid %s", ship));
 
-        GridUtils.printGrid(this.grid);
+        if (logger.isLoggable(Level.FINE)) {
+            GridUtils.printGrid(this.grid);
+        }
     }
 
     /**
      * Check to verify that the ship can be placed on selected coordinates.
+     * Runs the same checks as {@link GameGrid#placeShip(Ship)} without throwing, as it is
+     * called repeatedly while generating boards and previewing placements.
      *
      * @param ship The ship to be placed.
-     * @return
+     * @return true if the ship can be placed.
      */
     @Override
     public boolean canPlaceShip(Ship ship) {
-        try {
-            checkNotNull(ship);
-            logger.info(String.format("Testing if ship can be palced on grid: %s", ship));
-
-            // Check if direction of ship matches the coordinates
-            if ((ship.getDirection() == ShipDirection.HORIZONTAL && ship.getStartY() != ship.getEndY())
-                    || (ship.getDirection() == ShipDirection.VERTICAL && ship.getStartX() != ship.getEndX())) {
-                throw new DirectionCoordinatesMismatchException();
-            }
-
-            // Check if all coordinates passed lie on plane.
-            if (ship.getStartX() < 0
-                    || ship.getStartY() < 0
-                    || ship.getEndX() >= grid.getGridSize()
-                    || ship.getEndY() >= grid.getGridSize()) {
-                logger.severe("Ship Coordinates are out of bounds!");
-                throw new CoordinatesOutOfBoundsException();
-            }
-
-            // Check if there are no other ships surrounding the placement of current ship
-            checkPointValidityForShip(ship);
-        } catch (Exception e) {
-            e.printStackTrace();
-            return false;
-        }
-
-        return true;
+        return ship != null
+                && isDirectionValid(ship)
+                && isOnGrid(ship)
+                && !isBlocked(ship);
     }
 
     /**
@@ -279,20 +388,7 @@ public class GameGrid implements IGameGrid, Serializable {
     @Override
     public boolean areAllShipsDestroyed() {
         // If no ships then all are are destroyed
-        if (ships.isEmpty()) {
-            return true;
-        }
-
-        boolean areShipsDestroyed = true;
-
-        for (Ship ship : ships) {
-            if (!ship.isSunk()) {
-                areShipsDestroyed = false;
-                break;
-            }
-        }
-
-        return areShipsDestroyed;
+        return ships == null || sunkShipCount >= ships.size();
     }
 
     /**
@@ -302,131 +398,58 @@ public class GameGrid implements IGameGrid, Serializable {
      */
     @Override
     public int getUnSunkShips() {
-        int count = 0;
-
-        for (Ship ship : ships) {
-            if (!ship.isSunk()) {
-                count++;
-            }
-        }
+        return ships == null ? 0 : Math.max(0, ships.size() - sunkShipCount);
+    }
 
-        return count;
+    /**
+     * Get the number of ships that have been sunk.
+     *
+     * @return The number of destroyed ships.
+     */
+    @Override
+    public int getSunkShips() {
+        return sunkShipCount;
     }
 
     @Override
     public void updateCellState(Coordinate coordinate, CellState state) {
         this.getGrid().updateCellStatus(coordinate.getX(), coordinate.getY(), state);
-        this.gridBehaviorSubject.onNext(this.grid);
+        publishCell(coordinate.getX(), coordinate.getY(), state);
     }
 
-    /**
-     * Checks if the ship can be placed on provided coordinates.
-     * - No ships on already existing coordinates.
-     * - No ships in surrounding coordinates.
-     *
-     * @param ship to be added on the grid
-     * @throws InvalidShipPlacementException if ship cannot be placed because of invalid surroundings.
-     */
-    private void checkPointValidityForShip(Ship ship) throws InvalidShipPlacementException {
-        logger.info("Checking Ship validity...");
-
-        int gridSize = GameConfig.getsInstance().getGridSize();
-
-        if (ship.getDirection() == ShipDirection.HORIZONTAL) {
-            // Check if no ship is on the left or right
-            if (ship.getStartX() != 0) {
-                checkValidAndThrow(ship.getStartX() - 1, ship.getStartY());
-            }
-
-            if (ship.getStartX() != (gridSize - 1)) {
-                checkValidAndThrow(ship.getEndX() + 1, ship.getStartY());
-            }
-
-            // Normalise starting and ending coordinates to check if ship is no being placed diagonally
-            // to any other ship.
-            int startX = ship.getStartX();
-            int endX = ship.getEndX();
-
-            if (startX > 0) {
-                startX -= 1;
-            }
-
-            if (endX < (gridSize - 1)) {
-                endX += 1;
-            }
-
-            for (int x = startX; x <= endX; x++) {
-                // Check if no ship is placed above
-                if (ship.getStartY() != 0) {
-                    checkValidAndThrow(x, ship.getStartY() - 1);
-                }
-
-                // Check if no ships is placed below
-                if (ship.getStartY() != gridSize - 1) {
-                    checkValidAndThrow(x, ship.getStartY() + 1);
-                }
-
-                checkValidAndThrow(x, ship.getStartY());
-            }
-        } else if (ship.getDirection() == ShipDirection.VERTICAL) {
-            // Check if no ships are on top for below the ship
-            if (ship.getStartY() >= 0) {
-                checkValidAndThrow(ship.getStartX(), ship.getStartY() - 1);
-            }
-
-            if (ship.getEndY() <= (gridSize - 1)) {
-                checkValidAndThrow(ship.getStartX(), ship.getEndY() + 1);
-            }
-
-            // Normalise starting and ending coordinates to check if ship is no being placed diagonally
-            // to any other ship.
-            int startY = ship.getStartY();
-            int endY = ship.getEndY();
-
-            if (startY > 0) {
-                startY -= 1;
-            }
-
-            if (endY < (gridSize - 1)) {
-                endY += 1;
-            }
-
-            for (int y = startY; y <= endY; y++) {
-
-                // Check if no ship is placed to the left
-                if (ship.getStartX() != 0) {
-                    checkValidAndThrow(ship.getStartX() - 1, y);
-                }
-
-                // Check if no ship is placed to the right
-                if (ship.getStartX() != (gridSize - 1)) {
-                    checkValidAndThrow(ship.getStartX() + 1, y);
-                }
+    private boolean isDirectionValid(Ship ship) {
+        return !(ship.getDirection() == ShipDirection.HORIZONTAL && ship.getStartY() != ship.getEndY())
+                && !(ship.getDirection() == ShipDirection.VERTICAL && ship.getStartX() != ship.getEndX());
+    }
 
-                checkValidAndThrow(ship.getStartX(), y);
-            }
-        }
-        logger.info("Ship validity check complete!");
+    private boolean isOnGrid(Ship ship) {
+        return ship.getStartX() >= 0
+                && ship.getStartY() >= 0
+                && ship.getEndX() < grid.getWidth()
+                && ship.getEndY() < grid.getHeight();
     }
 
     /**
+     * Checks if the ship overlaps or touches a ship already on the grid, by testing its
+     * cells against the {@link BlockedCellMask} of the grid.
      *
-     * @param x - x coordinate for ship
-     * @param y - y coordinate for ship
-     * @throws InvalidShipPlacementException - if ship cannot be place at the cell
+     * @param ship to be added on the grid, must lie on the grid.
+     * @return true if the ship cannot be placed because of invalid surroundings.
      */
-
-    private void checkValidAndThrow(int x, int y) throws InvalidShipPlacementException {
-        if (isValidCell(x, y) && (grid.getCellState(x, y) == CellState.SHIP)) {
-            throw new InvalidShipPlacementException();
-        }
+    private boolean isBlocked(Ship ship) {
+        return blockedCellMask.isBlocked(grid,
+                ship.getStartX(), ship.getStartY(), ship.getEndX(), ship.getEndY());
     }
 
     private boolean isValidCell(int x, int y) {
         return x >= 0
-                && x < grid.getGridSize()
+                && x < grid.getWidth()
                 && y >= 0
-                && y < grid.getGridSize();
+                && y < grid.getHeight();
+    }
+
+    private boolean isValidCell(int cellIndex) {
+        return cellIndex >= 0 && cellIndex < grid.getCellCount();
     }
 
     @Override
@@ -439,17 +462,15 @@ public class GameGrid implements IGameGrid, Serializable {
 
     @Override
     public void updateGrid(Grid newGrid) {
-        int gridSize = GameConfig.getsInstance().getGridSize();
-
-        for (int i = 0; i < gridSize; i++) {
-            for (int j = 0; j < gridSize; j++) {
-                if (newGrid.getCellInfo(new Coordinate(i, j)) != null
-                        && newGrid.getCellInfo(new Coordinate(i, j)).getShip() != null) {
-                    int shipLength = newGrid.getCellInfo(new Coordinate(i, j)).getShip().getLength();
+        for (int i = 0; i < newGrid.getWidth(); i++) {
+            for (int j = 0; j < newGrid.getHeight(); j++) {
+                Ship shipOnCell = newGrid.getShipOnCell(i, j);
+                if (shipOnCell != null) {
+                    int shipLength = shipOnCell.getLength();
                     for (Ship ship : ships) {
                         if (shipLength == ship.getLength()) {
                             logger.info("breaking ship at " + i + " " + j);
-                            newGrid.getCellInfo(new Coordinate(i, j)).setShip(ship);
+                            newGrid.setShipOnCell(i, j, ship);
                             break;
                         }
                     }
@@ -458,6 +479,87 @@ public class GameGrid implements IGameGrid, Serializable {
         }
 
         this.grid = newGrid;
+        recountSunkShips();
+        synchronized (cellChangeLock) {
+            cellChangeSubject.onNext(CellChange.snapshotOf(this.grid));
+        }
         gridBehaviorSubject.onNext(this.grid);
     }
+
+    private void publishCell(int x, int y, CellState state) {
+        synchronized (cellChangeLock) {
+            if (cellChangeSubject.hasObservers()) {
+                cellChangeSubject.onNext(new CellChange.Builder(grid.getWidth(), grid.getHeight(), 1).add(x, y, state).build());
+            }
+        }
+    }
+
+    private void publishShipCells(Ship ship, CellState state) {
+        CellChange.Builder changes = createChangeBuilder(ship.getLength());
+        addShipCells(changes, ship, state);
+        publishChanges(changes);
+    }
+
+    /**
+     * @param expectedSize number of cells expected to change.
+     * @return builder for the cells changed by an update, null if nobody observes the changes.
+     */
+    private CellChange.Builder createChangeBuilder(int expectedSize) {
+        return cellChangeSubject.hasObservers()
+                ? new CellChange.Builder(grid.getWidth(), grid.getHeight(), expectedSize)
+                : null;
+    }
+
+    private static void addShipCells(CellChange.Builder changes, Ship ship, CellState state) {
+        if (changes == null) {
+            return;
+        }
+
+        for (int y = ship.getStartY(); y <= ship.getEndY(); y++) {
+            for (int x = ship.getStartX(); x <= ship.getEndX(); x++) {
+                changes.add(x, y, state);
+            }
+        }
+    }
+
+    /**
+     * Publish the cells changed by an update. If nobody observed the changes when the update
+     * started but somebody subscribed since, the update may be missing from the snapshot the
+     * subscriber started with, so a new snapshot is published instead.
+     */
+    private void publishChanges(CellChange.Builder changes) {
+        synchronized (cellChangeLock) {
+            if (changes == null) {
+                if (cellChangeSubject.hasObservers()) {
+                    cellChangeSubject.onNext(CellChange.snapshotOf(grid));
+                }
+            } else if (!changes.isEmpty()) {
+                cellChangeSubject.onNext(changes.build());
+            }
+        }
+    }
+
+    /**
+     * Rebuilds the sunk ship counter from scratch. Used whenever the ships or the grid
+     * are replaced wholesale (loading a game, or receiving the grid over the network), where
+     * the hit counters of the ships may not reflect the cells on the grid.
+     */
+    private void recountSunkShips() {
+        sunkShipCount = 0;
+
+        if (ships == null) {
+            return;
+        }
+
+        for (Ship ship : ships) {
+            if (ship.isSunk() || isDestroyedOnGrid(ship)) {
+                sunkShipCount++;
+            }
+        }
+    }
+
+    private boolean isDestroyedOnGrid(Ship ship) {
+        return isValidCell(ship.getStartX(), ship.getStartY())
+                && grid.hasState(ship.getStartX(), ship.getStartY(), CellState.DESTROYED_SHIP);
+    }
 }
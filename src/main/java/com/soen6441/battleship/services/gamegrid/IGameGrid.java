@@ -1,5 +1,6 @@
 package com.soen6441.battleship.services.gamegrid;
 
+import com.soen6441.battleship.data.model.CellChange;
 import com.soen6441.battleship.data.model.Coordinate;
 import com.soen6441.battleship.data.model.Grid;
 import com.soen6441.battleship.data.model.Ship;
@@ -51,6 +52,23 @@ public interface IGameGrid {
      * */
     HitResult hit(int x, int y) throws CoordinatesOutOfBoundsException;
 
+    /**
+     * Mark a hit on a specific cell on the board.
+     *
+     * @param cellIndex index of the cell, see {@link Grid#cellIndex(int, int)}.
+     * @return HitResult of the attempted hit.
+     */
+    HitResult hit(int cellIndex) throws CoordinatesOutOfBoundsException;
+
+    /**
+     * Mark hits on several coordinates at once, with a single update of the observers.
+     *
+     * @param coordinates coordinates to hit, in order.
+     * @return HitResult of each hit, in the order of the coordinates.
+     * @throws CoordinatesOutOfBoundsException if any coordinate is off the board, no hit is made then.
+     */
+    List<HitResult> hitAll(List<Coordinate> coordinates) throws CoordinatesOutOfBoundsException;
+
     /**
      * Get the grid as an observable. Updates will be triggered if there
      * is any change on the grid.
@@ -59,6 +77,14 @@ public interface IGameGrid {
      */
     Observable<Grid> getGridAsObservable();
 
+    /**
+     * Get the changes made on the grid as an observable. A snapshot of the whole grid is sent
+     * on subscription, after that only the cells changed by each update are sent.
+     *
+     * @return Cell changes wrapped inside an RxObservable.
+     */
+    Observable<CellChange> getCellChangesAsObservable();
+
     /**
      * Checks if all the ships are destroyed on the board.
      *
@@ -73,6 +99,13 @@ public interface IGameGrid {
      */
     int getUnSunkShips();
 
+    /**
+     * Get the number of ships that have been sunk.
+     *
+     * @return The number of destroyed ships.
+     */
+    int getSunkShips();
+
     /**
      * Get the result of hit, but not actually hitting the board.
      *
@@ -82,7 +115,16 @@ public interface IGameGrid {
     HitResult peekHit(Coordinate coordinate) throws CoordinatesOutOfBoundsException;
 
     /**
-     * Update the state of a cell depending
+     * Get the result of hit on a cell, but not actually hitting the board.
+     *
+     * @param cellIndex index of the cell, see {@link Grid#cellIndex(int, int)}.
+     * @return result of on a particular cell.
+     */
+    HitResult peekHit(int cellIndex) throws CoordinatesOutOfBoundsException;
+
+    /**
+     * Update the state of a cell depending, e.g. to mark a shot of a salvo not resolved yet. Only
+     * the cell change is published; observers of the whole grid see it with the next hit.
      *
      * @param coordinate XY coordinates of cell to update.
      * @param state New state of the cell.
@@ -0,0 +1,102 @@
+package com.soen6441.battleship.services.gamesession;
+
+import com.soen6441.battleship.services.gameconfig.GameConfig;
+import com.soen6441.battleship.services.gamecontroller.GameController;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * One game hosted by a {@link GameSessionManager}, with its own {@link GameConfig} and
+ * {@link GameController}, so it shares no grids, players, turn strategy or timers with any other
+ * session.
+ * <p>
+ * Commands of the players, and the hits of the AI, are sent to the {@link SessionActor} of the
+ * session and applied one at a time, so the game is never changed from two threads at once.
+ */
+public class GameSession {
+    private final String sessionId;
+    private final GameConfig gameConfig;
+    private final GameController gameController;
+    private final SessionActor actor;
+    private final long creationTime;
+
+    GameSession(String sessionId, GameConfig gameConfig, GameController gameController, SessionActor actor) {
+        this.sessionId = sessionId;
+        this.gameConfig = gameConfig;
+        this.gameController = gameController;
+        this.actor = actor;
+        this.creationTime = System.currentTimeMillis();
+    }
+
+    public String getSessionId() {
+        return sessionId;
+    }
+
+    public GameConfig getGameConfig() {
+        return gameConfig;
+    }
+
+    public GameController getGameController() {
+        return gameController;
+    }
+
+    public SessionActor getActor() {
+        return actor;
+    }
+
+    /**
+     * Start the timers of the game, and the turns of the AI.
+     *
+     * @return future completed once the game has started.
+     */
+    public CompletableFuture<Void> startGame() {
+        return actor.submit(gameController::startGame);
+    }
+
+    /**
+     * Hit a cell of the grid of the player whose turn it is not.
+     *
+     * @param x x coordinate of the cell.
+     * @param y y coordinate of the cell.
+     * @return future completed once the hit has been applied.
+     */
+    public CompletableFuture<Void> hit(int x, int y) {
+        return actor.submit(() -> gameController.hit(x, y));
+    }
+
+    /**
+     * Save the game of the player named in the configuration of the session.
+     *
+     * @return future completed once the game has been saved.
+     */
+    public CompletableFuture<Void> saveGame() {
+        return actor.submit(gameController::saveGame);
+    }
+
+    /**
+     * Give up the game, so the enemy wins.
+     *
+     * @return future completed once the game is over.
+     */
+    public CompletableFuture<Void> forfeit() {
+        return actor.submit(gameController::forfeit);
+    }
+
+    /**
+     * @return time the session was created, in milliseconds since the epoch.
+     */
+    public long getCreationTime() {
+        return creationTime;
+    }
+
+    /**
+     * @return true if the game is over or the session has been closed.
+     */
+    public boolean isFinished() {
+        return gameController.isGameComplete() || gameController.isClosed();
+    }
+
+    void close() {
+        gameController.close();
+    }
+}
@@ -0,0 +1,158 @@
+package com.soen6441.battleship.services.gamesession;
+
+import com.soen6441.battleship.services.gameconfig.GameConfig;
+import com.soen6441.battleship.services.gamecontroller.GameController;
+import com.soen6441.battleship.services.movejournal.MoveJournal;
+import com.soen6441.battleship.utils.ExecutorUtils;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Logger;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Hosts many games in one process, each in a {@link GameSession} of its own, keyed by a session id.
+ * <p>
+ * At most {@code capacity} sessions are kept. When a session is created while the manager is
+ * full, finished sessions are closed and removed to make room; if every session is still being
+ * played the new session is refused. Sessions can also be closed explicitly once their players
+ * leave.
+ * <p>
+ * The commands of all sessions run on one pool with a thread per processor; a session only
+ * takes a thread while it has commands to run. The moves of every session are recorded in an
+ * in-memory {@link MoveJournal}.
+ */
+public class GameSessionManager {
+    private static final Logger logger = Logger.getLogger(GameSessionManager.class.getName());
+
+    /**
+     * Number of sessions kept by default.
+     */
+    public static final int DEFAULT_CAPACITY = 10_000;
+
+    private static GameSessionManager sInstance;
+
+    private final int capacity;
+
+    private final Map<String, GameSession> sessions = new ConcurrentHashMap<>();
+
+    /**
+     * Executor shared by the {@link SessionActor} of every session.
+     */
+    private final ExecutorService sessionExecutor;
+
+    /**
+     * @return the shared manager, with the default capacity.
+     */
+    public static synchronized GameSessionManager getInstance() {
+        if (sInstance == null) {
+            sInstance = new GameSessionManager(DEFAULT_CAPACITY);
+        }
+
+        return sInstance;
+    }
+
+    /**
+     * @param capacity maximum number of sessions kept at once.
+     */
+    public GameSessionManager(int capacity) {
+        checkArgument(capacity > 0, "Capacity must be positive");
+
+        this.capacity = capacity;
+        this.sessionExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(),
+                ExecutorUtils.daemonThreadFactory("game-session"));
+    }
+
+    /**
+     * Create a session playing a game with a copy of the given configuration, so that changing the
+     * configuration afterwards does not affect the session.
+     *
+     * @param gameConfig configuration of the game.
+     * @return the new session.
+     * @throws IllegalStateException if the manager is full and no session is finished.
+     */
+    public synchronized GameSession createSession(GameConfig gameConfig) {
+        if (sessions.size() >= capacity) {
+            evictFinishedSessions();
+        }
+
+        if (sessions.size() >= capacity) {
+            throw new IllegalStateException("All " + capacity + " game sessions are in use");
+        }
+
+        GameConfig sessionConfig = gameConfig.copy();
+        SessionActor actor = new SessionActor(sessionExecutor);
+        GameController gameController = new GameController(sessionConfig, actor);
+        gameController.setMoveJournal(new MoveJournal(sessionConfig.getGridWidth(), sessionConfig.getGridHeight()));
+        GameSession session = new GameSession(UUID.randomUUID().toString(), sessionConfig, gameController, actor);
+        sessions.put(session.getSessionId(), session);
+
+        logger.fine(() -> String.format("Created session %s, %d sessions.", session.getSessionId(), sessions.size()));
+        return session;
+    }
+
+    /**
+     * @param sessionId id of the session.
+     * @return the session, or null if there is no session with the id.
+     */
+    public GameSession getSession(String sessionId) {
+        return sessions.get(sessionId);
+    }
+
+    /**
+     * Close a session and remove it from the manager.
+     *
+     * @param sessionId id of the session.
+     * @return true if there was a session with the id.
+     */
+    public boolean closeSession(String sessionId) {
+        GameSession session = sessions.remove(sessionId);
+
+        if (session == null) {
+            return false;
+        }
+
+        session.close();
+        return true;
+    }
+
+    /**
+     * Close and remove every session whose game is over.
+     *
+     * @return number of sessions removed.
+     */
+    public synchronized int evictFinishedSessions() {
+        int evictedCount = 0;
+        Iterator<GameSession> iterator = sessions.values().iterator();
+
+        while (iterator.hasNext()) {
+            GameSession session = iterator.next();
+
+            if (session.isFinished()) {
+                iterator.remove();
+                session.close();
+                evictedCount++;
+            }
+        }
+
+        int count = evictedCount;
+        logger.fine(() -> String.format("Evicted %d finished sessions.", count));
+        return evictedCount;
+    }
+
+    /**
+     * @return number of sessions kept, finished or not.
+     */
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+}
@@ -0,0 +1,112 @@
+package com.soen6441.battleship.services.gamesession;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Mailbox of the commands of one {@link GameSession}, run one at a time, in the order they were
+ * sent, so the state of the game only ever has a single writer.
+ * <p>
+ * The actor does not own a thread. When a command arrives in an empty mailbox, the actor is
+ * scheduled on an executor shared by all sessions and runs the waiting commands; an idle session
+ * therefore costs no thread at all. At most {@link SessionActor#BATCH_SIZE} commands are run per
+ * turn on the executor, so a busy session can not starve the others.
+ */
+public class SessionActor implements Executor {
+    private static final Logger logger = Logger.getLogger(SessionActor.class.getName());
+
+    /**
+     * Number of commands run before the executor is handed over to other sessions.
+     */
+    static final int BATCH_SIZE = 32;
+
+    private final Executor sharedExecutor;
+
+    private final Queue<Runnable> mailbox = new ConcurrentLinkedQueue<>();
+
+    /**
+     * True while the actor is waiting for, or running on, the shared executor.
+     */
+    private final AtomicBoolean isScheduled = new AtomicBoolean();
+
+    /**
+     * @param sharedExecutor executor the commands are run on, shared with other sessions.
+     */
+    public SessionActor(Executor sharedExecutor) {
+        this.sharedExecutor = sharedExecutor;
+    }
+
+    /**
+     * Send a command to the actor, without waiting for its completion.
+     *
+     * @param command command to run after the ones already sent.
+     */
+    @Override
+    public void execute(Runnable command) {
+        mailbox.add(command);
+        schedule();
+    }
+
+    /**
+     * Send a command to the actor.
+     *
+     * @param command command to run after the ones already sent.
+     * @return future completed once the command has run, exceptionally if it failed.
+     */
+    public CompletableFuture<Void> submit(Runnable command) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+
+        execute(() -> {
+            try {
+                command.run();
+                future.complete(null);
+            } catch (RuntimeException e) {
+                future.completeExceptionally(e);
+                throw e;
+            }
+        });
+
+        return future;
+    }
+
+    /**
+     * @return number of commands waiting to run.
+     */
+    public int getPendingCount() {
+        return mailbox.size();
+    }
+
+    private void schedule() {
+        if (isScheduled.compareAndSet(false, true)) {
+            sharedExecutor.execute(this::runCommands);
+        }
+    }
+
+    private void runCommands() {
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            Runnable command = mailbox.poll();
+
+            if (command == null) {
+                break;
+            }
+
+            try {
+                command.run();
+            } catch (RuntimeException e) {
+                logger.log(Level.WARNING, "Session command failed", e);
+            }
+        }
+
+        isScheduled.set(false);
+
+        // Commands sent while the last batch was running, or left over from it.
+        if (!mailbox.isEmpty()) {
+            schedule();
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.soen6441.battleship.services.movejournal;
+
+import com.soen6441.battleship.exceptions.CoordinatesOutOfBoundsException;
+import com.soen6441.battleship.services.gamegrid.GameGrid;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rebuilds the grids of a game by applying the events of its {@link MoveJournal}, optionally
+ * starting from a {@link JournalSnapshot}.
+ * <p>
+ * Events are applied straight to the grids, so hits sent during a salvo are applied as they
+ * come and not when the salvo is complete; the grids are the same once the salvo is over.
+ */
+public class JournalReplayer {
+    private final int gridWidth;
+    private final int gridHeight;
+    private final Map<String, GameGrid> grids = new LinkedHashMap<>();
+    private long sequence = 0;
+
+    /**
+     * Replayer starting from empty grids.
+     *
+     * @param gridWidth  width of the grids of the game.
+     * @param gridHeight height of the grids of the game.
+     */
+    public JournalReplayer(int gridWidth, int gridHeight) {
+        this.gridWidth = gridWidth;
+        this.gridHeight = gridHeight;
+    }
+
+    /**
+     * Replayer starting from the grids of a snapshot.
+     *
+     * @param snapshot snapshot to start from.
+     */
+    public JournalReplayer(JournalSnapshot snapshot) {
+        this(snapshot.getGridWidth(), snapshot.getGridHeight());
+
+        for (MoveEvent shipPlacement : snapshot.getShipPlacements()) {
+            apply(shipPlacement);
+        }
+
+        for (Map.Entry<String, long[]> entry : snapshot.getHitBoards().entrySet()) {
+            GameGrid gameGrid = getGameGrid(entry.getKey());
+            long[] hitBoard = entry.getValue();
+
+            for (int word = 0; word < hitBoard.length; word++) {
+                for (long bits = hitBoard[word]; bits != 0; bits &= bits - 1) {
+                    hit(gameGrid, word * 64 + Long.numberOfTrailingZeros(bits), entry.getKey());
+                }
+            }
+        }
+
+        this.sequence = snapshot.getSequence();
+    }
+
+    /**
+     * Apply the events following the last one applied. Events already applied, e.g. included in
+     * the snapshot the replayer started from, are skipped.
+     *
+     * @param events events of the journal, in order.
+     * @return this replayer.
+     * @throws IllegalStateException if an event can not be applied to the grids.
+     */
+    public JournalReplayer replay(List<MoveEvent> events) {
+        for (MoveEvent event : events) {
+            if (event.getSequence() > sequence) {
+                apply(event);
+                sequence = event.getSequence();
+            }
+        }
+
+        return this;
+    }
+
+    /**
+     * @param gridOwner name of the player owning the grid.
+     * @return the grid as rebuilt, empty if no event changed it.
+     */
+    public GameGrid getGameGrid(String gridOwner) {
+        return grids.computeIfAbsent(gridOwner, owner -> new GameGrid(gridWidth, gridHeight));
+    }
+
+    /**
+     * @return sequence number of the last event applied.
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * @return snapshot of the grids as rebuilt.
+     */
+    public JournalSnapshot snapshot() {
+        return JournalSnapshot.of(sequence, grids);
+    }
+
+    private void apply(MoveEvent event) {
+        GameGrid gameGrid = getGameGrid(event.getGridOwner());
+
+        switch (event.getType()) {
+            case SHIP_PLACEMENT:
+                try {
+                    gameGrid.placeShip(event.toShip());
+                } catch (Exception e) {
+                    throw new IllegalStateException("Can not replay " + event, e);
+                }
+                break;
+            case HIT:
+                try {
+                    gameGrid.hit(event.getX(), event.getY());
+                } catch (CoordinatesOutOfBoundsException e) {
+                    throw new IllegalStateException("Can not replay " + event, e);
+                }
+                break;
+        }
+    }
+
+    private static void hit(GameGrid gameGrid, int cellIndex, String gridOwner) {
+        try {
+            gameGrid.hit(cellIndex);
+        } catch (CoordinatesOutOfBoundsException e) {
+            throw new IllegalStateException("Can not replay hit on cell " + cellIndex + " of " + gridOwner, e);
+        }
+    }
+}
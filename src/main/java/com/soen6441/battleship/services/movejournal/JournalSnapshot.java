@@ -0,0 +1,95 @@
+package com.soen6441.battleship.services.movejournal;
+
+import com.soen6441.battleship.data.model.Grid;
+import com.soen6441.battleship.enums.CellState;
+import com.soen6441.battleship.services.gamegrid.IGameGrid;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * State of the grids of a game after a given event of its {@link MoveJournal}: the ships of each
+ * grid and the cells hit on it. Replay can start from a snapshot instead of the first event, and
+ * the events up to the snapshot no longer need to be kept.
+ */
+public final class JournalSnapshot implements Serializable {
+    private final long sequence;
+    private final int gridWidth;
+    private final int gridHeight;
+    private final List<MoveEvent> shipPlacements;
+
+    /**
+     * Bitboard of the cells hit, by name of the player owning the grid.
+     */
+    private final Map<String, long[]> hitBoards;
+
+    private JournalSnapshot(long sequence, int gridWidth, int gridHeight,
+                            List<MoveEvent> shipPlacements, Map<String, long[]> hitBoards) {
+        this.sequence = sequence;
+        this.gridWidth = gridWidth;
+        this.gridHeight = gridHeight;
+        this.shipPlacements = shipPlacements;
+        this.hitBoards = hitBoards;
+    }
+
+    /**
+     * Take a snapshot of the grids of a game.
+     *
+     * @param sequence sequence number of the last event applied to the grids.
+     * @param grids    grids, by name of the player owning them.
+     * @return the snapshot.
+     */
+    public static JournalSnapshot of(long sequence, Map<String, ? extends IGameGrid> grids) {
+        List<MoveEvent> shipPlacements = new ArrayList<>();
+        Map<String, long[]> hitBoards = new LinkedHashMap<>();
+        int gridWidth = 0;
+        int gridHeight = 0;
+
+        for (Map.Entry<String, ? extends IGameGrid> entry : grids.entrySet()) {
+            Grid grid = entry.getValue().getGrid();
+            gridWidth = grid.getWidth();
+            gridHeight = grid.getHeight();
+
+            entry.getValue().getShips().forEach(ship -> shipPlacements.add(MoveEvent.shipPlacement(0, entry.getKey(), ship)));
+
+            long[] hitBoard = grid.getStateBoard(CellState.EMPTY_HIT).clone();
+            long[] shipHitBoard = grid.getStateBoard(CellState.SHIP_WITH_HIT);
+            long[] destroyedBoard = grid.getStateBoard(CellState.DESTROYED_SHIP);
+
+            for (int word = 0; word < hitBoard.length; word++) {
+                hitBoard[word] |= shipHitBoard[word] | destroyedBoard[word];
+            }
+
+            hitBoards.put(entry.getKey(), hitBoard);
+        }
+
+        return new JournalSnapshot(sequence, gridWidth, gridHeight, shipPlacements, hitBoards);
+    }
+
+    /**
+     * @return sequence number of the last event included in the snapshot.
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    public int getGridWidth() {
+        return gridWidth;
+    }
+
+    public int getGridHeight() {
+        return gridHeight;
+    }
+
+    List<MoveEvent> getShipPlacements() {
+        return Collections.unmodifiableList(shipPlacements);
+    }
+
+    Map<String, long[]> getHitBoards() {
+        return Collections.unmodifiableMap(hitBoards);
+    }
+}
@@ -0,0 +1,148 @@
+package com.soen6441.battleship.services.movejournal;
+
+import com.soen6441.battleship.data.model.Ship;
+import com.soen6441.battleship.enums.MoveEventType;
+import com.soen6441.battleship.enums.ShipDirection;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.Serializable;
+
+/**
+ * A change made to the grid of a player, numbered by its position in a {@link MoveJournal}.
+ * <p>
+ * A hit only holds the cell that was hit, its result is found again by replaying it on the grid.
+ */
+public final class MoveEvent implements Serializable {
+    private static final MoveEventType[] TYPES = MoveEventType.values();
+    private static final ShipDirection[] DIRECTIONS = ShipDirection.values();
+
+    private final long sequence;
+    private final MoveEventType type;
+
+    /**
+     * Name of the player owning the grid, "player" or "enemy".
+     */
+    private final String gridOwner;
+
+    private final int x;
+    private final int y;
+    private final int endX;
+    private final int endY;
+    private final int length;
+    private final ShipDirection direction;
+
+    private MoveEvent(long sequence, MoveEventType type, String gridOwner,
+                      int x, int y, int endX, int endY, int length, ShipDirection direction) {
+        this.sequence = sequence;
+        this.type = type;
+        this.gridOwner = gridOwner;
+        this.x = x;
+        this.y = y;
+        this.endX = endX;
+        this.endY = endY;
+        this.length = length;
+        this.direction = direction;
+    }
+
+    /**
+     * @param sequence  number of the event in its journal.
+     * @param gridOwner name of the player owning the grid.
+     * @param ship      ship placed.
+     * @return event placing the ship.
+     */
+    public static MoveEvent shipPlacement(long sequence, String gridOwner, Ship ship) {
+        return new MoveEvent(sequence, MoveEventType.SHIP_PLACEMENT, gridOwner,
+                ship.getStartX(), ship.getStartY(), ship.getEndX(), ship.getEndY(), ship.getLength(), ship.getDirection());
+    }
+
+    /**
+     * @param sequence  number of the event in its journal.
+     * @param gridOwner name of the player owning the grid.
+     * @param x         x coordinate of the cell hit.
+     * @param y         y coordinate of the cell hit.
+     * @return event hitting the cell.
+     */
+    public static MoveEvent hit(long sequence, String gridOwner, int x, int y) {
+        return new MoveEvent(sequence, MoveEventType.HIT, gridOwner, x, y, x, y, 0, null);
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public MoveEventType getType() {
+        return type;
+    }
+
+    public String getGridOwner() {
+        return gridOwner;
+    }
+
+    public int getX() {
+        return x;
+    }
+
+    public int getY() {
+        return y;
+    }
+
+    /**
+     * @return a new ship, without hits, as placed by the event.
+     */
+    public Ship toShip() {
+        return new Ship.Builder()
+                .setStartCoordinates(x, y)
+                .setEndCoordinates(endX, endY)
+                .setLength(length)
+                .setDirection(direction)
+                .build();
+    }
+
+    void writeTo(DataOutput output) throws IOException {
+        output.writeLong(sequence);
+        output.writeByte(type.ordinal());
+        output.writeUTF(gridOwner);
+        output.writeInt(x);
+        output.writeInt(y);
+
+        if (type == MoveEventType.SHIP_PLACEMENT) {
+            output.writeInt(endX);
+            output.writeInt(endY);
+            output.writeInt(length);
+            output.writeByte(direction == null ? -1 : direction.ordinal());
+        }
+    }
+
+    static MoveEvent readFrom(DataInput input) throws IOException {
+        long sequence = input.readLong();
+        MoveEventType type = TYPES[input.readByte()];
+        String gridOwner = input.readUTF();
+        int x = input.readInt();
+        int y = input.readInt();
+
+        if (type == MoveEventType.HIT) {
+            return hit(sequence, gridOwner, x, y);
+        }
+
+        int endX = input.readInt();
+        int endY = input.readInt();
+        int length = input.readInt();
+        byte direction = input.readByte();
+
+        return new MoveEvent(sequence, type, gridOwner, x, y, endX, endY, length,
+                direction < 0 ? null : DIRECTIONS[direction]);
+    }
+
+    @Override
+    public String toString() {
+        return "MoveEvent{" +
+                "sequence=" + sequence +
+                ", type=" + type +
+                ", gridOwner='" + gridOwner + '\'' +
+                ", x=" + x +
+                ", y=" + y +
+                '}';
+    }
+}
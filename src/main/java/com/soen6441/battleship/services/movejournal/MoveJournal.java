@@ -0,0 +1,198 @@
+package com.soen6441.battleship.services.movejournal;
+
+import com.soen6441.battleship.data.model.Ship;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Log of every change made to the grids of a game, ship placements and hits, numbered from 1 in
+ * the order they were made. Replaying the log with a {@link JournalReplayer} rebuilds the grids.
+ * <p>
+ * The events are kept in memory and, for a journal on disk, appended to its file as they are
+ * recorded, in a compact binary form. A journal file left by a crash is opened again with
+ * {@link MoveJournal#open(File)}, which drops a last event only partly written.
+ */
+public class MoveJournal {
+    private static final Logger logger = Logger.getLogger(MoveJournal.class.getName());
+
+    private static final int MAGIC = 0x424A524E;
+    private static final int VERSION = 1;
+
+    private final int gridWidth;
+    private final int gridHeight;
+    private final List<MoveEvent> events = new ArrayList<>();
+
+    /**
+     * Stream appending to the journal file, null for a journal kept in memory only.
+     */
+    private DataOutputStream output;
+
+    /**
+     * Journal kept in memory only.
+     *
+     * @param gridWidth  width of the grids of the game.
+     * @param gridHeight height of the grids of the game.
+     */
+    public MoveJournal(int gridWidth, int gridHeight) {
+        checkArgument(gridWidth > 0 && gridHeight > 0, "Grid dimensions must be positive");
+
+        this.gridWidth = gridWidth;
+        this.gridHeight = gridHeight;
+    }
+
+    /**
+     * Create a journal written to a new file, replacing any file already there.
+     *
+     * @param file       file of the journal.
+     * @param gridWidth  width of the grids of the game.
+     * @param gridHeight height of the grids of the game.
+     * @return the journal.
+     * @throws IOException if the file can not be written.
+     */
+    public static MoveJournal create(File file, int gridWidth, int gridHeight) throws IOException {
+        MoveJournal journal = new MoveJournal(gridWidth, gridHeight);
+        journal.output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+        journal.output.writeInt(MAGIC);
+        journal.output.writeInt(VERSION);
+        journal.output.writeInt(gridWidth);
+        journal.output.writeInt(gridHeight);
+        journal.output.flush();
+        return journal;
+    }
+
+    /**
+     * Open a journal file to read its events and record new ones after them.
+     *
+     * @param file file of the journal.
+     * @return the journal, with the events of the file.
+     * @throws IOException if the file can not be read or is not a journal.
+     */
+    public static MoveJournal open(File file) throws IOException {
+        byte[] bytes = Files.readAllBytes(file.toPath());
+        ByteArrayInputStream byteInput = new ByteArrayInputStream(bytes);
+        DataInputStream input = new DataInputStream(byteInput);
+
+        if (bytes.length < 16 || input.readInt() != MAGIC || input.readInt() != VERSION) {
+            throw new IOException("Not a move journal: " + file);
+        }
+
+        MoveJournal journal = new MoveJournal(input.readInt(), input.readInt());
+        int validLength = bytes.length - byteInput.available();
+
+        try {
+            while (byteInput.available() > 0) {
+                journal.events.add(MoveEvent.readFrom(input));
+                validLength = bytes.length - byteInput.available();
+            }
+        } catch (EOFException e) {
+            logger.warning(() -> String.format("Dropping the last event of %s, only partly written.", file));
+        }
+
+        if (validLength < bytes.length) {
+            try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw")) {
+                randomAccessFile.setLength(validLength);
+            }
+        }
+
+        journal.output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file, true)));
+        return journal;
+    }
+
+    /**
+     * @param gridOwner name of the player owning the grid.
+     * @param ship      ship placed on the grid.
+     * @return the event recorded.
+     */
+    public synchronized MoveEvent recordShipPlacement(String gridOwner, Ship ship) {
+        return append(MoveEvent.shipPlacement(events.size() + 1, gridOwner, ship));
+    }
+
+    /**
+     * @param gridOwner name of the player owning the grid.
+     * @param x         x coordinate of the cell hit.
+     * @param y         y coordinate of the cell hit.
+     * @return the event recorded.
+     */
+    public synchronized MoveEvent recordHit(String gridOwner, int x, int y) {
+        return append(MoveEvent.hit(events.size() + 1, gridOwner, x, y));
+    }
+
+    /**
+     * @return all events, in the order they were recorded.
+     */
+    public synchronized List<MoveEvent> getEvents() {
+        return new ArrayList<>(events);
+    }
+
+    /**
+     * @param sequence sequence number of the last event already known, e.g. of a snapshot.
+     * @return the events recorded after it.
+     */
+    public synchronized List<MoveEvent> getEventsAfter(long sequence) {
+        int fromIndex = (int) Math.min(Math.max(sequence, 0), events.size());
+        return new ArrayList<>(events.subList(fromIndex, events.size()));
+    }
+
+    /**
+     * @return sequence number of the last event, 0 if there is none.
+     */
+    public synchronized long getLastSequence() {
+        return events.size();
+    }
+
+    public int getGridWidth() {
+        return gridWidth;
+    }
+
+    public int getGridHeight() {
+        return gridHeight;
+    }
+
+    /**
+     * Close the journal file. Events recorded afterwards are only kept in memory.
+     */
+    public synchronized void close() {
+        if (output == null) {
+            return;
+        }
+
+        try {
+            output.close();
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Could not close move journal", e);
+        }
+
+        output = null;
+    }
+
+    private MoveEvent append(MoveEvent event) {
+        events.add(event);
+
+        if (output != null) {
+            try {
+                event.writeTo(output);
+                output.flush();
+            } catch (IOException e) {
+                logger.log(Level.SEVERE, "Could not write move journal, keeping events in memory only", e);
+                close();
+            }
+        }
+
+        return event;
+    }
+}
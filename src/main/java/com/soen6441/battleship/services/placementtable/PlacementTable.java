@@ -0,0 +1,344 @@
+package com.soen6441.battleship.services.placementtable;
+
+import com.soen6441.battleship.data.model.Ship;
+import com.soen6441.battleship.enums.ShipDirection;
+import com.soen6441.battleship.utils.BitboardUtils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Every position of a ship of a given length on a grid of a given width and height, as bitboards.
+ * <p>
+ * For every placement the table holds the cells of the ship and its halo, i.e. the cells of the
+ * ship and the cells touching it, including diagonally. Only the window of words of the grid's
+ * bitboard which the halo spans is kept: placement {@code p} stands for words
+ * {@code getFirstWord(p)} to {@code getFirstWord(p) + getWordSpan(p) - 1} of the grid, stored from
+ * {@code getOffset(p)} in the packed arrays. A table therefore grows with the number of
+ * placements rather than with the number of placements times the size of the grid, which keeps
+ * large grids affordable. Ships of length 1 only have horizontal placements, so every set of cells
+ * appears once and the index of a placement is the index of its cell.
+ * <p>
+ * Tables are built once per grid dimensions and ship length and shared through
+ * {@link PlacementTable#forShip(int, int, int)}. A table never changes after it is built, so it can
+ * be used by any number of games and threads at once; the arrays it returns must not be modified.
+ */
+public class PlacementTable {
+    private static final Map<Long, PlacementTable> tables = new ConcurrentHashMap<>();
+
+    private final int width;
+    private final int height;
+    private final int shipLength;
+    private final int wordCount;
+    private final int placementCount;
+
+    private final long[] cells;
+    private final long[] halos;
+
+    /**
+     * Index of the first word of the window of every placement in the packed arrays.
+     */
+    private final int[] offsets;
+
+    /**
+     * Index of the word of the grid's bitboard matching the first word of every window.
+     */
+    private final int[] firstWords;
+
+    private final int[] wordSpans;
+
+    /**
+     * Index of the top left cell of every placement.
+     */
+    private final int[] starts;
+    private final boolean[] isVertical;
+
+    /**
+     * Placements covering every cell, indexed by cell index.
+     */
+    private final int[][] placementsCovering;
+
+    private PlacementTable(int width, int height, int shipLength) {
+        this.width = width;
+        this.height = height;
+        this.shipLength = shipLength;
+        this.wordCount = (width * height + 63) >>> 6;
+
+        int horizontalCount = shipLength <= width ? (width - shipLength + 1) * height : 0;
+        int verticalCount = shipLength > 1 && shipLength <= height ? (height - shipLength + 1) * width : 0;
+        this.placementCount = horizontalCount + verticalCount;
+
+        this.offsets = new int[placementCount];
+        this.firstWords = new int[placementCount];
+        this.wordSpans = new int[placementCount];
+        this.starts = new int[placementCount];
+        this.isVertical = new boolean[placementCount];
+
+        int packedLength = 0;
+        int placement = 0;
+
+        for (int vertical = 0; vertical < 2; vertical++) {
+            if (vertical == 0 ? horizontalCount == 0 : verticalCount == 0) {
+                continue;
+            }
+
+            int spanX = vertical == 0 ? width - shipLength + 1 : width;
+            int spanY = vertical == 0 ? height : height - shipLength + 1;
+
+            for (int y = 0; y < spanY; y++) {
+                for (int x = 0; x < spanX; x++, placement++) {
+                    int endX = vertical == 0 ? x + shipLength - 1 : x;
+                    int endY = vertical == 0 ? y : y + shipLength - 1;
+                    int haloStart = Math.max(y - 1, 0) * width + Math.max(x - 1, 0);
+                    int haloEnd = Math.min(endY + 1, height - 1) * width + Math.min(endX + 1, width - 1);
+
+                    starts[placement] = y * width + x;
+                    isVertical[placement] = vertical == 1;
+                    firstWords[placement] = haloStart >>> 6;
+                    wordSpans[placement] = (haloEnd >>> 6) - firstWords[placement] + 1;
+                    offsets[placement] = packedLength;
+                    packedLength += wordSpans[placement];
+                }
+            }
+        }
+
+        this.cells = new long[packedLength];
+        this.halos = new long[packedLength];
+
+        int[] coverCounts = new int[width * height];
+
+        for (placement = 0; placement < placementCount; placement++) {
+            int x = starts[placement] % width;
+            int y = starts[placement] / width;
+            int endX = isVertical[placement] ? x : x + shipLength - 1;
+            int endY = isVertical[placement] ? y + shipLength - 1 : y;
+
+            fillRect(cells, placement, x, y, endX, endY);
+            fillRect(halos, placement, Math.max(x - 1, 0), Math.max(y - 1, 0),
+                    Math.min(endX + 1, width - 1), Math.min(endY + 1, height - 1));
+
+            for (int cell : getCellIndices(placement)) {
+                coverCounts[cell]++;
+            }
+        }
+
+        this.placementsCovering = new int[width * height][];
+        for (int cell = 0; cell < coverCounts.length; cell++) {
+            placementsCovering[cell] = new int[coverCounts[cell]];
+            coverCounts[cell] = 0;
+        }
+
+        for (placement = 0; placement < placementCount; placement++) {
+            for (int cell : getCellIndices(placement)) {
+                placementsCovering[cell][coverCounts[cell]++] = placement;
+            }
+        }
+    }
+
+    /**
+     * @param gridSize   size of a square grid.
+     * @param shipLength length of the ship.
+     * @return the shared table of the placements of the ship on the grid.
+     */
+    public static PlacementTable forShip(int gridSize, int shipLength) {
+        return forShip(gridSize, gridSize, shipLength);
+    }
+
+    /**
+     * @param width      number of columns of the grid.
+     * @param height     number of rows of the grid.
+     * @param shipLength length of the ship.
+     * @return the shared table of the placements of the ship on the grid.
+     */
+    public static PlacementTable forShip(int width, int height, int shipLength) {
+        checkArgument(width > 0 && height > 0, "Grid dimensions must be positive");
+        checkArgument(shipLength > 0, "Ship length must be positive");
+
+        long key = ((long) width << 42) | ((long) height << 21) | shipLength;
+        return tables.computeIfAbsent(key, k -> new PlacementTable(width, height, shipLength));
+    }
+
+    /**
+     * @param gridSize    size of a square grid.
+     * @param shipLengths lengths of the ships of the fleet.
+     * @return the shared tables of every ship, in the order of the lengths.
+     */
+    public static PlacementTable[] forFleet(int gridSize, int[] shipLengths) {
+        return forFleet(gridSize, gridSize, shipLengths);
+    }
+
+    /**
+     * @param width       number of columns of the grid.
+     * @param height      number of rows of the grid.
+     * @param shipLengths lengths of the ships of the fleet.
+     * @return the shared tables of every ship, in the order of the lengths.
+     */
+    public static PlacementTable[] forFleet(int width, int height, int[] shipLengths) {
+        PlacementTable[] fleetTables = new PlacementTable[shipLengths.length];
+
+        for (int ship = 0; ship < shipLengths.length; ship++) {
+            fleetTables[ship] = forShip(width, height, shipLengths[ship]);
+        }
+
+        return fleetTables;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public int getShipLength() {
+        return shipLength;
+    }
+
+    /**
+     * @return number of words of a bitboard of the whole grid.
+     */
+    public int getWordCount() {
+        return wordCount;
+    }
+
+    public int getPlacementCount() {
+        return placementCount;
+    }
+
+    /**
+     * @return cells of every placement, packed as described in {@link PlacementTable}.
+     */
+    public long[] getCells() {
+        return cells;
+    }
+
+    /**
+     * @return halos of every placement, packed as described in {@link PlacementTable}.
+     */
+    public long[] getHalos() {
+        return halos;
+    }
+
+    /**
+     * @param placement index of the placement.
+     * @return index of the first word of the window of the placement in
+     * {@link PlacementTable#getCells()} and {@link PlacementTable#getHalos()}.
+     */
+    public int getOffset(int placement) {
+        return offsets[placement];
+    }
+
+    /**
+     * @param placement index of the placement.
+     * @return index of the word of the grid's bitboard where the window of the placement starts.
+     */
+    public int getFirstWord(int placement) {
+        return firstWords[placement];
+    }
+
+    /**
+     * @param placement index of the placement.
+     * @return number of words of the window of the placement.
+     */
+    public int getWordSpan(int placement) {
+        return wordSpans[placement];
+    }
+
+    /**
+     * @param placement index of the placement.
+     * @return index of the top left cell of the placement.
+     */
+    public int getStart(int placement) {
+        return starts[placement];
+    }
+
+    public boolean isVertical(int placement) {
+        return isVertical[placement];
+    }
+
+    /**
+     * @param cellIndex index of a cell.
+     * @return indices of the placements covering the cell.
+     */
+    public int[] getPlacementsCovering(int cellIndex) {
+        return placementsCovering[cellIndex];
+    }
+
+    /**
+     * @param placement index of the placement.
+     * @param cellIndex index of a cell.
+     * @return true if the ship covers the cell.
+     */
+    public boolean covers(int placement, int cellIndex) {
+        int word = (cellIndex >>> 6) - firstWords[placement];
+        return word >= 0 && word < wordSpans[placement]
+                && (cells[offsets[placement] + word] & (1L << cellIndex)) != 0;
+    }
+
+    /**
+     * @param placement index of the placement.
+     * @param board     bitboard of the blocked cells.
+     * @return true if no cell of the placement is blocked.
+     */
+    public boolean fits(int placement, long[] board) {
+        return !BitboardUtils.anyIntersect(cells, offsets[placement], board, firstWords[placement], wordSpans[placement]);
+    }
+
+    /**
+     * Set the cells of a placement on a bitboard.
+     *
+     * @param placement index of the placement.
+     * @param board     bitboard of the whole grid to update.
+     */
+    public void addCells(int placement, long[] board) {
+        BitboardUtils.or(board, firstWords[placement], cells, offsets[placement], wordSpans[placement]);
+    }
+
+    /**
+     * Set the cells of the halo of a placement on a bitboard.
+     *
+     * @param placement index of the placement.
+     * @param board     bitboard of the whole grid to update.
+     */
+    public void addHalo(int placement, long[] board) {
+        BitboardUtils.or(board, firstWords[placement], halos, offsets[placement], wordSpans[placement]);
+    }
+
+    /**
+     * @param placement index of the placement.
+     * @return builder of a ship at the placement.
+     */
+    public Ship.Builder toShipBuilder(int placement) {
+        int x = starts[placement] % width;
+        int y = starts[placement] / width;
+
+        return new Ship.Builder()
+                .setStartCoordinates(x, y)
+                .setEndCoordinates(isVertical[placement] ? x : x + shipLength - 1,
+                        isVertical[placement] ? y + shipLength - 1 : y)
+                .setLength(shipLength)
+                .setDirection(isVertical[placement] ? ShipDirection.VERTICAL : ShipDirection.HORIZONTAL);
+    }
+
+    private int[] getCellIndices(int placement) {
+        int step = isVertical[placement] ? width : 1;
+        int[] cellIndices = new int[shipLength];
+
+        for (int i = 0; i < shipLength; i++) {
+            cellIndices[i] = starts[placement] + i * step;
+        }
+
+        return cellIndices;
+    }
+
+    private void fillRect(long[] boards, int placement, int startX, int startY, int endX, int endY) {
+        int offset = (offsets[placement] - firstWords[placement]) * 64;
+
+        for (int y = startY; y <= endY; y++) {
+            BitboardUtils.setRange(boards, offset + y * width + startX, offset + y * width + endX);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.soen6441.battleship.services.randomsource;
+
+import java.util.SplittableRandom;
+
+/**
+ * Source of random numbers for board generation and AI players.
+ * <p>
+ * A source created from a seed always produces the same numbers, so a game set up from a single
+ * seed can be reproduced. Every component gets its own source through {@link RandomSource#split()}
+ * or {@link RandomSource#forStream(long, long)}, which keeps the numbers drawn by one component from
+ * shifting those drawn by another and lets parallel simulations draw without contention.
+ * <p>
+ * A source is not thread safe; split it instead of sharing it between threads.
+ */
+public class RandomSource {
+    /**
+     * Increment of {@link SplittableRandom}, the fractional part of the golden ratio.
+     */
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private final SplittableRandom random;
+
+    /**
+     * Create a source with a random seed.
+     */
+    public RandomSource() {
+        this(new SplittableRandom());
+    }
+
+    /**
+     * @param seed seed of the source.
+     */
+    public RandomSource(long seed) {
+        this(new SplittableRandom(seed));
+    }
+
+    private RandomSource(SplittableRandom random) {
+        this.random = random;
+    }
+
+    /**
+     * Source of an indexed stream of a seed, e.g. one per game of a simulation. The source only
+     * depends on the seed and index, not on the streams created before it.
+     *
+     * @param seed        seed shared by all streams.
+     * @param streamIndex index of the stream.
+     * @return source of the stream.
+     */
+    public static RandomSource forStream(long seed, long streamIndex) {
+        return new RandomSource(mix64(seed + GOLDEN_GAMMA * (streamIndex + 1)));
+    }
+
+    /**
+     * @return a new source, independent of this one, whose numbers are determined by the state of this source.
+     */
+    public RandomSource split() {
+        return new RandomSource(random.split());
+    }
+
+    /**
+     * @param bound upper bound (exclusive), must be positive.
+     * @return random number between 0 (inclusive) and bound (exclusive).
+     */
+    public int nextInt(int bound) {
+        return random.nextInt(bound);
+    }
+
+    public boolean nextBoolean() {
+        return random.nextBoolean();
+    }
+
+    public long nextLong() {
+        return random.nextLong();
+    }
+
+    /**
+     * Mixing function of {@link SplittableRandom}.
+     */
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
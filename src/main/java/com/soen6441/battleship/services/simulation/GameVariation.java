@@ -0,0 +1,38 @@
+package com.soen6441.battleship.services.simulation;
+
+import com.soen6441.battleship.data.model.GamePlayer;
+import com.soen6441.battleship.services.gamecontroller.gamestrategy.ITurnStrategy;
+import com.soen6441.battleship.services.gamecontroller.gamestrategy.SalvaTurnStrategy;
+import com.soen6441.battleship.services.gamecontroller.gamestrategy.SimpleTurnStrategy;
+
+/**
+ * Rules a simulated game is played with, backed by the same {@link ITurnStrategy} as a real game.
+ */
+public enum GameVariation {
+    /**
+     * A player keeps the turn as long as it hits a ship, see {@link SimpleTurnStrategy}.
+     */
+    SIMPLE {
+        @Override
+        public ITurnStrategy createTurnStrategy(GamePlayer starter, GamePlayer other) {
+            return new SimpleTurnStrategy();
+        }
+    },
+    /**
+     * A player fires one shot per ship still afloat every turn, see {@link SalvaTurnStrategy}.
+     * As in a real game, the shots of the starting player are only applied once its salvo is complete.
+     */
+    SALVA {
+        @Override
+        public ITurnStrategy createTurnStrategy(GamePlayer starter, GamePlayer other) {
+            return new SalvaTurnStrategy(starter, other);
+        }
+    };
+
+    /**
+     * @param starter player taking the first turn, in the role of the manual player.
+     * @param other   the other player.
+     * @return turn strategy of a new game.
+     */
+    public abstract ITurnStrategy createTurnStrategy(GamePlayer starter, GamePlayer other);
+}
@@ -0,0 +1,247 @@
+package com.soen6441.battleship.services.simulation;
+
+import com.soen6441.battleship.data.model.Coordinate;
+import com.soen6441.battleship.data.model.FleetSpec;
+import com.soen6441.battleship.data.model.GamePlayer;
+import com.soen6441.battleship.enums.HitResult;
+import com.soen6441.battleship.exceptions.CoordinatesOutOfBoundsException;
+import com.soen6441.battleship.services.aiplayer.AIPlayerFactory;
+import com.soen6441.battleship.services.aiplayer.BaseAIPlayer;
+import com.soen6441.battleship.services.aiplayer.ISalvoAIPlayer;
+import com.soen6441.battleship.services.boardgenerator.RandomShipPlacer;
+import com.soen6441.battleship.services.gamecontroller.gamestrategy.ITurnStrategy;
+import com.soen6441.battleship.services.gamecontroller.gamestrategy.SalvaTurnStrategy;
+import com.soen6441.battleship.services.gamegrid.GameGrid;
+import com.soen6441.battleship.services.randomsource.RandomSource;
+import com.soen6441.battleship.utils.ExecutorUtils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Plays AI players against each other without a {@link com.soen6441.battleship.services.gamecontroller.GameController},
+ * user interface or timers.
+ * <p>
+ * Every game is played on two fresh {@link GameGrid}s with a randomly placed {@link FleetSpec} and freshly created
+ * players, so games share no state and are spread over {@code threadCount} threads. Turns are
+ * handed over by the {@link ITurnStrategy} of the {@link GameVariation}. The first player starts the
+ * even numbered games and the second player the odd numbered ones.
+ * <p>
+ * Players are driven through {@link BaseAIPlayer#decideHit()}; their hit callback is never called.
+ * In {@link GameVariation#SALVA} games the shots of the starting player are only resolved once its
+ * salvo is complete, so a starting {@link ISalvoAIPlayer} picks the whole salvo at once through
+ * {@link ISalvoAIPlayer#decideSalvo(int)}.
+ * <p>
+ * Every game draws its ship placements and AI choices from its own stream of the simulator's seed,
+ * see {@link RandomSource#forStream(long, long)}. Running the same players with the same seed
+ * replays the same games, whatever the number of threads.
+ */
+public class SelfPlaySimulator {
+    public static final int FIRST = 0;
+    public static final int SECOND = 1;
+
+    /**
+     * Number of shots a player can take in a game, as a multiple of the number of cells, before the
+     * game is called a draw. Keeps players which repeat their shots from playing forever.
+     */
+    private static final int MAX_SHOTS_PER_CELL = 4;
+
+    private static final String[] PLAYER_NAMES = {"first", "second"};
+
+    private final AIPlayerFactory[] playerFactories;
+    private final GameVariation gameVariation;
+    private final int gridWidth;
+    private final int gridHeight;
+    private final FleetSpec fleetSpec;
+    private final int threadCount;
+    private final int maxShots;
+
+    private long seed = new RandomSource().nextLong();
+
+    /**
+     * Simulator of games played with the {@link GameVariation#SIMPLE} rules.
+     *
+     * @param first       factory of the first player.
+     * @param second      factory of the second player.
+     * @param gridSize    size of the grids.
+     * @param threadCount number of threads playing games.
+     */
+    public SelfPlaySimulator(AIPlayerFactory first, AIPlayerFactory second, int gridSize, int threadCount) {
+        this(first, second, GameVariation.SIMPLE, gridSize, threadCount);
+    }
+
+    /**
+     * @param first         factory of the first player.
+     * @param second        factory of the second player.
+     * @param gameVariation rules the games are played with.
+     * @param gridSize      size of the grids.
+     * @param threadCount   number of threads playing games.
+     */
+    public SelfPlaySimulator(AIPlayerFactory first, AIPlayerFactory second, GameVariation gameVariation,
+                             int gridSize, int threadCount) {
+        this(first, second, gameVariation, gridSize, gridSize, FleetSpec.STANDARD, threadCount);
+    }
+
+    /**
+     * @param first         factory of the first player.
+     * @param second        factory of the second player.
+     * @param gameVariation rules the games are played with.
+     * @param gridWidth     number of columns of the grids.
+     * @param gridHeight    number of rows of the grids.
+     * @param fleetSpec     ships placed on every grid.
+     * @param threadCount   number of threads playing games.
+     */
+    public SelfPlaySimulator(AIPlayerFactory first, AIPlayerFactory second, GameVariation gameVariation,
+                             int gridWidth, int gridHeight, FleetSpec fleetSpec, int threadCount) {
+        checkArgument(gridWidth > 0 && gridHeight > 0, "Grid dimensions must be positive");
+        checkArgument(threadCount > 0, "Thread count must be positive");
+
+        this.playerFactories = new AIPlayerFactory[]{checkNotNull(first), checkNotNull(second)};
+        this.gameVariation = checkNotNull(gameVariation);
+        this.gridWidth = gridWidth;
+        this.gridHeight = gridHeight;
+        this.fleetSpec = checkNotNull(fleetSpec);
+        this.threadCount = threadCount;
+        this.maxShots = MAX_SHOTS_PER_CELL * gridWidth * gridHeight;
+    }
+
+    /**
+     * @param seed seed of the games played by the following runs.
+     * @return this simulator.
+     */
+    public SelfPlaySimulator setSeed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    /**
+     * @return seed of the games, randomly chosen unless set.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Play a number of games.
+     *
+     * @param gameCount number of games to play.
+     * @return results of the games.
+     */
+    public SimulationStats run(int gameCount) {
+        checkArgument(gameCount >= 0, "Game count can not be negative");
+
+        long startTime = System.nanoTime();
+        SimulationStats stats = new SimulationStats(maxShots);
+
+        if (threadCount == 1) {
+            stats.merge(playGames(0, 1, gameCount));
+        } else {
+            ExecutorService executor = Executors.newFixedThreadPool(threadCount, ExecutorUtils.daemonThreadFactory("self-play"));
+
+            try {
+                List<Future<SimulationStats>> futures = new ArrayList<>(threadCount);
+                for (int thread = 0; thread < threadCount; thread++) {
+                    int firstGame = thread;
+                    futures.add(executor.submit(() -> playGames(firstGame, threadCount, gameCount)));
+                }
+
+                for (Future<SimulationStats> future : futures) {
+                    stats.merge(future.get());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while playing games", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Self-play game failed", e.getCause());
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        stats.setElapsedNanos(System.nanoTime() - startTime);
+        return stats;
+    }
+
+    /**
+     * Play every {@code step}th game, starting with {@code firstGame}.
+     */
+    private SimulationStats playGames(int firstGame, int step, int gameCount) {
+        SimulationStats stats = new SimulationStats(maxShots);
+
+        for (int game = firstGame; game < gameCount; game += step) {
+            playGame(game % 2, RandomSource.forStream(seed, game), stats);
+        }
+
+        return stats;
+    }
+
+    private void playGame(int starter, RandomSource randomSource, SimulationStats stats) {
+        GameGrid[] gameGrids = {new GameGrid(gridWidth, gridHeight), new GameGrid(gridWidth, gridHeight)};
+        RandomShipPlacer randomShipPlacer = new RandomShipPlacer(randomSource.split());
+        randomShipPlacer.placeRandomShips(gameGrids[FIRST], fleetSpec);
+        randomShipPlacer.placeRandomShips(gameGrids[SECOND], fleetSpec);
+
+        // Players as seen by the turn strategy and by the opposing AI.
+        GamePlayer[] seats = {
+                new GamePlayer(PLAYER_NAMES[FIRST], gameGrids[FIRST]),
+                new GamePlayer(PLAYER_NAMES[SECOND], gameGrids[SECOND]),
+        };
+
+        BaseAIPlayer[] players = {
+                playerFactories[FIRST].create(PLAYER_NAMES[FIRST], gameGrids[FIRST], seats[SECOND], coordinate -> {
+                }),
+                playerFactories[SECOND].create(PLAYER_NAMES[SECOND], gameGrids[SECOND], seats[FIRST], coordinate -> {
+                }),
+        };
+
+        players[FIRST].setRandomSource(randomSource.split());
+        players[SECOND].setRandomSource(randomSource.split());
+        players[FIRST].setFleetSpec(fleetSpec);
+        players[SECOND].setFleetSpec(fleetSpec);
+
+        ITurnStrategy turnStrategy = gameVariation.createTurnStrategy(seats[starter], seats[1 - starter]);
+        int attacker = starter;
+        int[] shots = new int[2];
+        Queue<Coordinate> salvo = new ArrayDeque<>();
+
+        while (shots[attacker] < maxShots) {
+            GamePlayer target = seats[1 - attacker];
+
+            if (salvo.isEmpty() && attacker == starter && turnStrategy instanceof SalvaTurnStrategy
+                    && players[attacker] instanceof ISalvoAIPlayer) {
+                int shotCount = ((SalvaTurnStrategy) turnStrategy).getPlayerTurns();
+                salvo.addAll(((ISalvoAIPlayer) players[attacker]).decideSalvo(shotCount));
+            }
+
+            Coordinate coordinate = salvo.isEmpty() ? players[attacker].decideHit() : salvo.poll();
+
+            HitResult hitResult;
+            try {
+                hitResult = turnStrategy.hit(target, coordinate);
+            } catch (CoordinatesOutOfBoundsException e) {
+                hitResult = HitResult.MISS;
+            }
+
+            shots[attacker]++;
+
+            if (target.getGameGrid().areAllShipsDestroyed()) {
+                stats.addGame(attacker, shots[attacker]);
+                return;
+            }
+
+            GamePlayer nextPlayer = turnStrategy.getNextTurn(seats[starter], seats[1 - starter], hitResult);
+            attacker = nextPlayer == seats[FIRST] ? FIRST : SECOND;
+        }
+
+        stats.addGame(-1, 0);
+    }
+}
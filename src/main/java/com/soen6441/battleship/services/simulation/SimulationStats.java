@@ -0,0 +1,143 @@
+package com.soen6441.battleship.services.simulation;
+
+/**
+ * Aggregate results of a batch of self-play games, see {@link SelfPlaySimulator}.
+ * <p>
+ * Games are recorded by a single thread; results of different threads are combined with
+ * {@link SimulationStats#merge(SimulationStats)}.
+ */
+public class SimulationStats {
+    /**
+     * Highest number of shots recorded in the histogram. Games won with more shots are counted in the
+     * last bucket.
+     */
+    private final int maxShots;
+
+    /**
+     * Number of games won with a number of shots, indexed by the number of shots of the winner.
+     */
+    private final long[] shotsToWin;
+
+    private final long[] wins = new long[2];
+    private long gameCount;
+    private long drawCount;
+    private long totalShotsToWin;
+    private long elapsedNanos;
+
+    public SimulationStats(int maxShots) {
+        this.maxShots = maxShots;
+        this.shotsToWin = new long[maxShots + 1];
+    }
+
+    /**
+     * Record a finished game.
+     *
+     * @param winner index of the winning player, or -1 if nobody won.
+     * @param shots  number of shots taken by the winner.
+     */
+    void addGame(int winner, int shots) {
+        gameCount++;
+
+        if (winner < 0) {
+            drawCount++;
+            return;
+        }
+
+        wins[winner]++;
+        shotsToWin[Math.min(shots, maxShots)]++;
+        totalShotsToWin += shots;
+    }
+
+    /**
+     * Add the games of another batch to this one.
+     *
+     * @param other stats of the other batch, recorded with the same maximum number of shots.
+     */
+    void merge(SimulationStats other) {
+        gameCount += other.gameCount;
+        drawCount += other.drawCount;
+        totalShotsToWin += other.totalShotsToWin;
+        wins[0] += other.wins[0];
+        wins[1] += other.wins[1];
+
+        for (int shots = 0; shots <= maxShots; shots++) {
+            shotsToWin[shots] += other.shotsToWin[shots];
+        }
+    }
+
+    void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public long getGameCount() {
+        return gameCount;
+    }
+
+    /**
+     * @param player index of the player, {@link SelfPlaySimulator#FIRST} or {@link SelfPlaySimulator#SECOND}.
+     * @return number of games the player won.
+     */
+    public long getWins(int player) {
+        return wins[player];
+    }
+
+    public long getDrawCount() {
+        return drawCount;
+    }
+
+    public int getMaxShots() {
+        return maxShots;
+    }
+
+    /**
+     * @param shots number of shots.
+     * @return number of games won with exactly this number of shots.
+     */
+    public long getShotsToWinCount(int shots) {
+        return shotsToWin[shots];
+    }
+
+    /**
+     * @return average number of shots taken by the winner of a game, 0 if no game was won.
+     */
+    public double getMeanShotsToWin() {
+        long wonGames = wins[0] + wins[1];
+        return wonGames == 0 ? 0 : (double) totalShotsToWin / wonGames;
+    }
+
+    /**
+     * @param percentile percentile between 0 and 100.
+     * @return smallest number of shots within which at least this percentage of won games were won,
+     * 0 if no game was won.
+     */
+    public int getShotsToWinPercentile(double percentile) {
+        long wonGames = wins[0] + wins[1];
+        long target = (long) Math.ceil(wonGames * percentile / 100);
+        long count = 0;
+
+        for (int shots = 0; shots <= maxShots; shots++) {
+            count += shotsToWin[shots];
+            if (count >= target && count > 0) {
+                return shots;
+            }
+        }
+
+        return 0;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double getGamesPerSecond() {
+        return elapsedNanos == 0 ? 0 : gameCount * 1e9 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SimulationStats{games=%d, firstWins=%d, secondWins=%d, draws=%d, "
+                        + "meanShotsToWin=%.2f, p50=%d, p90=%d, gamesPerSecond=%.1f}",
+                gameCount, wins[0], wins[1], drawCount, getMeanShotsToWin(),
+                getShotsToWinPercentile(50), getShotsToWinPercentile(90), getGamesPerSecond());
+    }
+}
@@ -0,0 +1,104 @@
+package com.soen6441.battleship.services.simulation;
+
+import com.soen6441.battleship.data.model.FleetSpec;
+import com.soen6441.battleship.services.aiplayer.AIPlayerRegistry;
+import com.soen6441.battleship.services.randomsource.RandomSource;
+
+import java.util.List;
+import java.util.logging.Logger;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Round robin tournament between every player of an {@link AIPlayerRegistry}.
+ * <p>
+ * Every pair of players plays {@code gamesPerPairing} games with each {@link GameVariation}. Each
+ * player starts half of the games of a pairing. The games of a pairing are played in parallel by a
+ * {@link SelfPlaySimulator}.
+ * <p>
+ * Every pairing is played with the same seed, so all pairings play on the same boards, which makes
+ * the win rates of different players easier to compare.
+ */
+public class Tournament {
+    private static final Logger logger = Logger.getLogger(Tournament.class.getName());
+
+    private final AIPlayerRegistry registry;
+    private final int gridWidth;
+    private final int gridHeight;
+    private final FleetSpec fleetSpec;
+    private final int gamesPerPairing;
+    private final int threadCount;
+
+    private long seed = new RandomSource().nextLong();
+
+    /**
+     * @param registry        players to enter.
+     * @param gridSize        size of the grids.
+     * @param gamesPerPairing number of games every pair of players plays with each variation.
+     * @param threadCount     number of threads playing games.
+     */
+    public Tournament(AIPlayerRegistry registry, int gridSize, int gamesPerPairing, int threadCount) {
+        this(registry, gridSize, gridSize, FleetSpec.STANDARD, gamesPerPairing, threadCount);
+    }
+
+    /**
+     * @param registry        players to enter.
+     * @param gridWidth       number of columns of the grids.
+     * @param gridHeight      number of rows of the grids.
+     * @param fleetSpec       ships placed on every grid.
+     * @param gamesPerPairing number of games every pair of players plays with each variation.
+     * @param threadCount     number of threads playing games.
+     */
+    public Tournament(AIPlayerRegistry registry, int gridWidth, int gridHeight, FleetSpec fleetSpec,
+                      int gamesPerPairing, int threadCount) {
+        checkArgument(gamesPerPairing > 0, "Games per pairing must be positive");
+
+        this.registry = checkNotNull(registry);
+        this.gridWidth = gridWidth;
+        this.gridHeight = gridHeight;
+        this.fleetSpec = checkNotNull(fleetSpec);
+        this.gamesPerPairing = gamesPerPairing;
+        this.threadCount = threadCount;
+    }
+
+    /**
+     * @param seed seed of the games of every pairing.
+     * @return this tournament.
+     */
+    public Tournament setSeed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * @return win rates of every player against every other player.
+     */
+    public TournamentResult run() {
+        List<String> names = registry.getNames();
+        TournamentResult result = new TournamentResult(names);
+
+        for (GameVariation gameVariation : GameVariation.values()) {
+            for (int first = 0; first < names.size(); first++) {
+                for (int second = first + 1; second < names.size(); second++) {
+                    SelfPlaySimulator simulator = new SelfPlaySimulator(
+                            registry.get(names.get(first)), registry.get(names.get(second)),
+                            gameVariation, gridWidth, gridHeight, fleetSpec, threadCount).setSeed(seed);
+
+                    SimulationStats stats = simulator.run(gamesPerPairing);
+                    result.addPairing(gameVariation, first, second, stats);
+
+                    String firstName = names.get(first);
+                    String secondName = names.get(second);
+                    logger.info(() -> String.format("%s: %s vs %s %s", gameVariation, firstName, secondName, stats));
+                }
+            }
+        }
+
+        return result;
+    }
+}
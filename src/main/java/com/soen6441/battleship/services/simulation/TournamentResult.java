@@ -0,0 +1,101 @@
+package com.soen6441.battleship.services.simulation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Win rate matrices of a {@link Tournament}, one per {@link GameVariation}.
+ * Entry (row, column) is the share of games the row player won against the column player.
+ */
+public class TournamentResult {
+    private final List<String> playerNames;
+    private final Map<GameVariation, WinRate[][]> winRates = new EnumMap<>(GameVariation.class);
+    private final Map<GameVariation, SimulationStats[][]> stats = new EnumMap<>(GameVariation.class);
+
+    TournamentResult(List<String> playerNames) {
+        this.playerNames = Collections.unmodifiableList(new ArrayList<>(playerNames));
+    }
+
+    /**
+     * Record the games played between two players.
+     *
+     * @param gameVariation rules of the games.
+     * @param first         index of the player simulated as {@link SelfPlaySimulator#FIRST}.
+     * @param second        index of the player simulated as {@link SelfPlaySimulator#SECOND}.
+     * @param pairingStats  results of the games.
+     */
+    void addPairing(GameVariation gameVariation, int first, int second, SimulationStats pairingStats) {
+        int playerCount = playerNames.size();
+        WinRate[][] matrix = winRates.computeIfAbsent(gameVariation, variation -> new WinRate[playerCount][playerCount]);
+        SimulationStats[][] statsMatrix = stats.computeIfAbsent(gameVariation, variation -> new SimulationStats[playerCount][playerCount]);
+
+        long games = pairingStats.getGameCount();
+        matrix[first][second] = new WinRate(pairingStats.getWins(SelfPlaySimulator.FIRST), games);
+        matrix[second][first] = new WinRate(pairingStats.getWins(SelfPlaySimulator.SECOND), games);
+        statsMatrix[first][second] = pairingStats;
+        statsMatrix[second][first] = pairingStats;
+    }
+
+    public List<String> getPlayerNames() {
+        return playerNames;
+    }
+
+    /**
+     * @param gameVariation rules of the games.
+     * @param player        name of the player.
+     * @param opponent      name of the opponent.
+     * @return share of the games the player won against the opponent.
+     * @throws IllegalArgumentException if the two players did not play each other with these rules.
+     */
+    public WinRate getWinRate(GameVariation gameVariation, String player, String opponent) {
+        WinRate[][] matrix = winRates.get(gameVariation);
+        int row = playerNames.indexOf(player);
+        int column = playerNames.indexOf(opponent);
+
+        if (matrix == null || row < 0 || column < 0 || matrix[row][column] == null) {
+            throw new IllegalArgumentException(String.format("%s did not play %s in %s", player, opponent, gameVariation));
+        }
+
+        return matrix[row][column];
+    }
+
+    /**
+     * @param gameVariation rules of the games.
+     * @param player        name of one player.
+     * @param opponent      name of the other player.
+     * @return results of the games between the two players.
+     */
+    public SimulationStats getStats(GameVariation gameVariation, String player, String opponent) {
+        getWinRate(gameVariation, player, opponent);
+        return stats.get(gameVariation)[playerNames.indexOf(player)][playerNames.indexOf(opponent)];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder stringBuilder = new StringBuilder();
+
+        for (Map.Entry<GameVariation, WinRate[][]> entry : winRates.entrySet()) {
+            stringBuilder.append(entry.getKey()).append('\n');
+            stringBuilder.append(String.format("%-14s", ""));
+            for (String name : playerNames) {
+                stringBuilder.append(String.format("%-24s", name));
+            }
+            stringBuilder.append('\n');
+
+            WinRate[][] matrix = entry.getValue();
+            for (int row = 0; row < playerNames.size(); row++) {
+                stringBuilder.append(String.format("%-14s", playerNames.get(row)));
+                for (int column = 0; column < playerNames.size(); column++) {
+                    WinRate winRate = matrix[row][column];
+                    stringBuilder.append(String.format("%-24s", winRate == null ? "-" : winRate.toString()));
+                }
+                stringBuilder.append('\n');
+            }
+        }
+
+        return stringBuilder.toString();
+    }
+}
@@ -0,0 +1,63 @@
+package com.soen6441.battleship.services.simulation;
+
+/**
+ * Share of games won by a player, with a 95% Wilson score confidence interval.
+ */
+public class WinRate {
+    /**
+     * z-score of a 95% confidence interval.
+     */
+    private static final double Z = 1.96;
+
+    private final long wins;
+    private final long games;
+
+    public WinRate(long wins, long games) {
+        this.wins = wins;
+        this.games = games;
+    }
+
+    public long getWins() {
+        return wins;
+    }
+
+    public long getGames() {
+        return games;
+    }
+
+    /**
+     * @return share of games won, 0 if no game was played.
+     */
+    public double getRate() {
+        return games == 0 ? 0 : (double) wins / games;
+    }
+
+    /**
+     * @return lower bound of the confidence interval.
+     */
+    public double getLowerBound() {
+        return games == 0 ? 0 : center() - halfWidth();
+    }
+
+    /**
+     * @return upper bound of the confidence interval.
+     */
+    public double getUpperBound() {
+        return games == 0 ? 1 : center() + halfWidth();
+    }
+
+    private double center() {
+        double rate = getRate();
+        return (rate + Z * Z / (2 * games)) / (1 + Z * Z / games);
+    }
+
+    private double halfWidth() {
+        double rate = getRate();
+        return Z / (1 + Z * Z / games) * Math.sqrt(rate * (1 - rate) / games + Z * Z / (4.0 * games * games));
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%.3f [%.3f, %.3f]", getRate(), getLowerBound(), getUpperBound());
+    }
+}
@@ -0,0 +1,140 @@
+package com.soen6441.battleship.utils;
+
+/**
+ * Utility functions for bitboards, i.e. arrays of 64 bit words where every bit represents
+ * one cell of a grid.
+ */
+public class BitboardUtils {
+    private BitboardUtils() {
+    }
+
+    /**
+     * @param board bitboard to test.
+     * @param from  first bit index (inclusive)
+     * @param to    last bit index (inclusive)
+     * @return true if any bit between from and to is set.
+     */
+    public static boolean anyInRange(long[] board, int from, int to) {
+        int fromWord = from >>> 6;
+        int toWord = to >>> 6;
+        long fromMask = -1L << from;
+        long toMask = -1L >>> (63 - (to & 63));
+
+        if (fromWord == toWord) {
+            return (board[fromWord] & fromMask & toMask) != 0;
+        }
+
+        if ((board[fromWord] & fromMask) != 0) {
+            return true;
+        }
+
+        for (int word = fromWord + 1; word < toWord; word++) {
+            if (board[word] != 0) {
+                return true;
+            }
+        }
+
+        return (board[toWord] & toMask) != 0;
+    }
+
+    /**
+     * Set every bit between from and to.
+     *
+     * @param board bitboard to update.
+     * @param from  first bit index (inclusive)
+     * @param to    last bit index (inclusive)
+     */
+    public static void setRange(long[] board, int from, int to) {
+        int fromWord = from >>> 6;
+        int toWord = to >>> 6;
+        long fromMask = -1L << from;
+        long toMask = -1L >>> (63 - (to & 63));
+
+        if (fromWord == toWord) {
+            board[fromWord] |= fromMask & toMask;
+            return;
+        }
+
+        board[fromWord] |= fromMask;
+
+        for (int word = fromWord + 1; word < toWord; word++) {
+            board[word] = -1L;
+        }
+
+        board[toWord] |= toMask;
+    }
+
+    /**
+     * @param board bitboard to test.
+     * @param other bitboard of the same length.
+     * @return true if any bit is set on both boards.
+     */
+    public static boolean anyIntersect(long[] board, long[] other) {
+        return anyIntersect(board, 0, other, other.length);
+    }
+
+    /**
+     * Test a bitboard stored at an offset of a larger array, e.g. one of several packed together.
+     *
+     * @param board     array holding the bitboard to test.
+     * @param offset    index of the first word of the bitboard in the array.
+     * @param other     bitboard to test against.
+     * @param wordCount number of words of the bitboards.
+     * @return true if any bit is set on both boards.
+     */
+    public static boolean anyIntersect(long[] board, int offset, long[] other, int wordCount) {
+        return anyIntersect(board, offset, other, 0, wordCount);
+    }
+
+    /**
+     * Test a window of a bitboard stored at an offset of a larger array against the same window of
+     * another bitboard.
+     *
+     * @param board       array holding the window to test.
+     * @param offset      index of the first word of the window in the array.
+     * @param other       bitboard to test against.
+     * @param otherOffset index of the word of the other bitboard matching the first word of the window.
+     * @param wordCount   number of words of the window.
+     * @return true if any bit is set on both boards.
+     */
+    public static boolean anyIntersect(long[] board, int offset, long[] other, int otherOffset, int wordCount) {
+        for (int word = 0; word < wordCount; word++) {
+            if ((board[offset + word] & other[otherOffset + word]) != 0) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * @param board bitboard to test.
+     * @param other bitboard of the same length.
+     * @return true if every bit set on the board is also set on the other board.
+     */
+    public static boolean isSubset(long[] board, long[] other) {
+        for (int word = 0; word < board.length; word++) {
+            if ((board[word] & ~other[word]) != 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Set every bit of a window stored at an offset of a larger array on the same window of
+     * another bitboard.
+     *
+     * @param board       bitboard to update.
+     * @param boardOffset index of the word of the board matching the first word of the window.
+     * @param other       array holding the window to add.
+     * @param offset      index of the first word of the window in its array.
+     * @param wordCount   number of words of the window.
+     */
+    public static void or(long[] board, int boardOffset, long[] other, int offset, int wordCount) {
+        for (int word = 0; word < wordCount; word++) {
+            board[boardOffset + word] |= other[offset + word];
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.soen6441.battleship.utils;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Utility functions for creating the executors used by the game services.
+ */
+public class ExecutorUtils {
+    /**
+     * Time an idle thread is kept alive before it is stopped.
+     */
+    private static final long KEEP_ALIVE_SECONDS = 30;
+
+    private ExecutorUtils() {
+    }
+
+    /**
+     * @param name prefix of the thread names.
+     * @return factory of daemon threads, so that the threads never keep the application alive.
+     */
+    public static ThreadFactory daemonThreadFactory(String name) {
+        AtomicInteger threadCount = new AtomicInteger();
+
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Create an executor running tasks on up to {@code threadCount} daemon threads. Threads are
+     * stopped after being idle for a while, so an executor which is never shut down does not hold
+     * on to them. Tasks wait in an unbounded queue and never run on the submitting thread, so an
+     * executor with a single thread runs its tasks one at a time, in submission order.
+     *
+     * @param name        prefix of the thread names.
+     * @param threadCount maximum number of threads.
+     * @return the executor.
+     */
+    public static ExecutorService newIdleStoppingThreadPool(String name, int threadCount) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threadCount, threadCount,
+                KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                daemonThreadFactory(name));
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
@@ -1,5 +1,6 @@
 package com.soen6441.battleship.utils;
 
+import com.soen6441.battleship.data.model.CellChange;
 import com.soen6441.battleship.data.model.Grid;
 import com.soen6441.battleship.enums.CellState;
 
@@ -21,35 +22,71 @@ public class GridUtils {
     public static void printGrid(Grid grid) {
         StringBuilder stringBuilder = new StringBuilder();
 
-        for (int i = 0; i < grid.getGridSize(); i++) {
-            for (int j = 0; j < grid.getGridSize(); j++) {
-                CellState state = grid.getCellState(j, i);
-
-                switch (state) {
-                    case EMPTY:
-                        stringBuilder.append(EMPTY_CHAR);
-                        break;
-                    case SHIP:
-                        stringBuilder.append(SHIP_CHAR);
-                        break;
-                    case SHIP_WITH_HIT:
-                        stringBuilder.append(" **** ");
-                        break;
-                    case DESTROYED_SHIP:
-                        stringBuilder.append(" $$$$ ");
-                        break;
-                    case EMPTY_HIT:
-                        stringBuilder.append(" xxxx ");
-                        break;
-                    case TO_BE_PLACED:
-                        stringBuilder.append(" tttt ");
-                    default:
-                        break;
-                }
+        for (int i = 0; i < grid.getHeight(); i++) {
+            for (int j = 0; j < grid.getWidth(); j++) {
+                stringBuilder.append(cellChar(grid.getCellState(j, i)));
             }
             stringBuilder.append("\n\n");
         }
 
         logger.info("Game Grid: \n" + stringBuilder.toString());
     }
+
+    /**
+     * Print the changed cells on console. A snapshot is printed as the whole grid.
+     *
+     * @param cellChange Changes to be printed.
+     */
+    public static void printCellChange(CellChange cellChange) {
+        StringBuilder stringBuilder = new StringBuilder();
+
+        if (cellChange.isSnapshot()) {
+            int width = cellChange.getWidth();
+            CellState[] states = new CellState[width * cellChange.getHeight()];
+
+            for (int i = 0; i < cellChange.size(); i++) {
+                states[cellChange.getY(i) * width + cellChange.getX(i)] = cellChange.getState(i);
+            }
+
+            for (int i = 0; i < cellChange.getHeight(); i++) {
+                for (int j = 0; j < width; j++) {
+                    stringBuilder.append(cellChar(states[i * width + j]));
+                }
+                stringBuilder.append("\n\n");
+            }
+
+            logger.info("Game Grid: \n" + stringBuilder.toString());
+            return;
+        }
+
+        for (int i = 0; i < cellChange.size(); i++) {
+            stringBuilder.append(String.format("(%d, %d) ->%s%n",
+                    cellChange.getX(i), cellChange.getY(i), cellChar(cellChange.getState(i))));
+        }
+
+        logger.info("Changed Cells: \n" + stringBuilder.toString());
+    }
+
+    private static String cellChar(CellState state) {
+        if (state == null) {
+            return "";
+        }
+
+        switch (state) {
+            case EMPTY:
+                return EMPTY_CHAR;
+            case SHIP:
+                return SHIP_CHAR;
+            case SHIP_WITH_HIT:
+                return " **** ";
+            case DESTROYED_SHIP:
+                return " $$$$ ";
+            case EMPTY_HIT:
+                return " xxxx ";
+            case TO_BE_PLACED:
+                return " tttt ";
+            default:
+                return "";
+        }
+    }
 }
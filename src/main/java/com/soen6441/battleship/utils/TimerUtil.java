@@ -2,22 +2,34 @@ package com.soen6441.battleship.utils;
 
 import com.soen6441.battleship.data.model.Grid;
 import io.reactivex.Observable;
-import io.reactivex.Scheduler;
-import io.reactivex.schedulers.Schedulers;
 import io.reactivex.subjects.BehaviorSubject;
 
-import java.util.Date;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Utility functions to control timers in the game.
+ * <p>
+ * Times are measured with {@link System#nanoTime()}, so changing the clock of the machine does
+ * not change them. The time is emitted every second from the shared {@link TimingWheel}, and only
+ * while the timer is observed, so a timer nobody looks at costs no thread and no work.
  */
 public class TimerUtil {
-    private boolean isRunning = false;
-    private long startTime = 0;
-    private long stopTime = 0;
-    private BehaviorSubject<Long> timerListener = BehaviorSubject.create();
+    /**
+     * Time between two emissions of the time, in milliseconds.
+     */
+    private static final long EMIT_PERIOD_MILLIS = 1000;
+
+    private volatile boolean isRunning = false;
+    private volatile boolean hasStartTime = false;
+    private volatile long startTime = 0;
+    private volatile long stopTime = 0;
+    private final BehaviorSubject<Boolean> cancelSubject = BehaviorSubject.create();
+    private final Observable<Long> timerObservable = Observable.<Long>create(emitter -> {
+        TimingWheel.Timeout timeout = TimingWheel.getInstance().scheduleAtFixedRate(
+                () -> emitter.onNext(getElapsedTime()),
+                EMIT_PERIOD_MILLIS, EMIT_PERIOD_MILLIS, TimeUnit.MILLISECONDS);
+        emitter.setCancellable(timeout::cancel);
+    }).takeUntil(cancelSubject).share();
 
     public static String printableTime(long milliseconds) {
         long totalSeconds = milliseconds / 1000;
@@ -26,17 +38,11 @@ public class TimerUtil {
         return String.format("%02d:%02d", minutes, totalSeconds);
     }
 
-    public TimerUtil() {
-        new Timer().schedule(new TimerTask() {
-            @Override
-            public void run() {
-                if (isRunning) {
-                    timerListener.onNext(new Date().getTime() - startTime);
-                } else {
-                    timerListener.onNext(TimerUtil.this.stopTime - TimerUtil.this.startTime);
-                }
-            }
-        }, 1000, 1000);
+    /**
+     * @return milliseconds elapsed on the monotonic clock, only meaningful relative to each other.
+     */
+    private static long now() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime());
     }
 
     public void start() {
@@ -46,8 +52,8 @@ public class TimerUtil {
 
         isRunning = true;
 
-        if (startTime == 0) {
-            startTime = new Date().getTime();
+        if (!hasStartTime) {
+            setStartTime(now());
         }
     }
 
@@ -57,18 +63,27 @@ public class TimerUtil {
         }
 
         isRunning = false;
-        stopTime = new Date().getTime();
+        stopTime = now();
         return stopTime - startTime;
     }
 
     public void reset() {
         this.isRunning = false;
+        this.hasStartTime = false;
         this.startTime = 0;
         this.stopTime = 0;
     }
 
+    /**
+     * Complete the observers of the timer and stop emitting the time. The timer can not be
+     * observed afterwards.
+     */
+    public void cancel() {
+        cancelSubject.onNext(true);
+    }
+
     public Observable<Long> asObservable() {
-        return this.timerListener.subscribeOn(Schedulers.newThread());
+        return this.timerObservable;
     }
 
     public boolean isRunning() {
@@ -76,18 +91,26 @@ public class TimerUtil {
     }
 
     public long getTime() {
-        return new Date().getTime() - startTime;
+        return now() - startTime;
     }
 
+    /**
+     * @return time the timer was started at, on the monotonic clock of the timer.
+     */
     public long getStartTime() {
         return startTime;
     }
 
     public void setStartTime(long startTime) {
         this.startTime = startTime;
+        this.hasStartTime = true;
     }
 
     public void setTimeElapsed(long gameTime) {
-        this.startTime = new Date().getTime() - gameTime;
+        setStartTime(now() - gameTime);
+    }
+
+    private long getElapsedTime() {
+        return isRunning ? now() - startTime : stopTime - startTime;
     }
 }
@@ -0,0 +1,293 @@
+package com.soen6441.battleship.utils;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Scheduler running the timeouts of every timer of the process on a single daemon thread.
+ * <p>
+ * Time is cut in ticks of {@code tickDuration}, measured with {@link System#nanoTime()} so that
+ * changes of the wall clock have no effect. Timeouts are kept in a wheel of {@code wheelSize}
+ * buckets, the bucket of a timeout being its deadline tick modulo the wheel size; a timeout due
+ * after more than one turn of the wheel waits for the remaining turns in its bucket. On every
+ * tick only the bucket of that tick is looked at, so scheduling, cancelling and expiring cost the
+ * same however many timers there are.
+ * <p>
+ * Timeouts run on the wheel thread, so they must be short. While no timeout is scheduled the
+ * thread sleeps instead of ticking.
+ */
+public class TimingWheel {
+    private static final Logger logger = Logger.getLogger(TimingWheel.class.getName());
+
+    /**
+     * Duration of a tick of the shared wheel, in milliseconds.
+     */
+    public static final long DEFAULT_TICK_MILLIS = 10;
+
+    /**
+     * Number of buckets of the shared wheel, a turn of the wheel covers about 5 seconds.
+     */
+    public static final int DEFAULT_WHEEL_SIZE = 512;
+
+    private static TimingWheel sInstance;
+
+    private final long tickNanos;
+    private final int mask;
+    private final List<List<Timeout>> wheel;
+
+    /**
+     * Start of the first tick, deadlines are kept relative to it.
+     */
+    private final long startNanos = System.nanoTime();
+
+    /**
+     * Timeouts scheduled since the last tick, moved to their bucket by the wheel thread.
+     */
+    private final Queue<Timeout> newTimeouts = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Number of timeouts neither cancelled nor expired.
+     */
+    private final AtomicInteger activeCount = new AtomicInteger();
+
+    private Thread workerThread;
+    private volatile boolean isStopped = false;
+
+    /**
+     * Ticks elapsed, only used by the wheel thread.
+     */
+    private long tick = 0;
+
+    /**
+     * @return the wheel shared by all timers of the game.
+     */
+    public static synchronized TimingWheel getInstance() {
+        if (sInstance == null) {
+            sInstance = new TimingWheel(DEFAULT_TICK_MILLIS, TimeUnit.MILLISECONDS, DEFAULT_WHEEL_SIZE);
+        }
+
+        return sInstance;
+    }
+
+    /**
+     * @param tickDuration duration of a tick, the precision of the deadlines.
+     * @param unit         unit of the tick duration.
+     * @param wheelSize    number of buckets, a power of two.
+     */
+    public TimingWheel(long tickDuration, TimeUnit unit, int wheelSize) {
+        checkArgument(tickDuration > 0, "Tick duration must be positive");
+        checkArgument(wheelSize > 0 && Integer.bitCount(wheelSize) == 1, "Wheel size must be a power of two");
+
+        this.tickNanos = unit.toNanos(tickDuration);
+        this.mask = wheelSize - 1;
+        this.wheel = new ArrayList<>(wheelSize);
+
+        for (int i = 0; i < wheelSize; i++) {
+            wheel.add(new ArrayList<>());
+        }
+    }
+
+    /**
+     * Run a task once, after a delay.
+     *
+     * @param task  task to run on the wheel thread.
+     * @param delay delay before the task runs.
+     * @param unit  unit of the delay.
+     * @return the timeout, to cancel the task.
+     */
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        return add(new Timeout(task, nanosFromStart(unit.toNanos(delay)), 0));
+    }
+
+    /**
+     * Run a task periodically until it is cancelled. Runs are due at fixed times from the first
+     * one, so late runs do not push the next ones back.
+     *
+     * @param task         task to run on the wheel thread.
+     * @param initialDelay delay before the first run.
+     * @param period       time between two runs.
+     * @param unit         unit of the delay and the period.
+     * @return the timeout, to cancel the task.
+     */
+    public Timeout scheduleAtFixedRate(Runnable task, long initialDelay, long period, TimeUnit unit) {
+        checkArgument(period > 0, "Period must be positive");
+
+        return add(new Timeout(task, nanosFromStart(unit.toNanos(initialDelay)), unit.toNanos(period)));
+    }
+
+    /**
+     * @return number of timeouts neither cancelled nor expired.
+     */
+    public int getActiveCount() {
+        return activeCount.get();
+    }
+
+    /**
+     * Stop the wheel thread. Timeouts not expired yet never run.
+     */
+    public synchronized void stop() {
+        isStopped = true;
+
+        if (workerThread != null) {
+            workerThread.interrupt();
+        }
+    }
+
+    private long nanosFromStart(long delayNanos) {
+        return System.nanoTime() - startNanos + Math.max(delayNanos, 0);
+    }
+
+    private Timeout add(Timeout timeout) {
+        activeCount.incrementAndGet();
+        newTimeouts.add(timeout);
+        LockSupport.unpark(startWorker());
+        return timeout;
+    }
+
+    private synchronized Thread startWorker() {
+        if (workerThread == null) {
+            workerThread = ExecutorUtils.daemonThreadFactory("timing-wheel").newThread(this::run);
+            workerThread.start();
+        }
+
+        return workerThread;
+    }
+
+    private void run() {
+        while (!isStopped) {
+            if (activeCount.get() == 0) {
+                LockSupport.park(this);
+
+                // Nothing was scheduled while sleeping, so the ticks missed can be skipped.
+                tick = Math.max(tick, (System.nanoTime() - startNanos) / tickNanos);
+                continue;
+            }
+
+            long sleepNanos = startNanos + (tick + 1) * tickNanos - System.nanoTime();
+
+            if (sleepNanos > 0) {
+                LockSupport.parkNanos(this, sleepNanos);
+                continue;
+            }
+
+            moveNewTimeouts();
+            expireTimeouts(wheel.get((int) (tick & mask)));
+            tick++;
+        }
+    }
+
+    private void moveNewTimeouts() {
+        Timeout timeout;
+
+        while ((timeout = newTimeouts.poll()) != null) {
+            if (!timeout.isCancelled()) {
+                long deadlineTick = timeout.deadlineNanos / tickNanos;
+                timeout.remainingRounds = (deadlineTick - tick) / wheel.size();
+                wheel.get((int) (Math.max(deadlineTick, tick) & mask)).add(timeout);
+            }
+        }
+    }
+
+    private void expireTimeouts(List<Timeout> bucket) {
+        Iterator<Timeout> iterator = bucket.iterator();
+
+        while (iterator.hasNext()) {
+            Timeout timeout = iterator.next();
+
+            if (timeout.isCancelled()) {
+                iterator.remove();
+            } else if (timeout.remainingRounds > 0) {
+                timeout.remainingRounds--;
+            } else {
+                iterator.remove();
+                timeout.expire();
+            }
+        }
+    }
+
+    /**
+     * Task scheduled on a {@link TimingWheel}.
+     */
+    public final class Timeout {
+        private static final int ACTIVE = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+
+        private final Runnable task;
+        private final long periodNanos;
+        private final AtomicInteger state = new AtomicInteger(ACTIVE);
+
+        /**
+         * Deadline of the next run, relative to the start of the wheel.
+         */
+        private long deadlineNanos;
+
+        /**
+         * Turns of the wheel left before the deadline, only used by the wheel thread.
+         */
+        private long remainingRounds;
+
+        private Timeout(Runnable task, long deadlineNanos, long periodNanos) {
+            this.task = task;
+            this.deadlineNanos = deadlineNanos;
+            this.periodNanos = periodNanos;
+        }
+
+        /**
+         * Cancel the task. A run already started is finished, but no run starts afterwards.
+         *
+         * @return true if the task was neither cancelled nor expired yet.
+         */
+        public boolean cancel() {
+            if (state.compareAndSet(ACTIVE, CANCELLED)) {
+                activeCount.decrementAndGet();
+                return true;
+            }
+
+            return false;
+        }
+
+        public boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+
+        /**
+         * @return true if the task ran and will not run again.
+         */
+        public boolean isExpired() {
+            return state.get() == EXPIRED;
+        }
+
+        private void expire() {
+            if (periodNanos > 0) {
+                runTask();
+
+                if (state.get() == ACTIVE) {
+                    deadlineNanos += periodNanos;
+                    newTimeouts.add(this);
+                }
+            } else if (state.compareAndSet(ACTIVE, EXPIRED)) {
+                activeCount.decrementAndGet();
+                runTask();
+            }
+        }
+
+        private void runTask() {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                logger.log(Level.WARNING, "Timeout task failed", e);
+            }
+        }
+    }
+}
@@ -51,14 +51,14 @@ public class ConsoleView implements IView {
     public void start() {
         getShipPlacementFromPlayer();
 
-        gameViewModel.getPlayerGrid().subscribe(grid -> {
+        gameViewModel.getPlayerCellChanges().subscribe(cellChange -> {
             logger.info("Player Grid:");
-            GridUtils.printGrid(grid);
+            GridUtils.printCellChange(cellChange);
         });
 
-        gameViewModel.getEnemyGrid().subscribe(grid -> {
+        gameViewModel.getEnemyCellChanges().subscribe(cellChange -> {
             logger.info("Enemy Grid:");
-            GridUtils.printGrid(grid);
+            GridUtils.printCellChange(cellChange);
         });
 
         gameViewModel.playerTurnChange().subscribe(name -> {
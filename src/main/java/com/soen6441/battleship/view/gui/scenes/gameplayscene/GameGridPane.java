@@ -1,6 +1,6 @@
 package com.soen6441.battleship.view.gui.scenes.gameplayscene;
 
-import com.soen6441.battleship.data.model.CellInfo;
+import com.soen6441.battleship.data.model.CellChange;
 import com.soen6441.battleship.data.model.Coordinate;
 import com.soen6441.battleship.data.model.Grid;
 import com.soen6441.battleship.enums.CellState;
@@ -132,50 +132,62 @@ class GameGridPane extends StackPane implements EventHandler<ActionEvent> {
     void updateGrid(Grid grid) {
         for (int x = 0; x < gridSize; x++) {
             for (int y = 0; y < gridSize; y++) {
-                CellInfo info = grid.getCellInfo(x, y);
-                CellState cellState = info.getState();
-
-                Button button = buttons.get(buildButtonId(x, y));
-
-                // TODO: Move this to a separate css class
-                switch (cellState) {
-                    case EMPTY:
-                        button.setStyle("-fx-background-color: lightgrey; -fx-background-radius: 0; -fx-border-radius: 0; -fx-border-color: darkgrey; -fx-border-width: 0.2;");
-                        break;
-                    case SHIP:
-                        // Hide the ship cell if the grid belong to enemy.
-                        if (this.isEnemyPlayer) {
-                            button.setStyle("-fx-background-color: lightgrey; -fx-background-radius: 0; -fx-border-radius: 0; -fx-border-color: darkgrey; -fx-border-width: 0.2;");
-                        } else {
-                            button.setText("S");
-                            button.setStyle("-fx-background-color: lightblue; -fx-background-radius: 0; -fx-border-radius: 0; -fx-border-color: darkgrey; -fx-border-width: 0.2;");
-                        }
-                        break;
-                    case EMPTY_HIT:
-                        button.setText("*");
-                        button.setStyle("-fx-background-color: black; -fx-background-radius: 0; -fx-border-radius: 0; -fx-border-color: darkgrey; -fx-border-width: 0.2;");
-                        this.disableHoverOnMouse(button);
-                        break;
-                    case SHIP_WITH_HIT:
-                        button.setText("O");
-                        button.setStyle("-fx-background-color: #ffc23e; -fx-background-radius: 0; -fx-border-radius: 0; -fx-border-color: darkgrey; -fx-border-width: 0.2;");
-                        this.disableHoverOnMouse(button);
-                        break;
-                    case DESTROYED_SHIP:
-                        button.setText("X");
-                        button.setStyle("-fx-background-color: red; -fx-background-radius: 0; -fx-border-radius: 0; -fx-border-color: darkgrey; -fx-border-width: 0.2;");
-                        this.disableHoverOnMouse(button);
-                        break;
-                    case TO_BE_PLACED:
-                        button.setText(" ");
-                        button.setStyle("-fx-background-color: purple; -fx-background-radius: 0; -fx-border-radius: 0; -fx-border-color: darkgrey; -fx-border-width: 0.2;");
-                        this.disableHoverOnMouse(button);
-                        break;
-                }
+                updateCell(x, y, grid.getCellState(x, y));
             }
         }
     }
 
+    /**
+     * Update cells: Updates the colors of only the cells that have changed.
+     *
+     * @param cellChange the changed cells
+     */
+    void updateCells(CellChange cellChange) {
+        for (int i = 0; i < cellChange.size(); i++) {
+            updateCell(cellChange.getX(i), cellChange.getY(i), cellChange.getState(i));
+        }
+    }
+
+    private void updateCell(int x, int y, CellState cellState) {
+        Button button = buttons.get(buildButtonId(x, y));
+
+        // TODO: Move this to a separate css class
+        switch (cellState) {
+            case EMPTY:
+                button.setStyle("-fx-background-color: lightgrey; -fx-background-radius: 0; -fx-border-radius: 0; -fx-border-color: darkgrey; -fx-border-width: 0.2;");
+                break;
+            case SHIP:
+                // Hide the ship cell if the grid belong to enemy.
+                if (this.isEnemyPlayer) {
+                    button.setStyle("-fx-background-color: lightgrey; -fx-background-radius: 0; -fx-border-radius: 0; -fx-border-color: darkgrey; -fx-border-width: 0.2;");
+                } else {
+                    button.setText("S");
+                    button.setStyle("-fx-background-color: lightblue; -fx-background-radius: 0; -fx-border-radius: 0; -fx-border-color: darkgrey; -fx-border-width: 0.2;");
+                }
+                break;
+            case EMPTY_HIT:
+                button.setText("*");
+                button.setStyle("-fx-background-color: black; -fx-background-radius: 0; -fx-border-radius: 0; -fx-border-color: darkgrey; -fx-border-width: 0.2;");
+                this.disableHoverOnMouse(button);
+                break;
+            case SHIP_WITH_HIT:
+                button.setText("O");
+                button.setStyle("-fx-background-color: #ffc23e; -fx-background-radius: 0; -fx-border-radius: 0; -fx-border-color: darkgrey; -fx-border-width: 0.2;");
+                this.disableHoverOnMouse(button);
+                break;
+            case DESTROYED_SHIP:
+                button.setText("X");
+                button.setStyle("-fx-background-color: red; -fx-background-radius: 0; -fx-border-radius: 0; -fx-border-color: darkgrey; -fx-border-width: 0.2;");
+                this.disableHoverOnMouse(button);
+                break;
+            case TO_BE_PLACED:
+                button.setText(" ");
+                button.setStyle("-fx-background-color: purple; -fx-background-radius: 0; -fx-border-radius: 0; -fx-border-color: darkgrey; -fx-border-width: 0.2;");
+                this.disableHoverOnMouse(button);
+                break;
+        }
+    }
+
     /**
      * Sets on coordinate hit.
      *
@@ -1,6 +1,6 @@
 package com.soen6441.battleship.view.gui.scenes.gameplayscene;
 
-import com.soen6441.battleship.data.model.CellInfo;
+import com.soen6441.battleship.data.model.CellChange;
 import com.soen6441.battleship.data.model.Coordinate;
 import com.soen6441.battleship.data.model.Grid;
 import com.soen6441.battleship.enums.CellState;
@@ -236,42 +236,54 @@ public class GameGridPane3D extends HBox implements EventHandler<MouseEvent> {
     void updateEnemyGrid(Grid grid) {
         for (int x = 0; x < gridSize; x++) {
             for (int y = 0; y < gridSize; y++) {
-                CellInfo info = grid.getCellInfo(x, y);
-                CellState cellState = info.getState();
-
-                Box box = boxes.get(buildEnemyBoxId(x, y));
-
-                // TODO: Move this to a separate css class
-                switch (cellState) {
-                    case EMPTY:
-                        box.setMaterial(new PhongMaterial(Color.SKYBLUE));
-                        break;
-                    case SHIP:
-                        // Hide the ship cell if the grid belong to enemy.
-                        box.setMaterial(new PhongMaterial(Color.SKYBLUE));
-                        break;
-                    case EMPTY_HIT:
-                        box.setMaterial(new PhongMaterial(Color.BLACK));
-                        this.disableHoverOnMouse(box);
-                        break;
-                    case SHIP_WITH_HIT:
-                        box.setMaterial(new PhongMaterial(Color.YELLOW));
-                        this.disableHoverOnMouse(box);
-                        break;
-                    case DESTROYED_SHIP:
-                        box.setMaterial(new PhongMaterial(Color.RED));
-                        box.setStyle("-fx-background-color: red; -fx-background-radius: 0; -fx-border-radius: 0; -fx-border-color: darkgrey; -fx-border-width: 0.2;");
-                        this.disableHoverOnMouse(box);
-                        break;
-                    case TO_BE_PLACED:
-                        box.setMaterial(new PhongMaterial(Color.PURPLE));
-                        this.disableHoverOnMouse(box);
-                        break;
-                }
+                updateEnemyCell(x, y, grid.getCellState(x, y));
             }
         }
     }
 
+    /**
+     * Update only the cells of enemy grid that have changed.
+     *
+     * @param cellChange the changed cells
+     */
+    void updateEnemyCells(CellChange cellChange) {
+        for (int i = 0; i < cellChange.size(); i++) {
+            updateEnemyCell(cellChange.getX(i), cellChange.getY(i), cellChange.getState(i));
+        }
+    }
+
+    private void updateEnemyCell(int x, int y, CellState cellState) {
+        Box box = boxes.get(buildEnemyBoxId(x, y));
+
+        // TODO: Move this to a separate css class
+        switch (cellState) {
+            case EMPTY:
+                box.setMaterial(new PhongMaterial(Color.SKYBLUE));
+                break;
+            case SHIP:
+                // Hide the ship cell if the grid belong to enemy.
+                box.setMaterial(new PhongMaterial(Color.SKYBLUE));
+                break;
+            case EMPTY_HIT:
+                box.setMaterial(new PhongMaterial(Color.BLACK));
+                this.disableHoverOnMouse(box);
+                break;
+            case SHIP_WITH_HIT:
+                box.setMaterial(new PhongMaterial(Color.YELLOW));
+                this.disableHoverOnMouse(box);
+                break;
+            case DESTROYED_SHIP:
+                box.setMaterial(new PhongMaterial(Color.RED));
+                box.setStyle("-fx-background-color: red; -fx-background-radius: 0; -fx-border-radius: 0; -fx-border-color: darkgrey; -fx-border-width: 0.2;");
+                this.disableHoverOnMouse(box);
+                break;
+            case TO_BE_PLACED:
+                box.setMaterial(new PhongMaterial(Color.PURPLE));
+                this.disableHoverOnMouse(box);
+                break;
+        }
+    }
+
     /**
      * Update grid: This method update grid updates the colors of the grid each time the player makes a move
      * and player 2 makes a move.
@@ -283,42 +295,54 @@ public class GameGridPane3D extends HBox implements EventHandler<MouseEvent> {
 
         for (int x = 0; x < gridSize; x++) {
             for (int y = 0; y < gridSize; y++) {
-                CellInfo info = grid.getCellInfo(x, y);
-                CellState cellState = info.getState();
-
-                Box box = boxes.get(buildPlayerBoxId(x, y));
-
-                // TODO: Move this to a separate css class
-                switch (cellState) {
-                    case EMPTY:
-                        box.setMaterial(new PhongMaterial(Color.WHITE));
-                        break;
-                    case SHIP:
-                        // Hide the ship cell if the grid belong to enemy.
-                        box.setMaterial(new PhongMaterial(Color.SKYBLUE));
-                        break;
-                    case EMPTY_HIT:
-                        box.setMaterial(new PhongMaterial(Color.SILVER));
-                        this.disableHoverOnMouse(box);
-                        break;
-                    case SHIP_WITH_HIT:
-                        box.setMaterial(new PhongMaterial(Color.YELLOW));
-                        this.disableHoverOnMouse(box);
-                        break;
-                    case DESTROYED_SHIP:
-                        box.setMaterial(new PhongMaterial(Color.RED));
-                        box.setStyle("-fx-background-color: red; -fx-background-radius: 0; -fx-border-radius: 0; -fx-border-color: darkgrey; -fx-border-width: 0.2;");
-                        this.disableHoverOnMouse(box);
-                        break;
-                    case TO_BE_PLACED:
-                        box.setMaterial(new PhongMaterial(Color.PURPLE));
-                        this.disableHoverOnMouse(box);
-                        break;
-                }
+                updatePlayerCell(x, y, grid.getCellState(x, y));
             }
         }
     }
 
+    /**
+     * Update only the cells of player grid that have changed.
+     *
+     * @param cellChange the changed cells
+     */
+    void updatePlayerCells(CellChange cellChange) {
+        for (int i = 0; i < cellChange.size(); i++) {
+            updatePlayerCell(cellChange.getX(i), cellChange.getY(i), cellChange.getState(i));
+        }
+    }
+
+    private void updatePlayerCell(int x, int y, CellState cellState) {
+        Box box = boxes.get(buildPlayerBoxId(x, y));
+
+        // TODO: Move this to a separate css class
+        switch (cellState) {
+            case EMPTY:
+                box.setMaterial(new PhongMaterial(Color.WHITE));
+                break;
+            case SHIP:
+                // Hide the ship cell if the grid belong to enemy.
+                box.setMaterial(new PhongMaterial(Color.SKYBLUE));
+                break;
+            case EMPTY_HIT:
+                box.setMaterial(new PhongMaterial(Color.SILVER));
+                this.disableHoverOnMouse(box);
+                break;
+            case SHIP_WITH_HIT:
+                box.setMaterial(new PhongMaterial(Color.YELLOW));
+                this.disableHoverOnMouse(box);
+                break;
+            case DESTROYED_SHIP:
+                box.setMaterial(new PhongMaterial(Color.RED));
+                box.setStyle("-fx-background-color: red; -fx-background-radius: 0; -fx-border-radius: 0; -fx-border-color: darkgrey; -fx-border-width: 0.2;");
+                this.disableHoverOnMouse(box);
+                break;
+            case TO_BE_PLACED:
+                box.setMaterial(new PhongMaterial(Color.PURPLE));
+                this.disableHoverOnMouse(box);
+                break;
+        }
+    }
+
     /**
      * Sets on coordinate hit.
      *
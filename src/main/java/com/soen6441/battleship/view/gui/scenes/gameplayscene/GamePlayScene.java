@@ -48,14 +48,14 @@ public class GamePlayScene implements IScene {
 
         GameGridPane3D gameGridPane3D = new GameGridPane3D();
 
-        gameViewModel.getPlayerGrid().subscribe(grid -> {
+        gameViewModel.getPlayerCellChanges().subscribe(cellChange -> {
             Platform.runLater(() -> {
-                gameGridPane3D.updatePlayerGrid(grid);
+                gameGridPane3D.updatePlayerCells(cellChange);
             });
         });
-        gameViewModel.getEnemyGrid().subscribe(grid -> {
+        gameViewModel.getEnemyCellChanges().subscribe(cellChange -> {
             Platform.runLater(() -> {
-                gameGridPane3D.updateEnemyGrid(grid);
+                gameGridPane3D.updateEnemyCells(cellChange);
             });
         }, error -> {
             error.printStackTrace();
@@ -115,9 +115,9 @@ public class GamePlayScene implements IScene {
         enemyGameGrid.setOnCoordinateHit(coordinate -> gameViewModel.sendHit(coordinate.getX(), coordinate.getY()));
         enemyBoardVBox.getChildren().addAll(enemyTitleText, enemyGameGrid);
 
-        gameViewModel.getEnemyGrid().subscribe(grid -> {
+        gameViewModel.getEnemyCellChanges().subscribe(cellChange -> {
             Platform.runLater(() -> {
-                enemyGameGrid.updateGrid(grid);
+                enemyGameGrid.updateCells(cellChange);
             });
         });
 
@@ -138,7 +138,7 @@ public class GamePlayScene implements IScene {
 
         int gridSize = GameConfig.getsInstance().getGridSize();
         GameGridPane playerGameGrid = new GameGridPane(gridSize, false);
-        gameViewModel.getPlayerGrid().subscribe(playerGameGrid::updateGrid);
+        gameViewModel.getPlayerCellChanges().subscribe(playerGameGrid::updateCells);
 
         playerBoardVBox.getChildren().addAll(playerTitleText, playerGameGrid);
 
@@ -1,8 +1,8 @@
 package com.soen6441.battleship.view.gui.scenes.shipplacement;
 
 import com.soen6441.battleship.common.ButtonStyle;
+import com.soen6441.battleship.data.model.CellChange;
 import com.soen6441.battleship.data.model.Coordinate;
-import com.soen6441.battleship.data.model.Grid;
 import com.soen6441.battleship.data.model.Ship;
 import com.soen6441.battleship.enums.CellState;
 import com.soen6441.battleship.enums.ShipDirection;
@@ -46,7 +46,7 @@ class ShipPlacementGrid extends GridPane implements EventHandler<ActionEvent> {
     private PublishSubject<Integer> numShipPlacedSubject = PublishSubject.create();
     private PublishSubject<Ship> shipAddedPublishSubject = PublishSubject.create();
     private final int gridSize = GameConfig.getsInstance().getGridSize();
-    private Observable<Grid> gridObservable;
+    private Observable<CellChange> gridObservable;
 
     private final IShipPlacementViewModel shipPlacementViewModel;
 
@@ -54,9 +54,9 @@ class ShipPlacementGrid extends GridPane implements EventHandler<ActionEvent> {
      * Instantiates a new Ship placement grid.
      *
      * @param shipPlacementViewModel the ship placement view model
-     * @param gridObservable         the grid observable
+     * @param gridObservable         the cell changes of the grid
      */
-    ShipPlacementGrid(IShipPlacementViewModel shipPlacementViewModel, Observable<Grid> gridObservable) {
+    ShipPlacementGrid(IShipPlacementViewModel shipPlacementViewModel, Observable<CellChange> gridObservable) {
         this.shipPlacementViewModel = shipPlacementViewModel;
         this.gridObservable = gridObservable;
 
@@ -67,19 +67,32 @@ class ShipPlacementGrid extends GridPane implements EventHandler<ActionEvent> {
     }
 
     /**
-     * Add observer on the grid.
+     * Add observer on the grid. Only the buttons of changed cells are updated, unless
+     * a snapshot of the whole grid is received.
      */
     private void initGridObservable() {
-        this.gridObservable.subscribe(grid -> {
-            shipButtonsIds.clear();
-            for (int x = 0; x < gridSize; x++) {
-                for (int y = 0; y < gridSize; y++) {
-                    if (grid.getCellState(x, y) == CellState.SHIP) {
-                        shipButtonsIds.add(buildButtonId(x, y));
-                    }
+        this.gridObservable.subscribe(cellChange -> {
+            if (cellChange.isSnapshot()) {
+                shipButtonsIds.clear();
+            }
+
+            for (int i = 0; i < cellChange.size(); i++) {
+                String buttonId = buildButtonId(cellChange.getX(i), cellChange.getY(i));
+
+                if (cellChange.getState(i) == CellState.SHIP) {
+                    shipButtonsIds.add(buttonId);
+                } else {
+                    shipButtonsIds.remove(buttonId);
+                }
+
+                if (!cellChange.isSnapshot()) {
+                    updateButtonUI(buttonId, buttons.get(buttonId));
                 }
             }
-            updateUI();
+
+            if (cellChange.isSnapshot()) {
+                updateUI();
+            }
         });
     }
 
@@ -204,17 +217,19 @@ class ShipPlacementGrid extends GridPane implements EventHandler<ActionEvent> {
 
     private void updateUI() {
         // Disable all the buttons that have been selected for a ship.
-        buttons.forEach((buttonId, button) -> {
-            boolean isShipDisabled = shipButtonsIds.contains(buttonId);
+        buttons.forEach(this::updateButtonUI);
+    }
 
-            if (isShipDisabled) {
-                logger.info("Setting color to black!");
-                button.setStyle(ButtonStyle.DISABLED);
-            } else {
-                button.setOpacity(1.0);
-                button.setStyle(ButtonStyle.DEFAULT);
-            }
-        });
+    private void updateButtonUI(String buttonId, Button button) {
+        boolean isShipDisabled = shipButtonsIds.contains(buttonId);
+
+        if (isShipDisabled) {
+            logger.info("Setting color to black!");
+            button.setStyle(ButtonStyle.DISABLED);
+        } else {
+            button.setOpacity(1.0);
+            button.setStyle(ButtonStyle.DEFAULT);
+        }
     }
 
     private void highlightHoveringButtons(ShipDirection shipDirection, int shipLength, Coordinate coordinate) {
@@ -1,8 +1,8 @@
 package com.soen6441.battleship.view.gui.scenes.shipplacement;
 
 import com.soen6441.battleship.common.ButtonStyle;
+import com.soen6441.battleship.data.model.CellChange;
 import com.soen6441.battleship.data.model.Coordinate;
-import com.soen6441.battleship.data.model.Grid;
 import com.soen6441.battleship.data.model.Ship;
 import com.soen6441.battleship.enums.CellState;
 import com.soen6441.battleship.enums.ShipDirection;
@@ -56,7 +56,7 @@ public class ShipPlacementGrid3D extends HBox {
     private PublishSubject<Integer> numShipPlacedSubject = PublishSubject.create();
     private PublishSubject<Ship> shipAddedPublishSubject = PublishSubject.create();
     private final int gridSize = GameConfig.getsInstance().getGridSize();
-    private Observable<Grid> gridObservable;
+    private Observable<CellChange> gridObservable;
 
     private final IShipPlacementViewModel shipPlacementViewModel;
 
@@ -64,9 +64,9 @@ public class ShipPlacementGrid3D extends HBox {
      * Instantiates a new Ship placement grid 3 d.
      *
      * @param shipPlacementViewModel the ship placement view model
-     * @param gridObservable         the grid observable
+     * @param gridObservable         the cell changes of the grid
      */
-    public ShipPlacementGrid3D(IShipPlacementViewModel shipPlacementViewModel, Observable<Grid> gridObservable) {
+    public ShipPlacementGrid3D(IShipPlacementViewModel shipPlacementViewModel, Observable<CellChange> gridObservable) {
         this.shipPlacementViewModel = shipPlacementViewModel;
         this.gridObservable = gridObservable;
         initUI();
@@ -74,36 +74,50 @@ public class ShipPlacementGrid3D extends HBox {
     }
 
     private void initGridObservable() {
-        this.gridObservable.subscribe(grid -> {
-            shipBoxIds.clear();
-            for (int x = 0; x < gridSize; x++) {
-                for (int y = 0; y < gridSize; y++) {
-                    if (grid.getCellState(x, y) == CellState.SHIP) {
-                        shipBoxIds.add(buildBoxId(x, y));
-                    }
+        this.gridObservable.subscribe(cellChange -> {
+            if (cellChange.isSnapshot()) {
+                shipBoxIds.clear();
+            }
+
+            for (int i = 0; i < cellChange.size(); i++) {
+                String boxId = buildBoxId(cellChange.getX(i), cellChange.getY(i));
+
+                if (cellChange.getState(i) == CellState.SHIP) {
+                    shipBoxIds.add(boxId);
+                } else {
+                    shipBoxIds.remove(boxId);
                 }
+
+                if (!cellChange.isSnapshot()) {
+                    updateBoxUI(boxId, boxes.get(boxId));
+                }
+            }
+
+            if (cellChange.isSnapshot()) {
+                updateUI();
             }
-            updateUI();
         });
     }
 
     private void updateUI() {
         // Disable all the boxes that have been selected for a ship.
-        boxes.forEach((boxId, box) -> {
-            boolean isShipDisabled = shipBoxIds.contains(boxId);
+        boxes.forEach(this::updateBoxUI);
+    }
 
-            if (isShipDisabled) {
-                box.setTranslateZ(HIGHLIGHT_ELEVATION);
-                logger.info("Setting color to black!");
-                box.setStyle(ButtonStyle.DISABLED);
-                box.setMaterial(new PhongMaterial(Color.WHITE));
-            } else {
-                box.setTranslateZ(0.0);
-                box.setOpacity(1.0);
-                box.setStyle(ButtonStyle.DEFAULT);
-                box.setMaterial(new PhongMaterial(Color.SKYBLUE));
-            }
-        });
+    private void updateBoxUI(String boxId, Box box) {
+        boolean isShipDisabled = shipBoxIds.contains(boxId);
+
+        if (isShipDisabled) {
+            box.setTranslateZ(HIGHLIGHT_ELEVATION);
+            logger.info("Setting color to black!");
+            box.setStyle(ButtonStyle.DISABLED);
+            box.setMaterial(new PhongMaterial(Color.WHITE));
+        } else {
+            box.setTranslateZ(0.0);
+            box.setOpacity(1.0);
+            box.setStyle(ButtonStyle.DEFAULT);
+            box.setMaterial(new PhongMaterial(Color.SKYBLUE));
+        }
     }
 
     private void initUI() {
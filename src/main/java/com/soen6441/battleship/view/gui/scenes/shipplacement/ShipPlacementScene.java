@@ -53,9 +53,9 @@ public class ShipPlacementScene implements IScene {
         checkNotNull(shipPlacementViewModel);
         this.shipPlacementViewModel = shipPlacementViewModel;
         this.shipPlacementGrid = new ShipPlacementGrid(shipPlacementViewModel,
-                shipPlacementViewModel.getPlayerGameGrid().getGridAsObservable());
+                shipPlacementViewModel.getPlayerGameGrid().getCellChangesAsObservable());
         this.shipPlacementGrid3D = new ShipPlacementGrid3D(shipPlacementViewModel,
-                shipPlacementViewModel.getPlayerGameGrid().getGridAsObservable());
+                shipPlacementViewModel.getPlayerGameGrid().getCellChangesAsObservable());
     }
 
     /**
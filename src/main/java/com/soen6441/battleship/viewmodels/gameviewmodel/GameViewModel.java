@@ -1,5 +1,6 @@
 package com.soen6441.battleship.viewmodels.gameviewmodel;
 
+import com.soen6441.battleship.data.model.CellChange;
 import com.soen6441.battleship.data.model.GameOverInfo;
 import com.soen6441.battleship.data.model.GamePlayer;
 import com.soen6441.battleship.services.gamecontroller.IGameController;
@@ -46,6 +47,22 @@ public class GameViewModel implements IGameViewModel {
         return this.enemy.getGameGrid().getGridAsObservable();
     }
 
+    /**
+     * @return Cells changed on player grid as an observable.
+     */
+    @Override
+    public Observable<CellChange> getPlayerCellChanges() {
+        return this.player.getGameGrid().getCellChangesAsObservable();
+    }
+
+    /**
+     * @return Cells changed on enemy grid as an observable.
+     */
+    @Override
+    public Observable<CellChange> getEnemyCellChanges() {
+        return this.enemy.getGameGrid().getCellChangesAsObservable();
+    }
+
     @Override
     public void sendHit(int x, int y) {
         gameController.hit(x, y);
@@ -1,5 +1,6 @@
 package com.soen6441.battleship.viewmodels.gameviewmodel;
 
+import com.soen6441.battleship.data.model.CellChange;
 import com.soen6441.battleship.data.model.GameOverInfo;
 import com.soen6441.battleship.data.model.Grid;
 import io.reactivex.Observable;
@@ -22,6 +23,20 @@ public interface IGameViewModel {
      */
     Observable<Grid> getEnemyGrid();
 
+    /**
+     * Get the cells changed on the player grid as an observable.
+     *
+     * @return the player cell changes
+     */
+    Observable<CellChange> getPlayerCellChanges();
+
+    /**
+     * Get the cells changed on the enemy grid as an observable.
+     *
+     * @return the enemy cell changes
+     */
+    Observable<CellChange> getEnemyCellChanges();
+
     /**
      * Send a hit to the board of enemy.
      *
@@ -1,9 +1,14 @@
 package com.soen6441.battleship;
 
 
+import com.soen6441.battleship.models.CoordinateTest;
+import com.soen6441.battleship.models.FleetSpecTest;
+import com.soen6441.battleship.models.GridTest;
 import com.soen6441.battleship.models.ShipTest;
 import com.soen6441.battleship.services.*;
+import com.soen6441.battleship.utils.LayoutPoolTest;
 import com.soen6441.battleship.utils.RandomShipPlacerTest;
+import com.soen6441.battleship.utils.TimingWheelTest;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 
@@ -12,10 +17,26 @@ import org.junit.runners.Suite;
         GameControllerTest.class,
         GameGridTest.class,
         ProbabilityAITest.class,
+        ProbabilityDensityEngineTest.class,
+        TargetFrontierTest.class,
+        ExactLayoutSolverTest.class,
+        PlacementTableTest.class,
+        MonteCarloAIPlayerTest.class,
+        SelfPlaySimulatorTest.class,
+        TournamentTest.class,
+        RandomSourceTest.class,
         ScoreCalculatorTest.class,
+        GameSessionManagerTest.class,
+        SessionActorTest.class,
+        MoveJournalTest.class,
         ShipTest.class,
         RandomShipPlacerTest.class,
+        LayoutPoolTest.class,
+        TimingWheelTest.class,
         GameLoaderTest.class,
+        GridTest.class,
+        CoordinateTest.class,
+        FleetSpecTest.class,
 })
 public class BattleshipTestSuite {
 }
@@ -0,0 +1,81 @@
+package com.soen6441.battleship.models;
+
+import com.soen6441.battleship.data.model.Coordinate;
+import org.junit.Test;
+
+import java.util.Objects;
+
+import static org.junit.Assert.*;
+
+/**
+ * The type Coordinate test.
+ */
+public class CoordinateTest {
+
+    /**
+     * Same instance is returned for the same coordinates.
+     */
+    @Test()
+    public void ofReturnsSharedInstance() {
+        assertSame(Coordinate.of(3, 4), Coordinate.of(3, 4));
+        assertEquals(new Coordinate(3, 4), Coordinate.of(3, 4));
+    }
+
+    /**
+     * Cells of a grid of another size come from its own table and leave the shared instances alone.
+     */
+    @Test()
+    public void ofKeepsInstancesOfOtherGrids() {
+        Coordinate coordinate = Coordinate.of(1, 2);
+
+        assertSame(Coordinate.of(40, 50, 60, 70), Coordinate.of(40, 50, 60, 70));
+        assertSame(Coordinate.ofIndex(50 * 60 + 40, 60, 70), Coordinate.of(40, 50, 60, 70));
+
+        assertSame(coordinate, Coordinate.of(1, 2));
+        assertEquals(40, Coordinate.of(40, 50).getX());
+        assertEquals(50, Coordinate.of(40, 50).getY());
+    }
+
+    /**
+     * Only the cells of a grid are cached, and only for grids of a bounded size, so a single far
+     * coordinate never fills memory.
+     */
+    @Test()
+    public void onlyCellsOfBoundedGridsAreShared() {
+        assertNotSame(Coordinate.of(600, 0), Coordinate.of(600, 0));
+        assertNotSame(Coordinate.of(10, 0, 10, 10), Coordinate.of(10, 0, 10, 10));
+        assertNotSame(Coordinate.of(5, 5, 1000, 1000), Coordinate.of(5, 5, 1000, 1000));
+        assertEquals(new Coordinate(5, 5), Coordinate.of(5, 5, 1000, 1000));
+    }
+
+    /**
+     * Negative coordinates are not cached but still valid.
+     */
+    @Test()
+    public void ofWorksWithNegativeCoordinates() {
+        Coordinate coordinate = Coordinate.of(-1, 3);
+
+        assertEquals(-1, coordinate.getX());
+        assertEquals(3, coordinate.getY());
+    }
+
+    /**
+     * Cell index maps back to the same coordinate.
+     */
+    @Test()
+    public void indexRoundTrips() {
+        Coordinate coordinate = Coordinate.of(7, 2);
+
+        assertEquals(27, coordinate.toIndex(10));
+        assertSame(coordinate, Coordinate.ofIndex(27, 10));
+    }
+
+    /**
+     * Hash code is unchanged from the one based on {@link Objects#hash(Object...)}.
+     */
+    @Test()
+    public void hashCodeMatchesObjectsHash() {
+        assertEquals(Objects.hash(5, 9), Coordinate.of(5, 9).hashCode());
+        assertEquals(Objects.hash(-2, 9), Coordinate.of(-2, 9).hashCode());
+    }
+}
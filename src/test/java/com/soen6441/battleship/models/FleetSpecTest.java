@@ -0,0 +1,67 @@
+package com.soen6441.battleship.models;
+
+import com.soen6441.battleship.data.model.FleetSpec;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The type Fleet spec test.
+ */
+public class FleetSpecTest {
+
+    /**
+     * Ships are kept longest first, so the order they are given in does not matter.
+     */
+    @Test()
+    public void shipsAreSortedLongestFirst() {
+        FleetSpec fleetSpec = FleetSpec.of(2, 5, 3, 2);
+
+        assertArrayEquals(new int[]{5, 3, 2, 2}, fleetSpec.getShipLengths());
+        assertEquals(FleetSpec.of(5, 3, 2, 2), fleetSpec);
+        assertEquals(FleetSpec.of(5, 3, 2, 2).hashCode(), fleetSpec.hashCode());
+    }
+
+    /**
+     * Counts, longest ship and covered cells are derived from the lengths.
+     */
+    @Test()
+    public void countsShipsByLength() {
+        FleetSpec fleetSpec = FleetSpec.of(4, 1, 4, 2);
+
+        assertEquals(4, fleetSpec.getShipCount());
+        assertEquals(4, fleetSpec.getMaxShipLength());
+        assertEquals(11, fleetSpec.getCellCount());
+        assertArrayEquals(new int[]{0, 1, 1, 0, 2}, fleetSpec.getShipCounts());
+    }
+
+    /**
+     * A fleet without ships can not be played.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void emptyFleetIsRejected() {
+        FleetSpec.of();
+    }
+
+    /**
+     * Ships need at least one cell.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void shipWithoutCellsIsRejected() {
+        FleetSpec.of(3, 0);
+    }
+
+    /**
+     * Fleets which need more room than the grid has, or ships longer than the grid, never fit.
+     */
+    @Test()
+    public void fleetsWhichCanNotFitAreRuledOut() {
+        assertTrue(FleetSpec.STANDARD.mayFitOn(10, 10));
+        assertTrue(FleetSpec.of(5, 5, 5, 5, 5).mayFitOn(9, 9));
+        assertFalse(FleetSpec.of(11).mayFitOn(10, 10));
+        assertFalse(FleetSpec.of(2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2).mayFitOn(10, 10));
+    }
+}
@@ -0,0 +1,141 @@
+package com.soen6441.battleship.models;
+
+import com.soen6441.battleship.data.model.CellInfo;
+import com.soen6441.battleship.data.model.Grid;
+import com.soen6441.battleship.data.model.Ship;
+import com.soen6441.battleship.enums.CellState;
+import com.soen6441.battleship.enums.ShipDirection;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * The type Grid test.
+ */
+public class GridTest {
+    private Grid grid;
+    private Ship ship;
+
+    /**
+     * Sets up each.
+     */
+    @Before()
+    public void setUpEach() {
+        grid = new Grid(10);
+        ship = new Ship.Builder()
+                .setStartCoordinates(2, 9)
+                .setEndCoordinates(6, 9)
+                .setDirection(ShipDirection.HORIZONTAL)
+                .setLength(5)
+                .build();
+    }
+
+    /**
+     * All cells are empty on a new grid.
+     */
+    @Test()
+    public void newGridIsEmpty() {
+        assertEquals(100, grid.countCells(CellState.EMPTY));
+        assertEquals(CellState.EMPTY, grid.getCellState(9, 9));
+    }
+
+    /**
+     * Updating a cell moves it from one state to the other.
+     */
+    @Test()
+    public void updatingCellChangesItsState() {
+        grid.updateCellStatus(3, 7, CellState.EMPTY_HIT);
+
+        assertEquals(CellState.EMPTY_HIT, grid.getCellState(3, 7));
+        assertTrue(grid.hasState(3, 7, CellState.EMPTY_HIT));
+        assertFalse(grid.hasState(3, 7, CellState.EMPTY));
+        assertEquals(99, grid.countCells(CellState.EMPTY));
+    }
+
+    /**
+     * Ships are linked to cells and returned in cell info.
+     */
+    @Test()
+    public void shipIsLinkedToCell() {
+        grid.setShipOnCell(4, 9, ship);
+
+        CellInfo cellInfo = grid.getCellInfo(4, 9);
+        assertSame(ship, cellInfo.getShip());
+        assertNull(grid.getShipOnCell(4, 8));
+    }
+
+    /**
+     * Filling a rectangle across word boundaries updates every cell in it.
+     */
+    @Test()
+    public void fillRectUpdatesAllCells() {
+        grid.fillRect(CellState.DESTROYED_SHIP, 2, 5, 8, 7);
+
+        assertEquals(21, grid.countCells(CellState.DESTROYED_SHIP));
+        assertEquals(CellState.EMPTY, grid.getCellState(1, 6));
+        assertEquals(CellState.DESTROYED_SHIP, grid.getCellState(8, 7));
+    }
+
+    /**
+     * Rectangles are clipped to the grid when testing for a state.
+     */
+    @Test()
+    public void anyInRectIsClippedToGrid() {
+        grid.updateCellStatus(0, 0, CellState.SHIP);
+
+        assertTrue(grid.anyInRect(CellState.SHIP, -1, -1, 1, 1));
+        assertFalse(grid.anyInRect(CellState.SHIP, 1, 0, 9, 9));
+    }
+
+    /**
+     * Throws exception on coordinates outside of the grid.
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void throwsExceptionOutsideOfGrid() {
+        grid.getCellState(10, 0);
+    }
+
+    /**
+     * Grid can be rebuilt from its nested list representation.
+     */
+    @Test()
+    public void coordinatesListRoundTrips() {
+        grid.updateCellStatus(5, 9, CellState.SHIP_WITH_HIT);
+        grid.setShipOnCell(5, 9, ship);
+
+        List<List<CellInfo>> coordinatesList = grid.getCoordinatesList();
+        Grid copy = new Grid();
+        copy.setCoordinatesList(coordinatesList);
+
+        assertEquals(10, copy.getGridSize());
+        assertEquals(CellState.SHIP_WITH_HIT, copy.getCellState(5, 9));
+        assertEquals(5, copy.getShipOnCell(5, 9).getLength());
+    }
+
+    /**
+     * Cells can be read and updated by their index.
+     */
+    @Test()
+    public void cellIndexAccessMatchesCoordinates() {
+        int cellIndex = grid.cellIndex(4, 7);
+
+        assertEquals(74, cellIndex);
+
+        grid.updateCellStatus(cellIndex, CellState.EMPTY_HIT);
+
+        assertEquals(CellState.EMPTY_HIT, grid.getCellState(4, 7));
+        assertEquals(CellState.EMPTY_HIT, grid.getCellState(cellIndex));
+        assertTrue(grid.hasState(cellIndex, CellState.EMPTY_HIT));
+    }
+
+    /**
+     * Cell index outside of the grid throws.
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void cellIndexOutsideGridThrows() {
+        grid.getCellState(100);
+    }
+}
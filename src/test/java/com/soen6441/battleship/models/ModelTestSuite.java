@@ -5,7 +5,10 @@ import org.junit.runners.Suite;
 
 @RunWith(Suite.class)
 @Suite.SuiteClasses({
-        ShipTest.class
+        ShipTest.class,
+        GridTest.class,
+        CoordinateTest.class,
+        FleetSpecTest.class
 })
 public class ModelTestSuite {
 }
@@ -0,0 +1,78 @@
+package com.soen6441.battleship.services;
+
+import com.soen6441.battleship.data.model.Grid;
+import com.soen6441.battleship.enums.CellState;
+import com.soen6441.battleship.services.aiplayer.ExactLayoutSolver;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The type Exact layout solver test.
+ */
+public class ExactLayoutSolverTest {
+
+    /**
+     * A ship of length 2 on a 3x3 grid has 12 positions, 4 of them over the centre.
+     */
+    @Test()
+    public void countsEveryPositionOfOneShip() {
+        ExactLayoutSolver solver = new ExactLayoutSolver(3);
+
+        assertEquals(12, solver.estimateSearchSpace(new Grid(3), new int[]{2}));
+        assertTrue(solver.solve(new Grid(3), new int[]{2}, 0));
+        assertEquals(12, solver.getLayoutCount());
+        assertEquals(4, solver.getLayoutCount(4));
+        assertEquals(4.0 / 12, solver.getProbability(4), 1e-9);
+        assertTrue(solver.getNodesExplored() > 0);
+    }
+
+    /**
+     * Ships do not touch: only a length 2 ship along an edge leaves room for a length 1 ship,
+     * and no ship fits on the centre.
+     */
+    @Test()
+    public void shipsDoNotTouch() {
+        ExactLayoutSolver solver = new ExactLayoutSolver(3);
+
+        assertTrue(solver.solve(new Grid(3), new int[]{1, 2}, 0));
+        assertEquals(24, solver.getLayoutCount());
+        assertEquals(0, solver.getLayoutCount(4));
+    }
+
+    /**
+     * Only layouts covering the hit are counted, and the best cell is next to it.
+     */
+    @Test()
+    public void layoutsCoverHitsAndAvoidMisses() {
+        Grid grid = new Grid(5);
+        grid.updateCellStatus(2, 2, CellState.SHIP_WITH_HIT);
+        grid.updateCellStatus(1, 2, CellState.EMPTY_HIT);
+
+        ExactLayoutSolver solver = new ExactLayoutSolver(5);
+
+        assertTrue(solver.solve(grid, new int[]{2}, 0));
+        assertEquals(3, solver.getLayoutCount());
+        assertEquals(3, solver.getLayoutCount(grid.cellIndex(2, 2)));
+        assertEquals(0, solver.getLayoutCount(grid.cellIndex(1, 2)));
+        assertEquals(1.0 / 3, solver.getProbability(grid.cellIndex(3, 2)), 1e-9);
+
+        int bestCell = solver.getBestCell();
+        assertEquals(1, Math.abs(bestCell % 5 - 2) + Math.abs(bestCell / 5 - 2));
+    }
+
+    /**
+     * A solve that runs out of time reports no layouts.
+     */
+    @Test()
+    public void stopsAtDeadline() {
+        ExactLayoutSolver solver = new ExactLayoutSolver(10);
+
+        assertFalse(solver.solve(new Grid(10), new int[]{5, 4, 3, 3, 2}, 1));
+        assertFalse(solver.isComplete());
+        assertEquals(0, solver.getLayoutCount());
+        assertEquals(-1, solver.getBestCell());
+    }
+}
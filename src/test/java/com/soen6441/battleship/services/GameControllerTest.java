@@ -171,7 +171,7 @@ public class GameControllerTest {
      */
     private void hardResetGameController() {
         try {
-            Constructor<GameController> constructor = (Constructor<GameController>) GameController.class.getDeclaredConstructors()[0];
+            Constructor<GameController> constructor = (Constructor<GameController>) GameController.class.getDeclaredConstructor();
             constructor.setAccessible(true);
             gameController = constructor.newInstance();
         } catch (Exception e) {
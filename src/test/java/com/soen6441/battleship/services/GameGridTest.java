@@ -1,6 +1,9 @@
 package com.soen6441.battleship.services;
 
+import com.soen6441.battleship.data.model.CellChange;
 import com.soen6441.battleship.data.model.Coordinate;
+import com.soen6441.battleship.data.model.FleetSpec;
+import com.soen6441.battleship.data.model.GamePlayer;
 import com.soen6441.battleship.data.model.Grid;
 import com.soen6441.battleship.enums.CellState;
 import com.soen6441.battleship.enums.HitResult;
@@ -10,6 +13,7 @@ import com.soen6441.battleship.enums.ShipDirection;
 import com.soen6441.battleship.exceptions.CoordinatesOutOfBoundsException;
 import com.soen6441.battleship.exceptions.DirectionCoordinatesMismatchException;
 import com.soen6441.battleship.exceptions.InvalidShipPlacementException;
+import com.soen6441.battleship.services.gamecontroller.gamestrategy.SalvaTurnStrategy;
 import com.soen6441.battleship.services.gamegrid.IGameGrid;
 import io.reactivex.Observable;
 import io.reactivex.observers.TestObserver;
@@ -17,7 +21,12 @@ import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -149,6 +158,43 @@ public class GameGridTest {
         gameGrid.placeShip(null);
     }
 
+    /**
+     * Ship cannot be placed next to or on top of another ship.
+     *
+     * @throws Exception the exception
+     */
+    @Test()
+    public void canPlaceShipIsFalseAroundExistingShip() throws Exception {
+        assertTrue(gameGrid.canPlaceShip(correctShip));
+
+        gameGrid.placeShip(correctShip);
+
+        assertFalse(gameGrid.canPlaceShip(correctShip));
+        assertFalse(gameGrid.canPlaceShip(shipToBelowCurrentShip));
+        assertFalse(gameGrid.canPlaceShip(shipToLeftOfCurrentShip));
+        assertFalse(gameGrid.canPlaceShip(shipToRightOfCurrentShip));
+        assertFalse(gameGrid.canPlaceShip(correctShip2));
+        assertFalse(gameGrid.canPlaceShip(wrongShipStart));
+        assertFalse(gameGrid.canPlaceShip(wrongShipHorizontal));
+        assertFalse(gameGrid.canPlaceShip(null));
+    }
+
+    /**
+     * Ship cells set directly on the grid are taken into account.
+     */
+    @Test()
+    public void canPlaceShipSeesCellsChangedOnGrid() {
+        assertTrue(gameGrid.canPlaceShip(shipToRightOfCurrentShip));
+
+        gameGrid.getGrid().updateCellStatus(6, 2, CellState.SHIP);
+
+        assertFalse(gameGrid.canPlaceShip(shipToRightOfCurrentShip));
+
+        gameGrid.getGrid().updateCellStatus(6, 2, CellState.EMPTY);
+
+        assertTrue(gameGrid.canPlaceShip(shipToRightOfCurrentShip));
+    }
+
     /**
      * Throws exception on wrong coordinates x.
      *
@@ -302,6 +348,55 @@ public class GameGridTest {
         testObserver.assertValueAt(2, grid -> grid.getCellState(0, 0) == CellState.EMPTY_HIT);
     }
 
+    /**
+     * Cell change observable sends a snapshot followed by only the changed cells.
+     *
+     * @throws Exception the exception
+     */
+    @Test()
+    public void cellChangeObservableSendsSnapshotThenChangedCells() throws Exception {
+        TestObserver<CellChange> testObserver = new TestObserver<>();
+        gameGrid.getCellChangesAsObservable().subscribe(testObserver);
+
+        gameGrid.hit(0, 0);
+
+        testObserver.assertValueCount(2);
+        testObserver.assertValueAt(0, cellChange -> cellChange.isSnapshot() && cellChange.size() == 64);
+        testObserver.assertValueAt(1, cellChange -> !cellChange.isSnapshot()
+                && cellChange.size() == 1
+                && cellChange.getX(0) == 0
+                && cellChange.getY(0) == 0
+                && cellChange.getState(0) == CellState.EMPTY_HIT);
+    }
+
+    /**
+     * Cell change observable sends every cell of a ship when it is destroyed.
+     *
+     * @throws Exception the exception
+     */
+    @Test()
+    public void cellChangeObservableSendsWholeShipWhenDestroyed() throws Exception {
+        gameGrid.placeShip(correctShip);
+        for (int i = 1; i <= 4; i++) {
+            gameGrid.hit(i, 1);
+        }
+
+        TestObserver<CellChange> testObserver = new TestObserver<>();
+        gameGrid.getCellChangesAsObservable().subscribe(testObserver);
+        gameGrid.hit(5, 1);
+
+        testObserver.assertValueAt(0, cellChange -> cellChange.isSnapshot()
+                && cellChange.getState(1 * 8 + 1) == CellState.SHIP_WITH_HIT);
+        testObserver.assertValueAt(1, cellChange -> {
+            for (int i = 0; i < cellChange.size(); i++) {
+                if (cellChange.getState(i) != CellState.DESTROYED_SHIP) {
+                    return false;
+                }
+            }
+            return cellChange.size() == 6;
+        });
+    }
+
     /**
      * Ship is sunk if all hits are successful.
      *
@@ -371,9 +466,30 @@ public class GameGridTest {
     public void unSunkShipCountIsCorrectWithNoShip() throws Exception {
         gameGrid.placeShip(correctShip);
 
-        correctShip.setHits(5);
+        for (int x = correctShip.getStartX(); x <= correctShip.getEndX(); x++) {
+            gameGrid.hit(x, correctShip.getStartY());
+        }
 
         assertEquals(0, gameGrid.getUnSunkShips());
+        assertEquals(1, gameGrid.getSunkShips());
+        assertTrue(gameGrid.areAllShipsDestroyed());
+    }
+
+    /**
+     * Checks that the sunk ship count is rebuilt when ships are loaded.
+     *
+     * @throws Exception the exception
+     */
+
+    @Test()
+    public void sunkShipCountIsRebuiltOnSetShips() throws Exception {
+        gameGrid.placeShip(correctShip);
+        correctShip.setHits(correctShip.getLength());
+
+        ((GameGrid) gameGrid).setShips(new ArrayList<>(gameGrid.getShips()));
+
+        assertEquals(1, gameGrid.getSunkShips());
+        assertEquals(0, gameGrid.getUnSunkShips());
     }
 
     /**
@@ -474,4 +590,141 @@ public class GameGridTest {
         gameGrid.placeShip(shipToLeftOfVerticalCorrectShip);
         gameGrid.placeShip(correctShipVertical);
     }
+
+    /**
+     * Cells of a wide grid are addressed by column, then row.
+     *
+     * @throws Exception the exception
+     */
+    @Test()
+    public void wideGridHitsCellsInBounds() throws Exception {
+        GameGrid wideGrid = new GameGrid(20, 8);
+        wideGrid.placeShip(new Ship.Builder()
+                .setDirection(ShipDirection.HORIZONTAL)
+                .setStartCoordinates(15, 7)
+                .setEndCoordinates(19, 7)
+                .setLength(5)
+                .build());
+
+        assertEquals(HitResult.HIT, wideGrid.hit(19, 7));
+        assertEquals(CellState.SHIP_WITH_HIT, wideGrid.getGrid().getCellState(19, 7));
+        assertEquals(20, wideGrid.getGrid().getWidth());
+        assertEquals(8, wideGrid.getGrid().getHeight());
+    }
+
+    /**
+     * Rows past the height of a wide grid are out of bounds.
+     *
+     * @throws CoordinatesOutOfBoundsException the exception
+     */
+    @Test(expected = CoordinatesOutOfBoundsException.class)
+    public void wideGridThrowsExceptionBelowLastRow() throws Exception {
+        new GameGrid(20, 8).hit(7, 19);
+    }
+
+    /**
+     * All the shots of a salvo are applied with one update of the observers.
+     *
+     * @throws Exception the exception
+     */
+    @Test()
+    public void hitAllNotifiesOnce() throws Exception {
+        gameGrid.placeShip(new Ship.Builder()
+                .setDirection(ShipDirection.HORIZONTAL)
+                .setStartCoordinates(0, 0)
+                .setEndCoordinates(1, 0)
+                .setLength(2)
+                .build());
+
+        TestObserver<Grid> gridObserver = gameGrid.getGridAsObservable().skip(1).test();
+        TestObserver<CellChange> changeObserver = gameGrid.getCellChangesAsObservable().skip(1).test();
+
+        List<HitResult> results = gameGrid.hitAll(Arrays.asList(
+                Coordinate.of(0, 0), Coordinate.of(1, 0), Coordinate.of(5, 5), Coordinate.of(5, 5)));
+
+        assertEquals(Arrays.asList(HitResult.HIT, HitResult.HIT, HitResult.MISS, HitResult.ALREADY_HIT), results);
+        assertEquals(CellState.DESTROYED_SHIP, gameGrid.getGrid().getCellState(0, 0));
+        assertEquals(CellState.EMPTY_HIT, gameGrid.getGrid().getCellState(5, 5));
+        assertEquals(1, gameGrid.getSunkShips());
+        gridObserver.assertValueCount(1);
+        changeObserver.assertValueCount(1);
+    }
+
+    /**
+     * A salvo taken shot by shot through the turn strategy updates the observers of the whole grid
+     * once. The shots waiting for the rest of the salvo are only published as cell changes.
+     *
+     * @throws Exception the exception
+     */
+    @Test()
+    public void salvoUpdatesWholeGridOnce() throws Exception {
+        GamePlayer player = new GamePlayer("player", new GameGrid(8));
+        GamePlayer enemy = new GamePlayer("enemy", (GameGrid) gameGrid);
+        SalvaTurnStrategy turnStrategy = new SalvaTurnStrategy(player, enemy, FleetSpec.of(1, 1, 1));
+
+        TestObserver<Grid> gridObserver = gameGrid.getGridAsObservable().skip(1).test();
+        TestObserver<CellChange> changeObserver = gameGrid.getCellChangesAsObservable().skip(1).test();
+
+        for (int x = 0; x < 3; x++) {
+            HitResult result = turnStrategy.hit(enemy, Coordinate.of(x, 4));
+            turnStrategy.getNextTurn(player, enemy, result);
+        }
+
+        gridObserver.assertValueCount(1);
+        changeObserver.assertValueCount(4);
+        changeObserver.assertValueAt(0, cellChange -> cellChange.getState(0) == CellState.TO_BE_PLACED);
+        assertEquals(CellState.EMPTY_HIT, gameGrid.getGrid().getCellState(2, 4));
+    }
+
+    /**
+     * A salvo with a shot off the grid is not applied at all.
+     */
+    @Test()
+    public void hitAllOffGridHitsNothing() {
+        try {
+            gameGrid.hitAll(Arrays.asList(Coordinate.of(2, 2), Coordinate.of(8, 2)));
+        } catch (CoordinatesOutOfBoundsException e) {
+            assertEquals(CellState.EMPTY, gameGrid.getGrid().getCellState(2, 2));
+            return;
+        }
+
+        throw new AssertionError("Expected CoordinatesOutOfBoundsException");
+    }
+
+    /**
+     * A subscriber joining while another thread hits the grid ends up with every hit, whether the
+     * hit is in its snapshot or among the changes after it.
+     *
+     * @throws Exception the exception
+     */
+    @Test()
+    public void cellChangeSubscriberJoiningDuringHitsMissesNoCell() throws Exception {
+        for (int round = 0; round < 200; round++) {
+            GameGrid grid = new GameGrid(8);
+            Thread hitter = new Thread(() -> {
+                for (int cell = 0; cell < 64; cell++) {
+                    try {
+                        grid.hit(cell);
+                    } catch (CoordinatesOutOfBoundsException e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+            });
+
+            hitter.start();
+            TestObserver<CellChange> testObserver = grid.getCellChangesAsObservable().test();
+            hitter.join();
+
+            CellState[] states = new CellState[64];
+            for (CellChange cellChange : testObserver.values()) {
+                for (int i = 0; i < cellChange.size(); i++) {
+                    states[cellChange.getY(i) * 8 + cellChange.getX(i)] = cellChange.getState(i);
+                }
+            }
+
+            for (int cell = 0; cell < 64; cell++) {
+                assertEquals("Round " + round + ", cell " + cell, CellState.EMPTY_HIT, states[cell]);
+            }
+        }
+    }
 }
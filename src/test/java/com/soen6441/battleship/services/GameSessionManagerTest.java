@@ -0,0 +1,189 @@
+package com.soen6441.battleship.services;
+
+import com.soen6441.battleship.data.model.FleetSpec;
+import com.soen6441.battleship.data.model.GameOverInfo;
+import com.soen6441.battleship.data.model.GamePlayer;
+import com.soen6441.battleship.data.model.Ship;
+import com.soen6441.battleship.enums.CellState;
+import com.soen6441.battleship.services.gameconfig.GameConfig;
+import com.soen6441.battleship.services.gamecontroller.GameController;
+import com.soen6441.battleship.services.gamegrid.GameGrid;
+import com.soen6441.battleship.services.gamesession.GameSession;
+import com.soen6441.battleship.services.gamesession.GameSessionManager;
+import com.soen6441.battleship.services.movejournal.JournalReplayer;
+import com.soen6441.battleship.services.movejournal.MoveJournal;
+import io.reactivex.observers.TestObserver;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The type Game session manager test.
+ */
+public class GameSessionManagerTest {
+
+    /**
+     * Sessions have their own configuration and grids, so a hit in one is not seen by another.
+     */
+    @Test()
+    public void sessionsAreIsolated() throws Exception {
+        GameSessionManager manager = new GameSessionManager(2);
+
+        GameSession first = manager.createSession(createConfig(6, 6));
+        GameSession second = manager.createSession(createConfig(10, 4));
+
+        try {
+            assertNotSame(first.getGameController(), second.getGameController());
+            assertEquals(6, first.getGameController().createOrGetPlayer("enemy").getGameGrid().getGrid().getWidth());
+            assertEquals(10, second.getGameController().createOrGetPlayer("enemy").getGameGrid().getGrid().getWidth());
+
+            placePlayerShip(first.getGameController());
+            first.getGameController().startGame();
+            first.getGameController().hit(0, 0);
+
+            CellState firstState = first.getGameController().createOrGetPlayer("enemy").getGameGrid().getGrid().getCellState(0, 0);
+            CellState secondState = second.getGameController().createOrGetPlayer("enemy").getGameGrid().getGrid().getCellState(0, 0);
+
+            assertTrue(firstState == CellState.EMPTY_HIT || firstState == CellState.DESTROYED_SHIP);
+            assertTrue(secondState == CellState.EMPTY || secondState == CellState.SHIP);
+            assertSame(first, manager.getSession(first.getSessionId()));
+        } finally {
+            manager.closeSession(first.getSessionId());
+            manager.closeSession(second.getSessionId());
+        }
+    }
+
+    /**
+     * Changing the configuration after creating a session does not change the session.
+     */
+    @Test()
+    public void sessionKeepsCopyOfConfig() {
+        GameSessionManager manager = new GameSessionManager(1);
+        GameConfig gameConfig = createConfig(6, 6);
+
+        GameSession session = manager.createSession(gameConfig);
+        gameConfig.setGridDimensions(9, 9);
+
+        assertEquals(6, session.getGameConfig().getGridWidth());
+        assertTrue(manager.closeSession(session.getSessionId()));
+    }
+
+    /**
+     * A full manager refuses new sessions while every game is being played.
+     */
+    @Test(expected = IllegalStateException.class)
+    public void fullManagerRefusesSession() {
+        GameSessionManager manager = new GameSessionManager(1);
+        manager.createSession(createConfig(6, 6));
+        manager.createSession(createConfig(6, 6));
+    }
+
+    /**
+     * Finished sessions are evicted to make room for new ones.
+     */
+    @Test()
+    public void finishedSessionIsEvicted() throws Exception {
+        GameSessionManager manager = new GameSessionManager(1);
+        GameSession finished = manager.createSession(createConfig(6, 6));
+        GameController gameController = finished.getGameController();
+
+        placePlayerShip(gameController);
+        gameController.startGame();
+
+        Ship enemyShip = gameController.createOrGetPlayer("enemy").getGameGrid().getShips().get(0);
+        gameController.hit(enemyShip.getStartX(), enemyShip.getStartY());
+
+        assertTrue(finished.isFinished());
+
+        GameSession next = manager.createSession(createConfig(6, 6));
+
+        assertEquals(1, manager.getSessionCount());
+        assertNull(manager.getSession(finished.getSessionId()));
+        assertTrue(gameController.isClosed());
+        assertTrue(manager.closeSession(next.getSessionId()));
+        assertFalse(manager.closeSession(next.getSessionId()));
+    }
+
+    /**
+     * Commands sent to a session are applied by its actor, and forfeiting finishes the game.
+     */
+    @Test()
+    public void forfeitFinishesSession() throws Exception {
+        GameSessionManager manager = new GameSessionManager(1);
+        GameSession session = manager.createSession(createConfig(6, 6));
+        TestObserver<GameOverInfo> gameOverObserver = session.getGameController().isGameOver().test();
+
+        try {
+            placePlayerShip(session.getGameController());
+            session.startGame().get(10, TimeUnit.SECONDS);
+            session.forfeit().get(10, TimeUnit.SECONDS);
+
+            assertTrue(session.isFinished());
+            gameOverObserver.assertValue(gameOverInfo -> gameOverInfo.isGameOver() && !gameOverInfo.didPlayerWin());
+        } finally {
+            manager.closeSession(session.getSessionId());
+        }
+    }
+
+    /**
+     * A fleet which has room on the grid by its cell count, but no layout, is rejected when it is
+     * configured rather than when a session starts.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void fleetWithoutLayoutIsRejectedByConfig() {
+        createConfig(10, 10).setFleetSpec(FleetSpec.of(3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3));
+    }
+
+    /**
+     * The moves of a session are journaled, and replaying the journal rebuilds the grids.
+     */
+    @Test()
+    public void sessionMovesAreJournaled() throws Exception {
+        GameSessionManager manager = new GameSessionManager(1);
+        GameConfig gameConfig = createConfig(6, 6);
+        gameConfig.setFleetSpec(FleetSpec.of(2));
+        GameSession session = manager.createSession(gameConfig);
+
+        try {
+            placePlayerShip(session.getGameController());
+            session.startGame().get(10, TimeUnit.SECONDS);
+
+            Ship enemyShip = session.getGameController().createOrGetPlayer("enemy").getGameGrid().getShips().get(0);
+            session.hit(enemyShip.getStartX(), enemyShip.getStartY()).get(10, TimeUnit.SECONDS);
+            session.hit(enemyShip.getEndX(), enemyShip.getEndY()).get(10, TimeUnit.SECONDS);
+
+            MoveJournal journal = session.getGameController().getMoveJournal();
+            GameGrid enemyGrid = new JournalReplayer(6, 6).replay(journal.getEvents()).getGameGrid("enemy");
+
+            assertEquals(4, journal.getLastSequence());
+            assertTrue(enemyGrid.areAllShipsDestroyed());
+            assertEquals(CellState.DESTROYED_SHIP, enemyGrid.getGrid().getCellState(enemyShip.getStartX(), enemyShip.getStartY()));
+        } finally {
+            manager.closeSession(session.getSessionId());
+        }
+    }
+
+    private static GameConfig createConfig(int gridWidth, int gridHeight) {
+        GameConfig gameConfig = new GameConfig();
+        gameConfig.setGridDimensions(gridWidth, gridHeight);
+        gameConfig.setFleetSpec(FleetSpec.of(1));
+        gameConfig.setSeed(42L);
+        return gameConfig;
+    }
+
+    private static void placePlayerShip(GameController gameController) throws Exception {
+        GamePlayer player = gameController.createOrGetPlayer("player");
+        player.getGameGrid().placeShip(new Ship.Builder()
+                .setStartCoordinates(5, 3)
+                .setEndCoordinates(5, 3)
+                .setLength(1)
+                .build());
+    }
+}
@@ -0,0 +1,234 @@
+package com.soen6441.battleship.services;
+
+import com.soen6441.battleship.data.model.Coordinate;
+import com.soen6441.battleship.data.model.GamePlayer;
+import com.soen6441.battleship.data.model.Grid;
+import com.soen6441.battleship.data.model.Ship;
+import com.soen6441.battleship.enums.ShipDirection;
+import com.soen6441.battleship.services.aiplayer.LayoutSampler;
+import com.soen6441.battleship.services.aiplayer.MonteCarloAIPlayer;
+import com.soen6441.battleship.services.aiplayer.SalvoPlanner;
+import com.soen6441.battleship.services.gamegrid.GameGrid;
+import io.reactivex.observers.TestObserver;
+import io.reactivex.subjects.BehaviorSubject;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The type Monte Carlo AI player test.
+ */
+public class MonteCarloAIPlayerTest {
+    private static final int[] FLEET = {5, 4, 3, 2, 1};
+
+    private GameGrid gameGrid;
+
+    @Before()
+    public void setUp() throws Exception {
+        gameGrid = new GameGrid(10);
+        gameGrid.placeShip(new Ship.Builder()
+                .setDirection(ShipDirection.HORIZONTAL)
+                .setStartCoordinates(2, 3)
+                .setEndCoordinates(4, 3)
+                .setLength(3)
+                .build());
+    }
+
+    /**
+     * No sampled layout puts a ship on a missed cell.
+     *
+     * @throws Exception the exception
+     */
+    @Test()
+    public void sampledLayoutsAvoidMissedCells() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            gameGrid.hit(i, 7);
+        }
+
+        LayoutSampler layoutSampler = new LayoutSampler(10, 1, 3);
+        layoutSampler.sample(gameGrid.getGrid(), FLEET, 500);
+
+        assertEquals(500, layoutSampler.getDrawnSamples());
+        assertTrue(layoutSampler.getAcceptedSamples() > 0);
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(0, layoutSampler.getOccupancy(gameGrid.getGrid().cellIndex(i, 7)));
+        }
+    }
+
+    /**
+     * Every sampled layout covers a hit cell, and the best cell is next to it.
+     *
+     * @throws Exception the exception
+     */
+    @Test()
+    public void hitCellIsCoveredByEveryLayout() throws Exception {
+        gameGrid.hit(3, 3);
+        Grid grid = gameGrid.getGrid();
+
+        LayoutSampler layoutSampler = new LayoutSampler(10, 1, 5);
+        layoutSampler.sample(grid, FLEET, 1000);
+
+        assertTrue(layoutSampler.getAcceptedSamples() > 0);
+        assertEquals(layoutSampler.getAcceptedSamples(), layoutSampler.getOccupancy(grid.cellIndex(3, 3)));
+        assertTrue(isNextTo(Coordinate.ofIndex(layoutSampler.getBestCell(), 10), 3, 3));
+    }
+
+    /**
+     * The sample budget is shared between threads.
+     *
+     * @throws Exception the exception
+     */
+    @Test()
+    public void samplingOnSeveralThreadsDrawsWholeBudget() throws Exception {
+        gameGrid.hit(3, 3);
+        Grid grid = gameGrid.getGrid();
+
+        LayoutSampler layoutSampler = new LayoutSampler(10, 3, 9);
+        try {
+            layoutSampler.sample(grid, FLEET, 1001);
+
+            assertEquals(1001, layoutSampler.getDrawnSamples());
+            assertEquals(layoutSampler.getAcceptedSamples(), layoutSampler.getOccupancy(grid.cellIndex(3, 3)));
+            assertTrue(layoutSampler.getSamplesPerSecond() > 0);
+        } finally {
+            layoutSampler.shutdown();
+        }
+    }
+
+    /**
+     * A sampler whose threads were stopped still draws its whole budget, on the calling thread.
+     *
+     * @throws Exception the exception
+     */
+    @Test()
+    public void samplingAfterShutdownDrawsWholeBudget() throws Exception {
+        gameGrid.hit(3, 3);
+        Grid grid = gameGrid.getGrid();
+
+        LayoutSampler layoutSampler = new LayoutSampler(10, 3, 9);
+        layoutSampler.sample(grid, FLEET, 300);
+        layoutSampler.shutdown();
+        layoutSampler.sample(grid, FLEET, 300);
+
+        assertEquals(300, layoutSampler.getDrawnSamples());
+        assertEquals(layoutSampler.getAcceptedSamples(), layoutSampler.getOccupancy(grid.cellIndex(3, 3)));
+    }
+
+    /**
+     * AI player follows up a hit on one of the neighbouring cells.
+     *
+     * @throws Exception the exception
+     */
+    @Test()
+    public void aiHitsNextToPreviousHit() throws Exception {
+        GamePlayer gamePlayer = new GamePlayer("Player", gameGrid);
+        gameGrid.hit(3, 3);
+
+        BehaviorSubject<Coordinate> coordinateBehaviourSubject = BehaviorSubject.create();
+        TestObserver<Coordinate> testObserver = new TestObserver<>();
+        coordinateBehaviourSubject.subscribe(testObserver);
+
+        MonteCarloAIPlayer aiPlayer = new MonteCarloAIPlayer("AI Player", new GameGrid(10), gamePlayer,
+                coordinateBehaviourSubject::onNext, 500, 1);
+
+        BehaviorSubject<Boolean> isMyTurn = BehaviorSubject.create();
+        aiPlayer.setIsMyTurn(isMyTurn);
+        isMyTurn.onNext(true);
+
+        // AI takes its turn on the AI turn thread.
+        testObserver.awaitCount(1);
+        testObserver.assertValue(coordinate -> isNextTo(coordinate, 3, 3));
+    }
+
+    /**
+     * With a turn deadline, AI keeps sampling until the deadline and then hits.
+     *
+     * @throws Exception the exception
+     */
+    @Test()
+    public void turnDeadlineBoundsSampling() throws Exception {
+        GamePlayer gamePlayer = new GamePlayer("Player", gameGrid);
+        gameGrid.hit(3, 3);
+
+        BehaviorSubject<Coordinate> coordinateBehaviourSubject = BehaviorSubject.create();
+        TestObserver<Coordinate> testObserver = new TestObserver<>();
+        coordinateBehaviourSubject.subscribe(testObserver);
+
+        MonteCarloAIPlayer aiPlayer = new MonteCarloAIPlayer("AI Player", new GameGrid(10), gamePlayer,
+                coordinateBehaviourSubject::onNext, 10, 1);
+        aiPlayer.setTurnDeadline(50, TimeUnit.MILLISECONDS);
+
+        long startTime = System.nanoTime();
+        aiPlayer.takeHit();
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+
+        testObserver.assertValueCount(1);
+        assertTrue(aiPlayer.getLastIterationCount() > 10);
+        assertTrue("Turn took " + elapsedMillis + "ms", elapsedMillis < 1000);
+    }
+
+    /**
+     * Shots of a salvo planned around a single hit go to different sides of it.
+     *
+     * @throws Exception the exception
+     */
+    @Test()
+    public void salvoSpreadsAroundHit() throws Exception {
+        gameGrid.hit(3, 3);
+
+        LayoutSampler layoutSampler = new LayoutSampler(10, 1, 7);
+        SalvoPlanner salvoPlanner = new SalvoPlanner(layoutSampler, 500);
+        int[] salvo = salvoPlanner.plan(gameGrid.getGrid(), new int[]{3}, 2, 2000);
+
+        // Single shots drawn from the same sampler afterwards keep no layouts.
+        assertEquals(0, layoutSampler.getLayoutsToKeep());
+        assertEquals(2, salvo.length);
+        assertNotEquals(salvo[0], salvo[1]);
+
+        Coordinate first = Coordinate.ofIndex(salvo[0], 10);
+        Coordinate second = Coordinate.ofIndex(salvo[1], 10);
+        assertTrue(isNextTo(first, 3, 3));
+        assertTrue(isNextTo(second, 3, 3));
+        // One shot along each axis of the hit.
+        assertNotEquals(first.getX() == 3, second.getX() == 3);
+    }
+
+    /**
+     * AI player plans a salvo of distinct cells not shot at yet.
+     *
+     * @throws Exception the exception
+     */
+    @Test()
+    public void salvoHasDistinctUnshotCells() throws Exception {
+        GamePlayer gamePlayer = new GamePlayer("Player", gameGrid);
+        for (int i = 0; i < 10; i++) {
+            gameGrid.hit(i, 7);
+        }
+
+        MonteCarloAIPlayer aiPlayer = new MonteCarloAIPlayer("AI Player", new GameGrid(10), gamePlayer,
+                coordinate -> {
+                }, 500, 1);
+
+        List<Coordinate> salvo = aiPlayer.decideSalvo(5);
+        Set<Coordinate> distinctCoordinates = new HashSet<>(salvo);
+
+        assertEquals(5, salvo.size());
+        assertEquals(5, distinctCoordinates.size());
+        for (Coordinate coordinate : salvo) {
+            assertNotEquals(7, coordinate.getY());
+        }
+    }
+
+    private boolean isNextTo(Coordinate coordinate, int x, int y) {
+        return Math.abs(coordinate.getX() - x) + Math.abs(coordinate.getY() - y) == 1;
+    }
+}
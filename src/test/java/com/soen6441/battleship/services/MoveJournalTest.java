@@ -0,0 +1,138 @@
+package com.soen6441.battleship.services;
+
+import com.soen6441.battleship.data.model.FleetSpec;
+import com.soen6441.battleship.data.model.Ship;
+import com.soen6441.battleship.enums.MoveEventType;
+import com.soen6441.battleship.enums.ShipDirection;
+import com.soen6441.battleship.services.boardgenerator.RandomShipPlacer;
+import com.soen6441.battleship.services.gamegrid.GameGrid;
+import com.soen6441.battleship.services.movejournal.JournalReplayer;
+import com.soen6441.battleship.services.movejournal.JournalSnapshot;
+import com.soen6441.battleship.services.movejournal.MoveEvent;
+import com.soen6441.battleship.services.movejournal.MoveJournal;
+import com.soen6441.battleship.services.randomsource.RandomSource;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * The type Move journal test.
+ */
+public class MoveJournalTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    /**
+     * Events written to a journal file are read back, and new events are numbered after them.
+     */
+    @Test()
+    public void journalFileIsReadBack() throws Exception {
+        File file = temporaryFolder.newFile("journal");
+
+        MoveJournal journal = MoveJournal.create(file, 10, 6);
+        journal.recordShipPlacement("enemy", createShip(1, 1, 3, 1));
+        journal.recordHit("enemy", 2, 1);
+        journal.close();
+
+        MoveJournal reopened = MoveJournal.open(file);
+        MoveEvent hit = reopened.recordHit("player", 9, 5);
+        reopened.close();
+
+        List<MoveEvent> events = MoveJournal.open(file).getEvents();
+
+        assertEquals(10, reopened.getGridWidth());
+        assertEquals(6, reopened.getGridHeight());
+        assertEquals(3, events.size());
+        assertEquals(3, hit.getSequence());
+        assertEquals(MoveEventType.SHIP_PLACEMENT, events.get(0).getType());
+        assertEquals(3, events.get(0).toShip().getEndX());
+        assertEquals(ShipDirection.HORIZONTAL, events.get(0).toShip().getDirection());
+        assertEquals("player", events.get(2).getGridOwner());
+        assertEquals(9, events.get(2).getX());
+    }
+
+    /**
+     * An event only partly written, as left by a crash, is dropped when the journal is opened.
+     */
+    @Test()
+    public void partlyWrittenEventIsDropped() throws Exception {
+        File file = temporaryFolder.newFile("journal");
+
+        MoveJournal journal = MoveJournal.create(file, 10, 10);
+        journal.recordHit("enemy", 4, 4);
+        journal.recordHit("enemy", 5, 4);
+        journal.close();
+
+        try (FileOutputStream output = new FileOutputStream(file, true)) {
+            output.write(new byte[]{0, 0, 0, 0, 0, 0, 0, 3, 1});
+        }
+
+        MoveJournal reopened = MoveJournal.open(file);
+        reopened.recordHit("enemy", 6, 4);
+        reopened.close();
+
+        List<MoveEvent> events = MoveJournal.open(file).getEvents();
+
+        assertEquals(3, events.size());
+        assertEquals(3, events.get(2).getSequence());
+        assertEquals(6, events.get(2).getX());
+    }
+
+    /**
+     * Replaying the journal of a game rebuilds its grid, from the first event or from a snapshot.
+     */
+    @Test()
+    public void replayRebuildsGrid() throws Exception {
+        GameGrid gameGrid = new GameGrid(12, 9);
+        MoveJournal journal = new MoveJournal(12, 9);
+        new RandomShipPlacer(new RandomSource(5)).placeRandomShips(gameGrid, FleetSpec.STANDARD);
+        gameGrid.getShips().forEach(ship -> journal.recordShipPlacement("enemy", ship));
+
+        Random random = new Random(9);
+        JournalSnapshot snapshot = null;
+
+        for (int i = 0; i < 80; i++) {
+            int x = random.nextInt(12);
+            int y = random.nextInt(9);
+            gameGrid.hit(x, y);
+            journal.recordHit("enemy", x, y);
+
+            if (i == 40) {
+                snapshot = new JournalReplayer(12, 9).replay(journal.getEvents()).snapshot();
+            }
+        }
+
+        GameGrid replayed = new JournalReplayer(12, 9).replay(journal.getEvents()).getGameGrid("enemy");
+        JournalReplayer fromSnapshot = new JournalReplayer(snapshot).replay(journal.getEventsAfter(snapshot.getSequence()));
+
+        assertSameGrid(gameGrid, replayed);
+        assertSameGrid(gameGrid, fromSnapshot.getGameGrid("enemy"));
+        assertEquals(journal.getLastSequence(), fromSnapshot.getSequence());
+    }
+
+    private static Ship createShip(int startX, int startY, int endX, int endY) {
+        return new Ship.Builder()
+                .setStartCoordinates(startX, startY)
+                .setEndCoordinates(endX, endY)
+                .setLength(Math.max(endX - startX, endY - startY) + 1)
+                .setDirection(startY == endY ? ShipDirection.HORIZONTAL : ShipDirection.VERTICAL)
+                .build();
+    }
+
+    private static void assertSameGrid(GameGrid expected, GameGrid actual) {
+        for (int y = 0; y < expected.getGrid().getHeight(); y++) {
+            for (int x = 0; x < expected.getGrid().getWidth(); x++) {
+                assertEquals(expected.getGrid().getCellState(x, y), actual.getGrid().getCellState(x, y));
+            }
+        }
+
+        assertEquals(expected.getSunkShips(), actual.getSunkShips());
+    }
+}
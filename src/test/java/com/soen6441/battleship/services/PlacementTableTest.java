@@ -0,0 +1,54 @@
+package com.soen6441.battleship.services;
+
+import com.soen6441.battleship.services.placementtable.PlacementTable;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The type Placement table test.
+ */
+public class PlacementTableTest {
+
+    /**
+     * Tables list every horizontal and vertical position once and are shared.
+     */
+    @Test()
+    public void listsEveryPlacementOnce() {
+        PlacementTable table = PlacementTable.forShip(10, 3);
+
+        assertSame(table, PlacementTable.forShip(10, 3));
+        assertEquals(2 * 8 * 10, table.getPlacementCount());
+        assertEquals(100, PlacementTable.forShip(10, 1).getPlacementCount());
+        assertEquals(0, PlacementTable.forShip(4, 5).getPlacementCount());
+
+        // A corner is covered by one horizontal and one vertical placement.
+        assertEquals(2, table.getPlacementsCovering(0).length);
+        assertEquals(6, table.getPlacementsCovering(55).length);
+    }
+
+    /**
+     * Cells and halos of a placement are the ship and the cells touching it.
+     */
+    @Test()
+    public void placementsHaveCellsAndHalos() {
+        PlacementTable table = PlacementTable.forShip(3, 2);
+
+        // Horizontal placement at (1, 1) on a 3x3 grid.
+        int placement = table.getPlacementsCovering(4)[1];
+        assertEquals(4, table.getStart(placement));
+        assertFalse(table.isVertical(placement));
+        assertEquals((1L << 4) | (1L << 5), table.getCells()[table.getOffset(placement)]);
+
+        long[] board = new long[table.getWordCount()];
+        table.addHalo(placement, board);
+        assertArrayEquals(new long[]{(1L << 9) - 1}, board);
+
+        assertTrue(table.fits(0, new long[]{1L << 8}));
+        assertFalse(table.fits(placement, new long[]{1L << 5}));
+    }
+}
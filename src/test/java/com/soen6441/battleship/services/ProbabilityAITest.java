@@ -16,6 +16,7 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 public class ProbabilityAITest {
     private GamePlayer gamePlayer;
@@ -46,6 +47,8 @@ public class ProbabilityAITest {
         aiPlayer.setIsMyTurn(isMyTurn);
         isMyTurn.onNext(true);
 
+        // AI takes its turn on the AI turn thread.
+        testObserver.awaitCount(1);
         testObserver.assertValue(coordinate -> coordinate.equals(new Coordinate(4, 4)));
     }
 
@@ -70,9 +73,51 @@ public class ProbabilityAITest {
         aiPlayer.setIsMyTurn(isMyTurn);
         isMyTurn.onNext(true);
 
+        // AI takes its turn on the AI turn thread.
+        testObserver.awaitCount(1);
         testObserver.assertValue(coordinate -> coordinate.equals(new Coordinate(4, 4)));
     }
 
+    @Test
+    public void takesTurnOffTheEmittingThread() {
+        placeShipAtTop();
+
+        BehaviorSubject<Thread> hitThreadSubject = BehaviorSubject.create();
+        TestObserver<Thread> testObserver = new TestObserver<>();
+        hitThreadSubject.subscribe(testObserver);
+
+        aiPlayer = new ProbabilityAIPlayer("AI Player", new GameGrid(gridSize), gamePlayer,
+                coordinate -> hitThreadSubject.onNext(Thread.currentThread()));
+
+        BehaviorSubject<Boolean> isMyTurn = BehaviorSubject.create();
+        aiPlayer.setIsMyTurn(isMyTurn);
+        isMyTurn.onNext(true);
+
+        testObserver.awaitCount(1);
+        testObserver.assertValue(thread -> thread != Thread.currentThread());
+    }
+
+    @Test
+    public void targetModeExtendsLineOfHits() throws Exception {
+        gamePlayer.getGameGrid().placeShip(new Ship.Builder()
+                .setDirection(ShipDirection.HORIZONTAL)
+                .setStartCoordinates(2, 5)
+                .setEndCoordinates(4, 5)
+                .setLength(3)
+                .build());
+
+        // Hits made before the AI player exists, as in a loaded game.
+        gamePlayer.getGameGrid().hit(2, 5);
+        gamePlayer.getGameGrid().hit(3, 5);
+
+        aiPlayer = new ProbabilityAIPlayer("AI Player", new GameGrid(gridSize), gamePlayer, coordinate -> {
+        });
+
+        Coordinate coordinate = aiPlayer.decideHit();
+        assertEquals(5, coordinate.getY());
+        assertTrue(coordinate.getX() == 1 || coordinate.getX() == 4);
+    }
+
     private void placeShip() {
         try {
             gamePlayer.getGameGrid().placeShip(new Ship.Builder()
@@ -0,0 +1,187 @@
+package com.soen6441.battleship.services;
+
+import com.soen6441.battleship.data.model.Grid;
+import com.soen6441.battleship.data.model.Ship;
+import com.soen6441.battleship.enums.CellState;
+import com.soen6441.battleship.enums.ShipDirection;
+import com.soen6441.battleship.services.aiplayer.ProbabilityDensityEngine;
+import com.soen6441.battleship.services.gamegrid.GameGrid;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * The type Probability density engine test.
+ */
+public class ProbabilityDensityEngineTest {
+    private static final int MAX_SHIP_LENGTH = 5;
+
+    private GameGrid gameGrid;
+    private ProbabilityDensityEngine densityEngine;
+
+    @Before()
+    public void setUp() {
+        gameGrid = new GameGrid(10);
+        densityEngine = new ProbabilityDensityEngine(10, MAX_SHIP_LENGTH);
+    }
+
+    /**
+     * Center of an empty grid has the highest density.
+     */
+    @Test()
+    public void bestCellOnEmptyGridIsCenter() {
+        densityEngine.sync(gameGrid.getGrid());
+
+        assertEquals(gameGrid.getGrid().cellIndex(4, 4), densityEngine.getBestCell());
+        assertDensityMatchesFullCount(new int[]{0, 1, 1, 1, 1, 1});
+    }
+
+    /**
+     * Density after a series of shots matches a full recount.
+     *
+     * @throws Exception the exception
+     */
+    @Test()
+    public void densityMatchesFullCountAfterShots() throws Exception {
+        gameGrid.placeShip(new Ship.Builder()
+                .setDirection(ShipDirection.HORIZONTAL)
+                .setStartCoordinates(2, 3)
+                .setEndCoordinates(4, 3)
+                .setLength(3)
+                .build());
+
+        Random random = new Random(7);
+
+        for (int shot = 0; shot < 30; shot++) {
+            gameGrid.hit(random.nextInt(10), random.nextInt(10));
+            densityEngine.sync(gameGrid.getGrid());
+            assertDensityMatchesFullCount(new int[]{0, 1, 1, 1, 1, 1});
+        }
+
+        // Sink the ship so that its surroundings get blocked.
+        for (int x = 2; x <= 4; x++) {
+            gameGrid.hit(x, 3);
+        }
+
+        int[] shipCounts = {0, 1, 1, 0, 1, 1};
+        densityEngine.setShipCounts(shipCounts);
+        densityEngine.sync(gameGrid.getGrid());
+        assertDensityMatchesFullCount(shipCounts);
+    }
+
+    /**
+     * Density is rebuilt if a cell is un-hit.
+     */
+    @Test()
+    public void densityIsRebuiltWhenCellIsReverted() {
+        Grid grid = gameGrid.getGrid();
+
+        grid.updateCellStatus(5, 5, CellState.EMPTY_HIT);
+        densityEngine.sync(grid);
+        grid.updateCellStatus(5, 5, CellState.EMPTY);
+        densityEngine.sync(grid);
+
+        assertDensityMatchesFullCount(new int[]{0, 1, 1, 1, 1, 1});
+    }
+
+    /**
+     * Parallel rebuild of a large grid matches a full recount, and later shots are applied incrementally.
+     *
+     * @throws Exception the exception
+     */
+    @Test()
+    public void parallelRebuildMatchesFullCount() throws Exception {
+        GameGrid largeGameGrid = new GameGrid(50);
+        largeGameGrid.placeShip(new Ship.Builder()
+                .setDirection(ShipDirection.VERTICAL)
+                .setStartCoordinates(10, 14)
+                .setEndCoordinates(10, 17)
+                .setLength(4)
+                .build());
+
+        Random random = new Random(11);
+        for (int shot = 0; shot < 400; shot++) {
+            largeGameGrid.hit(random.nextInt(50), random.nextInt(50));
+        }
+        for (int y = 14; y <= 17; y++) {
+            largeGameGrid.hit(10, y);
+        }
+
+        int[] shipCounts = {0, 1, 1, 1, 0, 1};
+        ProbabilityDensityEngine largeDensityEngine = new ProbabilityDensityEngine(50, MAX_SHIP_LENGTH);
+        largeDensityEngine.setParallelism(new ForkJoinPool(4), 1);
+        largeDensityEngine.setShipCounts(shipCounts);
+        largeDensityEngine.sync(largeGameGrid.getGrid());
+        assertDensityMatchesFullCount(largeGameGrid.getGrid(), largeDensityEngine, shipCounts);
+
+        for (int shot = 0; shot < 50; shot++) {
+            largeGameGrid.hit(random.nextInt(50), random.nextInt(50));
+        }
+        largeDensityEngine.sync(largeGameGrid.getGrid());
+        assertDensityMatchesFullCount(largeGameGrid.getGrid(), largeDensityEngine, shipCounts);
+    }
+
+    /**
+     * Compares every cell of the engine with a density counted window by window.
+     */
+    private void assertDensityMatchesFullCount(int[] shipCounts) {
+        assertDensityMatchesFullCount(gameGrid.getGrid(), densityEngine, shipCounts);
+    }
+
+    private void assertDensityMatchesFullCount(Grid grid, ProbabilityDensityEngine densityEngine, int[] shipCounts) {
+        int gridSize = grid.getGridSize();
+        int[] expected = new int[gridSize * gridSize];
+
+        for (int length = 1; length <= MAX_SHIP_LENGTH; length++) {
+            for (int y = 0; y < gridSize; y++) {
+                for (int x = 0; x + length <= gridSize; x++) {
+                    if (isWindowFree(grid, x, y, length, true)) {
+                        for (int i = 0; i < length; i++) {
+                            expected[y * gridSize + x + i] += shipCounts[length];
+                        }
+                    }
+                    if (isWindowFree(grid, y, x, length, false)) {
+                        for (int i = 0; i < length; i++) {
+                            expected[(x + i) * gridSize + y] += shipCounts[length];
+                        }
+                    }
+                }
+            }
+        }
+
+        for (int cell = 0; cell < expected.length; cell++) {
+            assertEquals("Density of cell " + cell, expected[cell], densityEngine.getDensity(cell));
+        }
+    }
+
+    private boolean isWindowFree(Grid grid, int x, int y, int length, boolean isHorizontal) {
+        for (int i = 0; i < length; i++) {
+            int cellX = isHorizontal ? x + i : x;
+            int cellY = isHorizontal ? y : y + i;
+
+            if (isShot(grid, cellX, cellY)) {
+                return false;
+            }
+
+            for (int ny = cellY - 1; ny <= cellY + 1; ny++) {
+                for (int nx = cellX - 1; nx <= cellX + 1; nx++) {
+                    if (nx >= 0 && ny >= 0 && nx < grid.getGridSize() && ny < grid.getGridSize()
+                            && grid.getCellState(nx, ny) == CellState.DESTROYED_SHIP) {
+                        return false;
+                    }
+                }
+            }
+        }
+
+        return true;
+    }
+
+    private boolean isShot(Grid grid, int x, int y) {
+        CellState state = grid.getCellState(x, y);
+        return state == CellState.EMPTY_HIT || state == CellState.SHIP_WITH_HIT || state == CellState.DESTROYED_SHIP;
+    }
+}
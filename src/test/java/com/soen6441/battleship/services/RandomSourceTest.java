@@ -0,0 +1,43 @@
+package com.soen6441.battleship.services;
+
+import com.soen6441.battleship.services.randomsource.RandomSource;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+/**
+ * The type Random source test.
+ */
+public class RandomSourceTest {
+
+    /**
+     * Sources with the same seed, and their splits, produce the same numbers.
+     */
+    @Test()
+    public void sameSeedProducesSameNumbers() {
+        RandomSource first = new RandomSource(42);
+        RandomSource second = new RandomSource(42);
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(first.nextLong(), second.nextLong());
+        }
+
+        RandomSource firstSplit = first.split();
+        RandomSource secondSplit = second.split();
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(firstSplit.nextInt(10), secondSplit.nextInt(10));
+        }
+    }
+
+    /**
+     * A stream only depends on the seed and its index.
+     */
+    @Test()
+    public void streamsAreReproducibleAndDistinct() {
+        assertEquals(RandomSource.forStream(7, 3).nextLong(), RandomSource.forStream(7, 3).nextLong());
+        assertNotEquals(RandomSource.forStream(7, 3).nextLong(), RandomSource.forStream(7, 4).nextLong());
+        assertNotEquals(RandomSource.forStream(7, 3).nextLong(), RandomSource.forStream(8, 3).nextLong());
+    }
+}
@@ -0,0 +1,172 @@
+package com.soen6441.battleship.services;
+
+import com.soen6441.battleship.data.model.Coordinate;
+import com.soen6441.battleship.data.model.FleetSpec;
+import com.soen6441.battleship.data.model.GamePlayer;
+import com.soen6441.battleship.enums.CellState;
+import com.soen6441.battleship.services.aiplayer.AIPlayer;
+import com.soen6441.battleship.services.aiplayer.AIPlayerFactory;
+import com.soen6441.battleship.services.aiplayer.MonteCarloAIPlayer;
+import com.soen6441.battleship.services.aiplayer.ProbabilityAIPlayer;
+import com.soen6441.battleship.services.gamegrid.GameGrid;
+import com.soen6441.battleship.services.randomsource.RandomSource;
+import com.soen6441.battleship.services.simulation.GameVariation;
+import com.soen6441.battleship.services.simulation.SelfPlaySimulator;
+import com.soen6441.battleship.services.simulation.SimulationStats;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The type Self play simulator test.
+ */
+public class SelfPlaySimulatorTest {
+
+    /**
+     * Every game played on several threads is recorded once.
+     */
+    @Test()
+    public void everyGameIsRecorded() {
+        SelfPlaySimulator simulator = new SelfPlaySimulator(
+                ProbabilityAIPlayer::new, AIPlayer::new, 10, 3);
+
+        SimulationStats stats = simulator.run(40);
+
+        assertEquals(40, stats.getGameCount());
+        assertEquals(40, stats.getWins(SelfPlaySimulator.FIRST) + stats.getWins(SelfPlaySimulator.SECOND) + stats.getDrawCount());
+
+        long histogramTotal = 0;
+        for (int shots = 0; shots <= stats.getMaxShots(); shots++) {
+            histogramTotal += stats.getShotsToWinCount(shots);
+        }
+        assertEquals(stats.getWins(SelfPlaySimulator.FIRST) + stats.getWins(SelfPlaySimulator.SECOND), histogramTotal);
+        assertTrue(stats.getGamesPerSecond() > 0);
+    }
+
+    /**
+     * A winner needs at least as many shots as there are ship cells.
+     */
+    @Test()
+    public void winnerSinksWholeFleet() {
+        SelfPlaySimulator simulator = new SelfPlaySimulator(
+                ProbabilityAIPlayer::new, ProbabilityAIPlayer::new, 10, 1);
+
+        SimulationStats stats = simulator.run(10);
+
+        assertEquals(0, stats.getDrawCount());
+        assertTrue(stats.getShotsToWinPercentile(0.1) >= 15);
+        assertTrue(stats.getMeanShotsToWin() <= 100);
+    }
+
+    /**
+     * Games played with the same seed are the same, whatever the number of threads.
+     */
+    @Test()
+    public void sameSeedReplaysSameGames() {
+        AIPlayerFactory monteCarlo = (name, gameGrid, opponent, hitCallback) ->
+                new MonteCarloAIPlayer(name, gameGrid, opponent, hitCallback, 50, 2);
+
+        SimulationStats stats = new SelfPlaySimulator(monteCarlo, AIPlayer::new, 10, 1)
+                .setSeed(1234)
+                .run(6);
+        SimulationStats replayedStats = new SelfPlaySimulator(monteCarlo, AIPlayer::new, 10, 3)
+                .setSeed(1234)
+                .run(6);
+
+        assertEquals(stats.getWins(SelfPlaySimulator.FIRST), replayedStats.getWins(SelfPlaySimulator.FIRST));
+        assertEquals(stats.getWins(SelfPlaySimulator.SECOND), replayedStats.getWins(SelfPlaySimulator.SECOND));
+        for (int shots = 0; shots <= stats.getMaxShots(); shots++) {
+            assertEquals(stats.getShotsToWinCount(shots), replayedStats.getShotsToWinCount(shots));
+        }
+    }
+
+    /**
+     * Games on a grid which is not square, with a fleet other than the standard one, are won by
+     * sinking the whole fleet.
+     */
+    @Test()
+    public void customFleetIsPlayedOnWideGrid() {
+        FleetSpec fleetSpec = FleetSpec.of(6, 3, 3, 2, 2, 2);
+        AIPlayerFactory monteCarlo = (name, gameGrid, opponent, hitCallback) ->
+                new MonteCarloAIPlayer(name, gameGrid, opponent, hitCallback, 200, 1);
+
+        SimulationStats stats = new SelfPlaySimulator(ProbabilityAIPlayer::new, monteCarlo, GameVariation.SIMPLE,
+                16, 9, fleetSpec, 1).setSeed(42).run(6);
+
+        assertEquals(0, stats.getDrawCount());
+        assertTrue(stats.getShotsToWinPercentile(0.1) >= fleetSpec.getCellCount());
+        assertTrue(stats.getMeanShotsToWin() <= 16 * 9);
+    }
+
+    /**
+     * In SALVA the shots of the starting player stay pending until its salvo is complete; no
+     * player may pick a pending cell again within the same salvo.
+     */
+    @Test()
+    public void salvoNeverRepeatsACell() {
+        AtomicInteger repeatedShots = new AtomicInteger();
+        AtomicInteger shots = new AtomicInteger();
+
+        AIPlayerFactory probability = (name, gameGrid, opponent, hitCallback) ->
+                new ProbabilityAIPlayer(name, gameGrid, opponent, hitCallback) {
+                    @Override
+                    public Coordinate decideHit() {
+                        return checkPending(super.decideHit(), opponent, shots, repeatedShots);
+                    }
+                };
+        AIPlayerFactory naive = (name, gameGrid, opponent, hitCallback) ->
+                new AIPlayer(name, gameGrid, opponent, hitCallback) {
+                    @Override
+                    public Coordinate decideHit() {
+                        return checkPending(super.decideHit(), opponent, shots, repeatedShots);
+                    }
+                };
+
+        SimulationStats stats = new SelfPlaySimulator(probability, naive, GameVariation.SALVA, 10, 1)
+                .setSeed(7)
+                .run(10);
+
+        assertEquals(10, stats.getGameCount());
+        assertTrue(shots.get() > 0);
+        assertEquals(0, repeatedShots.get());
+    }
+
+    /**
+     * The naive AI player picks its random shots among the cells not shot at, even when only one
+     * cell is left.
+     *
+     * @throws Exception the exception
+     */
+    @Test()
+    public void naivePlayerOnlyPicksCellsNotShotAt() throws Exception {
+        GameGrid opponentGrid = new GameGrid(4);
+        for (int cell = 0; cell < 16; cell++) {
+            if (cell != 9) {
+                opponentGrid.hit(cell);
+            }
+        }
+        GamePlayer opponent = new GamePlayer("opponent", opponentGrid);
+
+        for (int seed = 0; seed < 20; seed++) {
+            AIPlayer aiPlayer = new AIPlayer("AI", new GameGrid(4), opponent, coordinate -> {
+            });
+            aiPlayer.setRandomSource(new RandomSource(seed));
+
+            assertEquals(Coordinate.ofIndex(9, 4), aiPlayer.decideHit());
+        }
+    }
+
+    private static Coordinate checkPending(Coordinate coordinate, GamePlayer opponent,
+                                           AtomicInteger shots, AtomicInteger repeatedShots) {
+        shots.incrementAndGet();
+
+        if (opponent.getGameGrid().getGrid().getCellState(coordinate.getX(), coordinate.getY()) == CellState.TO_BE_PLACED) {
+            repeatedShots.incrementAndGet();
+        }
+
+        return coordinate;
+    }
+}
@@ -12,7 +12,18 @@ import org.junit.runners.Suite;
         GameControllerTest.class,
         GameGridTest.class,
         ProbabilityAITest.class,
+        ProbabilityDensityEngineTest.class,
+        TargetFrontierTest.class,
+        ExactLayoutSolverTest.class,
+        PlacementTableTest.class,
+        MonteCarloAIPlayerTest.class,
+        SelfPlaySimulatorTest.class,
+        TournamentTest.class,
+        RandomSourceTest.class,
         ScoreCalculatorTest.class,
+        GameSessionManagerTest.class,
+        SessionActorTest.class,
+        MoveJournalTest.class,
 })
 public class ServiceTestSuite {
 }
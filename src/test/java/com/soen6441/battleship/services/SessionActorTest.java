@@ -0,0 +1,116 @@
+package com.soen6441.battleship.services;
+
+import com.soen6441.battleship.services.gamesession.SessionActor;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The type Session actor test.
+ */
+public class SessionActorTest {
+
+    /**
+     * Commands sent from many threads run one at a time, each sender's in the order they were sent.
+     */
+    @Test()
+    public void commandsRunOneAtATimeInOrder() throws Exception {
+        ExecutorService sharedExecutor = Executors.newFixedThreadPool(4);
+        ExecutorService senders = Executors.newFixedThreadPool(4);
+        SessionActor actor = new SessionActor(sharedExecutor);
+
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger overlaps = new AtomicInteger();
+        List<List<Integer>> received = new ArrayList<>();
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+
+        for (int sender = 0; sender < 4; sender++) {
+            received.add(new ArrayList<>());
+        }
+
+        try {
+            List<Future<?>> sent = new ArrayList<>();
+
+            for (int sender = 0; sender < 4; sender++) {
+                List<Integer> senderReceived = received.get(sender);
+
+                sent.add(senders.submit(() -> {
+                    for (int i = 0; i < 500; i++) {
+                        int value = i;
+                        CompletableFuture<Void> future = actor.submit(() -> {
+                            if (running.incrementAndGet() > 1) {
+                                overlaps.incrementAndGet();
+                            }
+
+                            senderReceived.add(value);
+                            running.decrementAndGet();
+                        });
+
+                        synchronized (futures) {
+                            futures.add(future);
+                        }
+                    }
+                }));
+            }
+
+            for (Future<?> future : sent) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).get(10, TimeUnit.SECONDS);
+        } finally {
+            senders.shutdownNow();
+            sharedExecutor.shutdownNow();
+        }
+
+        assertEquals(0, overlaps.get());
+
+        for (List<Integer> senderReceived : received) {
+            assertEquals(500, senderReceived.size());
+
+            for (int i = 0; i < senderReceived.size(); i++) {
+                assertEquals(i, (int) senderReceived.get(i));
+            }
+        }
+    }
+
+    /**
+     * A failing command fails its future only, the commands after it still run.
+     */
+    @Test()
+    public void failingCommandDoesNotStopActor() throws Exception {
+        ExecutorService sharedExecutor = Executors.newSingleThreadExecutor();
+        SessionActor actor = new SessionActor(sharedExecutor);
+        AtomicInteger count = new AtomicInteger();
+
+        try {
+            CompletableFuture<Void> failed = actor.submit(() -> {
+                throw new IllegalStateException("Failed command");
+            });
+            actor.submit(count::incrementAndGet).get(10, TimeUnit.SECONDS);
+
+            try {
+                failed.get();
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause() instanceof IllegalStateException);
+            }
+
+            assertTrue(failed.isCompletedExceptionally());
+            assertEquals(1, count.get());
+            assertEquals(0, actor.getPendingCount());
+        } finally {
+            sharedExecutor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.soen6441.battleship.services;
+
+import com.soen6441.battleship.services.aiplayer.TargetFrontier;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The type Target frontier test.
+ */
+public class TargetFrontierTest {
+
+    /**
+     * Cells come out highest key first, lower cell first on equal keys, and re-keyed cells move.
+     */
+    @Test()
+    public void pollsCellsByKey() {
+        TargetFrontier targetFrontier = new TargetFrontier(100);
+        targetFrontier.offer(10, 3);
+        targetFrontier.offer(20, 7);
+        targetFrontier.offer(30, 5);
+        targetFrontier.offer(5, 5);
+        targetFrontier.offer(10, 9);
+
+        assertEquals(4, targetFrontier.size());
+        assertEquals(10, targetFrontier.poll());
+        assertEquals(20, targetFrontier.poll());
+        assertEquals(5, targetFrontier.poll());
+        assertEquals(30, targetFrontier.poll());
+        assertEquals(-1, targetFrontier.poll());
+    }
+
+    /**
+     * Removed cells are no longer members and the order of the rest is kept.
+     */
+    @Test()
+    public void removesCells() {
+        TargetFrontier targetFrontier = new TargetFrontier(100);
+        for (int cell = 0; cell < 50; cell++) {
+            targetFrontier.offer(cell, cell % 7);
+        }
+
+        targetFrontier.remove(6);
+        targetFrontier.removeIf(cell -> cell % 2 == 1);
+
+        assertFalse(targetFrontier.contains(6));
+        assertFalse(targetFrontier.contains(13));
+        assertTrue(targetFrontier.contains(12));
+        assertEquals(24, targetFrontier.size());
+
+        long previousKey = Long.MAX_VALUE;
+        while (!targetFrontier.isEmpty()) {
+            long key = targetFrontier.getKey(targetFrontier.peek());
+            assertTrue(key <= previousKey);
+            previousKey = key;
+            targetFrontier.poll();
+        }
+    }
+}
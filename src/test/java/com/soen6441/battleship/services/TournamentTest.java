@@ -0,0 +1,73 @@
+package com.soen6441.battleship.services;
+
+import com.soen6441.battleship.services.aiplayer.AIPlayer;
+import com.soen6441.battleship.services.aiplayer.AIPlayerRegistry;
+import com.soen6441.battleship.services.aiplayer.ProbabilityAIPlayer;
+import com.soen6441.battleship.services.simulation.GameVariation;
+import com.soen6441.battleship.services.simulation.Tournament;
+import com.soen6441.battleship.services.simulation.TournamentResult;
+import com.soen6441.battleship.services.simulation.WinRate;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The type Tournament test.
+ */
+public class TournamentTest {
+
+    /**
+     * Every pair of players plays with every variation, and win rates of a pairing add up.
+     */
+    @Test()
+    public void everyPairingIsPlayedWithEveryVariation() {
+        AIPlayerRegistry registry = new AIPlayerRegistry()
+                .register("random", AIPlayer::new)
+                .register("probability", ProbabilityAIPlayer::new);
+
+        TournamentResult result = new Tournament(registry, 10, 20, 2).run();
+
+        for (GameVariation gameVariation : GameVariation.values()) {
+            WinRate probabilityWinRate = result.getWinRate(gameVariation, "probability", "random");
+            WinRate randomWinRate = result.getWinRate(gameVariation, "random", "probability");
+            long draws = result.getStats(gameVariation, "probability", "random").getDrawCount();
+
+            assertEquals(20, probabilityWinRate.getGames());
+            assertEquals(20, probabilityWinRate.getWins() + randomWinRate.getWins() + draws);
+        }
+    }
+
+    /**
+     * Wilson interval contains the observed rate and stays within [0, 1].
+     */
+    @Test()
+    public void winRateIntervalContainsRate() {
+        WinRate winRate = new WinRate(8, 10);
+
+        assertEquals(0.8, winRate.getRate(), 1e-9);
+        assertEquals(0.490, winRate.getLowerBound(), 1e-3);
+        assertEquals(0.943, winRate.getUpperBound(), 1e-3);
+
+        WinRate allWins = new WinRate(10, 10);
+        assertTrue(allWins.getLowerBound() > 0.6);
+        assertEquals(1.0, allWins.getUpperBound(), 1e-9);
+    }
+
+    /**
+     * Built in players are registered under their names.
+     */
+    @Test()
+    public void registryContainsBuiltInPlayers() {
+        AIPlayerRegistry registry = AIPlayerRegistry.getInstance();
+
+        assertTrue(registry.getNames().contains(AIPlayerRegistry.RANDOM));
+        assertTrue(registry.getNames().contains(AIPlayerRegistry.PROBABILITY));
+        assertTrue(registry.getNames().contains(AIPlayerRegistry.MONTE_CARLO));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownPlayerIsRejected() {
+        new AIPlayerRegistry().get("unknown");
+    }
+}
@@ -0,0 +1,72 @@
+package com.soen6441.battleship.utils;
+
+import com.soen6441.battleship.data.model.FleetSpec;
+import com.soen6441.battleship.services.boardgenerator.FleetLayout;
+import com.soen6441.battleship.services.boardgenerator.LayoutPool;
+import com.soen6441.battleship.services.gamegrid.GameGrid;
+import com.soen6441.battleship.services.randomsource.RandomSource;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ *  The type Layout Pool Test.
+ */
+public class LayoutPoolTest {
+    private LayoutPool layoutPool;
+
+    /**
+     *  Initial setup.
+     */
+    @Before
+    public void setUp() {
+        layoutPool = new LayoutPool(4, new RandomSource(3));
+    }
+
+    @After
+    public void tearDown() {
+        layoutPool.shutdown();
+    }
+
+    /**
+     *  A layout taken from the pool places the whole fleet.
+     */
+    @Test
+    public void takenLayoutPlacesFleet() {
+        FleetLayout layout = layoutPool.take(10, 10, FleetSpec.STANDARD);
+
+        GameGrid gameGrid = new GameGrid(10);
+        layout.placeOn(gameGrid);
+
+        assertEquals(5, gameGrid.getShips().size());
+        assertEquals(1, layoutPool.getMissCount());
+    }
+
+    /**
+     *  The pool is filled in the background, and later layouts are taken from it.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void poolIsRefilledInBackground() throws Exception {
+        layoutPool.prefill(8, 8, FleetSpec.STANDARD);
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (layoutPool.getAvailableCount(8, 8, FleetSpec.STANDARD) < 4 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+
+        assertEquals(4, layoutPool.getAvailableCount(8, 8, FleetSpec.of(1, 2, 3, 4, 5)));
+
+        for (int i = 0; i < 4; i++) {
+            layoutPool.take(8, 8, FleetSpec.STANDARD).placeOn(new GameGrid(8));
+        }
+
+        assertEquals(4, layoutPool.getHitCount());
+        assertEquals(0, layoutPool.getMissCount());
+        assertTrue(layoutPool.getAvailableCount(8, 8, FleetSpec.STANDARD) <= layoutPool.getCapacity());
+    }
+}
@@ -1,11 +1,20 @@
 package com.soen6441.battleship.utils;
 
+import com.soen6441.battleship.data.model.FleetSpec;
+import com.soen6441.battleship.data.model.Ship;
+import com.soen6441.battleship.enums.CellState;
 import com.soen6441.battleship.services.boardgenerator.RandomShipPlacer;
 import com.soen6441.battleship.services.gamegrid.GameGrid;
+import com.soen6441.battleship.services.randomsource.RandomSource;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 /**
  *  The type Random ShipPlacer Test.
@@ -34,4 +43,105 @@ public class RandomShipPlacerTest {
         randomShipPlacer.placeRandomShips(gameGrid);
         assertEquals(5, gameGrid.getShips().size());
     }
+
+    /**
+     * A crowded fleet, which almost never fits when drawn at random, is still placed.
+     */
+    @Test
+    public void crowdedFleetIsPlaced() {
+        GameGrid crowdedGrid = new GameGrid(9);
+        RandomShipPlacer randomShipPlacer = new RandomShipPlacer(new RandomSource(11));
+        randomShipPlacer.placeRandomShips(crowdedGrid, FleetSpec.of(5, 5, 5, 5, 5));
+
+        assertEquals(5, crowdedGrid.getShips().size());
+        assertEquals(1, randomShipPlacer.getGeneratedLayoutCount());
+        assertTrue(randomShipPlacer.getLayoutsPerSecond() > 0);
+    }
+
+    /**
+     * A fleet which does not fit is reported instead of searched forever.
+     */
+    @Test(expected = IllegalStateException.class)
+    public void fleetWhichDoesNotFitIsReported() {
+        new RandomShipPlacer(new RandomSource(11)).placeRandomShips(new GameGrid(5), FleetSpec.of(5, 5, 5, 5));
+    }
+
+    /**
+     * A fleet which fits only in very few ways is still placed, by starting the search over.
+     */
+    @Test(timeout = 10000)
+    public void nearlyFullGridIsPlaced() {
+        int[] shipLengths = new int[18];
+        Arrays.fill(shipLengths, 2);
+
+        for (int seed = 0; seed < 5; seed++) {
+            GameGrid fullGrid = new GameGrid(10);
+            new RandomShipPlacer(new RandomSource(seed)).placeRandomShips(fullGrid, FleetSpec.of(shipLengths));
+
+            assertEquals(18, fullGrid.getShips().size());
+        }
+    }
+
+    /**
+     * A crowded fleet which passes the cheap room check but does not fit is given up on quickly.
+     */
+    @Test(timeout = 10000, expected = IllegalStateException.class)
+    public void crowdedFleetWhichDoesNotFitIsReported() {
+        int[] shipLengths = new int[13];
+        Arrays.fill(shipLengths, 3);
+
+        new RandomShipPlacer(new RandomSource(11)).placeRandomShips(new GameGrid(10), FleetSpec.of(shipLengths));
+    }
+
+    /**
+     * Every legal layout of two single cell ships on a 3x3 grid is drawn about as often.
+     */
+    @Test
+    public void layoutsAreDrawnUniformly() {
+        RandomShipPlacer randomShipPlacer = new RandomShipPlacer(new RandomSource(5));
+        Map<Integer, Integer> layoutCounts = new HashMap<>();
+        int drawCount = 16000;
+
+        for (int i = 0; i < drawCount; i++) {
+            GameGrid smallGrid = new GameGrid(3);
+            randomShipPlacer.placeRandomShips(smallGrid, FleetSpec.of(1, 1));
+
+            int layout = 0;
+            for (Ship ship : smallGrid.getShips()) {
+                layout |= 1 << (ship.getStartY() * 3 + ship.getStartX());
+            }
+            layoutCounts.merge(layout, 1, Integer::sum);
+        }
+
+        // 16 of the 36 pairs of cells do not touch.
+        assertEquals(16, layoutCounts.size());
+        for (int count : layoutCounts.values()) {
+            assertTrue("Layout drawn " + count + " times", Math.abs(count - drawCount / 16) < drawCount / 16 / 5);
+        }
+    }
+
+    /**
+     * A large fleet is placed on a large grid which is not square.
+     */
+    @Test
+    public void largeFleetIsPlacedOnWideGrid() {
+        GameGrid wideGrid = new GameGrid(200, 80);
+        int[] shipLengths = new int[40];
+        for (int ship = 0; ship < shipLengths.length; ship++) {
+            shipLengths[ship] = ship % 5 + 1;
+        }
+        FleetSpec fleetSpec = FleetSpec.of(shipLengths);
+
+        new RandomShipPlacer(new RandomSource(3)).placeRandomShips(wideGrid, fleetSpec);
+
+        assertEquals(40, wideGrid.getShips().size());
+        int shipCellCount = 0;
+        for (long word : wideGrid.getGrid().getStateBoard(CellState.SHIP)) {
+            shipCellCount += Long.bitCount(word);
+        }
+        assertEquals(fleetSpec.getCellCount(), shipCellCount);
+        for (Ship ship : wideGrid.getShips()) {
+            assertTrue(ship.getEndX() < 200 && ship.getEndY() < 80);
+        }
+    }
 }
@@ -0,0 +1,112 @@
+package com.soen6441.battleship.utils;
+
+import io.reactivex.observers.TestObserver;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ *  The type Timing Wheel Test.
+ */
+public class TimingWheelTest {
+    private TimingWheel timingWheel;
+
+    /**
+     *  Initial setup, a small wheel so that deadlines span several turns of it.
+     */
+    @Before
+    public void setUp() {
+        timingWheel = new TimingWheel(2, TimeUnit.MILLISECONDS, 8);
+    }
+
+    @After
+    public void tearDown() {
+        timingWheel.stop();
+    }
+
+    /**
+     *  A timeout runs once its delay has elapsed, even when the delay is longer than a turn of the wheel.
+     */
+    @Test
+    public void timeoutRunsAfterDelay() throws Exception {
+        CountDownLatch latch = new CountDownLatch(1);
+        long startNanos = System.nanoTime();
+
+        TimingWheel.Timeout timeout = timingWheel.schedule(latch::countDown, 50, TimeUnit.MILLISECONDS);
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - startNanos >= TimeUnit.MILLISECONDS.toNanos(50));
+        assertTrue(timeout.isExpired());
+        assertEquals(0, timingWheel.getActiveCount());
+    }
+
+    /**
+     *  A cancelled timeout never runs.
+     */
+    @Test
+    public void cancelledTimeoutDoesNotRun() throws Exception {
+        AtomicInteger runCount = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(1);
+
+        TimingWheel.Timeout cancelled = timingWheel.schedule(runCount::incrementAndGet, 20, TimeUnit.MILLISECONDS);
+        timingWheel.schedule(latch::countDown, 40, TimeUnit.MILLISECONDS);
+
+        assertTrue(cancelled.cancel());
+        assertFalse(cancelled.cancel());
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(0, runCount.get());
+        assertTrue(cancelled.isCancelled());
+    }
+
+    /**
+     *  A periodic timeout runs again and again until it is cancelled.
+     */
+    @Test
+    public void periodicTimeoutRunsUntilCancelled() throws Exception {
+        AtomicInteger runCount = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(5);
+
+        TimingWheel.Timeout timeout = timingWheel.scheduleAtFixedRate(() -> {
+            runCount.incrementAndGet();
+            latch.countDown();
+        }, 5, 5, TimeUnit.MILLISECONDS);
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        timeout.cancel();
+        int countAtCancel = runCount.get();
+        Thread.sleep(50);
+
+        assertTrue(runCount.get() <= countAtCancel + 1);
+        assertEquals(0, timingWheel.getActiveCount());
+    }
+
+    /**
+     *  A timer is only driven by the wheel while it is observed.
+     */
+    @Test
+    public void timerTicksOnlyWhileObserved() {
+        TimerUtil timerUtil = new TimerUtil();
+        int activeCount = TimingWheel.getInstance().getActiveCount();
+
+        TestObserver<Long> first = timerUtil.asObservable().test();
+        TestObserver<Long> second = timerUtil.asObservable().test();
+        assertEquals(activeCount + 1, TimingWheel.getInstance().getActiveCount());
+
+        first.dispose();
+        second.dispose();
+        assertEquals(activeCount, TimingWheel.getInstance().getActiveCount());
+
+        TestObserver<Long> afterCancel = timerUtil.asObservable().test();
+        timerUtil.cancel();
+        afterCancel.assertComplete();
+        assertEquals(activeCount, TimingWheel.getInstance().getActiveCount());
+    }
+}
@@ -9,7 +9,9 @@ import org.junit.runners.Suite;
 
 @RunWith(Suite.class)
 @Suite.SuiteClasses({
-        RandomShipPlacerTest.class
+        RandomShipPlacerTest.class,
+        LayoutPoolTest.class,
+        TimingWheelTest.class
 })
 public class UtilTestSuite {
 }